@@ -0,0 +1,55 @@
+-- 请使用 user_center_user 用户执行下面的 SQL 脚本
+
+-- 已有数据库升级脚本：把旧版本创建的 user 表升级到 user-center-table.sql 中的结构，不删除数据
+-- 每条变更执行前先查询 information_schema，已经升级过的库重复执行不会报错
+
+-- 使用 user_center 数据库
+USE `user_center`;
+
+-- 登录密码：BCrypt 哈希为 60 字符，Argon2id / PBKDF2 的 PHC 格式字符串更长，扩大到 255
+SET @sql = IF((SELECT CHARACTER_MAXIMUM_LENGTH
+               FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE()
+                 AND TABLE_NAME = 'user'
+                 AND COLUMN_NAME = 'user_password') < 255,
+              'ALTER TABLE `user` MODIFY COLUMN user_password VARCHAR(255) NOT NULL COMMENT ''登录密码（加密存储）''',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 令牌版本：修改密码、重置密码、封禁和 token 模式注销时递增，使已登录的会话和令牌失效
+SET @sql = IF((SELECT COUNT(*)
+               FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE()
+                 AND TABLE_NAME = 'user'
+                 AND COLUMN_NAME = 'token_version') = 0,
+              'ALTER TABLE `user` ADD COLUMN token_version INT UNSIGNED DEFAULT 0 NOT NULL COMMENT ''令牌版本（修改密码、重置密码、封禁和 token 模式注销时递增，使已登录的会话和令牌失效）'' AFTER user_status',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 更新时间索引：搜索索引增量同步按 update_time 查询
+SET @sql = IF((SELECT COUNT(*)
+               FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE()
+                 AND TABLE_NAME = 'user'
+                 AND INDEX_NAME = 'idx_update_time') = 0,
+              'ALTER TABLE `user` ADD INDEX idx_update_time (update_time) COMMENT ''更新时间索引（搜索索引增量同步）''',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 头像索引：清理旧头像时按 user_avatar 统计引用
+SET @sql = IF((SELECT COUNT(*)
+               FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE()
+                 AND TABLE_NAME = 'user'
+                 AND INDEX_NAME = 'idx_user_avatar') = 0,
+              'ALTER TABLE `user` ADD INDEX idx_user_avatar (user_avatar(191)) COMMENT ''头像索引（清理旧头像时统计引用）''',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
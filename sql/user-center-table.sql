@@ -12,7 +12,7 @@ CREATE TABLE IF NOT EXISTS `user`
     id            BIGINT UNSIGNED PRIMARY KEY COMMENT '用户主键ID（雪花算法生成）',
 
     user_account  VARCHAR(128)                          NOT NULL COMMENT '登录账号（唯一）',
-    user_password VARCHAR(60)                           NOT NULL COMMENT '登录密码（加密存储）',
+    user_password VARCHAR(255)                          NOT NULL COMMENT '登录密码（加密存储）',
 
     user_name     VARCHAR(64)            DEFAULT NULL COMMENT '用户昵称',
     user_avatar   VARCHAR(512)           DEFAULT NULL COMMENT '用户头像 URL',
@@ -25,6 +25,7 @@ CREATE TABLE IF NOT EXISTS `user`
     user_email    VARCHAR(128)           DEFAULT NULL COMMENT '邮箱地址',
 
     user_status   TINYINT UNSIGNED       DEFAULT 0      NOT NULL COMMENT '状态（0: 正常 1: 封禁）',
+    token_version INT UNSIGNED           DEFAULT 0      NOT NULL COMMENT '令牌版本（修改密码、重置密码、封禁和 token 模式注销时递增，使已登录的会话和令牌失效）',
     planet_code   VARCHAR(64)            DEFAULT NULL COMMENT '星球编号',
 
     edit_time     DATETIME               DEFAULT CURRENT_TIMESTAMP COMMENT '编辑时间',
@@ -44,6 +45,8 @@ CREATE TABLE IF NOT EXISTS `user`
     INDEX idx_user_phone (user_phone) COMMENT '手机号索引',
     INDEX idx_user_email (user_email) COMMENT '邮箱索引',
     INDEX idx_create_time (create_time) COMMENT '创建时间索引',
+    INDEX idx_update_time (update_time) COMMENT '更新时间索引（搜索索引增量同步）',
+    INDEX idx_user_avatar (user_avatar(191)) COMMENT '头像索引（清理旧头像时统计引用）',
     INDEX idx_user_status (user_status, is_delete) COMMENT '用户状态复合索引'
 )
     ENGINE = InnoDB
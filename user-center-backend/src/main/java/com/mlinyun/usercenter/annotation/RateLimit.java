@@ -31,6 +31,11 @@ public @interface RateLimit {
      */
     LimitType limitType() default LimitType.USER;
 
+    /**
+     * 限流算法：令牌桶或滑动窗口
+     */
+    Algorithm algorithm() default Algorithm.SLIDING_WINDOW;
+
     /**
      * 限流类型枚举
      */
@@ -45,4 +50,18 @@ public @interface RateLimit {
         IP
     }
 
+    /**
+     * 限流算法枚举
+     */
+    enum Algorithm {
+        /**
+         * 令牌桶：允许突发 maxCount 次请求，之后按 seconds / maxCount 的间隔匀速补充
+         */
+        TOKEN_BUCKET,
+        /**
+         * 滑动窗口计数：按上一窗口计数加权估算任意 seconds 秒内的请求数，消除固定窗口边界的突刺
+         */
+        SLIDING_WINDOW
+    }
+
 }
@@ -4,13 +4,15 @@ import cn.hutool.core.util.StrUtil;
 import com.mlinyun.usercenter.annotation.RateLimit;
 import com.mlinyun.usercenter.common.ResultCodeEnum;
 import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.ratelimit.RateLimitRule;
+import com.mlinyun.usercenter.manager.ratelimit.RateLimitStore;
 import com.mlinyun.usercenter.model.entity.User;
 import com.mlinyun.usercenter.service.UserService;
+import com.mlinyun.usercenter.utils.LogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -24,7 +26,11 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  * 限流拦截器
  *
  * <p>
- * 使用 AOP 实现接口访问频率限制，支持基于用户 ID 和 IP 地址的限流
+ * 使用 AOP 实现接口访问频率限制，支持基于用户 ID 和 IP 地址的限流，限流计数由 {@link RateLimitStore} 保存，可按配置使用本地、共享或混合存储
+ * </p>
+ *
+ * <p>
+ * 每次限流检查按限流类型和结果计入 {@code usercenter.ratelimit.requests} 计数器
  * </p>
  */
 @Slf4j
@@ -33,14 +39,32 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 public class RateLimitInterceptor {
 
     /**
-     * 毫秒转换常量
+     * 限流日志的采样周期，同一个限流 Key 在周期内只记录一次
+     */
+    private static final Duration LOG_SAMPLE_PERIOD = Duration.ofSeconds(10);
+
+    /**
+     * 限流日志采样最多跟踪的限流 Key 数量
+     */
+    private static final int LOG_SAMPLE_MAX_KEYS = 4096;
+
+    /**
+     * 限流日志采样器
+     */
+    private final LogSampler logSampler = new LogSampler(LOG_SAMPLE_PERIOD, LOG_SAMPLE_MAX_KEYS);
+
+    /**
+     * 指标注册表
      */
-    private static final long MILLIS_PER_SECOND = 1000L;
+    @Resource
+    private MeterRegistry meterRegistry;
 
     /**
-     * 限流计数器：key = limitKey, value = [count, expireTime] 使用内存存储，生产环境建议使用 Redis
+     * 限流存储
      */
-    private final Map<String, RateLimitInfo> rateLimitMap = new ConcurrentHashMap<>();
+    @Resource
+    private RateLimitStore rateLimitStore;
+
     /**
      * 用户服务
      */
@@ -109,34 +133,21 @@ public class RateLimitInterceptor {
      * @param rateLimit 限流注解
      */
     private void checkRateLimit(String limitKey, RateLimit rateLimit) {
-        long currentTime = System.currentTimeMillis();
         int seconds = rateLimit.seconds();
         int maxCount = rateLimit.maxCount();
-        long windowTime = seconds * MILLIS_PER_SECOND;
-
-        // 清理过期的限流记录（简单实现，生产环境建议使用定时任务或 Redis 过期机制）
-        rateLimitMap.entrySet().removeIf(entry -> entry.getValue().expireTime < currentTime);
-
-        // 获取或创建限流信息
-        RateLimitInfo info =
-            rateLimitMap.computeIfAbsent(limitKey, k -> new RateLimitInfo(0, currentTime + windowTime));
-
-        // 检查是否过期
-        if (info.expireTime < currentTime) {
-            // 时间窗口已过期，重置计数器
-            info.count.set(0);
-            info.expireTime = currentTime + windowTime;
-        }
-
-        // 增加计数并检查是否超限
-        int currentCount = info.count.incrementAndGet();
-        if (currentCount > maxCount) {
-            log.warn("限流触发: limitKey={}, currentCount={}, maxCount={}", limitKey, currentCount, maxCount);
+        boolean accepted = rateLimitStore.tryAcquire(limitKey, RateLimitRule.of(rateLimit));
+        meterRegistry.counter("usercenter.ratelimit.requests", "type", rateLimit.limitType().name(), "outcome",
+            accepted ? "accepted" : "rejected").increment();
+        if (!accepted) {
+            long skipped = logSampler.sample(limitKey);
+            if (skipped != LogSampler.SKIP) {
+                log.warn("限流触发: limitKey={}, algorithm={}, maxCount={}, seconds={}, skipped={}", limitKey,
+                    rateLimit.algorithm(), maxCount, seconds, skipped);
+            }
             throw new BusinessException(ResultCodeEnum.FORBIDDEN_ERROR,
                 "操作过于频繁，请在 " + seconds + " 秒后重试（当前限制：" + maxCount + " 次/" + seconds + "秒）");
         }
-
-        log.debug("限流检查通过: limitKey={}, currentCount={}/{}", limitKey, currentCount, maxCount);
+        log.debug("限流检查通过: limitKey={}", limitKey);
     }
 
     /**
@@ -164,26 +175,4 @@ public class RateLimitInterceptor {
         return request.getRemoteAddr();
     }
 
-    /**
-     * 限流信息类
-     */
-    private static class RateLimitInfo {
-
-        /**
-         * 请求计数
-         */
-        AtomicInteger count;
-
-        /**
-         * 过期时间戳（毫秒）
-         */
-        long expireTime;
-
-        RateLimitInfo(int initialCount, long expireTime) {
-            this.count = new AtomicInteger(initialCount);
-            this.expireTime = expireTime;
-        }
-
-    }
-
 }
@@ -0,0 +1,50 @@
+package com.mlinyun.usercenter.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 游标分页结果
+ *
+ * <p>
+ * 与 offset 分页不同，游标分页不统计总数，通过 nextCursor 获取下一页，翻到任意深度的耗时都与第一页相同
+ * </p>
+ *
+ * @param <T> 记录类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "游标分页结果")
+public class CursorPage<T> implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = 3951872385628861947L;
+
+    /**
+     * 当前页记录
+     */
+    @Schema(description = "当前页记录")
+    private List<T> records;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    @Schema(description = "下一页游标，没有更多数据时为 null")
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    @Schema(description = "是否还有更多数据")
+    private boolean hasMore;
+
+}
@@ -0,0 +1,49 @@
+package com.mlinyun.usercenter.common;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serial;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 分页结果
+ *
+ * <p>
+ * 在 MyBatis-Plus {@link Page} 的基础上标明总数是否精确，序列化结果只比 {@link Page} 多出 totalExact 字段，
+ * 原有调用方不受影响
+ * </p>
+ *
+ * @param <T> 记录类型
+ */
+@Getter
+@Setter
+@Schema(description = "分页结果")
+public class PageResult<T> extends Page<T> {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = -4215063981846218873L;
+
+    /**
+     * 总数是否精确，false 表示总数来自数据库统计信息的估算值（包含已逻辑删除的记录）
+     */
+    @Schema(description = "总数是否精确，false 表示总数为估算值（包含已逻辑删除的记录）")
+    private boolean totalExact;
+
+    /**
+     * 构造函数
+     *
+     * @param current 当前页码
+     * @param size 每页记录数
+     * @param total 总数
+     * @param totalExact 总数是否精确
+     */
+    public PageResult(long current, long size, long total, boolean totalExact) {
+        super(current, size, total);
+        this.totalExact = totalExact;
+    }
+
+}
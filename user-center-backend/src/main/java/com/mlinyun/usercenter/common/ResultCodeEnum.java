@@ -25,7 +25,9 @@ public enum ResultCodeEnum {
     // 404 Not Found：请求的资源不存在
     NOT_FOUND_ERROR(false, 40400, "请求的资源不存在"),
     // 500 Internal Server Error：服务器内部错误
-    SERVER_ERROR(false, 50000, "服务器内部错误"), OPERATION_ERROR(false, 50001, "操作失败");
+    SERVER_ERROR(false, 50000, "服务器内部错误"), OPERATION_ERROR(false, 50001, "操作失败"),
+    // 503 Service Unavailable：系统繁忙，暂时无法处理请求
+    SYSTEM_BUSY_ERROR(false, 50300, "系统繁忙，请稍后再试");
 
     /**
      * 是否成功
@@ -0,0 +1,91 @@
+package com.mlinyun.usercenter.config;
+
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 头像处理配置属性类
+ *
+ * <p>
+ * 用于绑定头像后台处理相关的配置属性，如处理线程数、等待队列长度、允许的最大尺寸、缩略图尺寸和旧头像的清理等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "file.avatar")
+public class AvatarProcessProperties {
+
+    /**
+     * 默认处理线程数
+     */
+    private static final int DEFAULT_THREADS = 2;
+
+    /**
+     * 默认等待队列长度
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    /**
+     * 默认允许的最大宽高（像素）
+     */
+    private static final int DEFAULT_MAX_DIMENSION = 4096;
+
+    /**
+     * 默认缩略图边长列表（像素）
+     */
+    private static final List<Integer> DEFAULT_VARIANT_SIZES = List.of(48, 96, 256);
+
+    /**
+     * 默认 JPEG 编码质量
+     */
+    private static final float DEFAULT_JPEG_QUALITY = 0.8f;
+
+    /**
+     * 默认旧头像文件的保留时间（分钟）
+     */
+    private static final long DEFAULT_GC_GRACE_MINUTES = 60L;
+
+    /**
+     * 默认待处理文件的超时时间（秒）
+     */
+    private static final long DEFAULT_PENDING_TIMEOUT_SECONDS = 120L;
+
+    /**
+     * 处理线程数（解码、重新编码和生成缩略图）
+     */
+    private int threads = DEFAULT_THREADS;
+
+    /**
+     * 等待队列长度，队列已满时上传直接返回系统繁忙
+     */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * 允许的最大宽高（像素），上传时只读取文件头校验，防止解码超大图片耗尽内存
+     */
+    private int maxDimension = DEFAULT_MAX_DIMENSION;
+
+    /**
+     * 缩略图边长列表（像素），每个尺寸生成一个按比例缩放到该尺寸以内的缩略图
+     */
+    private List<Integer> variantSizes = DEFAULT_VARIANT_SIZES;
+
+    /**
+     * JPEG 编码质量（0-1），原图和缩略图重新编码时使用
+     */
+    private float jpegQuality = DEFAULT_JPEG_QUALITY;
+
+    /**
+     * 不再被任何用户引用的头像文件的保留时间（分钟），最近上传或被复用过的文件不会被清理
+     */
+    private long gcGraceMinutes = DEFAULT_GC_GRACE_MINUTES;
+
+    /**
+     * 待处理文件的超时时间（秒），超过该时间仍未处理完成的待处理文件和临时文件视为已放弃：
+     * 相同内容再次上传时重新提交处理，启动时直接删除
+     */
+    private long pendingTimeoutSeconds = DEFAULT_PENDING_TIMEOUT_SECONDS;
+
+}
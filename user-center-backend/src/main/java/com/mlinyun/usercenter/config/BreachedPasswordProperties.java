@@ -0,0 +1,34 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 泄露密码检测配置属性类
+ *
+ * <p>
+ * 用于绑定泄露密码检测相关的配置属性，如是否开启检测以及由 BreachedPasswordFilterTool 离线构建的过滤器文件路径
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "password.breach")
+public class BreachedPasswordProperties {
+
+    /**
+     * 默认过滤器文件路径（未配置）
+     */
+    private static final String DEFAULT_FILTER_PATH = "";
+
+    /**
+     * 是否开启泄露密码检测
+     */
+    private boolean enabled;
+
+    /**
+     * 过滤器文件路径
+     */
+    private String filterPath = DEFAULT_FILTER_PATH;
+
+}
@@ -0,0 +1,57 @@
+package com.mlinyun.usercenter.config;
+
+import com.mlinyun.usercenter.manager.jdbc.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 数据库连接并发保护配置类
+ *
+ * <p>
+ * 将容器中的数据源包装为 {@link ConnectionLimitingDataSource}，许可数默认取 Hikari 连接池的最大连接数。
+ * 包装后 Spring Boot 仍可通过 {@code DelegatingDataSource} 解包到 Hikari 连接池，连接池指标和健康检查不受影响
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class DataSourceGuardConfig {
+
+    /**
+     * 数据源包装后置处理器，声明为静态方法以免提前初始化配置类
+     *
+     * @param properties 数据库连接并发保护配置
+     * @return {@link BeanPostProcessor} 数据源包装后置处理器
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceGuardPostProcessor(ObjectProvider<DataSourceGuardProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                DataSourceGuardProperties guard = properties.getObject();
+                if (!guard.isEnabled()) {
+                    return bean;
+                }
+                int maxConcurrent = guard.getMaxConcurrent();
+                if (maxConcurrent <= 0 && bean instanceof HikariDataSource hikariDataSource) {
+                    maxConcurrent = hikariDataSource.getMaximumPoolSize();
+                }
+                if (maxConcurrent <= 0) {
+                    log.warn("无法确定数据源 {} 的最大连接数，未启用连接并发保护", beanName);
+                    return bean;
+                }
+                log.info("数据源 {} 已启用连接并发保护: maxConcurrent={}, acquireTimeoutMillis={}", beanName, maxConcurrent,
+                    guard.getAcquireTimeoutMillis());
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrent, guard.getAcquireTimeoutMillis());
+            }
+        };
+    }
+
+}
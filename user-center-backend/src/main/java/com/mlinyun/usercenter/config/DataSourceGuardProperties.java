@@ -0,0 +1,40 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 数据库连接并发保护配置属性类
+ *
+ * <p>
+ * 用于绑定数据源前置信号量的配置属性，限制同时持有或等待数据库连接的线程数。开启虚拟线程后请求线程数不再受 Tomcat 线程池限制，
+ * 由该信号量按先到先得的顺序排队，超时后快速失败，避免大量线程同时争抢连接池
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "datasource.guard")
+public class DataSourceGuardProperties {
+
+    /**
+     * 默认等待许可的超时时间（毫秒）
+     */
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 5000L;
+
+    /**
+     * 是否启用数据库连接并发保护
+     */
+    private boolean enabled = true;
+
+    /**
+     * 同时持有数据库连接的线程数上限，0 表示与连接池最大连接数一致
+     */
+    private int maxConcurrent = 0;
+
+    /**
+     * 等待许可的超时时间（毫秒），超时后返回系统繁忙
+     */
+    private long acquireTimeoutMillis = DEFAULT_ACQUIRE_TIMEOUT_MILLIS;
+
+}
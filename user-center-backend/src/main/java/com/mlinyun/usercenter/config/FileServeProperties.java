@@ -0,0 +1,44 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文件访问配置属性类
+ *
+ * <p>
+ * 用于绑定上传文件读取接口相关的配置属性，如打开文件的缓存数量、缓存有效期和是否使用 sendfile 等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "file.serve")
+public class FileServeProperties {
+
+    /**
+     * 默认缓存的打开文件数
+     */
+    private static final int DEFAULT_OPEN_FILE_CACHE_SIZE = 64;
+
+    /**
+     * 默认内容寻址文件的浏览器缓存时间（秒），一年
+     */
+    private static final long DEFAULT_MAX_AGE_SECONDS = 31_536_000L;
+
+    /**
+     * 缓存的打开文件数（热门头像的文件通道和大小），为 0 时每次请求都重新打开文件
+     */
+    private int openFileCacheSize = DEFAULT_OPEN_FILE_CACHE_SIZE;
+
+    /**
+     * 内容寻址文件的浏览器缓存时间（秒），文件名即内容哈希，内容不会变化，因此同时声明 immutable
+     */
+    private long maxAgeSeconds = DEFAULT_MAX_AGE_SECONDS;
+
+    /**
+     * 是否在容器支持时使用 Tomcat sendfile 直接从文件发送到 socket，不支持时回退到文件通道传输
+     */
+    private boolean sendfileEnabled = true;
+
+}
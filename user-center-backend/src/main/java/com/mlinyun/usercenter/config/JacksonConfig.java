@@ -1,35 +1,119 @@
 package com.mlinyun.usercenter.config;
 
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mlinyun.usercenter.common.BaseResponse;
+import com.mlinyun.usercenter.common.CursorPage;
+import com.mlinyun.usercenter.common.PageResult;
+import com.mlinyun.usercenter.model.vo.UserLoginVO;
+import com.mlinyun.usercenter.model.vo.UserVO;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 /**
  * Jackson 配置类
  *
  * <p>
- * 用于配置 Jackson 的 ObjectMapper，使得 Long 类型在序列化时转换为字符串，防止前端精度丢失
+ * 在 Spring Boot 自动配置的 ObjectMapper 上追加定制（保留 spring.jackson.* 配置、自动注册的模块和 Jackson 默认的缓冲区复用），
+ * 而不是重新创建一个 ObjectMapper：
  * </p>
+ * <ul>
+ *     <li>Long 类型在序列化时转换为字符串，防止前端精度丢失</li>
+ *     <li>注册 Blackbird 模块，使用生成的访问器代替反射读取 Bean 属性</li>
+ *     <li>开启虚拟线程时改用共享的缓冲区池（默认的线程本地缓冲区池对虚拟线程无效，每个请求都会重新分配缓冲区）</li>
+ *     <li>启动时预先解析常用响应类型的序列化器，避免首批请求承担序列化器构建和访问器生成的开销</li>
+ * </ul>
  */
+@Slf4j
 @Configuration
 public class JacksonConfig {
 
     /**
-     * 配置 Jackson 的 ObjectMapper，使得 Long 类型在序列化时转换为字符串
+     * Long 和 long 全部转为字符串的模块，Spring Boot 会自动注册容器中的 {@link Module}
      *
-     * @return 配置好的 ObjectMapper 实例
+     * @return Long 转字符串模块
      */
     @Bean
-    public ObjectMapper jacksonObjectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        SimpleModule simpleModule = new SimpleModule();
-        // Long 和 long 全部转为字符串
+    public Module longToStringModule() {
+        SimpleModule simpleModule = new SimpleModule("LongToStringModule");
         simpleModule.addSerializer(Long.class, ToStringSerializer.instance);
         simpleModule.addSerializer(Long.TYPE, ToStringSerializer.instance);
-        objectMapper.registerModule(simpleModule);
-        return objectMapper;
+        return simpleModule;
+    }
+
+    /**
+     * Blackbird 模块：通过 LambdaMetafactory 生成属性访问器，序列化和反序列化时不再反射调用 getter/setter
+     *
+     * @return Blackbird 模块
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * 开启虚拟线程时使用共享缓冲区池
+     *
+     * @param environment 环境配置
+     * @return ObjectMapper 构建器定制器
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer jsonRecyclerPoolCustomizer(Environment environment) {
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        return builder -> builder.postConfigurer(objectMapper -> {
+            if (virtual) {
+                objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool());
+            }
+        });
+    }
+
+    /**
+     * 启动时预先解析常用响应类型的序列化器
+     *
+     * @param objectMapper Spring Boot 自动配置的 ObjectMapper
+     * @return 启动任务
+     */
+    @Bean
+    public ApplicationRunner jsonSerializerPrefetcher(ObjectMapper objectMapper) {
+        return args -> {
+            List<JavaType> types = responseTypes(objectMapper.getTypeFactory());
+            types.forEach(objectMapper::writerFor);
+            log.info("已预先解析 {} 个响应类型的 JSON 序列化器", types.size());
+        };
+    }
+
+    /**
+     * 需要预先解析序列化器的响应类型
+     *
+     * <p>
+     * 响应体中的泛型字段按运行时类型查找序列化器，因此除了完整的响应类型，还需要单独列出各个分页和视图类型
+     * </p>
+     *
+     * @param typeFactory 类型工厂
+     * @return 响应类型列表
+     */
+    public static List<JavaType> responseTypes(TypeFactory typeFactory) {
+        JavaType userVO = typeFactory.constructType(UserVO.class);
+        JavaType userLoginVO = typeFactory.constructType(UserLoginVO.class);
+        JavaType pageResult = typeFactory.constructParametricType(PageResult.class, userVO);
+        JavaType cursorPage = typeFactory.constructParametricType(CursorPage.class, userVO);
+        return List.of(userVO, userLoginVO, pageResult, cursorPage,
+            typeFactory.constructParametricType(BaseResponse.class, userVO),
+            typeFactory.constructParametricType(BaseResponse.class, userLoginVO),
+            typeFactory.constructParametricType(BaseResponse.class, pageResult),
+            typeFactory.constructParametricType(BaseResponse.class, cursorPage));
     }
 
 }
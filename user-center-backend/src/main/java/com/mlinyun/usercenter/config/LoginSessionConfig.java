@@ -0,0 +1,73 @@
+package com.mlinyun.usercenter.config;
+
+import com.mlinyun.usercenter.manager.redis.RespClient;
+import com.mlinyun.usercenter.manager.session.LoginSessionManager;
+import com.mlinyun.usercenter.manager.session.LoginTokenCodec;
+import com.mlinyun.usercenter.manager.session.MappedSessionStore;
+import com.mlinyun.usercenter.manager.session.RedisSessionStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Base64;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * 登录会话配置类
+ *
+ * <p>
+ * 根据 {@code login-session.store} 选择会话存储：servlet 使用 Servlet 容器会话，local 使用堆外内存或内存映射文件，
+ * redis 使用共享存储（与限流共用 {@link RespClient}），token 不保存会话，使用签名令牌
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class LoginSessionConfig {
+
+    /**
+     * 登录会话管理器，容器关闭时关闭会话存储（停止后台清理并把映射文件写回磁盘）
+     *
+     * @param properties 登录会话配置
+     * @param respClient 共享存储客户端
+     * @return {@link LoginSessionManager} 登录会话管理器
+     * @throws IOException 本地存储映射文件失败时抛出
+     */
+    @Bean(destroyMethod = "close")
+    public LoginSessionManager loginSessionManager(LoginSessionProperties properties,
+        ObjectProvider<RespClient> respClient) throws IOException {
+        log.info("登录会话存储类型: {}", properties.getStore());
+        return switch (properties.getStore()) {
+            case SERVLET -> new LoginSessionManager(properties, null);
+            case LOCAL -> {
+                Path file = StringUtils.hasText(properties.getLocalFile()) ? Path.of(properties.getLocalFile()) : null;
+                MappedSessionStore store = new MappedSessionStore(file, properties.getLocalCapacity(),
+                    properties.getIdleTimeoutSeconds())
+                    .startSweeper(properties.getSweepIntervalSeconds(), properties.getSweepBatchSize());
+                yield new LoginSessionManager(properties, store);
+            }
+            case REDIS -> new LoginSessionManager(properties, new RedisSessionStore(respClient.getObject(),
+                properties.getRedisKeyPrefix(), properties.getIdleTimeoutSeconds()));
+            case TOKEN -> new LoginSessionManager(properties, null, new LoginTokenCodec(tokenSecret(properties)));
+        };
+    }
+
+    /**
+     * 解析令牌签名密钥，未配置时随机生成
+     *
+     * @param properties 登录会话配置
+     * @return 签名密钥
+     */
+    private static byte[] tokenSecret(LoginSessionProperties properties) {
+        if (StringUtils.hasText(properties.getTokenSecret())) {
+            return Base64.getDecoder().decode(properties.getTokenSecret().trim());
+        }
+        log.warn("未配置 login-session.token-secret，使用随机密钥：重启后已签发的令牌失效，多实例之间无法互相校验令牌");
+        byte[] secret = new byte[LoginTokenCodec.MIN_SECRET_BYTES];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+
+}
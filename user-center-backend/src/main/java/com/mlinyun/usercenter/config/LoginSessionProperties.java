@@ -0,0 +1,166 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录会话配置属性类
+ *
+ * <p>
+ * 用于绑定登录会话相关的配置属性，如会话存储类型、空闲超时时间、会话 Cookie、本地存储的容量和后台清理参数以及无状态令牌的密钥和有效期等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "login-session")
+public class LoginSessionProperties {
+
+    /**
+     * 默认空闲超时时间（秒），24 小时
+     */
+    private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 86_400L;
+
+    /**
+     * 默认会话 Cookie 名称
+     */
+    private static final String DEFAULT_COOKIE_NAME = "USER_SESSION";
+
+    /**
+     * 默认本地存储槽位数
+     */
+    private static final int DEFAULT_LOCAL_CAPACITY = 262_144;
+
+    /**
+     * 默认后台清理周期（秒）
+     */
+    private static final long DEFAULT_SWEEP_INTERVAL_SECONDS = 10L;
+
+    /**
+     * 默认每次清理检查的槽位数
+     */
+    private static final int DEFAULT_SWEEP_BATCH_SIZE = 4096;
+
+    /**
+     * 默认共享存储 Key 前缀
+     */
+    private static final String DEFAULT_REDIS_KEY_PREFIX = "login-session:";
+
+    /**
+     * 默认访问令牌有效期（秒），15 分钟
+     */
+    private static final long DEFAULT_ACCESS_TOKEN_TTL_SECONDS = 900L;
+
+    /**
+     * 默认刷新令牌有效期（秒），7 天
+     */
+    private static final long DEFAULT_REFRESH_TOKEN_TTL_SECONDS = 604_800L;
+
+    /**
+     * 默认访问令牌 Cookie 名称
+     */
+    private static final String DEFAULT_ACCESS_TOKEN_COOKIE_NAME = "USER_TOKEN";
+
+    /**
+     * 默认刷新令牌 Cookie 名称
+     */
+    private static final String DEFAULT_REFRESH_TOKEN_COOKIE_NAME = "USER_REFRESH_TOKEN";
+
+    /**
+     * 会话存储类型
+     */
+    private Store store = Store.SERVLET;
+
+    /**
+     * 空闲超时时间（秒），仅对 local 和 redis 生效，servlet 模式使用 server.servlet.session.timeout
+     */
+    private long idleTimeoutSeconds = DEFAULT_IDLE_TIMEOUT_SECONDS;
+
+    /**
+     * 会话 Cookie 名称
+     */
+    private String cookieName = DEFAULT_COOKIE_NAME;
+
+    /**
+     * 会话 Cookie 是否只通过 HTTPS 发送
+     */
+    private boolean cookieSecure = false;
+
+    /**
+     * 本地存储的内存映射文件，为空时使用堆外直接内存（重启后会话失效）；相对路径相对于进程的工作目录，建议配置绝对路径
+     */
+    private String localFile;
+
+    /**
+     * 本地存储的槽位数（向上取整为 2 的幂，每个槽位 48 字节），会话数达到 3/4 容量后淘汰最久未访问的会话
+     */
+    private int localCapacity = DEFAULT_LOCAL_CAPACITY;
+
+    /**
+     * 本地存储后台清理周期（秒）
+     */
+    private long sweepIntervalSeconds = DEFAULT_SWEEP_INTERVAL_SECONDS;
+
+    /**
+     * 本地存储每次清理检查的槽位数，单次清理耗时与会话总数无关
+     */
+    private int sweepBatchSize = DEFAULT_SWEEP_BATCH_SIZE;
+
+    /**
+     * 共享存储 Key 前缀
+     */
+    private String redisKeyPrefix = DEFAULT_REDIS_KEY_PREFIX;
+
+    /**
+     * 令牌签名密钥（Base64，至少 32 字节），多实例部署时必须配置为相同的值；为空时启动时随机生成，重启后已签发的令牌失效
+     */
+    private String tokenSecret;
+
+    /**
+     * 访问令牌有效期（秒）；其他实例感知令牌吊销的最长延迟由 cache.login-user.shared-store-ttl-seconds 决定
+     */
+    private long accessTokenTtlSeconds = DEFAULT_ACCESS_TOKEN_TTL_SECONDS;
+
+    /**
+     * 刷新令牌有效期（秒）
+     */
+    private long refreshTokenTtlSeconds = DEFAULT_REFRESH_TOKEN_TTL_SECONDS;
+
+    /**
+     * 访问令牌 Cookie 名称，也可以通过 Authorization: Bearer 请求头携带
+     */
+    private String accessTokenCookieName = DEFAULT_ACCESS_TOKEN_COOKIE_NAME;
+
+    /**
+     * 刷新令牌 Cookie 名称
+     */
+    private String refreshTokenCookieName = DEFAULT_REFRESH_TOKEN_COOKIE_NAME;
+
+    /**
+     * 会话存储类型枚举
+     */
+    public enum Store {
+
+        /**
+         * Servlet 容器会话（Tomcat 堆内会话），会话中只保存登录主体
+         */
+        SERVLET,
+
+        /**
+         * 本地存储：堆外内存或内存映射文件，通过会话 Cookie 关联
+         */
+        LOCAL,
+
+        /**
+         * 共享存储（Redis 协议），多实例共享会话
+         */
+        REDIS,
+
+        /**
+         * 无状态签名令牌：服务端不保存会话，校验签名即可确定登录主体
+         */
+        TOKEN
+
+    }
+
+}
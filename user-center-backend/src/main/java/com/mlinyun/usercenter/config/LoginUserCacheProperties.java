@@ -0,0 +1,55 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录用户缓存配置属性类
+ *
+ * <p>
+ * 用于绑定登录用户（会话主体）本地缓存相关的配置属性，如是否启用、容量上限和过期时间等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.login-user")
+public class LoginUserCacheProperties {
+
+    /**
+     * 默认缓存最大条目数
+     */
+    private static final int DEFAULT_CAPACITY = 10000;
+
+    /**
+     * 默认缓存存活时间（秒）
+     */
+    private static final long DEFAULT_TTL_SECONDS = 300L;
+
+    /**
+     * 默认多实例会话存储下的缓存存活时间（秒）
+     */
+    private static final long DEFAULT_SHARED_STORE_TTL_SECONDS = 5L;
+
+    /**
+     * 是否启用登录用户缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存最大条目数，超出后按最近最少使用（LRU）策略淘汰
+     */
+    private int capacity = DEFAULT_CAPACITY;
+
+    /**
+     * 缓存条目存活时间（秒），到期后重新从数据库加载
+     */
+    private long ttlSeconds = DEFAULT_TTL_SECONDS;
+
+    /**
+     * 会话存储为 redis 或 token（多实例部署）时缓存条目的存活时间（秒），不超过 ttlSeconds。
+     * 失效只作用于当前实例，其他实例最迟在该时间后读取到新的令牌版本和用户状态，即吊销在其他实例生效的最长延迟
+     */
+    private long sharedStoreTtlSeconds = DEFAULT_SHARED_STORE_TTL_SECONDS;
+
+}
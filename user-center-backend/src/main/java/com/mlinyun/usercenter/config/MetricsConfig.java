@@ -0,0 +1,211 @@
+package com.mlinyun.usercenter.config;
+
+import com.mlinyun.usercenter.manager.AvatarProcessor;
+import com.mlinyun.usercenter.manager.FileChannelCache;
+import com.mlinyun.usercenter.manager.LoginUserCache;
+import com.mlinyun.usercenter.manager.PasswordHashExecutor;
+import com.mlinyun.usercenter.manager.UserCountCache;
+import com.mlinyun.usercenter.manager.jdbc.ConnectionLimitingDataSource;
+import com.mlinyun.usercenter.manager.jdbc.SqlTimingInterceptor;
+import com.mlinyun.usercenter.manager.password.BreachedPasswordChecker;
+import com.mlinyun.usercenter.manager.ratelimit.LeasingRateLimitStore;
+import com.mlinyun.usercenter.manager.ratelimit.LocalRateLimitStore;
+import com.mlinyun.usercenter.manager.ratelimit.RateLimitStore;
+import com.mlinyun.usercenter.manager.search.UserSearchIndex;
+import com.mlinyun.usercenter.manager.session.LoginSessionManager;
+import com.mlinyun.usercenter.manager.session.MappedSessionStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import javax.sql.DataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 运行时指标配置类
+ *
+ * <p>
+ * 接口耗时（http.server.requests）和 Hikari 连接池指标由 Spring Boot 自动采集，直方图和分位数在 management.metrics.distribution 中配置；
+ * 这里注册 SQL 耗时拦截器，并把各组件已有的计数（缓存命中、线程池队列、会话数等）绑定为指标，
+ * 与密码哈希、限流、上传等代码中直接记录的指标一起通过独立管理端口（management.server）的 /actuator/prometheus 暴露
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 缓存指标的缓存名称标签
+     */
+    private static final String CACHE_TAG = "cache";
+
+    /**
+     * SQL 耗时拦截器，MyBatis-Plus 自动配置会注册容器中的 MyBatis 拦截器
+     *
+     * @param meterRegistry 指标注册表
+     * @return SQL 耗时拦截器
+     */
+    @Bean
+    public SqlTimingInterceptor sqlTimingInterceptor(MeterRegistry meterRegistry) {
+        return new SqlTimingInterceptor(meterRegistry);
+    }
+
+    /**
+     * 本地缓存命中率和条目数
+     *
+     * @param loginUserCache 登录用户缓存
+     * @param userCountCache 用户总数缓存
+     * @param fileChannelCache 打开文件缓存
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder cacheMetrics(LoginUserCache loginUserCache, UserCountCache userCountCache,
+        FileChannelCache fileChannelCache) {
+        return registry -> {
+            bindCache(registry, "login-user", loginUserCache, LoginUserCache::getHitCount,
+                LoginUserCache::getMissCount, LoginUserCache::size);
+            bindCache(registry, "user-count", userCountCache, UserCountCache::getHitCount,
+                UserCountCache::getMissCount, UserCountCache::size);
+            bindCache(registry, "file-channel", fileChannelCache, FileChannelCache::getHitCount,
+                FileChannelCache::getMissCount, FileChannelCache::size);
+        };
+    }
+
+    /**
+     * 密码哈希线程池和泄露密码过滤器（哈希耗时和排队耗时由 {@link PasswordHashExecutor} 直接记录）
+     *
+     * @param passwordHashExecutor 密码哈希执行器
+     * @param breachedPasswordChecker 泄露密码检查器
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder passwordMetrics(PasswordHashExecutor passwordHashExecutor,
+        BreachedPasswordChecker breachedPasswordChecker) {
+        return registry -> {
+            Gauge.builder("usercenter.password.queue.depth", passwordHashExecutor,
+                PasswordHashExecutor::getQueueDepth).register(registry);
+            Gauge.builder("usercenter.password.active", passwordHashExecutor, PasswordHashExecutor::getActiveCount)
+                .register(registry);
+            FunctionCounter.builder("usercenter.password.rejected", passwordHashExecutor,
+                PasswordHashExecutor::getRejectedCount).register(registry);
+            FunctionCounter.builder("usercenter.password.rehashed", passwordHashExecutor,
+                PasswordHashExecutor::getRehashCount).register(registry);
+            FunctionCounter.builder("usercenter.password.breached", breachedPasswordChecker,
+                BreachedPasswordChecker::getHitCount).register(registry);
+        };
+    }
+
+    /**
+     * 头像后台处理线程池
+     *
+     * @param avatarProcessor 头像处理器
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder avatarMetrics(AvatarProcessor avatarProcessor) {
+        return registry -> {
+            Gauge.builder("usercenter.avatar.queue.depth", avatarProcessor, AvatarProcessor::getQueueDepth)
+                .register(registry);
+            Gauge.builder("usercenter.avatar.active", avatarProcessor, AvatarProcessor::getActiveCount)
+                .register(registry);
+            FunctionCounter.builder("usercenter.avatar.rejected", avatarProcessor, AvatarProcessor::getRejectedCount)
+                .register(registry);
+            FunctionTimer.builder("usercenter.avatar.process", avatarProcessor,
+                processor -> processor.getCompletedCount() + processor.getFailedCount(),
+                AvatarProcessor::getProcessNanos, TimeUnit.NANOSECONDS).register(registry);
+            FunctionCounter.builder("usercenter.avatar.failed", avatarProcessor, AvatarProcessor::getFailedCount)
+                .register(registry);
+        };
+    }
+
+    /**
+     * 限流存储
+     *
+     * @param localRateLimitStore 本地限流存储
+     * @param rateLimitStore 限流拦截器使用的限流存储
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder rateLimitMetrics(LocalRateLimitStore localRateLimitStore, RateLimitStore rateLimitStore) {
+        return registry -> {
+            Gauge.builder("usercenter.ratelimit.keys", localRateLimitStore, LocalRateLimitStore::size)
+                .register(registry);
+            if (rateLimitStore instanceof LeasingRateLimitStore leasingStore) {
+                FunctionCounter.builder("usercenter.ratelimit.lease.refills", leasingStore,
+                    LeasingRateLimitStore::getRefillCount).register(registry);
+            }
+        };
+    }
+
+    /**
+     * 本地会话存储（仅 login-session.store=local）
+     *
+     * @param loginSessionManager 登录会话管理器
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder sessionMetrics(LoginSessionManager loginSessionManager) {
+        return registry -> {
+            if (loginSessionManager.getStore() instanceof MappedSessionStore store) {
+                Gauge.builder("usercenter.session.size", store, MappedSessionStore::getSize).register(registry);
+                Gauge.builder("usercenter.session.capacity", store, MappedSessionStore::getCapacity)
+                    .register(registry);
+                FunctionCounter.builder("usercenter.session.expired", store, MappedSessionStore::getExpiredCount)
+                    .register(registry);
+                FunctionCounter.builder("usercenter.session.evicted", store, MappedSessionStore::getEvictedCount)
+                    .register(registry);
+            }
+        };
+    }
+
+    /**
+     * 用户搜索索引
+     *
+     * @param userSearchIndex 用户搜索索引
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder searchMetrics(UserSearchIndex userSearchIndex) {
+        return registry -> {
+            Gauge.builder("usercenter.search.index.size", userSearchIndex, UserSearchIndex::size).register(registry);
+            Gauge.builder("usercenter.search.index.ready", userSearchIndex, index -> index.isReady() ? 1 : 0)
+                .register(registry);
+        };
+    }
+
+    /**
+     * 数据库连接并发保护（Hikari 连接池自身的指标由 Spring Boot 绑定）
+     *
+     * @param dataSource 数据源
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder dataSourceGuardMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource guard) {
+                Gauge.builder("usercenter.datasource.guard.active", guard, ConnectionLimitingDataSource::getActiveCount)
+                    .register(registry);
+                Gauge.builder("usercenter.datasource.guard.waiting", guard,
+                    ConnectionLimitingDataSource::getWaitingCount).register(registry);
+                Gauge.builder("usercenter.datasource.guard.max", guard, ConnectionLimitingDataSource::getMaxConcurrent)
+                    .register(registry);
+            }
+        };
+    }
+
+    /**
+     * 按 Micrometer 的缓存指标约定绑定命中、未命中次数和条目数
+     */
+    private static <T> void bindCache(MeterRegistry registry, String name, T cache,
+        ToDoubleFunction<T> hits, ToDoubleFunction<T> misses, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", cache, hits).tag(CACHE_TAG, name).tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses).tag(CACHE_TAG, name).tag("result", "miss")
+            .register(registry);
+        Gauge.builder("cache.size", cache, size).tag(CACHE_TAG, name).register(registry);
+    }
+
+}
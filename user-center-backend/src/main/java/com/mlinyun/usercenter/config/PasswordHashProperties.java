@@ -0,0 +1,146 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 密码哈希配置属性类
+ *
+ * <p>
+ * 用于绑定密码哈希相关的配置属性，如默认哈希算法及各算法的成本参数、BCrypt 启动时自适应校准参数以及专用哈希线程池的大小、队列长度和等待超时时间等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "password.hash")
+public class PasswordHashProperties {
+
+    /**
+     * 默认 BCrypt 工作因子
+     */
+    private static final int DEFAULT_STRENGTH = 10;
+
+    /**
+     * 默认校准目标耗时（毫秒）
+     */
+    private static final long DEFAULT_CALIBRATION_TARGET_MILLIS = 250L;
+
+    /**
+     * 默认校准允许的最大工作因子
+     */
+    private static final int DEFAULT_MAX_STRENGTH = 14;
+
+    /**
+     * 默认等待队列长度
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    /**
+     * 默认等待哈希结果的超时时间（毫秒）
+     */
+    private static final long DEFAULT_TIMEOUT_MILLIS = 5000L;
+
+    /**
+     * 默认 PBKDF2 迭代次数（OWASP 对 PBKDF2-HMAC-SHA256 的推荐值）
+     */
+    private static final int DEFAULT_PBKDF2_ITERATIONS = 600000;
+
+    /**
+     * 默认 Argon2id 内存开销（KiB，OWASP 推荐的最低配置 19 MiB）
+     */
+    private static final int DEFAULT_ARGON2_MEMORY_KIB = 19456;
+
+    /**
+     * 默认 Argon2id 迭代次数
+     */
+    private static final int DEFAULT_ARGON2_ITERATIONS = 2;
+
+    /**
+     * 新密码使用的哈希算法，已存储的其他算法哈希仍可校验，并在登录成功后惰性迁移
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /**
+     * 是否在登录成功后将过时的哈希（非默认算法或成本参数低于当前配置）异步升级
+     */
+    private boolean rehashOnLogin = true;
+
+    /**
+     * BCrypt 工作因子（4-31），开启校准时作为下限
+     */
+    private int strength = DEFAULT_STRENGTH;
+
+    /**
+     * 是否在启动时根据本机性能自动校准工作因子
+     */
+    private boolean calibrate;
+
+    /**
+     * 校准目标耗时（毫秒），选择单次哈希耗时不超过该值的最大工作因子
+     */
+    private long calibrationTargetMillis = DEFAULT_CALIBRATION_TARGET_MILLIS;
+
+    /**
+     * 校准允许的最大工作因子，也是导入时原样保存的 BCrypt 哈希允许的最大工作因子（实际使用的工作因子更高时以后者为准）
+     */
+    private int maxStrength = DEFAULT_MAX_STRENGTH;
+
+    /**
+     * 哈希线程数，小于等于 0 时使用 CPU 核数
+     */
+    private int threads;
+
+    /**
+     * 等待队列长度，队列已满时直接拒绝请求（系统繁忙），而不是阻塞 Web 线程
+     */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * 等待哈希结果的超时时间（毫秒）
+     */
+    private long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+    /**
+     * PBKDF2 迭代次数
+     */
+    private int pbkdf2Iterations = DEFAULT_PBKDF2_ITERATIONS;
+
+    /**
+     * Argon2id 内存开销（KiB）
+     */
+    private int argon2MemoryKib = DEFAULT_ARGON2_MEMORY_KIB;
+
+    /**
+     * Argon2id 迭代次数
+     */
+    private int argon2Iterations = DEFAULT_ARGON2_ITERATIONS;
+
+    /**
+     * Argon2id 并行度
+     */
+    private int argon2Parallelism = 1;
+
+    /**
+     * 密码哈希算法枚举
+     */
+    public enum Algorithm {
+
+        /**
+         * BCrypt
+         */
+        BCRYPT,
+
+        /**
+         * PBKDF2-HMAC-SHA256（JDK 内置）
+         */
+        PBKDF2,
+
+        /**
+         * Argon2id（内存困难型）
+         */
+        ARGON2ID
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 限流配置属性类
+ *
+ * <p>
+ * 用于绑定接口限流引擎相关的配置属性，如限流存储类型、过期限流状态的后台清理周期以及混合模式下的配额预租参数等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 默认后台清理周期（秒）
+     */
+    private static final long DEFAULT_SWEEP_INTERVAL_SECONDS = 30L;
+
+    /**
+     * 默认单次预租配额
+     */
+    private static final int DEFAULT_LEASE_SIZE = 10;
+
+    /**
+     * 默认预计实例数
+     */
+    private static final int DEFAULT_EXPECTED_NODES = 2;
+
+    /**
+     * 限流存储类型
+     */
+    private Store store = Store.LOCAL;
+
+    /**
+     * 后台清理空闲限流状态的周期（秒）
+     */
+    private long sweepIntervalSeconds = DEFAULT_SWEEP_INTERVAL_SECONDS;
+
+    /**
+     * 混合模式下单次从共享存储预租的最大配额
+     */
+    private int leaseSize = DEFAULT_LEASE_SIZE;
+
+    /**
+     * 混合模式下预计的实例数，单次预租配额不超过 maxCount / expectedNodes，避免单个实例占用全部配额
+     */
+    private int expectedNodes = DEFAULT_EXPECTED_NODES;
+
+    /**
+     * 限流存储类型枚举
+     */
+    public enum Store {
+
+        /**
+         * 本地内存存储，计数只在当前实例内有效
+         */
+        LOCAL,
+
+        /**
+         * 共享存储（Redis 协议），每次请求访问一次共享存储，集群范围内精确限流
+         */
+        REDIS,
+
+        /**
+         * 混合模式：实例从共享存储批量预租配额，在本地消费，减少网络往返
+         */
+        HYBRID
+
+    }
+
+}
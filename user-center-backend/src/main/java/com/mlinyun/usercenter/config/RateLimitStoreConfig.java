@@ -0,0 +1,61 @@
+package com.mlinyun.usercenter.config;
+
+import com.mlinyun.usercenter.manager.ratelimit.LeasingRateLimitStore;
+import com.mlinyun.usercenter.manager.ratelimit.LocalRateLimitStore;
+import com.mlinyun.usercenter.manager.ratelimit.RateLimitStore;
+import com.mlinyun.usercenter.manager.ratelimit.RedisRateLimitStore;
+import com.mlinyun.usercenter.manager.redis.RespClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 限流存储配置类
+ *
+ * <p>
+ * 根据 {@code rate-limit.store} 选择限流存储：local 使用本地内存，redis 每次请求访问共享存储，hybrid 从共享存储批量预租配额后在本地消费。
+ * 共享存储不可用时两种共享模式都会降级到本地限流存储
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class RateLimitStoreConfig {
+
+    /**
+     * 共享存储客户端，延迟到首次使用时创建，本地模式下不会建立任何连接
+     *
+     * @param properties 连接配置
+     * @return {@link RespClient} 共享存储客户端
+     */
+    @Lazy
+    @Bean(destroyMethod = "close")
+    public RespClient respClient(RedisClientProperties properties) {
+        return new RespClient(properties);
+    }
+
+    /**
+     * 限流拦截器使用的限流存储，容器关闭时按约定调用 shutdown 停止后台清理线程
+     *
+     * @param properties 限流配置
+     * @param localStore 本地限流存储，同时作为共享存储不可用时的降级实现
+     * @param respClient 共享存储客户端
+     * @return {@link RateLimitStore} 限流存储
+     */
+    @Bean
+    @Primary
+    public RateLimitStore rateLimitStore(RateLimitProperties properties, LocalRateLimitStore localStore,
+        ObjectProvider<RespClient> respClient) {
+        log.info("限流存储类型: {}", properties.getStore());
+        return switch (properties.getStore()) {
+            case LOCAL -> localStore;
+            case REDIS -> new RedisRateLimitStore(respClient.getObject(), localStore);
+            case HYBRID -> new LeasingRateLimitStore(new RedisRateLimitStore(respClient.getObject(), localStore),
+                properties.getLeaseSize(), properties.getExpectedNodes())
+                .startSweeper(properties.getSweepIntervalSeconds());
+        };
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Redis 客户端配置属性类
+ *
+ * <p>
+ * 用于绑定共享存储（Redis 协议）客户端的连接配置，如地址、密码、连接池大小和超时时间等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "redis-client")
+public class RedisClientProperties {
+
+    /**
+     * 默认端口
+     */
+    private static final int DEFAULT_PORT = 6379;
+
+    /**
+     * 默认连接池大小
+     */
+    private static final int DEFAULT_POOL_SIZE = 8;
+
+    /**
+     * 默认超时时间（毫秒）
+     */
+    private static final int DEFAULT_TIMEOUT_MILLIS = 500;
+
+    /**
+     * 默认空闲连接的最长保留时间（毫秒）
+     */
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60_000L;
+
+    /**
+     * 默认重连退避的最长间隔（毫秒）
+     */
+    private static final long DEFAULT_MAX_RECONNECT_BACKOFF_MILLIS = 5_000L;
+
+    /**
+     * 服务器地址
+     */
+    private String host = "127.0.0.1";
+
+    /**
+     * 服务器端口
+     */
+    private int port = DEFAULT_PORT;
+
+    /**
+     * 访问密码，为空时不进行认证
+     */
+    private String password;
+
+    /**
+     * 数据库编号
+     */
+    private int database;
+
+    /**
+     * 连接池最大连接数
+     */
+    private int poolSize = DEFAULT_POOL_SIZE;
+
+    /**
+     * 连接、读取以及从连接池获取连接的超时时间（毫秒）
+     */
+    private int timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+    /**
+     * 空闲连接的最长保留时间（毫秒），超过后在下次获取连接时关闭，避免使用已被服务端或中间网络设备断开的连接
+     */
+    private long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+    /**
+     * 建立连接失败后的重连退避最长间隔（毫秒），退避期间获取新连接立即失败，不再等待连接超时
+     */
+    private long maxReconnectBackoffMillis = DEFAULT_MAX_RECONNECT_BACKOFF_MILLIS;
+
+}
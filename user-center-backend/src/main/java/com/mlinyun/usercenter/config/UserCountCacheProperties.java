@@ -0,0 +1,44 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户总数缓存配置属性类
+ *
+ * <p>
+ * 用于绑定管理员分页查询用户时总数缓存相关的配置属性，如是否启用、容量上限和过期时间等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.user-count")
+public class UserCountCacheProperties {
+
+    /**
+     * 默认缓存最大条目数
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * 默认缓存存活时间（秒）
+     */
+    private static final long DEFAULT_TTL_SECONDS = 60L;
+
+    /**
+     * 是否启用用户总数缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存最大条目数（每种筛选条件组合一个条目），超出后按最近最少使用（LRU）策略淘汰
+     */
+    private int capacity = DEFAULT_CAPACITY;
+
+    /**
+     * 缓存条目存活时间（秒），即其他实例写入后本实例总数的最大滞后时间
+     */
+    private long ttlSeconds = DEFAULT_TTL_SECONDS;
+
+}
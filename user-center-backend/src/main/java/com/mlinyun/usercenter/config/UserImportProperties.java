@@ -0,0 +1,70 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户批量导入配置属性类
+ *
+ * <p>
+ * 用于绑定管理员从文件批量导入用户时的配置属性，如每批处理的行数、等待执行的任务数和错误报告的条数上限等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "import.user")
+public class UserImportProperties {
+
+    /**
+     * 默认每批处理的行数
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /**
+     * 默认等待执行的任务数上限
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    /**
+     * 默认错误报告的条数上限
+     */
+    private static final int DEFAULT_MAX_ERRORS = 1000;
+
+    /**
+     * 默认已结束任务的保留时间（分钟）
+     */
+    private static final long DEFAULT_RETENTION_MINUTES = 60L;
+
+    /**
+     * 默认导入文件大小上限（MB）
+     */
+    private static final long DEFAULT_MAX_FILE_SIZE_MB = 100L;
+
+    /**
+     * 每批处理的行数：每批执行一次唯一性查询、一轮并行哈希和一次批量插入
+     */
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * 等待执行的任务数上限，导入任务逐个执行，超出时拒绝新的导入
+     */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * 每个任务在错误报告中保留的失败行数上限，超出部分只计数
+     */
+    private int maxErrors = DEFAULT_MAX_ERRORS;
+
+    /**
+     * 已结束任务的进度和错误报告在内存中的保留时间（分钟）
+     */
+    private long retentionMinutes = DEFAULT_RETENTION_MINUTES;
+
+    /**
+     * 导入文件大小上限：导入文件作为请求体上传，不受 spring.servlet.multipart 全局限制的影响，转存时超过该值即停止读取
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(DEFAULT_MAX_FILE_SIZE_MB);
+
+}
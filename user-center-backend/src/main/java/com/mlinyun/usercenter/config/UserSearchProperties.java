@@ -0,0 +1,54 @@
+package com.mlinyun.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户搜索索引配置属性类
+ *
+ * <p>
+ * 用于绑定管理员按昵称、简介搜索用户时本地 n-gram 索引相关的配置属性，如是否启用、候选数量上限和同步周期等
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.user")
+public class UserSearchProperties {
+
+    /**
+     * 默认候选 ID 数量上限
+     */
+    private static final int DEFAULT_MAX_CANDIDATES = 1000;
+
+    /**
+     * 默认增量同步周期（秒）
+     */
+    private static final long DEFAULT_SYNC_INTERVAL_SECONDS = 10L;
+
+    /**
+     * 默认每批加载的记录数
+     */
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * 是否启用用户搜索索引，关闭时昵称和简介按 LIKE 模糊查询
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单个搜索词命中的候选 ID 数量上限，超出时说明搜索词过于宽泛，退回 LIKE 查询
+     */
+    private int maxCandidates = DEFAULT_MAX_CANDIDATES;
+
+    /**
+     * 从数据库增量同步其他实例写入的周期（秒），即其他实例写入后本实例搜索结果的最大滞后时间
+     */
+    private long syncIntervalSeconds = DEFAULT_SYNC_INTERVAL_SECONDS;
+
+    /**
+     * 全量加载和增量同步时每批读取的记录数
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+}
@@ -41,6 +41,10 @@ public final class UserConstant {
      * 星球编号长度限制
      */
     public static final int USER_PLANET_CODE_LENGTH = 6;
+    /**
+     * 批量操作单次最多处理的用户数
+     */
+    public static final int USER_BATCH_SIZE_MAX_LIMIT = 1000;
     /**
      * 用户简介默认内容
      */
@@ -59,6 +63,10 @@ public final class UserConstant {
      * 用户表字段 - 用户账号
      */
     public static final String USER_TABLE_FIELD_USER_ACCOUNT = "user_account";
+    /**
+     * 用户表字段 - 用户密码
+     */
+    public static final String USER_TABLE_FIELD_USER_PASSWORD = "user_password";
     /**
      * 用户表字段 - 用户昵称
      */
@@ -91,6 +99,10 @@ public final class UserConstant {
      * 用户表字段 - 用户状态
      */
     public static final String USER_TABLE_FIELD_USER_STATUS = "user_status";
+    /**
+     * 用户表字段 - 令牌版本
+     */
+    public static final String USER_TABLE_FIELD_TOKEN_VERSION = "token_version";
     /**
      * 用户表字段 - 星球编号
      */
@@ -13,7 +13,10 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -63,4 +66,18 @@ public class FileController {
         return ResultUtils.success(fileUrl);
     }
 
+    /**
+     * 读取上传的文件（如头像），路径与上传接口返回的 URL 一致
+     *
+     * @param filePath 相对上传目录的文件路径
+     * @param request HttpServletRequest 对象
+     * @param response HttpServletResponse 对象
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @GetMapping("/{*filePath}")
+    @Operation(summary = "读取文件", description = "读取上传的文件，支持 ETag 协商缓存和 Range 请求（无需登录）")
+    public void getFile(@PathVariable String filePath, HttpServletRequest request, HttpServletResponse response) {
+        fileService.serveFile(filePath, request, response);
+    }
+
 }
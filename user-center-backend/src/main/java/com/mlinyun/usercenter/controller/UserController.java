@@ -1,17 +1,27 @@
 package com.mlinyun.usercenter.controller;
 
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.io.FileUtil;
 import cn.hutool.core.util.ObjectUtil;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import cn.hutool.core.util.StrUtil;
 import com.github.xiaoymin.knife4j.annotations.ApiOperationSupport;
 import com.mlinyun.usercenter.annotation.AuthCheck;
 import com.mlinyun.usercenter.annotation.RateLimit;
 import com.mlinyun.usercenter.common.BaseResponse;
+import com.mlinyun.usercenter.common.CursorPage;
+import com.mlinyun.usercenter.common.PageResult;
 import com.mlinyun.usercenter.common.ResultCodeEnum;
 import com.mlinyun.usercenter.common.ResultUtils;
 import com.mlinyun.usercenter.constant.UserConstant;
 import com.mlinyun.usercenter.exception.ThrowUtils;
 import com.mlinyun.usercenter.model.dto.AdminAddUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminBanOrUnbanUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchAddUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchBanOrUnbanUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchDeleteUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchResetUserPasswordRequest;
+import com.mlinyun.usercenter.model.dto.AdminExportUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminGetOrDeleteUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminQueryUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminResetUserPasswordRequest;
@@ -21,6 +31,9 @@ import com.mlinyun.usercenter.model.dto.UserRegisterRequest;
 import com.mlinyun.usercenter.model.dto.UserUpdateInfoRequest;
 import com.mlinyun.usercenter.model.dto.UserUpdatePasswordRequest;
 import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.enums.UserExportFormatEnum;
+import com.mlinyun.usercenter.model.vo.BatchResultVO;
+import com.mlinyun.usercenter.model.vo.UserImportJobVO;
 import com.mlinyun.usercenter.model.vo.UserLoginVO;
 import com.mlinyun.usercenter.model.vo.UserVO;
 import com.mlinyun.usercenter.service.UserService;
@@ -28,12 +41,20 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.Date;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * 用户控制器
@@ -102,6 +123,22 @@ public class UserController {
         return ResultUtils.success(userLoginVO);
     }
 
+    /**
+     * 刷新登录状态接口
+     *
+     * @param request HttpServletRequest 对象
+     * @return 登录用户信息
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping("/refresh")
+    @Operation(summary = "刷新登录状态", description = "token 模式下用刷新令牌换取新的访问令牌")
+    @RateLimit(seconds = 60, maxCount = 10, limitType = RateLimit.LimitType.IP)
+    public BaseResponse<UserLoginVO> refreshLogin(HttpServletRequest request) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(request), ResultCodeEnum.PARAM_ERROR);
+        UserLoginVO userLoginVO = userService.refreshLogin(request);
+        return ResultUtils.success(userLoginVO);
+    }
+
     /**
      * 用户注销接口
      *
@@ -230,10 +267,29 @@ public class UserController {
     @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
     @RateLimit(seconds = 60, maxCount = 30, limitType = RateLimit.LimitType.USER)
     @Operation(summary = "管理员分页获取用户列表", description = "管理员分页获取用户列表接口")
-    public BaseResponse<Page<UserVO>>
+    public BaseResponse<PageResult<UserVO>>
         adminGetUserInfoByPage(@RequestBody @Valid AdminQueryUserRequest adminQueryUserRequest) {
         ThrowUtils.throwIf(ObjectUtil.isEmpty(adminQueryUserRequest), ResultCodeEnum.PARAM_ERROR);
-        Page<UserVO> userVOPage = userService.adminGetUserInfoByPage(adminQueryUserRequest);
+        PageResult<UserVO> userVOPage = userService.adminGetUserInfoByPage(adminQueryUserRequest);
+        return ResultUtils.success(userVOPage);
+    }
+
+    /**
+     * 管理员游标分页获取用户列表接口
+     *
+     * @param adminQueryUserRequest 管理员查询用户请求体
+     * @return 用户列表游标分页结果
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping("/adminGetUserInfoByCursor")
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 30, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员游标分页获取用户列表",
+        description = "管理员游标分页获取用户列表接口，传入上一页返回的 nextCursor 获取下一页，适合深度翻页和全量遍历")
+    public BaseResponse<CursorPage<UserVO>>
+        adminGetUserInfoByCursor(@RequestBody @Valid AdminQueryUserRequest adminQueryUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminQueryUserRequest), ResultCodeEnum.PARAM_ERROR);
+        CursorPage<UserVO> userVOPage = userService.adminGetUserInfoByCursor(adminQueryUserRequest);
         return ResultUtils.success(userVOPage);
     }
 
@@ -273,4 +329,165 @@ public class UserController {
         return ResultUtils.success(result);
     }
 
+    /**
+     * 管理员批量添加用户接口
+     *
+     * @param adminBatchAddUserRequest 管理员批量添加用户请求体
+     * @return 每个用户的添加结果
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping("/adminBatchAddUser")
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 5, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员批量添加用户", description = "管理员批量添加用户接口，单次最多 1000 个，返回每个用户的添加结果")
+    public BaseResponse<BatchResultVO>
+        adminBatchAddUser(@RequestBody @Valid AdminBatchAddUserRequest adminBatchAddUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchAddUserRequest), ResultCodeEnum.PARAM_ERROR);
+        BatchResultVO result = userService.adminBatchAddUser(adminBatchAddUserRequest);
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 管理员批量删除用户接口
+     *
+     * @param adminBatchDeleteUserRequest 管理员批量删除用户请求体
+     * @return 每个用户的删除结果
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping("/adminBatchDeleteUser")
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 5, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员批量删除用户", description = "管理员批量删除用户接口，单次最多 1000 个，返回每个用户的删除结果")
+    public BaseResponse<BatchResultVO>
+        adminBatchDeleteUser(@RequestBody @Valid AdminBatchDeleteUserRequest adminBatchDeleteUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchDeleteUserRequest), ResultCodeEnum.PARAM_ERROR);
+        BatchResultVO result = userService.adminBatchDeleteUser(adminBatchDeleteUserRequest);
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 管理员批量封禁或解封用户接口
+     *
+     * @param adminBatchBanOrUnbanUserRequest 管理员批量封禁或解封用户请求体
+     * @return 每个用户的操作结果
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping("/adminBatchBanOrUnbanUser")
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 5, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员批量封禁或解封用户", description = "管理员批量封禁或解封用户接口，单次最多 1000 个，返回每个用户的操作结果")
+    public BaseResponse<BatchResultVO>
+        adminBatchBanOrUnbanUser(@RequestBody @Valid AdminBatchBanOrUnbanUserRequest adminBatchBanOrUnbanUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchBanOrUnbanUserRequest), ResultCodeEnum.PARAM_ERROR);
+        BatchResultVO result = userService.adminBatchBanOrUnbanUser(adminBatchBanOrUnbanUserRequest);
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 管理员批量重置用户密码接口
+     *
+     * @param adminBatchResetUserPasswordRequest 管理员批量重置用户密码请求体
+     * @return 每个用户的重置结果
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping("/adminBatchResetUserPassword")
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 5, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员批量重置用户密码", description = "管理员批量重置用户密码接口，单次最多 1000 个，返回每个用户的重置结果")
+    public BaseResponse<BatchResultVO> adminBatchResetUserPassword(
+        @RequestBody @Valid AdminBatchResetUserPasswordRequest adminBatchResetUserPasswordRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchResetUserPasswordRequest), ResultCodeEnum.PARAM_ERROR);
+        BatchResultVO result = userService.adminBatchResetUserPassword(adminBatchResetUserPasswordRequest);
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 管理员导出用户接口
+     *
+     * <p>
+     * 在请求线程中同步写出响应，不受异步请求超时的限制
+     * </p>
+     *
+     * @param adminExportUserRequest 管理员导出用户请求体
+     * @param response HTTP 响应
+     * @throws IOException 写出失败时抛出
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping("/adminExportUsers")
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 2, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员导出用户", description = "管理员按查询条件流式导出全部匹配的用户，支持 CSV / NDJSON 格式和 gzip 压缩")
+    public void adminExportUsers(@RequestBody @Valid AdminExportUserRequest adminExportUserRequest,
+        HttpServletResponse response) throws IOException {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminExportUserRequest), ResultCodeEnum.PARAM_ERROR);
+        UserExportFormatEnum format = UserExportFormatEnum.getEnumByValue(adminExportUserRequest.getFormat());
+        ThrowUtils.throwIf(format == null, ResultCodeEnum.PARAM_ERROR, "不支持的导出格式");
+        StreamingResponseBody body = userService.adminExportUsers(adminExportUserRequest, format);
+
+        boolean gzip = adminExportUserRequest.isGzip();
+        String fileName = "users-" + DateUtil.format(new Date(), DatePattern.PURE_DATETIME_PATTERN)
+            + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(fileName).build().toString());
+        body.writeTo(response.getOutputStream());
+    }
+
+    /**
+     * 管理员导入用户接口
+     *
+     * <p>
+     * 文件内容直接作为请求体上传（不使用 multipart），大小上限由 import.user.max-file-size 单独控制，
+     * 其他上传接口仍使用 spring.servlet.multipart 的全局限制。未指定格式时按 Content-Type 判断，
+     * 其次按文件名扩展名判断，.ndjson / .jsonl 为 NDJSON，其余按 CSV 处理
+     * </p>
+     *
+     * @param format 导入格式，可选 csv / ndjson
+     * @param fileName 文件名，可选，用于判断格式和在导入任务中显示
+     * @param request HttpServletRequest 对象
+     * @return 已提交的导入任务
+     * @throws IOException 读取请求体失败时抛出
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @PostMapping(value = "/adminImportUsers", consumes = {"text/csv", "application/x-ndjson",
+        MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 5, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员导入用户", description = "管理员以请求体上传 CSV / NDJSON 文件批量导入用户，后台执行并返回导入任务")
+    public BaseResponse<UserImportJobVO> adminImportUsers(
+        @RequestParam(value = "format", required = false) String format,
+        @RequestParam(value = "fileName", required = false) String fileName, HttpServletRequest request)
+        throws IOException {
+        UserExportFormatEnum importFormat;
+        if (StrUtil.isNotBlank(format)) {
+            importFormat = UserExportFormatEnum.getEnumByValue(format);
+            ThrowUtils.throwIf(importFormat == null, ResultCodeEnum.PARAM_ERROR, "不支持的导入格式");
+        } else if (StrUtil.startWithIgnoreCase(request.getContentType(), "application/x-ndjson")) {
+            importFormat = UserExportFormatEnum.NDJSON;
+        } else {
+            String extension = FileUtil.extName(fileName);
+            importFormat = "ndjson".equalsIgnoreCase(extension) || "jsonl".equalsIgnoreCase(extension)
+                ? UserExportFormatEnum.NDJSON : UserExportFormatEnum.CSV;
+        }
+        UserImportJobVO jobVO = userService.adminImportUsers(request.getInputStream(), fileName, importFormat);
+        return ResultUtils.success(jobVO);
+    }
+
+    /**
+     * 管理员查询导入任务接口
+     *
+     * @param jobId 导入任务 id
+     * @return 导入任务进度和错误报告
+     */
+    @ApiOperationSupport(author = "LingYun")
+    @GetMapping("/adminGetImportJob")
+    @AuthCheck(mustRole = UserConstant.ADMIN_USER_ROLE)
+    @RateLimit(seconds = 60, maxCount = 30, limitType = RateLimit.LimitType.USER)
+    @Operation(summary = "管理员查询导入任务", description = "管理员查询导入任务的进度、成功失败数量和逐行错误报告")
+    public BaseResponse<UserImportJobVO> adminGetImportJob(@RequestParam("jobId") String jobId) {
+        ThrowUtils.throwIf(StrUtil.isBlank(jobId), ResultCodeEnum.PARAM_ERROR);
+        UserImportJobVO jobVO = userService.adminGetImportJob(jobId);
+        return ResultUtils.success(jobVO);
+    }
+
 }
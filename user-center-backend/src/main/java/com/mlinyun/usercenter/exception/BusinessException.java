@@ -9,6 +9,11 @@ import lombok.Getter;
  * <p>
  * 用于处理业务逻辑中的异常情况，继承自 RuntimeException
  * </p>
+ *
+ * <p>
+ * 状态码小于 {@link ResultCodeEnum#SERVER_ERROR} 的异常（参数错误、未登录、无权限、限流等）属于预期内的业务校验失败，
+ * 不填充堆栈：全局异常处理器只记录状态码和消息，填充堆栈是被恶意请求刷接口时拒绝路径上的主要开销。服务端错误仍然保留堆栈，便于排查
+ * </p>
  */
 @Getter
 public class BusinessException extends RuntimeException {
@@ -18,6 +23,18 @@ public class BusinessException extends RuntimeException {
      */
     private final Integer code;
 
+    /**
+     * 使用状态码和异常信息构造业务异常，客户端错误不填充堆栈
+     *
+     * @param code 状态码
+     * @param message 异常信息
+     * @param writableStackTrace 是否填充堆栈
+     */
+    private BusinessException(Integer code, String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+        this.code = code;
+    }
+
     /**
      * 使用自定义的状态码和异常信息构造业务异常
      *
@@ -25,8 +42,7 @@ public class BusinessException extends RuntimeException {
      * @param message 异常信息
      */
     public BusinessException(Integer code, String message) {
-        super(message);
-        this.code = code;
+        this(code, message, isServerError(code));
     }
 
     /**
@@ -35,8 +51,7 @@ public class BusinessException extends RuntimeException {
      * @param resultCodeEnum 结果状态枚举类
      */
     public BusinessException(ResultCodeEnum resultCodeEnum) {
-        super(resultCodeEnum.getMessage());
-        this.code = resultCodeEnum.getCode();
+        this(resultCodeEnum.getCode(), resultCodeEnum.getMessage());
     }
 
     /**
@@ -46,8 +61,17 @@ public class BusinessException extends RuntimeException {
      * @param message 自定义异常信息
      */
     public BusinessException(ResultCodeEnum resultCodeEnum, String message) {
-        super(message);
-        this.code = resultCodeEnum.getCode();
+        this(resultCodeEnum.getCode(), message);
+    }
+
+    /**
+     * 是否为服务端错误
+     *
+     * @param code 状态码
+     * @return 状态码为空或不小于 {@link ResultCodeEnum#SERVER_ERROR} 时返回 true
+     */
+    private static boolean isServerError(Integer code) {
+        return code == null || code >= ResultCodeEnum.SERVER_ERROR.getCode();
     }
 
 }
@@ -0,0 +1,125 @@
+package com.mlinyun.usercenter.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mlinyun.usercenter.common.BaseResponse;
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * 错误响应体缓存
+ *
+ * <p>
+ * 缓存序列化后的错误响应体：每个 {@link ResultCodeEnum} 的默认消息在启动时序列化，自定义消息（如限流提示）第一次出现时序列化。
+ * 错误消息基本都是固定文案，命中缓存后返回错误响应不再创建 {@link BaseResponse}，也不再经过 Jackson
+ * </p>
+ *
+ * <p>
+ * 缓存的消息数量达到上限后不再缓存新的消息（直接序列化），防止消息中带有请求参数时缓存无限增长。缓存的字节数组不会被修改
+ * </p>
+ */
+@Component
+public class ErrorResponseCache {
+
+    /**
+     * 最多缓存的错误响应体数量
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    /**
+     * 响应头，固定为 JSON
+     */
+    private static final HttpHeaders HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * JSON 序列化器
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 已序列化的错误响应体
+     */
+    private final ConcurrentHashMap<ErrorKey, byte[]> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数，预先序列化所有错误状态码的默认响应体
+     *
+     * @param objectMapper JSON 序列化器
+     */
+    public ErrorResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (ResultCodeEnum resultCodeEnum : ResultCodeEnum.values()) {
+            if (!Boolean.TRUE.equals(resultCodeEnum.getSuccess())) {
+                ErrorKey key = new ErrorKey(resultCodeEnum.getCode(), resultCodeEnum.getMessage());
+                bodies.put(key, serialize(key));
+            }
+        }
+    }
+
+    /**
+     * 获取错误响应
+     *
+     * @param key 错误状态码和消息
+     * @return 错误响应（HTTP 状态码与原来一致为 200，业务状态码在响应体中）
+     */
+    public ResponseEntity<byte[]> get(ErrorKey key) {
+        byte[] body = bodies.get(key);
+        if (body == null) {
+            body = serialize(key);
+            if (bodies.size() < MAX_ENTRIES) {
+                bodies.putIfAbsent(key, body);
+            }
+        }
+        return new ResponseEntity<>(body, HEADERS, HttpStatus.OK);
+    }
+
+    /**
+     * 获取默认消息的错误响应
+     *
+     * @param resultCodeEnum 结果状态枚举
+     * @return 错误响应
+     */
+    public ResponseEntity<byte[]> get(ResultCodeEnum resultCodeEnum) {
+        return get(resultCodeEnum, resultCodeEnum.getMessage());
+    }
+
+    /**
+     * 获取错误响应
+     *
+     * @param resultCodeEnum 结果状态枚举
+     * @param message 错误消息
+     * @return 错误响应
+     */
+    public ResponseEntity<byte[]> get(ResultCodeEnum resultCodeEnum, String message) {
+        return get(new ErrorKey(resultCodeEnum.getCode(), message));
+    }
+
+    private byte[] serialize(ErrorKey key) {
+        try {
+            return objectMapper.writeValueAsBytes(new BaseResponse<>(false, key.code(), key.message()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化错误响应失败", e);
+        }
+    }
+
+    /**
+     * 错误状态码和消息，作为响应体缓存和日志采样的 Key
+     *
+     * @param code 错误状态码
+     * @param message 错误消息
+     */
+    public record ErrorKey(Integer code, String message) {
+    }
+
+}
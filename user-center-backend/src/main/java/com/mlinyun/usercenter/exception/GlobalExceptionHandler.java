@@ -1,10 +1,17 @@
 package com.mlinyun.usercenter.exception;
 
+import cn.hutool.core.exceptions.ExceptionUtil;
 import com.mlinyun.usercenter.common.BaseResponse;
 import com.mlinyun.usercenter.common.ResultCodeEnum;
 import com.mlinyun.usercenter.common.ResultUtils;
+import com.mlinyun.usercenter.exception.ErrorResponseCache.ErrorKey;
+import com.mlinyun.usercenter.utils.LogSampler;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.annotation.Resource;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -16,12 +23,38 @@ import org.springframework.web.servlet.resource.NoResourceFoundException;
  * <p>
  * 使用 Spring Boot 的 @RestControllerAdvice 注解统一处理项目中的异常， 将异常转换为规范化的 API 响应，避免直接将错误堆栈信息暴露给客户端， 同时记录异常日志便于问题排查
  * </p>
+ *
+ * <p>
+ * 业务异常和数据库过载是被恶意请求刷接口时的主要拒绝路径：响应体从 {@link ErrorResponseCache} 获取，
+ * 相同状态码和消息的日志在采样周期内只记录一次，并附带期间跳过的次数
+ * </p>
  */
 @Slf4j
 @Hidden
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * 重复异常日志的采样周期
+     */
+    private static final Duration LOG_SAMPLE_PERIOD = Duration.ofSeconds(10);
+
+    /**
+     * 日志采样最多跟踪的错误种类
+     */
+    private static final int LOG_SAMPLE_MAX_KEYS = 1024;
+
+    /**
+     * 重复异常日志采样器
+     */
+    private final LogSampler logSampler = new LogSampler(LOG_SAMPLE_PERIOD, LOG_SAMPLE_MAX_KEYS);
+
+    /**
+     * 错误响应体缓存
+     */
+    @Resource
+    private ErrorResponseCache errorResponseCache;
+
     /**
      * 处理业务异常
      *
@@ -33,11 +66,15 @@ public class GlobalExceptionHandler {
      * @return 统一格式的错误响应
      */
     @ExceptionHandler(BusinessException.class)
-    public BaseResponse<Object> handleBusinessException(BusinessException e) {
-        // 记录异常信息
-        log.warn("BusinessException: code={}, message={}", e.getCode(), e.getMessage());
+    public ResponseEntity<byte[]> handleBusinessException(BusinessException e) {
+        ErrorKey key = new ErrorKey(e.getCode(), e.getMessage());
+        // 记录异常信息（相同异常按周期采样）
+        long skipped = logSampler.sample(key);
+        if (skipped != LogSampler.SKIP) {
+            log.warn("BusinessException: code={}, message={}, skipped={}", e.getCode(), e.getMessage(), skipped);
+        }
         // 返回错误响应
-        return ResultUtils.error(e.getCode(), e.getMessage());
+        return errorResponseCache.get(key);
     }
 
     /**
@@ -51,11 +88,19 @@ public class GlobalExceptionHandler {
      * @return 统一格式的错误响应
      */
     @ExceptionHandler(RuntimeException.class)
-    public BaseResponse<Object> handleRuntimeException(RuntimeException e) {
+    public ResponseEntity<byte[]> handleRuntimeException(RuntimeException e) {
+        // 等待数据库连接超时（连接并发保护或连接池），经 MyBatis、事务管理器包装后抛出，属于过载而非内部错误
+        if (ExceptionUtil.isCausedBy(e, SQLTransientConnectionException.class)) {
+            long skipped = logSampler.sample(SQLTransientConnectionException.class);
+            if (skipped != LogSampler.SKIP) {
+                log.warn("Database connection unavailable: message={}, skipped={}", e.getMessage(), skipped);
+            }
+            return errorResponseCache.get(ResultCodeEnum.SYSTEM_BUSY_ERROR);
+        }
         // 记录异常信息
         log.warn("RuntimeException: message={}", e.getMessage());
         // 返回错误响应
-        return ResultUtils.error(ResultCodeEnum.SERVER_ERROR, "系统异常，请稍后再试");
+        return errorResponseCache.get(ResultCodeEnum.SERVER_ERROR, "系统异常，请稍后再试");
     }
 
     /**
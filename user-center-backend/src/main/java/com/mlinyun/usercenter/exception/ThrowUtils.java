@@ -6,7 +6,7 @@ import com.mlinyun.usercenter.common.ResultCodeEnum;
  * 抛出异常工具类
  *
  * <p>
- * 提供抛出运行时异常和业务异常的方法
+ * 提供抛出运行时异常和业务异常的方法，只有条件成立时才创建异常对象（校验通过的请求不产生任何分配）
  * </p>
  */
 public final class ThrowUtils {
@@ -36,7 +36,9 @@ public final class ThrowUtils {
      * @param resultCodeEnum 业务异常枚举
      */
     public static void throwIf(boolean condition, ResultCodeEnum resultCodeEnum) {
-        throwIf(condition, new BusinessException(resultCodeEnum));
+        if (condition) {
+            throw new BusinessException(resultCodeEnum);
+        }
     }
 
     /**
@@ -47,7 +49,9 @@ public final class ThrowUtils {
      * @param message 自定义异常信息
      */
     public static void throwIf(boolean condition, ResultCodeEnum resultCodeEnum, String message) {
-        throwIf(condition, new BusinessException(resultCodeEnum, message));
+        if (condition) {
+            throw new BusinessException(resultCodeEnum, message);
+        }
     }
 
 }
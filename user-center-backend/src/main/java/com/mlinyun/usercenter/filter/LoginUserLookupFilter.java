@@ -0,0 +1,88 @@
+package com.mlinyun.usercenter.filter;
+
+import com.mlinyun.usercenter.manager.RequestLoginUserHolder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 登录用户查询次数统计过滤器
+ *
+ * <p>
+ * 在请求结束后读取 {@link RequestLoginUserHolder} 记录的登录用户实际查询次数并进行累计统计， 同一请求内出现多次查询时输出告警日志，用于发现请求级复用失效的回归问题
+ * </p>
+ */
+@Slf4j
+@Component
+public class LoginUserLookupFilter extends OncePerRequestFilter {
+
+    /**
+     * 执行过登录用户查询的请求数
+     */
+    private final LongAdder requestCount = new LongAdder();
+
+    /**
+     * 登录用户查询总次数
+     */
+    private final LongAdder lookupCount = new LongAdder();
+
+    /**
+     * 同一请求内发生重复查询的请求数
+     */
+    private final LongAdder redundantRequestCount = new LongAdder();
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int lookups = RequestLoginUserHolder.getLookupCount(request);
+            if (lookups > 0) {
+                requestCount.increment();
+                lookupCount.add(lookups);
+                if (lookups > 1) {
+                    redundantRequestCount.increment();
+                    log.warn("同一请求内重复查询登录用户: uri={}, lookups={}", request.getRequestURI(), lookups);
+                } else {
+                    log.debug("登录用户查询次数: uri={}, lookups={}", request.getRequestURI(), lookups);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取执行过登录用户查询的请求数
+     *
+     * @return 请求数
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * 获取登录用户查询总次数
+     *
+     * @return 查询总次数
+     */
+    public long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    /**
+     * 获取同一请求内发生重复查询的请求数
+     *
+     * @return 请求数
+     */
+    public long getRedundantRequestCount() {
+        return redundantRequestCount.sum();
+    }
+
+}
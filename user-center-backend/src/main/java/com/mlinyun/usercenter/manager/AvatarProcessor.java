@@ -0,0 +1,410 @@
+package com.mlinyun.usercenter.manager;
+
+import cn.hutool.core.io.FileUtil;
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.AvatarProcessProperties;
+import com.mlinyun.usercenter.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 头像处理器
+ *
+ * <p>
+ * 上传接口只校验文件头并把上传文件落盘为待处理文件，完整解码、去除元数据的重新编码和各尺寸缩略图的生成交给这里的有界线程池在后台完成。
+ * 等待队列已满时上传以“系统繁忙”拒绝，而不是在请求线程上排队；解码或写入失败的待处理文件和已写出的缩略图会被删除，
+ * 停止时丢弃的排队任务也会删除各自的待处理文件，相同内容再次上传时可以重新处理
+ * </p>
+ *
+ * <p>
+ * 缩略图先于原图写出，原图存在即表示处理已全部完成。GIF 重新编码会丢失动画帧，因此原图由 {@link GifMetadataStripper}
+ * 逐块复制并丢弃注释、XMP 等元数据块，帧数据保持不变，只生成静态缩略图
+ * </p>
+ */
+@Slf4j
+@Component
+public class AvatarProcessor {
+
+    /**
+     * 缩略图文件名中主文件名与尺寸的分隔符
+     */
+    public static final String VARIANT_SEPARATOR = "_";
+
+    /**
+     * GIF 格式
+     */
+    private static final String GIF = "gif";
+
+    /**
+     * JPEG 格式
+     */
+    private static final Set<String> JPEG_FORMATS = Set.of("jpg", "jpeg");
+
+    /**
+     * 逐级缩小时每一级的缩放比例（不小于原尺寸的一半，避免跳过过多像素产生锯齿）
+     */
+    private static final int HALVING_FACTOR = 2;
+
+    /**
+     * 处理线程池
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 缩略图边长列表
+     */
+    private final List<Integer> variantSizes;
+
+    /**
+     * JPEG 编码质量
+     */
+    private final float jpegQuality;
+
+    /**
+     * 处理完成的头像数
+     */
+    private final LongAdder completedCount = new LongAdder();
+
+    /**
+     * 解码或写入失败的头像数
+     */
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * 因队列已满被拒绝的次数
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 累计处理耗时（纳秒）
+     */
+    private final LongAdder processNanos = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param properties 头像处理配置
+     */
+    public AvatarProcessor(AvatarProcessProperties properties) {
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                Thread thread = new Thread(runnable, "avatar-process-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.variantSizes = properties.getVariantSizes().stream().filter(size -> size != null && size > 0).distinct()
+            .toList();
+        this.jpegQuality = Math.min(1, Math.max(0, properties.getJpegQuality()));
+        log.info("头像处理器初始化完成: threads={}, queueCapacity={}, variantSizes={}", threads,
+            properties.getQueueCapacity(), variantSizes);
+    }
+
+    /**
+     * 提交头像处理任务，队列已满时以系统繁忙拒绝
+     *
+     * @param pending 已落盘的待处理上传文件
+     * @param original 处理后的头像原图路径
+     */
+    public void submit(Path pending, Path original) {
+        try {
+            executor.execute(new ProcessTask(pending, original));
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn("头像处理队列已满，拒绝上传: queueDepth={}", getQueueDepth());
+            throw new BusinessException(ResultCodeEnum.SYSTEM_BUSY_ERROR);
+        }
+    }
+
+    /**
+     * 在处理线程池中执行可丢弃的后台任务（如清理旧头像），队列已满时放弃
+     *
+     * @param task 后台任务
+     * @return 是否已提交
+     */
+    public boolean tryExecute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取头像对应的指定尺寸缩略图路径
+     *
+     * @param original 头像原图
+     * @param size 缩略图边长
+     * @return 缩略图路径（与原图同目录、同扩展名，文件名追加 _尺寸）
+     */
+    public static Path variantOf(Path original, int size) {
+        String fileName = original.getFileName().toString();
+        return original.resolveSibling(
+            FileUtil.mainName(fileName) + VARIANT_SEPARATOR + size + "." + FileUtil.extName(fileName));
+    }
+
+    /**
+     * 获取缩略图边长列表
+     *
+     * @return 缩略图边长列表
+     */
+    public List<Integer> getVariantSizes() {
+        return variantSizes;
+    }
+
+    /**
+     * 完整解码待处理文件，生成各尺寸缩略图后写出去除元数据的原图，最后删除待处理文件
+     *
+     * @param pending 待处理上传文件
+     * @param original 头像原图路径
+     */
+    void process(Path pending, Path original) {
+        long startedAt = System.nanoTime();
+        String format = FileUtil.extName(original.getFileName().toString()).toLowerCase();
+        try {
+            if (Files.exists(original)) {
+                // 相同内容的上传已处理完成
+                Files.deleteIfExists(pending);
+                return;
+            }
+            BufferedImage image;
+            try (InputStream inputStream = Files.newInputStream(pending)) {
+                image = ImageIO.read(inputStream);
+            }
+            if (image == null) {
+                failedCount.increment();
+                log.warn("头像解码失败，删除文件: {}", pending);
+                Files.deleteIfExists(pending);
+                return;
+            }
+            for (int size : variantSizes) {
+                write(scale(image, size), format, variantOf(original, size));
+            }
+            if (GIF.equals(format)) {
+                writeGif(pending, original);
+            } else {
+                // 重新编码只写出像素数据，EXIF、注释等元数据不会保留
+                write(image, format, original);
+            }
+            Files.deleteIfExists(pending);
+            completedCount.increment();
+        } catch (IOException | RuntimeException e) {
+            failedCount.increment();
+            log.error("头像处理失败: {}, {}", pending, e.getMessage(), e);
+            discard(pending, original);
+        } finally {
+            processNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * 删除处理失败或被丢弃的待处理文件；原图尚未写出时一并删除已写出的缩略图
+     */
+    private void discard(Path pending, Path original) {
+        try {
+            Files.deleteIfExists(pending);
+            if (!Files.exists(original)) {
+                for (int size : variantSizes) {
+                    Files.deleteIfExists(variantOf(original, size));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("删除待处理头像失败: {}, {}", pending, e.getMessage());
+        }
+    }
+
+    /**
+     * 写出图片：先写入同目录临时文件再原子替换，读取方不会看到写了一半的文件
+     */
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        Path tempPath = Files.createTempFile(target.getParent(), ".avatar-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+            try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(tempPath.toFile())) {
+                writer.setOutput(outputStream);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (JPEG_FORMATS.contains(format)) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(jpegQuality);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(tempPath, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * 写出去除元数据的 GIF 原图，同样先写入临时文件再原子替换
+     */
+    private void writeGif(Path pending, Path target) throws IOException {
+        Path tempPath = Files.createTempFile(target.getParent(), ".avatar-", ".tmp");
+        try {
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(pending));
+                OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+                GifMetadataStripper.strip(inputStream, outputStream);
+            }
+            Files.move(tempPath, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * 按比例缩放到边长不超过 size，逐级减半以保证缩小倍数较大时的画质；图片本身不超过该尺寸时只转换像素格式
+     *
+     * @param image 原图
+     * @param size 最大边长
+     * @return 缩放后的图片
+     */
+    static BufferedImage scale(BufferedImage image, int size) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = Math.min(1, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+        // JPEG 编码器不支持透明通道，不透明图片统一使用 RGB
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        do {
+            width = Math.max(targetWidth, width / HALVING_FACTOR);
+            height = Math.max(targetHeight, height / HALVING_FACTOR);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width > targetWidth || height > targetHeight);
+        return current;
+    }
+
+    /**
+     * 停止处理线程，删除排队中未处理的待处理文件
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Runnable dropped : executor.shutdownNow()) {
+            if (dropped instanceof ProcessTask task) {
+                discard(task.pending, task.original);
+            }
+        }
+    }
+
+    /**
+     * 获取当前排队等待的任务数
+     *
+     * @return 队列深度
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 获取正在处理头像的线程数
+     *
+     * @return 活跃线程数
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 获取处理完成的头像数
+     *
+     * @return 完成数
+     */
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    /**
+     * 获取处理失败的头像数
+     *
+     * @return 失败数
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 获取因队列已满被拒绝的次数
+     *
+     * @return 拒绝次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 获取累计处理耗时（纳秒）
+     *
+     * @return 处理耗时
+     */
+    public long getProcessNanos() {
+        return processNanos.sum();
+    }
+
+    /**
+     * 头像处理任务，停止时据此找到被丢弃任务的待处理文件
+     */
+    private final class ProcessTask implements Runnable {
+
+        /**
+         * 待处理上传文件
+         */
+        private final Path pending;
+
+        /**
+         * 头像原图路径
+         */
+        private final Path original;
+
+        private ProcessTask(Path pending, Path original) {
+            this.pending = pending;
+            this.original = original;
+        }
+
+        @Override
+        public void run() {
+            process(pending, original);
+        }
+
+    }
+
+}
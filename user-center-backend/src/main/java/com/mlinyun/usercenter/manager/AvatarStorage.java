@@ -0,0 +1,325 @@
+package com.mlinyun.usercenter.manager;
+
+import cn.hutool.core.util.HexUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.mlinyun.usercenter.config.AvatarProcessProperties;
+import com.mlinyun.usercenter.config.FileUploadProperties;
+import com.mlinyun.usercenter.constant.UserConstant;
+import com.mlinyun.usercenter.mapper.UserMapper;
+import com.mlinyun.usercenter.model.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 头像存储
+ *
+ * <p>
+ * 头像按内容寻址存储：文件名为上传内容的 SHA-256，路径为 {@code 头像目录/哈希前两位/哈希.扩展名}，缩略图为 {@code 哈希_尺寸.扩展名}。
+ * 相同内容的重复上传（如默认头像）只在磁盘上保存一份；上传内容先写入隐藏的待处理文件，由 {@link AvatarProcessor} 去除元数据并生成缩略图后才出现在访问路径上
+ * </p>
+ *
+ * <p>
+ * 超过 {@code file.avatar.pending-timeout-seconds} 仍未处理完成的待处理文件视为已放弃（如进程在处理前退出），
+ * 相同内容再次上传时重新提交处理；启动时在后台删除已放弃的待处理文件和临时文件
+ * </p>
+ *
+ * <p>
+ * 用户更换头像后，旧头像在后台检查是否仍被其他用户引用，不再被引用且超过保留时间的原图和缩略图会被删除；非内容寻址的历史头像不做处理
+ * </p>
+ */
+@Slf4j
+@Component
+public class AvatarStorage {
+
+    /**
+     * 内容哈希算法
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * 分目录使用的哈希前缀长度
+     */
+    private static final int SHARD_PREFIX_LENGTH = 2;
+
+    /**
+     * 内容寻址文件的相对路径：哈希前两位/哈希.扩展名
+     */
+    private static final Pattern CONTENT_ADDRESSED_PATH =
+        Pattern.compile("^(?<shard>[0-9a-f]{2})/(?<hash>\\k<shard>[0-9a-f]{62})\\.(?<ext>[a-z]+)$");
+
+    /**
+     * 待处理文件名前缀（隐藏文件）
+     */
+    private static final String PENDING_PREFIX = ".";
+
+    /**
+     * 待处理文件名后缀
+     */
+    private static final String PENDING_SUFFIX = ".pending";
+
+    /**
+     * 临时文件名后缀（上传副本和处理中写出的图片）
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * 启动清理时遍历的目录深度（头像目录/哈希前两位/文件）
+     */
+    private static final int CLEANUP_DEPTH = 2;
+
+    /**
+     * 文件上传配置
+     */
+    @Resource
+    private FileUploadProperties fileUploadProperties;
+
+    /**
+     * 头像处理配置
+     */
+    @Resource
+    private AvatarProcessProperties avatarProcessProperties;
+
+    /**
+     * 头像处理器
+     */
+    @Resource
+    private AvatarProcessor avatarProcessor;
+
+    /**
+     * 用户 Mapper
+     */
+    @Resource
+    private UserMapper userMapper;
+
+    /**
+     * 打开文件缓存（删除文件后释放缓存的文件通道）
+     */
+    @Resource
+    private FileChannelCache fileChannelCache;
+
+    /**
+     * 保存上传的头像
+     *
+     * <p>
+     * 上传内容从上传临时文件流式复制到头像目录下的临时文件，同时计算内容哈希；内容已存在时刷新修改时间以免被清理，否则提交后台处理
+     * </p>
+     *
+     * @param file 上传的文件（已校验文件头）
+     * @param extension 小写扩展名
+     * @return 头像访问 URL
+     * @throws IOException 写入失败时抛出
+     */
+    public String store(MultipartFile file, String extension) throws IOException {
+        Path avatarRoot = getAvatarRoot();
+        Files.createDirectories(avatarRoot);
+        Path tempPath = Files.createTempFile(avatarRoot, ".upload-", TEMP_SUFFIX);
+        try {
+            String hash = copyAndHash(file, tempPath);
+            Path shardDir = avatarRoot.resolve(hash.substring(0, SHARD_PREFIX_LENGTH));
+            Files.createDirectories(shardDir);
+            Path original = shardDir.resolve(hash + "." + extension);
+            Path pending = shardDir.resolve(PENDING_PREFIX + original.getFileName() + PENDING_SUFFIX);
+            if (Files.exists(original)) {
+                Files.setLastModifiedTime(original, FileTime.from(Instant.now()));
+                log.info("头像内容已存在，复用文件: {}", original);
+            } else if (!Files.exists(pending) || isAbandoned(pending)) {
+                Files.move(tempPath, pending, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                try {
+                    avatarProcessor.submit(pending, original);
+                } catch (RuntimeException e) {
+                    Files.deleteIfExists(pending);
+                    throw e;
+                }
+            }
+            return toUrl(avatarRoot.relativize(original));
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * 启动时在后台删除已放弃的待处理文件和临时文件
+     */
+    @PostConstruct
+    public void removeAbandonedFiles() {
+        Path avatarRoot = getAvatarRoot();
+        if (!Files.isDirectory(avatarRoot)) {
+            return;
+        }
+        boolean submitted = avatarProcessor.tryExecute(() -> {
+            try (Stream<Path> files = Files.walk(avatarRoot, CLEANUP_DEPTH)) {
+                long removed = files.filter(this::isAbandonedFile).filter(this::deleteQuietly).count();
+                if (removed > 0) {
+                    log.info("已清理 {} 个未处理完成的头像上传文件", removed);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("清理未处理完成的头像上传文件失败: {}", e.getMessage());
+            }
+        });
+        if (!submitted) {
+            log.debug("头像处理队列已满，跳过启动清理");
+        }
+    }
+
+    /**
+     * 释放用户不再使用的头像：在后台检查引用，没有用户引用且超过保留时间时删除原图和全部缩略图
+     *
+     * @param avatarUrl 旧头像 URL
+     */
+    public void release(String avatarUrl) {
+        Path original = resolve(avatarUrl);
+        if (original == null) {
+            return;
+        }
+        boolean submitted = avatarProcessor.tryExecute(() -> collect(avatarUrl, original));
+        if (!submitted) {
+            log.debug("头像处理队列已满，跳过旧头像清理: {}", avatarUrl);
+        }
+    }
+
+    /**
+     * 将头像 URL 解析为内容寻址的原图路径
+     *
+     * @param avatarUrl 头像 URL
+     * @return 原图路径，不是本实例生成的内容寻址头像时返回 null
+     */
+    public Path resolve(String avatarUrl) {
+        String prefix = fileUploadProperties.getAccessPrefix() + "/" + fileUploadProperties.getAvatarDir() + "/";
+        if (StrUtil.isBlank(avatarUrl) || !avatarUrl.startsWith(prefix)) {
+            return null;
+        }
+        Matcher matcher = CONTENT_ADDRESSED_PATH.matcher(avatarUrl.substring(prefix.length()));
+        if (!matcher.matches()) {
+            return null;
+        }
+        return getAvatarRoot().resolve(matcher.group("shard"))
+            .resolve(matcher.group("hash") + "." + matcher.group("ext"));
+    }
+
+    /**
+     * 删除不再被引用的头像
+     */
+    private void collect(String avatarUrl, Path original) {
+        try {
+            if (!Files.exists(original)) {
+                return;
+            }
+            Duration age = Duration.between(Files.getLastModifiedTime(original).toInstant(), Instant.now());
+            if (age.toMinutes() < avatarProcessProperties.getGcGraceMinutes()) {
+                return;
+            }
+            Long references = userMapper.selectCount(
+                new QueryWrapper<User>().eq(UserConstant.USER_TABLE_FIELD_USER_AVATAR, avatarUrl));
+            if (references != null && references > 0) {
+                return;
+            }
+            String mainName = StrUtil.subBefore(original.getFileName().toString(), ".", true);
+            try (DirectoryStream<Path> variants = Files.newDirectoryStream(original.getParent(),
+                mainName + AvatarProcessor.VARIANT_SEPARATOR + "*")) {
+                for (Path variant : variants) {
+                    Files.deleteIfExists(variant);
+                    fileChannelCache.invalidate(variant);
+                }
+            }
+            Files.deleteIfExists(original);
+            fileChannelCache.invalidate(original);
+            log.info("已清理不再被引用的头像: {}", original);
+        } catch (IOException | RuntimeException e) {
+            log.warn("清理旧头像失败: {}, {}", original, e.getMessage());
+        }
+    }
+
+    /**
+     * 是否为已放弃的待处理文件或临时文件
+     */
+    private boolean isAbandonedFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(PENDING_PREFIX)
+            && (fileName.endsWith(PENDING_SUFFIX) || fileName.endsWith(TEMP_SUFFIX))
+            && Files.isRegularFile(path) && isAbandoned(path);
+    }
+
+    /**
+     * 文件最后修改时间是否已超过待处理文件的超时时间
+     */
+    private boolean isAbandoned(Path path) {
+        try {
+            Duration age = Duration.between(Files.getLastModifiedTime(path).toInstant(), Instant.now());
+            return age.getSeconds() >= avatarProcessProperties.getPendingTimeoutSeconds();
+        } catch (IOException e) {
+            // 文件已被处理线程删除
+            return false;
+        }
+    }
+
+    /**
+     * 删除文件，失败时只记录日志
+     */
+    private boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除文件失败: {}, {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 流式复制上传内容并计算 SHA-256
+     */
+    private static String copyAndHash(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest);
+            OutputStream outputStream = Files.newOutputStream(target)) {
+            inputStream.transferTo(outputStream);
+        }
+        return HexUtil.encodeHexStr(digest.digest());
+    }
+
+    /**
+     * 获取头像根目录
+     */
+    private Path getAvatarRoot() {
+        String uploadDir = fileUploadProperties.getUploadDir();
+        if (StrUtil.isBlank(uploadDir)) {
+            uploadDir = "./uploads";
+        }
+        return Paths.get(uploadDir, fileUploadProperties.getAvatarDir()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 将相对头像目录的路径转换为访问 URL
+     */
+    private String toUrl(Path relativePath) {
+        return fileUploadProperties.getAccessPrefix() + "/" + fileUploadProperties.getAvatarDir() + "/"
+            + relativePath.toString().replace('\\', '/');
+    }
+
+}
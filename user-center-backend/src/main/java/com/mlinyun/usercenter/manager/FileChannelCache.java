@@ -0,0 +1,280 @@
+package com.mlinyun.usercenter.manager;
+
+import com.mlinyun.usercenter.config.FileServeProperties;
+import jakarta.annotation.PreDestroy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 打开文件缓存
+ *
+ * <p>
+ * 缓存热门文件的只读文件通道、大小和修改时间，读取接口命中时不再打开文件、查询文件属性。文件通道按位置读取，可以被多个请求同时使用；
+ * 每个句柄带引用计数，被淘汰或失效的通道在最后一个使用者关闭句柄后才真正关闭，不会关闭正在传输的通道
+ * </p>
+ *
+ * <p>
+ * 缓存不检查文件是否变化，只应缓存内容不会变化的文件（如按内容哈希命名的头像）；文件被删除时需调用 {@link #invalidate(Path)} 释放通道
+ * </p>
+ */
+@Slf4j
+@Component
+public class FileChannelCache {
+
+    /**
+     * LinkedHashMap 初始容量
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * LinkedHashMap 负载因子
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * 缓存容量
+     */
+    private final int capacity;
+
+    /**
+     * 按访问顺序排列的缓存（最久未访问的在前），通过自身加锁保证线程安全
+     */
+    private final Map<Path, Handle> cache = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+    /**
+     * 命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param properties 文件访问配置
+     */
+    public FileChannelCache(FileServeProperties properties) {
+        this.capacity = Math.max(0, properties.getOpenFileCacheSize());
+        log.info("打开文件缓存初始化完成: capacity={}", capacity);
+    }
+
+    /**
+     * 打开文件，调用方使用完毕后必须关闭返回的句柄（且只关闭一次）；不跟随符号链接，只允许打开普通文件
+     *
+     * @param path 文件路径
+     * @param cacheable 文件内容是否不会变化（可以缓存）
+     * @return 文件句柄
+     * @throws IOException 文件不存在（或不是普通文件）、打开失败时抛出
+     */
+    public Handle open(Path path, boolean cacheable) throws IOException {
+        boolean useCache = cacheable && capacity > 0;
+        if (useCache) {
+            Handle cached;
+            synchronized (cache) {
+                cached = cache.get(path);
+            }
+            if (cached != null && cached.retain()) {
+                hitCount.increment();
+                return cached;
+            }
+            missCount.increment();
+        }
+        BasicFileAttributes attributes =
+            Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (!attributes.isRegularFile()) {
+            throw new NoSuchFileException(path.toString());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
+        Handle handle = new Handle(channel, attributes.size(), attributes.lastModifiedTime().toMillis());
+        if (useCache) {
+            // 缓存本身持有一个引用
+            handle.retain();
+            List<Handle> evicted = new ArrayList<>();
+            synchronized (cache) {
+                Handle previous = cache.put(path, handle);
+                if (previous != null) {
+                    evicted.add(previous);
+                }
+                Iterator<Handle> iterator = cache.values().iterator();
+                while (cache.size() > capacity && iterator.hasNext()) {
+                    evicted.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+            evicted.forEach(Handle::release);
+        }
+        return handle;
+    }
+
+    /**
+     * 使指定文件的缓存失效（文件被删除或替换时调用）
+     *
+     * @param path 文件路径
+     */
+    public void invalidate(Path path) {
+        Handle removed;
+        synchronized (cache) {
+            removed = cache.remove(path);
+        }
+        if (removed != null) {
+            removed.release();
+        }
+    }
+
+    /**
+     * 关闭全部缓存的文件通道
+     */
+    @PreDestroy
+    public void invalidateAll() {
+        List<Handle> removed;
+        synchronized (cache) {
+            removed = new ArrayList<>(cache.values());
+            cache.clear();
+        }
+        removed.forEach(Handle::release);
+    }
+
+    /**
+     * 获取缓存命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获取当前缓存的文件数
+     *
+     * @return 缓存的文件数
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 文件句柄
+     */
+    public static final class Handle implements Closeable {
+
+        /**
+         * 只读文件通道
+         */
+        private final FileChannel channel;
+
+        /**
+         * 打开时的文件大小
+         */
+        private final long size;
+
+        /**
+         * 打开时的修改时间（毫秒时间戳）
+         */
+        private final long lastModified;
+
+        /**
+         * 引用计数，降为 0 时关闭通道
+         */
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Handle(FileChannel channel, long size, long lastModified) {
+            this.channel = channel;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * 获取只读文件通道，只应使用按位置读取、传输的方法
+         *
+         * @return 文件通道
+         */
+        public FileChannel channel() {
+            return channel;
+        }
+
+        /**
+         * 获取文件大小
+         *
+         * @return 文件大小（字节）
+         */
+        public long size() {
+            return size;
+        }
+
+        /**
+         * 获取文件修改时间
+         *
+         * @return 修改时间（毫秒时间戳）
+         */
+        public long lastModified() {
+            return lastModified;
+        }
+
+        /**
+         * 增加引用，通道已关闭时返回 false
+         */
+        private boolean retain() {
+            int current;
+            do {
+                current = references.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * 释放引用，最后一个引用释放时关闭通道
+         */
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.warn("关闭文件通道失败: {}", e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * 关闭句柄（释放调用方持有的引用）
+         */
+        @Override
+        public void close() {
+            release();
+        }
+
+    }
+
+}
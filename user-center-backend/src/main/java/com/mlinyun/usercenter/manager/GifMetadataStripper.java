@@ -0,0 +1,206 @@
+package com.mlinyun.usercenter.manager;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * GIF 元数据清理器
+ *
+ * <p>
+ * GIF 重新编码会丢失动画帧，因此按块结构逐块复制：逻辑屏幕描述符、颜色表、图形控制扩展和图像数据原样保留，
+ * 注释扩展、纯文本扩展和除循环播放（NETSCAPE2.0 / ANIMEXTS1.0）之外的应用扩展（XMP、ICC 等）被丢弃，
+ * 结束符之后的附加数据也不会写出。帧的像素数据逐字节不变
+ * </p>
+ */
+final class GifMetadataStripper {
+
+    /**
+     * 文件头长度（GIF87a / GIF89a）
+     */
+    private static final int HEADER_LENGTH = 6;
+
+    /**
+     * 逻辑屏幕描述符长度
+     */
+    private static final int SCREEN_DESCRIPTOR_LENGTH = 7;
+
+    /**
+     * 逻辑屏幕描述符中标志字节的位置
+     */
+    private static final int SCREEN_FLAGS_INDEX = 4;
+
+    /**
+     * 图像描述符长度（不含分隔符）
+     */
+    private static final int IMAGE_DESCRIPTOR_LENGTH = 9;
+
+    /**
+     * 图像描述符中标志字节的位置（不含分隔符）
+     */
+    private static final int IMAGE_FLAGS_INDEX = 8;
+
+    /**
+     * 标志字节中的颜色表存在位
+     */
+    private static final int COLOR_TABLE_FLAG = 0x80;
+
+    /**
+     * 标志字节中的颜色表大小位
+     */
+    private static final int COLOR_TABLE_SIZE_MASK = 0x07;
+
+    /**
+     * 每个颜色表项的字节数（RGB）
+     */
+    private static final int COLOR_TABLE_ENTRY_LENGTH = 3;
+
+    /**
+     * 扩展块引导符
+     */
+    private static final int EXTENSION_INTRODUCER = 0x21;
+
+    /**
+     * 图像描述符分隔符
+     */
+    private static final int IMAGE_SEPARATOR = 0x2C;
+
+    /**
+     * 结束符
+     */
+    private static final int TRAILER = 0x3B;
+
+    /**
+     * 图形控制扩展标签（帧延迟、透明色、处置方式）
+     */
+    private static final int GRAPHIC_CONTROL_LABEL = 0xF9;
+
+    /**
+     * 应用扩展标签
+     */
+    private static final int APPLICATION_LABEL = 0xFF;
+
+    /**
+     * 应用扩展标识（8 字节标识 + 3 字节认证码）的长度
+     */
+    private static final int APPLICATION_IDENTIFIER_LENGTH = 11;
+
+    /**
+     * 需要保留的应用扩展：循环播放次数
+     */
+    private static final Set<String> LOOP_APPLICATIONS = Set.of("NETSCAPE2.0", "ANIMEXTS1.0");
+
+    /**
+     * 数据子块的最大长度
+     */
+    private static final int MAX_SUB_BLOCK_LENGTH = 255;
+
+    private GifMetadataStripper() {
+    }
+
+    /**
+     * 复制 GIF 并丢弃元数据块
+     *
+     * @param source GIF 输入流
+     * @param target 输出流
+     * @throws IOException 读写失败或不是合法的 GIF
+     */
+    static void strip(InputStream source, OutputStream target) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        byte[] header = new byte[HEADER_LENGTH];
+        in.readFully(header);
+        String signature = new String(header, StandardCharsets.US_ASCII);
+        if (!"GIF87a".equals(signature) && !"GIF89a".equals(signature)) {
+            throw new IOException("不是 GIF 文件");
+        }
+        target.write(header);
+        byte[] screenDescriptor = new byte[SCREEN_DESCRIPTOR_LENGTH];
+        in.readFully(screenDescriptor);
+        target.write(screenDescriptor);
+        copyColorTable(in, target, screenDescriptor[SCREEN_FLAGS_INDEX]);
+        byte[] subBlock = new byte[MAX_SUB_BLOCK_LENGTH];
+        while (true) {
+            int introducer = in.readUnsignedByte();
+            if (introducer == TRAILER) {
+                target.write(TRAILER);
+                return;
+            }
+            if (introducer == IMAGE_SEPARATOR) {
+                byte[] imageDescriptor = new byte[IMAGE_DESCRIPTOR_LENGTH];
+                in.readFully(imageDescriptor);
+                target.write(IMAGE_SEPARATOR);
+                target.write(imageDescriptor);
+                copyColorTable(in, target, imageDescriptor[IMAGE_FLAGS_INDEX]);
+                // LZW 最小码长
+                target.write(in.readUnsignedByte());
+                copySubBlocks(in, target, subBlock, true);
+            } else if (introducer == EXTENSION_INTRODUCER) {
+                copyExtension(in, target, subBlock);
+            } else {
+                throw new IOException("GIF 块类型无法识别: " + introducer);
+            }
+        }
+    }
+
+    /**
+     * 复制需要保留的扩展块，跳过其他扩展块
+     */
+    private static void copyExtension(DataInputStream in, OutputStream target, byte[] subBlock) throws IOException {
+        int label = in.readUnsignedByte();
+        if (label == GRAPHIC_CONTROL_LABEL) {
+            target.write(EXTENSION_INTRODUCER);
+            target.write(label);
+            copySubBlocks(in, target, subBlock, true);
+            return;
+        }
+        if (label != APPLICATION_LABEL) {
+            copySubBlocks(in, target, subBlock, false);
+            return;
+        }
+        int length = in.readUnsignedByte();
+        in.readFully(subBlock, 0, length);
+        boolean keep = length == APPLICATION_IDENTIFIER_LENGTH
+            && LOOP_APPLICATIONS.contains(new String(subBlock, 0, length, StandardCharsets.US_ASCII));
+        if (keep) {
+            target.write(EXTENSION_INTRODUCER);
+            target.write(label);
+            target.write(length);
+            target.write(subBlock, 0, length);
+        }
+        if (length > 0) {
+            copySubBlocks(in, target, subBlock, keep);
+        }
+    }
+
+    /**
+     * 复制或跳过颜色表
+     */
+    private static void copyColorTable(DataInputStream in, OutputStream target, byte flags) throws IOException {
+        if ((flags & COLOR_TABLE_FLAG) == 0) {
+            return;
+        }
+        byte[] colorTable = new byte[COLOR_TABLE_ENTRY_LENGTH << (flags & COLOR_TABLE_SIZE_MASK) + 1];
+        in.readFully(colorTable);
+        target.write(colorTable);
+    }
+
+    /**
+     * 复制或跳过一组数据子块，直到长度为 0 的块结束符
+     */
+    private static void copySubBlocks(DataInputStream in, OutputStream target, byte[] subBlock, boolean keep)
+        throws IOException {
+        int length;
+        do {
+            length = in.readUnsignedByte();
+            in.readFully(subBlock, 0, length);
+            if (keep) {
+                target.write(length);
+                target.write(subBlock, 0, length);
+            }
+        } while (length > 0);
+    }
+
+}
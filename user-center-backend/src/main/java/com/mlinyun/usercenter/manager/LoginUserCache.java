@@ -0,0 +1,152 @@
+package com.mlinyun.usercenter.manager;
+
+import cn.hutool.cache.impl.LRUCache;
+import com.mlinyun.usercenter.config.LoginSessionProperties;
+import com.mlinyun.usercenter.config.LoginSessionProperties.Store;
+import com.mlinyun.usercenter.config.LoginUserCacheProperties;
+import com.mlinyun.usercenter.model.entity.User;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录用户本地缓存
+ *
+ * <p>
+ * 以用户 ID 为键缓存登录用户实体，避免每个需要鉴权的请求都按主键查询一次数据库。 缓存容量有上限（LRU 淘汰），每个条目有存活时间（TTL），
+ * 用户信息、密码、状态发生变化或被删除时需主动调用 {@link #invalidate(Long)} 使其失效
+ * </p>
+ *
+ * <p>
+ * 为避免“读取旧数据 → 其他线程更新并失效 → 旧数据被写回缓存”的竞态，加载前会记录失效版本号，只有版本号未变化时才写入缓存
+ * </p>
+ *
+ * <p>
+ * 失效只作用于当前实例。会话存储为 redis 或 token 时通常是多实例部署，其他实例上的缓存条目不会被失效，
+ * 因此条目存活时间缩短为 {@code cache.login-user.shared-store-ttl-seconds}：封禁、修改或重置密码、token 模式注销后，
+ * 其他实例最迟在该时间后按新的令牌版本拒绝旧的会话和令牌
+ * </p>
+ */
+@Slf4j
+@Component
+public class LoginUserCache {
+
+    /**
+     * 缓存实例（线程安全）
+     */
+    private final LRUCache<Long, User> cache;
+
+    /**
+     * 是否启用缓存
+     */
+    private final boolean enabled;
+
+    /**
+     * 失效版本号，每次失效操作递增
+     */
+    private final AtomicLong invalidateVersion = new AtomicLong();
+
+    /**
+     * 命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param properties 登录用户缓存配置
+     * @param sessionProperties 登录会话配置（按会话存储类型确定缓存存活时间）
+     */
+    public LoginUserCache(LoginUserCacheProperties properties, LoginSessionProperties sessionProperties) {
+        this.enabled = properties.isEnabled();
+        Store store = sessionProperties.getStore();
+        long ttlSeconds = store == Store.REDIS || store == Store.TOKEN
+            ? Math.min(properties.getTtlSeconds(), properties.getSharedStoreTtlSeconds()) : properties.getTtlSeconds();
+        this.cache = new LRUCache<>(Math.max(1, properties.getCapacity()), TimeUnit.SECONDS.toMillis(ttlSeconds));
+        log.info("登录用户缓存初始化完成: enabled={}, capacity={}, ttl={}s, store={}", enabled, properties.getCapacity(),
+            ttlSeconds, store);
+    }
+
+    /**
+     * 获取登录用户，缓存未命中时通过加载函数从数据源加载
+     *
+     * @param userId 用户 ID
+     * @param loader 加载函数（通常为按主键查询数据库），返回 null 表示用户不存在
+     * @return 用户实体，不存在时返回 null
+     */
+    public User get(Long userId, Function<Long, User> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+        User cached = cache.get(userId, false);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        long version = invalidateVersion.get();
+        User loaded = loader.apply(userId);
+        // 用户不存在时不缓存，避免缓存穿透时占满容量；加载期间发生过失效则不写回
+        if (loaded != null && version == invalidateVersion.get()) {
+            cache.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     *
+     * @param userId 用户 ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidateVersion.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        invalidateVersion.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * 获取缓存命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获取当前缓存条目数
+     *
+     * @return 缓存条目数
+     */
+    public int size() {
+        return cache.size();
+    }
+
+}
@@ -0,0 +1,552 @@
+package com.mlinyun.usercenter.manager;
+
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.PasswordHashProperties;
+import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.password.PasswordHasherRegistry;
+import com.mlinyun.usercenter.utils.PasswordUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希执行器
+ *
+ * <p>
+ * BCrypt 是刻意设计的 CPU 密集型计算，直接在 Tomcat 工作线程上执行时，登录高峰会让所有工作线程都被哈希计算占满，其他轻量接口随之饿死。
+ * 这里把加密和校验交给一个与 CPU 核数相当的专用线程池执行，等待队列有界，队列已满时立即以“系统繁忙”拒绝，而不是让每个工作线程排队阻塞
+ * </p>
+ *
+ * <p>
+ * 工作因子可配置；开启校准时在启动阶段实测本机哈希耗时，选择不超过目标耗时的最大工作因子
+ * </p>
+ *
+ * <p>
+ * 具体的哈希算法由 {@link PasswordHasherRegistry} 按哈希前缀选择，过时的哈希可通过 {@link #rehashAsync(String, Consumer)} 在后台升级。
+ * 升级后的写回（数据库更新）交给单独的单线程执行，数据库变慢时不会占用哈希线程
+ * </p>
+ *
+ * <p>
+ * 每次加密、校验和升级的哈希耗时以及排队耗时记录到 {@code usercenter.password.hash}、{@code usercenter.password.queue} 计时器
+ * </p>
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    /**
+     * 校准使用的样本密码
+     */
+    private static final String CALIBRATION_SAMPLE = "Calibration@2025";
+
+    /**
+     * BCrypt 工作因子下限
+     */
+    private static final int MIN_BCRYPT_STRENGTH = 4;
+
+    /**
+     * BCrypt 工作因子上限
+     */
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+
+    /**
+     * 工作因子每加 1 的耗时增长倍数
+     */
+    private static final long COST_GROWTH_FACTOR = 2L;
+
+    /**
+     * 哈希耗时计时器名称
+     */
+    private static final String HASH_TIMER = "usercenter.password.hash";
+
+    /**
+     * 哈希计时器的操作标签
+     */
+    private static final String OPERATION_TAG = "operation";
+
+    /**
+     * 哈希线程池
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 哈希升级的写回线程，与哈希线程池分开，写回阻塞在数据库上时不影响登录和注册的哈希计算
+     */
+    private final ThreadPoolExecutor writeBackExecutor;
+
+    /**
+     * 实际使用的 BCrypt 工作因子
+     */
+    private final int strength;
+
+    /**
+     * 原样保存的 BCrypt 哈希允许的最大工作因子（导入已加密的密码时使用）
+     */
+    private final int maxStrength;
+
+    /**
+     * 密码哈希算法注册表
+     */
+    private final PasswordHasherRegistry registry;
+
+    /**
+     * 是否在登录成功后升级过时的哈希
+     */
+    private final boolean rehashOnLogin;
+
+    /**
+     * 等待哈希结果的超时时间（毫秒）
+     */
+    private final long timeoutMillis;
+
+    /**
+     * 已完成的哈希次数
+     */
+    private final LongAdder completedCount = new LongAdder();
+
+    /**
+     * 因队列已满或等待超时被拒绝的次数
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 累计排队耗时（纳秒）
+     */
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    /**
+     * 累计哈希计算耗时（纳秒）
+     */
+    private final LongAdder hashNanos = new LongAdder();
+
+    /**
+     * 已完成的哈希升级次数
+     */
+    private final LongAdder rehashCount = new LongAdder();
+
+    /**
+     * 加密耗时计时器
+     */
+    private final Timer encryptTimer;
+
+    /**
+     * 校验耗时计时器
+     */
+    private final Timer verifyTimer;
+
+    /**
+     * 哈希升级耗时计时器
+     */
+    private final Timer rehashTimer;
+
+    /**
+     * 排队耗时计时器
+     */
+    private final Timer queueTimer;
+
+    /**
+     * 构造函数，指标记录到全局注册表
+     *
+     * @param properties 密码哈希配置
+     */
+    public PasswordHashExecutor(PasswordHashProperties properties) {
+        this(properties, Metrics.globalRegistry);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param properties 密码哈希配置
+     * @param meterRegistry 指标注册表
+     */
+    @Autowired
+    public PasswordHashExecutor(PasswordHashProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads()
+            : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.writeBackExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                Thread thread = new Thread(runnable, "password-rehash-write");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = properties.getTimeoutMillis();
+        int configured = clamp(properties.getStrength());
+        this.strength = properties.isCalibrate() ? calibrateOnHost(configured, properties) : configured;
+        this.maxStrength = Math.max(strength, clamp(properties.getMaxStrength()));
+        this.registry = PasswordHasherRegistry.create(properties, strength);
+        this.rehashOnLogin = properties.isRehashOnLogin();
+        this.encryptTimer = meterRegistry.timer(HASH_TIMER, OPERATION_TAG, "encrypt");
+        this.verifyTimer = meterRegistry.timer(HASH_TIMER, OPERATION_TAG, "verify");
+        this.rehashTimer = meterRegistry.timer(HASH_TIMER, OPERATION_TAG, "rehash");
+        this.queueTimer = meterRegistry.timer("usercenter.password.queue");
+        log.info("密码哈希执行器初始化完成: algorithm={}, threads={}, queueCapacity={}, bcryptStrength={}, calibrated={}",
+            registry.getDefaultHasher().id(), threads, properties.getQueueCapacity(), strength,
+            properties.isCalibrate());
+    }
+
+    /**
+     * 加密密码
+     *
+     * @param rawPassword 原始密码
+     * @return 加密后的密码
+     */
+    public String encrypt(String rawPassword) {
+        return submit(() -> encryptTimer.recordCallable(() -> registry.hash(rawPassword)));
+    }
+
+    /**
+     * 批量加密密码，所有哈希线程并行计算
+     *
+     * <p>
+     * 同时在执行器中的任务不超过哈希线程数，结果按顺序取回后再提交下一个，不会一次性占满有界队列而让并发的登录请求被拒绝
+     * </p>
+     *
+     * @param rawPasswords 原始密码列表
+     * @return 与原始密码一一对应的加密结果
+     */
+    public List<String> encryptAll(List<String> rawPasswords) {
+        int window = executor.getCorePoolSize();
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> hashed = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (futures.size() - hashed.size() >= window) {
+                    hashed.add(await(futures.get(hashed.size())));
+                }
+                futures.add(start(() -> encryptTimer.recordCallable(() -> registry.hash(rawPassword))));
+            }
+            while (hashed.size() < futures.size()) {
+                hashed.add(await(futures.get(hashed.size())));
+            }
+            return hashed;
+        } finally {
+            // 中途失败时取消尚未完成的任务，避免继续占用哈希线程
+            futures.subList(hashed.size(), futures.size()).forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * 验证密码是否匹配
+     *
+     * @param rawPassword 用户输入的原始密码
+     * @param hashedPassword 数据库中存储的加密密码
+     * @return true-密码匹配，false-密码不匹配
+     */
+    public boolean verify(String rawPassword, String hashedPassword) {
+        return submit(() -> verifyTimer.recordCallable(() -> registry.verify(rawPassword, hashedPassword)));
+    }
+
+    /**
+     * 判断登录成功后是否应升级已存储的哈希（已开启登录升级，且哈希为非默认算法或成本参数低于当前配置）
+     *
+     * <p>
+     * 只解析哈希前缀和参数，不做哈希计算
+     * </p>
+     *
+     * @param hashedPassword 已存储的哈希
+     * @return true-应升级
+     */
+    public boolean shouldRehashOnLogin(String hashedPassword) {
+        return rehashOnLogin && registry.needsRehash(hashedPassword);
+    }
+
+    /**
+     * 在后台使用默认算法重新哈希密码，完成后在写回线程中回调写回
+     *
+     * <p>
+     * 升级不影响当前请求的结果：哈希队列或写回队列已满时直接放弃，用户下次登录时会再次尝试
+     * </p>
+     *
+     * @param rawPassword 原始密码（已校验通过）
+     * @param onHashed 新哈希的写回回调，在写回线程中执行
+     */
+    public void rehashAsync(String rawPassword, Consumer<String> onHashed) {
+        try {
+            executor.execute(() -> {
+                String newHash;
+                try {
+                    newHash = rehashTimer.record(() -> registry.hash(rawPassword));
+                } catch (RuntimeException e) {
+                    log.warn("密码哈希升级失败: {}", e.getMessage());
+                    return;
+                }
+                writeBack(newHash, onHashed);
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("密码哈希队列已满，跳过本次哈希升级");
+        }
+    }
+
+    /**
+     * 把升级后的哈希交给写回线程
+     */
+    private void writeBack(String newHash, Consumer<String> onHashed) {
+        try {
+            writeBackExecutor.execute(() -> {
+                try {
+                    onHashed.accept(newHash);
+                    rehashCount.increment();
+                } catch (RuntimeException e) {
+                    log.warn("密码哈希升级写回失败: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("密码哈希写回队列已满，跳过本次哈希升级");
+        }
+    }
+
+    /**
+     * 提交哈希任务并等待结果
+     *
+     * @param task 哈希任务
+     * @param <T> 结果类型
+     * @return 任务结果
+     */
+    <T> T submit(Callable<T> task) {
+        return await(start(task));
+    }
+
+    /**
+     * 提交哈希任务，队列已满时以系统繁忙拒绝
+     *
+     * @param task 哈希任务
+     * @param <T> 结果类型
+     * @return 已提交的任务
+     */
+    private <T> Future<T> start(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - submittedAt);
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completedCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn("密码哈希队列已满，拒绝请求: queueDepth={}", getQueueDepth());
+            throw new BusinessException(ResultCodeEnum.SYSTEM_BUSY_ERROR);
+        }
+        return future;
+    }
+
+    /**
+     * 等待哈希结果，超时以系统繁忙拒绝
+     *
+     * @param future 已提交的哈希任务
+     * @param <T> 结果类型
+     * @return 任务结果
+     */
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.increment();
+            log.warn("等待密码哈希结果超时: timeout={}ms", timeoutMillis);
+            throw new BusinessException(ResultCodeEnum.SYSTEM_BUSY_ERROR);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCodeEnum.SYSTEM_BUSY_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("密码哈希失败", e.getCause());
+        }
+    }
+
+    /**
+     * 在本机实测校准工作因子，先以最低强度预热一次，避免首次测量包含类加载和解释执行的开销
+     */
+    private static int calibrateOnHost(int minStrength, PasswordHashProperties properties) {
+        measure(MIN_BCRYPT_STRENGTH);
+        return calibrate(minStrength, clamp(properties.getMaxStrength()),
+            TimeUnit.MILLISECONDS.toNanos(properties.getCalibrationTargetMillis()), PasswordHashExecutor::measure);
+    }
+
+    /**
+     * 校准工作因子
+     *
+     * <p>
+     * 从下限开始逐级实测，工作因子每加 1 耗时翻倍，因此当前耗时的两倍超过目标时不再继续测量
+     * </p>
+     *
+     * @param minStrength 工作因子下限（即使超过目标耗时也不会低于该值）
+     * @param maxStrength 工作因子上限
+     * @param targetNanos 目标耗时（纳秒）
+     * @param measure 测量指定工作因子单次哈希耗时（纳秒）的函数
+     * @return 校准后的工作因子
+     */
+    static int calibrate(int minStrength, int maxStrength, long targetNanos, IntToLongFunction measure) {
+        int best = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            long elapsed = measure.applyAsLong(cost);
+            log.info("BCrypt 校准: strength={}, elapsed={}ms", cost, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            if (elapsed > targetNanos) {
+                if (cost == minStrength) {
+                    log.warn("BCrypt 工作因子下限 {} 已超过目标耗时，保持下限", minStrength);
+                }
+                break;
+            }
+            best = cost;
+            if (elapsed * COST_GROWTH_FACTOR > targetNanos) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 测量指定工作因子的单次哈希耗时
+     */
+    private static long measure(int cost) {
+        long start = System.nanoTime();
+        PasswordUtil.encrypt(CALIBRATION_SAMPLE, cost);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 将工作因子限制在 BCrypt 支持的范围内
+     */
+    private static int clamp(int value) {
+        return Math.min(MAX_BCRYPT_STRENGTH, Math.max(MIN_BCRYPT_STRENGTH, value));
+    }
+
+    /**
+     * 获取实际使用的 BCrypt 工作因子
+     *
+     * @return 工作因子
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * 获取原样保存的 BCrypt 哈希允许的最大工作因子
+     *
+     * @return 工作因子上限（password.hash.max-strength 与实际使用的工作因子中的较大值）
+     */
+    public int getMaxStrength() {
+        return maxStrength;
+    }
+
+    /**
+     * 判断已加密的 BCrypt 哈希能否原样保存
+     *
+     * <p>
+     * 校验耗时随工作因子指数增长，工作因子超过上限的哈希会让该账号的每次登录长时间占用哈希线程，因此导入时拒绝
+     * </p>
+     *
+     * @param hashedPassword BCrypt 哈希（已通过 {@link PasswordUtil#isBCryptHash(String)} 校验）
+     * @return true-工作因子不超过上限
+     */
+    public boolean isAcceptableHash(String hashedPassword) {
+        return PasswordUtil.getBCryptStrength(hashedPassword) <= maxStrength;
+    }
+
+    /**
+     * 获取当前排队等待的任务数
+     *
+     * @return 队列深度
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 获取正在执行哈希的线程数
+     *
+     * @return 活跃线程数
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 获取已完成的哈希次数
+     *
+     * @return 完成次数
+     */
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    /**
+     * 获取被拒绝的次数（队列已满或等待超时）
+     *
+     * @return 拒绝次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 获取累计排队耗时
+     *
+     * @return 累计排队耗时（纳秒）
+     */
+    public long getQueueWaitNanos() {
+        return queueWaitNanos.sum();
+    }
+
+    /**
+     * 获取累计哈希计算耗时
+     *
+     * @return 累计哈希耗时（纳秒）
+     */
+    public long getHashNanos() {
+        return hashNanos.sum();
+    }
+
+    /**
+     * 获取已完成的哈希升级次数
+     *
+     * @return 升级次数
+     */
+    public long getRehashCount() {
+        return rehashCount.sum();
+    }
+
+    /**
+     * 关闭哈希线程池和写回线程
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        writeBackExecutor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.mlinyun.usercenter.manager;
+
+import com.mlinyun.usercenter.model.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 请求级登录用户持有工具类
+ *
+ * <p>
+ * 将当前 HTTP 请求中已解析的登录用户保存在请求属性中，同一请求内的切面（鉴权、限流）、控制器和服务共享同一个用户实例， 只有第一次调用会真正查询缓存或数据库。
+ * 同时记录每个请求实际执行的登录用户查询次数，便于发现重复查询的回归问题
+ * </p>
+ */
+public final class RequestLoginUserHolder {
+
+    /**
+     * 请求属性名：已解析的登录用户
+     */
+    private static final String LOGIN_USER_ATTRIBUTE = RequestLoginUserHolder.class.getName() + ".loginUser";
+
+    /**
+     * 请求属性名：登录用户实际查询次数
+     */
+    private static final String LOOKUP_COUNT_ATTRIBUTE = RequestLoginUserHolder.class.getName() + ".lookupCount";
+
+    private RequestLoginUserHolder() {
+        // 私有构造函数，防止实例化
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 获取当前请求中已解析的登录用户
+     *
+     * @param request HttpServletRequest 对象
+     * @return 已解析的登录用户，尚未解析时返回 null
+     */
+    public static User get(HttpServletRequest request) {
+        Object user = request.getAttribute(LOGIN_USER_ATTRIBUTE);
+        return user instanceof User loginUser ? loginUser : null;
+    }
+
+    /**
+     * 保存当前请求解析出的登录用户
+     *
+     * @param request HttpServletRequest 对象
+     * @param user 登录用户
+     */
+    public static void set(HttpServletRequest request, User user) {
+        request.setAttribute(LOGIN_USER_ATTRIBUTE, user);
+    }
+
+    /**
+     * 清除当前请求中已解析的登录用户（用户信息变更或注销后调用）
+     *
+     * @param request HttpServletRequest 对象
+     */
+    public static void clear(HttpServletRequest request) {
+        request.removeAttribute(LOGIN_USER_ATTRIBUTE);
+    }
+
+    /**
+     * 记录一次登录用户的实际查询
+     *
+     * @param request HttpServletRequest 对象
+     */
+    public static void recordLookup(HttpServletRequest request) {
+        request.setAttribute(LOOKUP_COUNT_ATTRIBUTE, getLookupCount(request) + 1);
+    }
+
+    /**
+     * 获取当前请求中登录用户的实际查询次数
+     *
+     * @param request HttpServletRequest 对象
+     * @return 实际查询次数
+     */
+    public static int getLookupCount(HttpServletRequest request) {
+        Object count = request.getAttribute(LOOKUP_COUNT_ATTRIBUTE);
+        return count instanceof Integer lookupCount ? lookupCount : 0;
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.mlinyun.usercenter.manager;
+
+import cn.hutool.cache.impl.LRUCache;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.mlinyun.usercenter.config.UserCountCacheProperties;
+import com.mlinyun.usercenter.model.entity.User;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户总数本地缓存
+ *
+ * <p>
+ * 管理员分页查询用户时，翻页而筛选条件不变的请求总数不会变化，但每次都要执行一次 {@code SELECT COUNT(*)}，
+ * 在数百万行的用户表上这比查询一页数据更慢。这里以筛选条件（SQL 片段和参数值）为键缓存总数，
+ * 本实例写入用户表时调用 {@link #invalidateAll()} 清空，其他实例的写入依靠 TTL 在有限时间内生效
+ * </p>
+ *
+ * <p>
+ * 与 {@link LoginUserCache} 相同，加载前记录失效版本号，加载期间发生过失效则不写回，避免旧总数覆盖失效结果
+ * </p>
+ */
+@Slf4j
+@Component
+public class UserCountCache {
+
+    /**
+     * 估算总数的缓存键
+     */
+    private static final CountKey ESTIMATED_KEY = new CountKey("estimated", List.of());
+
+    /**
+     * 参数名按生成顺序排序（MPGENVAL2 在 MPGENVAL10 之前）
+     */
+    private static final Comparator<Map.Entry<String, Object>> PARAM_ORDER =
+        Comparator.comparingInt((Map.Entry<String, Object> entry) -> entry.getKey().length())
+            .thenComparing(Map.Entry::getKey);
+
+    /**
+     * 缓存实例（线程安全）
+     */
+    private final LRUCache<CountKey, Long> cache;
+
+    /**
+     * 是否启用缓存
+     */
+    private final boolean enabled;
+
+    /**
+     * 失效版本号，每次失效操作递增
+     */
+    private final AtomicLong invalidateVersion = new AtomicLong();
+
+    /**
+     * 命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param properties 用户总数缓存配置
+     */
+    public UserCountCache(UserCountCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.cache = new LRUCache<>(Math.max(1, properties.getCapacity()),
+            TimeUnit.SECONDS.toMillis(properties.getTtlSeconds()));
+        log.info("用户总数缓存初始化完成: enabled={}, capacity={}, ttl={}s", enabled, properties.getCapacity(),
+            properties.getTtlSeconds());
+    }
+
+    /**
+     * 获取满足筛选条件的用户总数，缓存未命中时通过加载函数统计
+     *
+     * @param filterWrapper 筛选条件（不含排序，排序不影响总数）
+     * @param loader 加载函数（通常为 COUNT 查询）
+     * @return 用户总数
+     */
+    public long getTotal(QueryWrapper<User> filterWrapper, LongSupplier loader) {
+        Long total = get(keyOf(filterWrapper), loader::getAsLong);
+        return total == null ? 0L : total;
+    }
+
+    /**
+     * 获取估算的用户总数（来自数据库统计信息）
+     *
+     * @param loader 加载函数，返回 null 表示数据库不支持估算
+     * @return 估算总数，不支持时返回 null
+     */
+    public Long getEstimatedTotal(Supplier<Long> loader) {
+        return get(ESTIMATED_KEY, loader);
+    }
+
+    /**
+     * 清空缓存（用户表发生新增、删除或影响筛选字段的更新时调用）
+     */
+    public void invalidateAll() {
+        invalidateVersion.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * 获取缓存命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获取当前缓存条目数
+     *
+     * @return 缓存条目数
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 查询缓存，未命中时加载并在版本号未变化时写入
+     */
+    private Long get(CountKey key, Supplier<Long> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Long cached = cache.get(key, false);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        long version = invalidateVersion.get();
+        Long loaded = loader.get();
+        if (loaded != null && version == invalidateVersion.get()) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 由筛选条件生成缓存键：SQL 片段描述条件的结构，参数值按生成顺序排列
+     */
+    static CountKey keyOf(QueryWrapper<User> filterWrapper) {
+        List<Object> params = filterWrapper.getParamNameValuePairs().entrySet().stream().sorted(PARAM_ORDER)
+            .map(Map.Entry::getValue).toList();
+        return new CountKey(filterWrapper.getSqlSegment(), params);
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param sqlSegment 筛选条件的 SQL 片段（参数为占位符）
+     * @param params 参数值
+     */
+    record CountKey(String sqlSegment, List<Object> params) {
+
+    }
+
+}
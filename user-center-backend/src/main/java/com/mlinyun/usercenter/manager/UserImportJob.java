@@ -0,0 +1,199 @@
+package com.mlinyun.usercenter.manager;
+
+import com.mlinyun.usercenter.model.enums.UserImportStatusEnum;
+import com.mlinyun.usercenter.model.vo.UserImportJobVO;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * 用户导入任务
+ *
+ * <p>
+ * 记录一个导入任务的状态、进度和失败行。进度只由导入线程在每批处理完成后更新，查询接口在其他线程读取快照
+ * </p>
+ */
+public final class UserImportJob {
+
+    /**
+     * 任务 ID
+     */
+    private final String id;
+
+    /**
+     * 上传的文件名
+     */
+    private final String fileName;
+
+    /**
+     * 文件大小（字节）
+     */
+    private final long fileSize;
+
+    /**
+     * 错误报告保留的失败行数上限
+     */
+    private final int maxErrors;
+
+    /**
+     * 创建时间
+     */
+    private final Date createTime = new Date();
+
+    /**
+     * 失败行的错误报告
+     */
+    private final List<UserImportJobVO.RowError> errors = new ArrayList<>();
+
+    /**
+     * 已读取字节数的来源，任务开始读取文件后设置
+     */
+    private volatile LongSupplier bytesRead = () -> 0L;
+
+    /**
+     * 任务状态
+     */
+    private volatile UserImportStatusEnum status = UserImportStatusEnum.PENDING;
+
+    /**
+     * 任务失败的原因
+     */
+    private volatile String message;
+
+    /**
+     * 结束时间
+     */
+    private volatile Date finishTime;
+
+    /**
+     * 已处理的行数
+     */
+    private long processedRows;
+
+    /**
+     * 导入成功的行数
+     */
+    private long successCount;
+
+    /**
+     * 导入失败的行数
+     */
+    private long failureCount;
+
+    /**
+     * 构造函数
+     *
+     * @param id 任务 ID
+     * @param fileName 上传的文件名
+     * @param fileSize 文件大小（字节）
+     * @param maxErrors 错误报告保留的失败行数上限
+     */
+    UserImportJob(String id, String fileName, long fileSize, int maxErrors) {
+        this.id = id;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 获取任务 ID
+     *
+     * @return 任务 ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 获取任务状态
+     *
+     * @return 任务状态
+     */
+    public UserImportStatusEnum getStatus() {
+        return status;
+    }
+
+    /**
+     * 获取结束时间
+     *
+     * @return 结束时间，未结束时为 null
+     */
+    public Date getFinishTime() {
+        return finishTime;
+    }
+
+    /**
+     * 设置已读取字节数的来源
+     *
+     * @param bytesRead 已读取字节数的来源
+     */
+    public void setBytesRead(LongSupplier bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    /**
+     * 记录一批数据的处理结果
+     *
+     * @param rows 本批行数
+     * @param succeeded 本批导入成功的行数
+     * @param rowErrors 本批失败行的错误
+     */
+    public synchronized void recordChunk(int rows, int succeeded, List<UserImportJobVO.RowError> rowErrors) {
+        processedRows += rows;
+        successCount += succeeded;
+        failureCount += rowErrors.size();
+        int room = Math.max(0, maxErrors - errors.size());
+        errors.addAll(rowErrors.subList(0, Math.min(room, rowErrors.size())));
+    }
+
+    /**
+     * 标记任务开始执行
+     */
+    void start() {
+        status = UserImportStatusEnum.RUNNING;
+    }
+
+    /**
+     * 标记任务执行完成
+     */
+    void succeed() {
+        finishTime = new Date();
+        status = UserImportStatusEnum.SUCCEEDED;
+    }
+
+    /**
+     * 标记任务执行失败，已导入的批次保留
+     *
+     * @param reason 失败原因
+     */
+    void fail(String reason) {
+        message = reason;
+        finishTime = new Date();
+        status = UserImportStatusEnum.FAILED;
+    }
+
+    /**
+     * 生成任务视图快照
+     *
+     * @return 任务视图
+     */
+    public synchronized UserImportJobVO toVO() {
+        UserImportJobVO jobVO = new UserImportJobVO();
+        jobVO.setJobId(id);
+        jobVO.setFileName(fileName);
+        jobVO.setStatus(status.getValue());
+        jobVO.setFileSize(fileSize);
+        jobVO.setBytesRead(status.isFinished() ? fileSize : Math.min(fileSize, bytesRead.getAsLong()));
+        jobVO.setProcessedRows(processedRows);
+        jobVO.setSuccessCount(successCount);
+        jobVO.setFailureCount(failureCount);
+        jobVO.setErrors(new ArrayList<>(errors));
+        jobVO.setErrorsTruncated(failureCount > errors.size());
+        jobVO.setMessage(message);
+        jobVO.setCreateTime(createTime);
+        jobVO.setFinishTime(finishTime);
+        return jobVO;
+    }
+
+}
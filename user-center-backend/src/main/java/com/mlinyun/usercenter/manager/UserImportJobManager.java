@@ -0,0 +1,137 @@
+package com.mlinyun.usercenter.manager;
+
+import cn.hutool.core.util.IdUtil;
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.UserImportProperties;
+import com.mlinyun.usercenter.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户导入任务管理器
+ *
+ * <p>
+ * 导入任务在单个后台线程上逐个执行：每个任务内部已经在所有哈希线程上并行加密密码，并发执行多个任务只会互相争抢哈希线程和数据库连接。
+ * 等待执行的任务数有界，超出时以“系统繁忙”拒绝。任务的进度和错误报告保存在本实例内存中，结束后保留一段时间供查询
+ * </p>
+ */
+@Slf4j
+@Component
+public class UserImportJobManager {
+
+    /**
+     * 任务 ID 到任务的映射
+     */
+    private final Map<String, UserImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 导入线程
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 错误报告保留的失败行数上限
+     */
+    private final int maxErrors;
+
+    /**
+     * 已结束任务的保留时间（毫秒）
+     */
+    private final long retentionMillis;
+
+    /**
+     * 构造函数
+     *
+     * @param properties 用户导入配置
+     */
+    public UserImportJobManager(UserImportProperties properties) {
+        this.maxErrors = Math.max(0, properties.getMaxErrors());
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(Math.max(1L, properties.getRetentionMinutes()));
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                Thread thread = new Thread(runnable, "user-import");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 提交导入任务
+     *
+     * @param fileName 上传的文件名
+     * @param fileSize 文件大小（字节）
+     * @param task 导入逻辑，抛出异常时任务标记为失败
+     * @return 已提交的任务
+     */
+    public UserImportJob submit(String fileName, long fileSize, Consumer<UserImportJob> task) {
+        evictExpired();
+        UserImportJob job = new UserImportJob(IdUtil.fastSimpleUUID(), fileName, fileSize, maxErrors);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new BusinessException(ResultCodeEnum.SYSTEM_BUSY_ERROR, "等待执行的导入任务过多，请稍后再试");
+        }
+        return job;
+    }
+
+    /**
+     * 查询导入任务
+     *
+     * @param jobId 任务 ID
+     * @return 任务，不存在或已过期时返回 null
+     */
+    public UserImportJob get(String jobId) {
+        evictExpired();
+        return jobId == null ? null : jobs.get(jobId);
+    }
+
+    /**
+     * 执行导入任务并记录结果
+     */
+    private void run(UserImportJob job, Consumer<UserImportJob> task) {
+        job.start();
+        long start = System.currentTimeMillis();
+        try {
+            task.accept(job);
+            job.succeed();
+        } catch (BusinessException e) {
+            job.fail(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("用户导入任务执行失败: jobId={}", job.getId(), e);
+            job.fail("系统内部异常，导入中止");
+        }
+        log.info("用户导入任务结束: jobId={}, status={}, cost={}ms", job.getId(), job.getStatus().getValue(),
+            System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 移除超过保留时间的已结束任务
+     */
+    private void evictExpired() {
+        long deadline = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> {
+            Date finishTime = job.getFinishTime();
+            return finishTime != null && finishTime.getTime() < deadline;
+        });
+    }
+
+    /**
+     * 关闭导入线程，正在执行的任务在当前批次结束后中止
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
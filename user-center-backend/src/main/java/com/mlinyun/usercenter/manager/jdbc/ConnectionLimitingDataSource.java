@@ -0,0 +1,174 @@
+package com.mlinyun.usercenter.manager.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 限制并发连接数的数据源
+ *
+ * <p>
+ * 在连接池前放置一个公平信号量：获取连接前先获取许可，连接关闭（归还连接池）时释放许可。许可数通常与连接池最大连接数一致，
+ * 超出的线程在信号量上按先到先得的顺序排队，而不是全部进入连接池争抢；等待超时抛出 {@link SQLTransientConnectionException}，
+ * 与连接池自身的超时异常一致，由全局异常处理器转换为系统繁忙
+ * </p>
+ *
+ * <p>
+ * 连接对象被代理以便在关闭时释放许可，重复关闭只释放一次
+ * </p>
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    /**
+     * 并发许可
+     */
+    private final Semaphore permits;
+
+    /**
+     * 许可总数
+     */
+    private final int maxConcurrent;
+
+    /**
+     * 等待许可的超时时间（毫秒）
+     */
+    private final long acquireTimeoutMillis;
+
+    /**
+     * 构造函数
+     *
+     * @param targetDataSource 目标数据源（连接池）
+     * @param maxConcurrent 同时持有连接的线程数上限
+     * @param acquireTimeoutMillis 等待许可的超时时间（毫秒）
+     */
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConcurrent, long acquireTimeoutMillis) {
+        super(targetDataSource);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+        this.acquireTimeoutMillis = Math.max(0L, acquireTimeoutMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquireConnection(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return acquireConnection(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * 获取许可个数上限
+     *
+     * @return 许可总数
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * 获取当前持有许可（连接）的线程数
+     *
+     * @return 活跃数
+     */
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * 获取正在等待许可的线程数（估计值）
+     *
+     * @return 等待数
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * 获取许可后从连接池获取连接，失败时立即归还许可
+     */
+    private Connection acquireConnection(ConnectionSupplier supplier) throws SQLException {
+        acquirePermit();
+        Connection target;
+        try {
+            target = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return guard(target);
+    }
+
+    /**
+     * 在超时时间内获取许可
+     */
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "等待数据库连接超时，" + maxConcurrent + " 个连接均在使用中（" + acquireTimeoutMillis + "ms）");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("等待数据库连接时线程被中断", e);
+        }
+    }
+
+    /**
+     * 代理连接，关闭时释放许可
+     */
+    private Connection guard(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionLimitingDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "ConnectionLimitingDataSource proxy for [" + target + "]";
+                    case "close":
+                        try {
+                            target.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    default:
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                }
+            });
+    }
+
+    /**
+     * 从目标数据源获取连接
+     */
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+
+        /**
+         * 获取连接
+         *
+         * @return 数据库连接
+         * @throws SQLException 获取失败时抛出
+         */
+        Connection get() throws SQLException;
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.mlinyun.usercenter.manager.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * SQL 耗时拦截器
+ *
+ * <p>
+ * 拦截 MyBatis 执行器的查询和更新，按 Mapper 语句 ID（如 {@code UserMapper.selectById}）、SQL 类型和结果记录到
+ * {@code usercenter.sql} 计时器。耗时包含获取连接、执行 SQL 和映射结果，不包含分页插件额外执行的 COUNT 查询
+ * </p>
+ *
+ * <p>
+ * 语句 ID 的数量由 Mapper 决定，不会随请求参数增长；计时器按语句 ID 和结果缓存，拦截时不再重复构建指标 ID
+ * </p>
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+            BoundSql.class})})
+public class SqlTimingInterceptor implements Interceptor {
+
+    /**
+     * 计时器名称
+     */
+    private static final String TIMER_NAME = "usercenter.sql";
+
+    /**
+     * 指标注册表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 执行成功的计时器，按语句 ID 缓存
+     */
+    private final ConcurrentHashMap<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 执行失败的计时器，按语句 ID 缓存
+     */
+    private final ConcurrentHashMap<String, Timer> errorTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param meterRegistry 指标注册表
+     */
+    public SqlTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long startedAt = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            timer(statement, success).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MappedStatement statement, boolean success) {
+        ConcurrentHashMap<String, Timer> timers = success ? successTimers : errorTimers;
+        return timers.computeIfAbsent(statement.getId(), id -> Timer.builder(TIMER_NAME)
+            .tag("statement", shortId(id))
+            .tag("command", statement.getSqlCommandType().name())
+            .tag("outcome", success ? "success" : "error")
+            .register(meterRegistry));
+    }
+
+    /**
+     * 去掉语句 ID 中 Mapper 的包名
+     */
+    private static String shortId(String id) {
+        int methodDot = id.lastIndexOf('.');
+        int classDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+        return id.substring(classDot + 1);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.mlinyun.usercenter.manager.password;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+
+/**
+ * Argon2id 密码哈希
+ *
+ * <p>
+ * 基于 Bouncy Castle 实现，内存困难型算法，抗 GPU/ASIC 暴力破解能力优于 BCrypt 和 PBKDF2。 哈希格式：
+ * {@code $argon2id$v=19$m=<内存KiB>,t=<迭代次数>,p=<并行度>$<盐值>$<哈希>}，与 libsodium、argon2-cffi 等实现兼容
+ * </p>
+ */
+@Slf4j
+public class Argon2idPasswordHasher implements PasswordHasher {
+
+    /**
+     * 算法标识
+     */
+    private static final String ID = "argon2id";
+
+    /**
+     * 哈希前缀
+     */
+    private static final String PREFIX = PhcStrings.SEPARATOR + ID + PhcStrings.SEPARATOR;
+
+    /**
+     * 版本参数
+     */
+    private static final String VERSION_PARAM = "v=" + Argon2Parameters.ARGON2_VERSION_13;
+
+    /**
+     * PHC 字段位置：成本参数
+     */
+    private static final int PARAMS_INDEX = 3;
+
+    /**
+     * PHC 字段位置：盐值
+     */
+    private static final int SALT_INDEX = 4;
+
+    /**
+     * PHC 字段位置：哈希
+     */
+    private static final int HASH_INDEX = 5;
+
+    /**
+     * 当前配置的成本参数
+     */
+    private final Cost cost;
+
+    /**
+     * 构造函数
+     *
+     * @param memoryKib 内存开销（KiB）
+     * @param iterations 迭代次数
+     * @param parallelism 并行度
+     */
+    public Argon2idPasswordHasher(int memoryKib, int iterations, int parallelism) {
+        this.cost = new Cost(memoryKib, iterations, parallelism);
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public boolean supports(String hashedPassword) {
+        return hashedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = PhcStrings.newSalt();
+        byte[] hash = derive(rawPassword, salt, cost, PhcStrings.HASH_LENGTH);
+        return PhcStrings.format(ID, VERSION_PARAM + PhcStrings.SEPARATOR + cost.format(), salt, hash);
+    }
+
+    @Override
+    public boolean verify(String rawPassword, String hashedPassword) {
+        try {
+            String[] parts = PhcStrings.split(hashedPassword);
+            byte[] salt = PhcStrings.decode(parts[SALT_INDEX]);
+            byte[] expected = PhcStrings.decode(parts[HASH_INDEX]);
+            byte[] actual = derive(rawPassword, salt, Cost.parse(parts[PARAMS_INDEX]), expected.length);
+            return PhcStrings.matches(expected, actual);
+        } catch (RuntimeException e) {
+            log.warn("Argon2id 哈希格式错误: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        try {
+            Cost stored = Cost.parse(PhcStrings.split(hashedPassword)[PARAMS_INDEX]);
+            return stored.memoryKib() < cost.memoryKib() || stored.iterations() < cost.iterations()
+                || stored.parallelism() != cost.parallelism();
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 计算 Argon2id 哈希
+     */
+    private static byte[] derive(String rawPassword, byte[] salt, Cost cost, int length) {
+        Argon2Parameters parameters = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+            .withVersion(Argon2Parameters.ARGON2_VERSION_13).withMemoryAsKB(cost.memoryKib())
+            .withIterations(cost.iterations()).withParallelism(cost.parallelism()).withSalt(salt).build();
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(parameters);
+        byte[] hash = new byte[length];
+        generator.generateBytes(rawPassword.getBytes(StandardCharsets.UTF_8), hash);
+        return hash;
+    }
+
+    /**
+     * Argon2id 成本参数
+     *
+     * @param memoryKib 内存开销（KiB）
+     * @param iterations 迭代次数
+     * @param parallelism 并行度
+     */
+    private record Cost(int memoryKib, int iterations, int parallelism) {
+
+        /**
+         * 解析成本参数段，如 m=19456,t=2,p=1
+         */
+        static Cost parse(String segment) {
+            Map<String, Integer> params = new HashMap<>();
+            for (String pair : segment.split(",")) {
+                int index = pair.indexOf('=');
+                params.put(pair.substring(0, index), Integer.parseInt(pair.substring(index + 1)));
+            }
+            return new Cost(params.get("m"), params.get("t"), params.get("p"));
+        }
+
+        /**
+         * 格式化为成本参数段
+         */
+        String format() {
+            return "m=" + memoryKib + ",t=" + iterations + ",p=" + parallelism;
+        }
+
+    }
+
+}
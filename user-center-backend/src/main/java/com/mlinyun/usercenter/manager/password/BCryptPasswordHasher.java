@@ -0,0 +1,73 @@
+package com.mlinyun.usercenter.manager.password;
+
+import com.mlinyun.usercenter.utils.PasswordUtil;
+
+/**
+ * BCrypt 密码哈希
+ *
+ * <p>
+ * 哈希格式：{@code $2a$<cost>$<22 位盐值><31 位哈希>}，加密和校验复用 {@link PasswordUtil}
+ * </p>
+ */
+public class BCryptPasswordHasher implements PasswordHasher {
+
+    /**
+     * 哈希前缀（兼容 $2a$、$2b$、$2y$ 等版本）
+     */
+    private static final String PREFIX = "$2";
+
+    /**
+     * 成本参数在哈希字符串中的起始位置
+     */
+    private static final int COST_BEGIN = 4;
+
+    /**
+     * 成本参数在哈希字符串中的结束位置
+     */
+    private static final int COST_END = 6;
+
+    /**
+     * 工作因子
+     */
+    private final int strength;
+
+    /**
+     * 构造函数
+     *
+     * @param strength 工作因子
+     */
+    public BCryptPasswordHasher(int strength) {
+        this.strength = strength;
+    }
+
+    @Override
+    public String id() {
+        return "bcrypt";
+    }
+
+    @Override
+    public boolean supports(String hashedPassword) {
+        return hashedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return PasswordUtil.encrypt(rawPassword, strength);
+    }
+
+    @Override
+    public boolean verify(String rawPassword, String hashedPassword) {
+        return PasswordUtil.verify(rawPassword, hashedPassword);
+    }
+
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        try {
+            return Integer.parseInt(hashedPassword.substring(COST_BEGIN, COST_END)) < strength;
+        } catch (RuntimeException e) {
+            // 格式异常的哈希无法判断成本，登录成功后直接按当前配置重新哈希
+            return true;
+        }
+    }
+
+}
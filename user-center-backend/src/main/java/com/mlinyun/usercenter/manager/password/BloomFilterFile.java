@@ -0,0 +1,304 @@
+package com.mlinyun.usercenter.manager.password;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于内存映射文件的布隆过滤器
+ *
+ * <p>
+ * 位数组直接保存在文件中，通过 {@link MappedByteBuffer} 访问，数据位于操作系统页缓存而不是 Java 堆中，
+ * 数亿条记录的过滤器也只占用少量堆内存。单个映射不能超过 2GB，因此位数组按 1GB 分段映射
+ * </p>
+ *
+ * <p>
+ * 文件格式（大端序）：魔数 {@code UCBF}、版本、键格式、哈希函数个数、位数组长度、记录数，共 32 字节文件头，之后为位数组。
+ * 第 i 个哈希位置使用双重哈希 {@code h1 + i * h2} 计算，h1、h2 来自 MurmurHash3 x64 128 位哈希
+ * </p>
+ */
+final class BloomFilterFile {
+
+    /**
+     * 魔数：UCBF
+     */
+    private static final int MAGIC = 0x55434246;
+
+    /**
+     * 文件格式版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 文件头长度（字节）
+     */
+    private static final int HEADER_BYTES = 32;
+
+    /**
+     * 文件头中记录数的位置
+     */
+    private static final int ENTRY_COUNT_OFFSET = 24;
+
+    /**
+     * 每段映射的字节数（1GB）
+     */
+    private static final int SEGMENT_SHIFT = 30;
+
+    /**
+     * 段内偏移掩码
+     */
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /**
+     * 位下标转字节下标的位移
+     */
+    private static final int BYTE_SHIFT = 3;
+
+    /**
+     * 字节内位偏移掩码
+     */
+    private static final int BIT_MASK = Byte.SIZE - 1;
+
+    /**
+     * ln 2，用于计算最优位数组长度和哈希函数个数
+     */
+    private static final double LN2 = Math.log(2);
+
+    /**
+     * 键格式
+     */
+    private final KeyFormat keyFormat;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int hashCount;
+
+    /**
+     * 位数组长度
+     */
+    private final long bitCount;
+
+    /**
+     * 记录数
+     */
+    private final long entryCount;
+
+    /**
+     * 位数组的分段映射
+     */
+    private final MappedByteBuffer[] segments;
+
+    private BloomFilterFile(KeyFormat keyFormat, int hashCount, long bitCount, long entryCount,
+        MappedByteBuffer[] segments) {
+        this.keyFormat = keyFormat;
+        this.hashCount = hashCount;
+        this.bitCount = bitCount;
+        this.entryCount = entryCount;
+        this.segments = segments;
+    }
+
+    /**
+     * 以只读方式打开过滤器文件
+     *
+     * @param path 文件路径
+     * @return 过滤器
+     * @throws IOException 读取失败或文件格式不正确
+     */
+    static BloomFilterFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("不是有效的泄露密码过滤器文件: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("不支持的过滤器文件版本: " + version);
+            }
+            int keyFormatOrdinal = header.getInt();
+            if (keyFormatOrdinal < 0 || keyFormatOrdinal >= KeyFormat.values().length) {
+                throw new IOException("不支持的过滤器键格式: " + keyFormatOrdinal);
+            }
+            KeyFormat keyFormat = KeyFormat.values()[keyFormatOrdinal];
+            int hashCount = header.getInt();
+            long bitCount = header.getLong();
+            long entryCount = header.getLong();
+            if (channel.size() < HEADER_BYTES + byteCount(bitCount)) {
+                throw new IOException("过滤器文件不完整: " + path);
+            }
+            MappedByteBuffer[] segments = map(channel, FileChannel.MapMode.READ_ONLY, bitCount);
+            return new BloomFilterFile(keyFormat, hashCount, bitCount, entryCount, segments);
+        }
+    }
+
+    /**
+     * 创建可写的过滤器文件，按预计记录数和误判率计算位数组长度和哈希函数个数
+     *
+     * @param path 文件路径，已存在时覆盖
+     * @param keyFormat 键格式
+     * @param expectedEntries 预计记录数
+     * @param falsePositiveRate 期望误判率
+     * @return 过滤器
+     * @throws IOException 写入失败
+     */
+    static BloomFilterFile create(Path path, KeyFormat keyFormat, long expectedEntries, double falsePositiveRate)
+        throws IOException {
+        long entries = Math.max(1, expectedEntries);
+        long bitCount = Math.max(Long.SIZE, (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * LN2));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(keyFormat.ordinal()).putInt(hashCount).putLong(bitCount)
+                .putLong(0L).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            MappedByteBuffer[] segments = map(channel, FileChannel.MapMode.READ_WRITE, bitCount);
+            return new BloomFilterFile(keyFormat, hashCount, bitCount, 0L, segments);
+        }
+    }
+
+    /**
+     * 分段映射位数组
+     */
+    private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long bitCount)
+        throws IOException {
+        long bytes = byteCount(bitCount);
+        int count = (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, HEADER_BYTES + start, Math.min(SEGMENT_MASK + 1, bytes - start));
+        }
+        return segments;
+    }
+
+    /**
+     * 位数组占用的字节数
+     */
+    private static long byteCount(long bitCount) {
+        return (bitCount + BIT_MASK) >>> BYTE_SHIFT;
+    }
+
+    /**
+     * 判断键是否可能存在
+     *
+     * @param key 键
+     * @param length 键长度
+     * @return false-一定不存在，true-可能存在（存在误判）
+     */
+    boolean mightContain(byte[] key, int length) {
+        long[] hash = Murmur3.hash128(key, 0, length);
+        long combined = hash[0];
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            long byteIndex = index >>> BYTE_SHIFT;
+            byte value = segments[(int) (byteIndex >>> SEGMENT_SHIFT)].get((int) (byteIndex & SEGMENT_MASK));
+            if ((value & 1 << (index & BIT_MASK)) == 0) {
+                return false;
+            }
+            combined += hash[1];
+        }
+        return true;
+    }
+
+    /**
+     * 写入键
+     *
+     * @param key 键
+     * @param length 键长度
+     */
+    void put(byte[] key, int length) {
+        long[] hash = Murmur3.hash128(key, 0, length);
+        long combined = hash[0];
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            long byteIndex = index >>> BYTE_SHIFT;
+            MappedByteBuffer segment = segments[(int) (byteIndex >>> SEGMENT_SHIFT)];
+            int position = (int) (byteIndex & SEGMENT_MASK);
+            segment.put(position, (byte) (segment.get(position) | 1 << (index & BIT_MASK)));
+            combined += hash[1];
+        }
+    }
+
+    /**
+     * 写入记录数并将位数组刷到磁盘（仅用于构建）
+     *
+     * @param path 文件路径
+     * @param entries 实际写入的记录数
+     * @throws IOException 写入失败
+     */
+    void finish(Path path, long entries) throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(entries).flip();
+            channel.write(buffer, ENTRY_COUNT_OFFSET);
+        }
+    }
+
+    /**
+     * 获取键格式
+     *
+     * @return 键格式
+     */
+    KeyFormat getKeyFormat() {
+        return keyFormat;
+    }
+
+    /**
+     * 获取记录数
+     *
+     * @return 记录数
+     */
+    long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * 获取位数组长度
+     *
+     * @return 位数组长度
+     */
+    long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * 获取哈希函数个数
+     *
+     * @return 哈希函数个数
+     */
+    int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 过滤器中键的格式
+     */
+    enum KeyFormat {
+
+        /**
+         * 明文密码的 UTF-8 字节
+         */
+        PLAIN,
+
+        /**
+         * 密码 UTF-8 字节的 SHA-1 摘要（兼容 Have I Been Pwned 等以 SHA-1 发布的语料）
+         */
+        SHA1
+
+    }
+
+}
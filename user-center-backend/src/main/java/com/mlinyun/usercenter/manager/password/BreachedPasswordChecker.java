@@ -0,0 +1,110 @@
+package com.mlinyun.usercenter.manager.password;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import com.mlinyun.usercenter.config.BreachedPasswordProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 泄露密码检测器
+ *
+ * <p>
+ * 启动时以只读内存映射方式加载 {@link BreachedPasswordFilterTool} 构建的布隆过滤器文件，注册、修改密码和重置密码时检查新密码是否出现在泄露密码库中。
+ * 一次查询只计算一次 128 位哈希并读取若干个字节，过滤器数据位于页缓存中，不占用 Java 堆。
+ * 布隆过滤器存在极低的误判率，误判的后果只是要求用户换一个密码，不会放过已泄露的密码
+ * </p>
+ */
+@Slf4j
+@Component
+public class BreachedPasswordChecker {
+
+    /**
+     * 过滤器，未开启检测时为 null
+     */
+    private final BloomFilterFile filter;
+
+    /**
+     * 命中泄露密码的次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param properties 泄露密码检测配置
+     */
+    public BreachedPasswordChecker(BreachedPasswordProperties properties) {
+        if (!properties.isEnabled()) {
+            this.filter = null;
+            return;
+        }
+        if (CharSequenceUtil.isBlank(properties.getFilterPath())) {
+            throw new IllegalStateException("已开启泄露密码检测，但未配置 password.breach.filter-path");
+        }
+        Path path = Path.of(properties.getFilterPath());
+        try {
+            this.filter = BloomFilterFile.open(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("加载泄露密码过滤器失败: " + path, e);
+        }
+        log.info("泄露密码过滤器已加载: path={}, format={}, entries={}, bits={}, hashes={}", path,
+            filter.getKeyFormat(), filter.getEntryCount(), filter.getBitCount(), filter.getHashCount());
+    }
+
+    /**
+     * 判断密码是否出现在泄露密码库中
+     *
+     * @param password 明文密码
+     * @return true-已泄露（或误判），false-未泄露或未开启检测
+     */
+    public boolean isBreached(String password) {
+        if (filter == null || CharSequenceUtil.isEmpty(password)) {
+            return false;
+        }
+        byte[] key = password.getBytes(StandardCharsets.UTF_8);
+        if (filter.getKeyFormat() == BloomFilterFile.KeyFormat.SHA1) {
+            key = sha1(key);
+        }
+        boolean breached = filter.mightContain(key, key.length);
+        if (breached) {
+            hitCount.increment();
+        }
+        return breached;
+    }
+
+    /**
+     * 是否已开启检测
+     *
+     * @return true-已开启
+     */
+    public boolean isEnabled() {
+        return filter != null;
+    }
+
+    /**
+     * 获取命中泄露密码的次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 计算 SHA-1 摘要
+     */
+    private static byte[] sha1(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前 JDK 不支持 SHA-1", e);
+        }
+    }
+
+}
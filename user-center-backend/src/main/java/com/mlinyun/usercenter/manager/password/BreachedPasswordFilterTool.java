@@ -0,0 +1,250 @@
+package com.mlinyun.usercenter.manager.password;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 泄露密码过滤器离线构建工具
+ *
+ * <p>
+ * 将泄露密码语料编译为 {@link BloomFilterFile} 文件，供 {@link BreachedPasswordChecker} 在运行时以只读内存映射方式加载。
+ * 语料每行一条记录，按原始字节读取，不经过字符串解码，数亿行的语料也不会在堆上产生大量对象。支持两种语料格式：
+ * </p>
+ * <ul>
+ * <li>明文：每行一个密码（UTF-8）</li>
+ * <li>SHA-1：每行以 40 位十六进制 SHA-1 开头，冒号后的出现次数等内容会被忽略（Have I Been Pwned 的发布格式）</li>
+ * </ul>
+ *
+ * <p>
+ * 用法：{@code BreachedPasswordFilterTool <语料文件> <输出文件> [--sha1] [--fpp 0.001] [--expected 记录数]}。
+ * 未指定 --expected 时先扫描一遍语料统计行数
+ * </p>
+ *
+ * <p>
+ * 明文语料中超过 {@link #MAX_LINE_BYTES} 字节的行会被跳过并计数（截断后的前缀不是任何人会输入的密码，写入过滤器没有意义）；
+ * SHA-1 语料只使用行首的 40 位十六进制，超长的行仍然有效
+ * </p>
+ */
+@Slf4j
+public final class BreachedPasswordFilterTool {
+
+    /**
+     * 默认误判率
+     */
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    /**
+     * 单行最大字节数，明文语料中超长的行被跳过，SHA-1 语料只读取行首部分
+     */
+    private static final int MAX_LINE_BYTES = 1024;
+
+    /**
+     * 必填参数个数：语料文件和输出文件
+     */
+    private static final int REQUIRED_ARGS = 2;
+
+    /**
+     * SHA-1 摘要长度（字节）
+     */
+    private static final int SHA1_BYTES = 20;
+
+    /**
+     * SHA-1 十六进制长度
+     */
+    private static final int SHA1_HEX_LENGTH = SHA1_BYTES << 1;
+
+    /**
+     * 十六进制基数
+     */
+    private static final int HEX_RADIX = 16;
+
+    /**
+     * 一个十六进制字符的位数
+     */
+    private static final int HEX_BITS = 4;
+
+    /**
+     * 仅统计行数时使用的回调
+     */
+    private static final LineConsumer COUNT_ONLY = (line, length) -> true;
+
+    /**
+     * 读取缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 进度日志间隔（行）
+     */
+    private static final long PROGRESS_INTERVAL = 10_000_000L;
+
+    private BreachedPasswordFilterTool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 命令行入口
+     *
+     * @param args 语料文件、输出文件以及可选参数
+     * @throws IOException 读写文件失败
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < REQUIRED_ARGS) {
+            log.error("用法: BreachedPasswordFilterTool <语料文件> <输出文件> [--sha1] [--fpp 0.001] [--expected 记录数]");
+            return;
+        }
+        boolean sha1 = false;
+        double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+        long expectedEntries = 0;
+        for (int i = REQUIRED_ARGS; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sha1" -> sha1 = true;
+                case "--fpp" -> falsePositiveRate = Double.parseDouble(args[++i]);
+                case "--expected" -> expectedEntries = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+        build(Path.of(args[0]), Path.of(args[1]), sha1, falsePositiveRate, expectedEntries);
+    }
+
+    /**
+     * 构建过滤器文件
+     *
+     * @param corpus 语料文件
+     * @param output 输出文件
+     * @param sha1 true-语料为 SHA-1 十六进制格式，false-明文格式
+     * @param falsePositiveRate 期望误判率
+     * @param expectedEntries 预计记录数，不大于 0 时扫描语料统计
+     * @return 写入的记录数
+     * @throws IOException 读写文件失败
+     */
+    public static long build(Path corpus, Path output, boolean sha1, double falsePositiveRate, long expectedEntries)
+        throws IOException {
+        BloomFilterFile.KeyFormat keyFormat = sha1 ? BloomFilterFile.KeyFormat.SHA1 : BloomFilterFile.KeyFormat.PLAIN;
+        boolean skipOverlong = !sha1;
+        long expected = expectedEntries > 0 ? expectedEntries
+            : forEachLine(corpus, skipOverlong, COUNT_ONLY).accepted();
+        log.info("开始构建泄露密码过滤器: corpus={}, format={}, expected={}, fpp={}", corpus, keyFormat, expected,
+            falsePositiveRate);
+        BloomFilterFile filter = BloomFilterFile.create(output, keyFormat, expected, falsePositiveRate);
+        byte[] digest = new byte[SHA1_BYTES];
+        LineCount lineCount = forEachLine(corpus, skipOverlong, (line, length) -> {
+            if (!sha1) {
+                filter.put(line, length);
+                return true;
+            }
+            if (length >= SHA1_HEX_LENGTH && decodeHex(line, digest)) {
+                filter.put(digest, digest.length);
+                return true;
+            }
+            return false;
+        });
+        long entries = lineCount.accepted();
+        if (lineCount.overlong() > 0) {
+            log.warn("跳过 {} 行超过 {} 字节的明文记录", lineCount.overlong(), MAX_LINE_BYTES);
+        }
+        filter.finish(output, entries);
+        log.info("泄露密码过滤器构建完成: output={}, entries={}, bits={}, hashes={}", output, entries,
+            filter.getBitCount(), filter.getHashCount());
+        return entries;
+    }
+
+    /**
+     * 逐行读取原始字节，跳过空行，去掉行尾的 \r
+     *
+     * @param skipOverlong true-跳过超过 {@link #MAX_LINE_BYTES} 字节的行，false-只把行首部分交给回调
+     * @return 被回调接受的行数和跳过的超长行数
+     */
+    private static LineCount forEachLine(Path corpus, boolean skipOverlong, LineConsumer consumer)
+        throws IOException {
+        byte[] line = new byte[MAX_LINE_BYTES];
+        long count = 0;
+        long overlong = 0;
+        long lines = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(corpus), BUFFER_SIZE)) {
+            int length = 0;
+            boolean truncated = false;
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (b == '\n') {
+                    if (truncated && skipOverlong) {
+                        overlong++;
+                    } else {
+                        count += accept(consumer, line, length);
+                    }
+                    length = 0;
+                    truncated = false;
+                    if (++lines % PROGRESS_INTERVAL == 0) {
+                        log.info("已处理 {} 行", lines);
+                    }
+                } else if (length < MAX_LINE_BYTES) {
+                    line[length++] = (byte) b;
+                } else {
+                    truncated = true;
+                }
+            }
+            if (truncated && skipOverlong) {
+                overlong++;
+            } else {
+                count += accept(consumer, line, length);
+            }
+        }
+        return new LineCount(count, overlong);
+    }
+
+    /**
+     * 处理一行，返回 1 表示该行被接受，空行和被回调跳过的行返回 0
+     */
+    private static int accept(LineConsumer consumer, byte[] line, int length) {
+        int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        return end > 0 && consumer.accept(line, end) ? 1 : 0;
+    }
+
+    /**
+     * 将行首的十六进制 SHA-1 解码到 digest
+     *
+     * @return false-不是合法的十六进制（如语料的标题行），跳过该行
+     */
+    private static boolean decodeHex(byte[] line, byte[] digest) {
+        for (int i = 0; i < SHA1_BYTES; i++) {
+            int high = Character.digit(line[i << 1], HEX_RADIX);
+            int low = Character.digit(line[(i << 1) + 1], HEX_RADIX);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            digest[i] = (byte) (high << HEX_BITS | low);
+        }
+        return true;
+    }
+
+    /**
+     * 逐行读取的结果
+     *
+     * @param accepted 被回调接受的行数
+     * @param overlong 跳过的超长行数
+     */
+    private record LineCount(long accepted, long overlong) {
+    }
+
+    /**
+     * 行处理回调
+     */
+    @FunctionalInterface
+    private interface LineConsumer {
+
+        /**
+         * 处理一行
+         *
+         * @param line 行缓冲区（会被复用）
+         * @param length 行长度
+         * @return 是否接受该行（计入记录数）
+         */
+        boolean accept(byte[] line, int length);
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.mlinyun.usercenter.manager.password;
+
+/**
+ * MurmurHash3 x64 128 位哈希
+ *
+ * <p>
+ * 泄露密码过滤器文件的构建和查询必须使用完全相同的哈希，因此这里固定实现，不依赖第三方库的版本
+ * </p>
+ */
+final class Murmur3 {
+
+    /**
+     * 分块大小（字节）
+     */
+    private static final int BLOCK_BYTES = 16;
+
+    /**
+     * 半块大小（字节）
+     */
+    private static final int HALF_BLOCK_BYTES = 8;
+
+    /**
+     * 块内偏移掩码
+     */
+    private static final int BLOCK_MASK = BLOCK_BYTES - 1;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private static final int R1 = 31;
+
+    private static final int R2 = 27;
+
+    private static final int R3 = 33;
+
+    private static final int M = 5;
+
+    private static final int N1 = 0x52dce729;
+
+    private static final int N2 = 0x38495ab5;
+
+    private static final long FMIX1 = 0xff51afd7ed558ccdL;
+
+    private static final long FMIX2 = 0xc4ceb9fe1a85ec53L;
+
+    private static final int FMIX_SHIFT = 33;
+
+    private static final int BYTE_MASK = 0xff;
+
+    private Murmur3() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 计算 128 位哈希
+     *
+     * @param data 数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 两个 64 位哈希值
+     */
+    static long[] hash128(byte[] data, int offset, int length) {
+        long h1 = 0;
+        long h2 = 0;
+        int blocks = length / BLOCK_BYTES;
+        for (int i = 0; i < blocks; i++) {
+            int position = offset + i * BLOCK_BYTES;
+            h1 ^= mixK1(littleEndianLong(data, position, HALF_BLOCK_BYTES));
+            h1 = Long.rotateLeft(h1, R2) + h2;
+            h1 = h1 * M + N1;
+            h2 ^= mixK2(littleEndianLong(data, position + HALF_BLOCK_BYTES, HALF_BLOCK_BYTES));
+            h2 = Long.rotateLeft(h2, R1) + h1;
+            h2 = h2 * M + N2;
+        }
+
+        int tail = offset + blocks * BLOCK_BYTES;
+        int remaining = length & BLOCK_MASK;
+        if (remaining > HALF_BLOCK_BYTES) {
+            h2 ^= mixK2(littleEndianLong(data, tail + HALF_BLOCK_BYTES, remaining - HALF_BLOCK_BYTES));
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(littleEndianLong(data, tail, Math.min(remaining, HALF_BLOCK_BYTES)));
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[] {h1, h2};
+    }
+
+    /**
+     * 按小端序读取最多 8 个字节
+     */
+    private static long littleEndianLong(byte[] data, int position, int count) {
+        long value = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            value = value << Byte.SIZE | data[position + i] & BYTE_MASK;
+        }
+        return value;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, R1) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, R3) * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> FMIX_SHIFT;
+        k *= FMIX1;
+        k ^= k >>> FMIX_SHIFT;
+        k *= FMIX2;
+        k ^= k >>> FMIX_SHIFT;
+        return k;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.mlinyun.usercenter.manager.password;
+
+/**
+ * 密码哈希算法
+ *
+ * <p>
+ * 每种算法负责生成自描述的哈希字符串（带算法前缀和成本参数），并能从前缀识别出由自己生成的哈希。 当已存储哈希的成本参数低于当前配置时，
+ * {@link #needsRehash(String)} 返回 true，由调用方在用户下次登录成功后重新哈希并写回
+ * </p>
+ */
+public interface PasswordHasher {
+
+    /**
+     * 算法标识
+     *
+     * @return 算法标识，如 bcrypt、pbkdf2-sha256、argon2id
+     */
+    String id();
+
+    /**
+     * 判断哈希字符串是否由当前算法生成
+     *
+     * @param hashedPassword 已存储的哈希
+     * @return true-由当前算法生成
+     */
+    boolean supports(String hashedPassword);
+
+    /**
+     * 使用当前配置的成本参数哈希密码
+     *
+     * @param rawPassword 原始密码
+     * @return 哈希字符串
+     */
+    String hash(String rawPassword);
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword 原始密码
+     * @param hashedPassword 已存储的哈希
+     * @return true-密码匹配
+     */
+    boolean verify(String rawPassword, String hashedPassword);
+
+    /**
+     * 判断已存储哈希的成本参数是否低于当前配置
+     *
+     * @param hashedPassword 已存储的哈希
+     * @return true-需要重新哈希
+     */
+    boolean needsRehash(String hashedPassword);
+
+}
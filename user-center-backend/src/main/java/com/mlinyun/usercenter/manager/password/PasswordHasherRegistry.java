@@ -0,0 +1,128 @@
+package com.mlinyun.usercenter.manager.password;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import com.mlinyun.usercenter.config.PasswordHashProperties;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 密码哈希算法注册表
+ *
+ * <p>
+ * 新密码统一使用配置的默认算法哈希；校验时按哈希前缀选择对应的算法，因此历史上以任意已注册算法存储的密码都能继续登录。
+ * 当哈希不是默认算法生成的，或成本参数低于当前配置时，{@link #needsRehash(String)} 返回 true，由登录流程惰性迁移
+ * </p>
+ */
+@Slf4j
+public class PasswordHasherRegistry {
+
+    /**
+     * 默认算法（用于生成新哈希）
+     */
+    private final PasswordHasher defaultHasher;
+
+    /**
+     * 所有已注册的算法
+     */
+    private final List<PasswordHasher> hashers;
+
+    /**
+     * 构造函数
+     *
+     * @param defaultHasher 默认算法，必须包含在 hashers 中
+     * @param hashers 所有已注册的算法
+     */
+    public PasswordHasherRegistry(PasswordHasher defaultHasher, List<PasswordHasher> hashers) {
+        this.defaultHasher = defaultHasher;
+        this.hashers = List.copyOf(hashers);
+    }
+
+    /**
+     * 根据配置创建注册表，注册 BCrypt、PBKDF2 和 Argon2id 三种算法
+     *
+     * @param properties 密码哈希配置
+     * @param bcryptStrength BCrypt 工作因子（可能经过启动校准）
+     * @return 注册表
+     */
+    public static PasswordHasherRegistry create(PasswordHashProperties properties, int bcryptStrength) {
+        PasswordHasher bcrypt = new BCryptPasswordHasher(bcryptStrength);
+        PasswordHasher pbkdf2 = new Pbkdf2PasswordHasher(properties.getPbkdf2Iterations());
+        PasswordHasher argon2id = new Argon2idPasswordHasher(properties.getArgon2MemoryKib(),
+            properties.getArgon2Iterations(), properties.getArgon2Parallelism());
+        PasswordHasher defaultHasher = switch (properties.getAlgorithm()) {
+            case BCRYPT -> bcrypt;
+            case PBKDF2 -> pbkdf2;
+            case ARGON2ID -> argon2id;
+        };
+        return new PasswordHasherRegistry(defaultHasher, List.of(bcrypt, pbkdf2, argon2id));
+    }
+
+    /**
+     * 使用默认算法哈希密码
+     *
+     * @param rawPassword 原始密码
+     * @return 哈希字符串
+     * @throws IllegalArgumentException 如果原始密码为空
+     */
+    public String hash(String rawPassword) {
+        if (CharSequenceUtil.isBlank(rawPassword)) {
+            throw new IllegalArgumentException("原始密码不能为空");
+        }
+        return defaultHasher.hash(rawPassword);
+    }
+
+    /**
+     * 按哈希前缀选择算法校验密码
+     *
+     * @param rawPassword 原始密码
+     * @param hashedPassword 已存储的哈希
+     * @return true-密码匹配，false-密码不匹配或哈希格式无法识别
+     */
+    public boolean verify(String rawPassword, String hashedPassword) {
+        if (CharSequenceUtil.isBlank(rawPassword) || CharSequenceUtil.isBlank(hashedPassword)) {
+            return false;
+        }
+        PasswordHasher hasher = find(hashedPassword);
+        if (hasher == null) {
+            log.warn("无法识别的密码哈希格式");
+            return false;
+        }
+        return hasher.verify(rawPassword, hashedPassword);
+    }
+
+    /**
+     * 判断已存储的哈希是否需要升级（非默认算法，或成本参数低于当前配置）
+     *
+     * @param hashedPassword 已存储的哈希
+     * @return true-需要在下次登录成功后重新哈希
+     */
+    public boolean needsRehash(String hashedPassword) {
+        if (CharSequenceUtil.isBlank(hashedPassword)) {
+            return false;
+        }
+        PasswordHasher hasher = find(hashedPassword);
+        return hasher != null && (hasher != defaultHasher || hasher.needsRehash(hashedPassword));
+    }
+
+    /**
+     * 获取默认算法
+     *
+     * @return 默认算法
+     */
+    public PasswordHasher getDefaultHasher() {
+        return defaultHasher;
+    }
+
+    /**
+     * 按哈希前缀查找算法
+     */
+    private PasswordHasher find(String hashedPassword) {
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.supports(hashedPassword)) {
+                return hasher;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.mlinyun.usercenter.manager.password;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PBKDF2-HMAC-SHA256 密码哈希
+ *
+ * <p>
+ * 基于 JDK 内置的 PBKDF2WithHmacSHA256 实现，无需额外依赖。哈希格式：{@code $pbkdf2-sha256$i=<迭代次数>$<盐值>$<哈希>}
+ * </p>
+ */
+@Slf4j
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    /**
+     * 算法标识
+     */
+    private static final String ID = "pbkdf2-sha256";
+
+    /**
+     * 哈希前缀
+     */
+    private static final String PREFIX = PhcStrings.SEPARATOR + ID + PhcStrings.SEPARATOR;
+
+    /**
+     * 迭代次数参数前缀
+     */
+    private static final String ITERATIONS_PARAM = "i=";
+
+    /**
+     * JCA 算法名称
+     */
+    private static final String JCA_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    /**
+     * PHC 字段位置：参数
+     */
+    private static final int PARAMS_INDEX = 2;
+
+    /**
+     * PHC 字段位置：盐值
+     */
+    private static final int SALT_INDEX = 3;
+
+    /**
+     * PHC 字段位置：哈希
+     */
+    private static final int HASH_INDEX = 4;
+
+    /**
+     * 迭代次数
+     */
+    private final int iterations;
+
+    /**
+     * 构造函数
+     *
+     * @param iterations 迭代次数
+     */
+    public Pbkdf2PasswordHasher(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public boolean supports(String hashedPassword) {
+        return hashedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = PhcStrings.newSalt();
+        byte[] hash = derive(rawPassword, salt, iterations, PhcStrings.HASH_LENGTH);
+        return PhcStrings.format(ID, ITERATIONS_PARAM + iterations, salt, hash);
+    }
+
+    @Override
+    public boolean verify(String rawPassword, String hashedPassword) {
+        try {
+            String[] parts = PhcStrings.split(hashedPassword);
+            byte[] salt = PhcStrings.decode(parts[SALT_INDEX]);
+            byte[] expected = PhcStrings.decode(parts[HASH_INDEX]);
+            byte[] actual = derive(rawPassword, salt, parseIterations(parts[PARAMS_INDEX]), expected.length);
+            return PhcStrings.matches(expected, actual);
+        } catch (RuntimeException e) {
+            log.warn("PBKDF2 哈希格式错误: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        try {
+            return parseIterations(PhcStrings.split(hashedPassword)[PARAMS_INDEX]) < iterations;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 解析迭代次数参数
+     */
+    private static int parseIterations(String params) {
+        return Integer.parseInt(params.substring(ITERATIONS_PARAM.length()));
+    }
+
+    /**
+     * 派生密钥
+     */
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations, int length) {
+        char[] chars = rawPassword.toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, iterations, length * Byte.SIZE);
+        try {
+            return SecretKeyFactory.getInstance(JCA_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 计算失败", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.mlinyun.usercenter.manager.password;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PHC 字符串格式工具
+ *
+ * <p>
+ * PBKDF2 和 Argon2id 的哈希按 PHC 字符串格式存储：{@code $<算法>$<参数>$<盐值>$<哈希>}，盐值和哈希使用不带填充的 Base64 编码
+ * </p>
+ */
+final class PhcStrings {
+
+    /**
+     * 盐值长度（字节）
+     */
+    static final int SALT_LENGTH = 16;
+
+    /**
+     * 哈希长度（字节）
+     */
+    static final int HASH_LENGTH = 32;
+
+    /**
+     * 字段分隔符
+     */
+    static final String SEPARATOR = "$";
+
+    /**
+     * 安全随机数生成器（线程安全）
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Base64 编码器（不带填充）
+     */
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
+    /**
+     * Base64 解码器
+     */
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private PhcStrings() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 生成随机盐值
+     *
+     * @return 盐值
+     */
+    static byte[] newSalt() {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * 拼接 PHC 字符串
+     *
+     * @param algorithm 算法标识
+     * @param params 参数段
+     * @param salt 盐值
+     * @param hash 哈希
+     * @return PHC 字符串
+     */
+    static String format(String algorithm, String params, byte[] salt, byte[] hash) {
+        return SEPARATOR + algorithm + SEPARATOR + params + SEPARATOR + ENCODER.encodeToString(salt) + SEPARATOR
+            + ENCODER.encodeToString(hash);
+    }
+
+    /**
+     * 拆分 PHC 字符串
+     *
+     * @param hashedPassword PHC 字符串
+     * @return 各字段（第一个元素为空字符串）
+     */
+    static String[] split(String hashedPassword) {
+        return hashedPassword.split("\\$");
+    }
+
+    /**
+     * Base64 解码
+     *
+     * @param value 编码后的字符串
+     * @return 原始字节
+     */
+    static byte[] decode(String value) {
+        return DECODER.decode(value);
+    }
+
+    /**
+     * 常量时间比较，避免通过比较耗时推测哈希内容
+     *
+     * @param expected 期望值
+     * @param actual 实际值
+     * @return true-相同
+     */
+    static boolean matches(byte[] expected, byte[] actual) {
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 混合限流存储（本地预租配额）
+ *
+ * <p>
+ * 每个实例按限流 Key 从共享存储批量预租一段配额，在本地用 CAS 消费，配额用完或窗口切换时再向共享存储续租。 一次网络往返可服务多次请求，
+ * 集群总放行量仍不超过 maxCount；代价是未用完的预租配额在窗口切换时作废，限流结果略偏保守
+ * </p>
+ */
+public class LeasingRateLimitStore implements RateLimitStore {
+
+    /**
+     * 共享存储
+     */
+    private final RedisRateLimitStore remote;
+
+    /**
+     * 单次预租的最大配额
+     */
+    private final int leaseSize;
+
+    /**
+     * 预计实例数
+     */
+    private final int expectedNodes;
+
+    /**
+     * 本地预租配额：key = limitKey
+     */
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * 续租次数（即访问共享存储的次数）
+     */
+    private final AtomicLong refillCount = new AtomicLong();
+
+    /**
+     * 后台清理线程
+     */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * 构造函数
+     *
+     * @param remote 共享存储
+     * @param leaseSize 单次预租的最大配额
+     * @param expectedNodes 预计实例数
+     */
+    public LeasingRateLimitStore(RedisRateLimitStore remote, int leaseSize, int expectedNodes) {
+        this.remote = remote;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.expectedNodes = Math.max(1, expectedNodes);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-lease-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 启动后台清理过期预租配额
+     *
+     * @param intervalSeconds 清理周期（秒）
+     * @return 当前实例
+     */
+    public LeasingRateLimitStore startSweeper(long intervalSeconds) {
+        long interval = Math.max(1L, intervalSeconds);
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.SECONDS);
+        return this;
+    }
+
+    @Override
+    public boolean tryAcquire(String limitKey, RateLimitRule rule) {
+        Lease lease = leases.get(limitKey);
+        if (lease == null) {
+            lease = leases.computeIfAbsent(limitKey, key -> new Lease());
+        }
+        lease.markActive();
+        long window = remote.currentWindow(rule);
+        if (lease.tryTake(window)) {
+            return true;
+        }
+        // 续租路径按 Key 串行化，同一时刻只有一个线程访问共享存储，其余线程等待后直接消费新配额。
+        // 使用显式锁而不是 synchronized：持锁期间有网络往返，虚拟线程在 synchronized 块内阻塞会固定载体线程
+        lease.refillLock.lock();
+        try {
+            if (lease.tryTake(window)) {
+                return true;
+            }
+            long granted;
+            try {
+                refillCount.incrementAndGet();
+                granted = remote.acquire(limitKey, rule, leaseBatch(rule));
+            } catch (IOException e) {
+                return remote.fallback(limitKey, rule, e);
+            }
+            if (granted <= 0) {
+                return false;
+            }
+            // 本次请求消费一个，其余留在本地
+            lease.refill(window, granted - 1);
+            return true;
+        } finally {
+            lease.refillLock.unlock();
+        }
+    }
+
+    /**
+     * 单次预租数量：不超过 leaseSize，也不超过每个实例的平均份额，至少为 1
+     */
+    private int leaseBatch(RateLimitRule rule) {
+        return Math.max(1, Math.min(leaseSize, rule.maxCount() / expectedNodes));
+    }
+
+    /**
+     * 清理上一个清理周期内未被访问的预租配额
+     *
+     * <p>
+     * 移除预租配额只会让剩余配额作废，与窗口切换等价，不会导致超额放行
+     * </p>
+     */
+    void sweep() {
+        leases.forEach((key, lease) -> {
+            if (!lease.resetActive()) {
+                leases.remove(key, lease);
+            }
+        });
+    }
+
+    /**
+     * 获取访问共享存储的续租次数
+     *
+     * @return 续租次数
+     */
+    public long getRefillCount() {
+        return refillCount.get();
+    }
+
+    /**
+     * 关闭后台清理线程
+     */
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * 单个限流 Key 的本地预租配额
+     */
+    private static final class Lease {
+
+        /**
+         * 剩余配额
+         */
+        private final AtomicLong remaining = new AtomicLong();
+
+        /**
+         * 续租锁
+         */
+        private final ReentrantLock refillLock = new ReentrantLock();
+
+        /**
+         * 配额所属的窗口编号
+         */
+        private volatile long window = Long.MIN_VALUE;
+
+        /**
+         * 自上次清理以来是否被访问过
+         */
+        private volatile boolean active = true;
+
+        /**
+         * 标记为活跃，已是活跃状态时不重复写入
+         */
+        void markActive() {
+            if (!active) {
+                active = true;
+            }
+        }
+
+        /**
+         * 清除活跃标记
+         *
+         * @return 清除前是否活跃
+         */
+        boolean resetActive() {
+            boolean wasActive = active;
+            active = false;
+            return wasActive;
+        }
+
+        /**
+         * 消费一个配额
+         */
+        boolean tryTake(long currentWindow) {
+            if (window != currentWindow) {
+                return false;
+            }
+            long value;
+            do {
+                value = remaining.get();
+                if (value <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(value, value - 1));
+            return true;
+        }
+
+        /**
+         * 写入新配额，先写剩余量再发布窗口编号，读到新窗口的线程一定能看到新配额
+         */
+        void refill(long newWindow, long amount) {
+            remaining.set(amount);
+            window = newWindow;
+        }
+
+    }
+
+}
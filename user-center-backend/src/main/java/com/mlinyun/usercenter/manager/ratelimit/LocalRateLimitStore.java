@@ -0,0 +1,114 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import com.mlinyun.usercenter.config.RateLimitProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地限流存储（默认实现）
+ *
+ * <p>
+ * 每个限流 Key 对应一个无锁的限流状态（令牌桶或滑动窗口），请求路径上只有一次哈希查找和一次 CAS，时间复杂度与活跃 Key 数量无关。
+ * 空闲的限流状态由后台线程定期清理，不在请求路径上遍历整个 Map。计数只在当前 JVM 内有效，多实例部署时请使用共享存储
+ * </p>
+ */
+@Slf4j
+@Component
+public class LocalRateLimitStore implements RateLimitStore {
+
+    /**
+     * 限流状态：key = limitKey
+     */
+    private final Map<String, RateLimitState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 单调时钟（纳秒），以引擎启动时间为零点
+     */
+    private final LongSupplier clock;
+
+    /**
+     * 后台清理线程
+     */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * 构造函数
+     *
+     * @param properties 限流配置
+     */
+    @Autowired
+    public LocalRateLimitStore(RateLimitProperties properties) {
+        this(System::nanoTime);
+        long interval = Math.max(1L, properties.getSweepIntervalSeconds());
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 使用指定时钟构造（不启动后台清理，供测试使用）
+     *
+     * @param nanoClock 纳秒时钟
+     */
+    LocalRateLimitStore(LongSupplier nanoClock) {
+        long origin = nanoClock.getAsLong();
+        this.clock = () -> nanoClock.getAsLong() - origin;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public boolean tryAcquire(String limitKey, RateLimitRule rule) {
+        RateLimitState state = states.get(limitKey);
+        if (state == null) {
+            // 仅在 Key 首次出现时创建状态，避免每次请求都分配 lambda 和状态对象
+            state = states.computeIfAbsent(limitKey, key -> rule.newState());
+        }
+        return state.tryAcquire(clock.getAsLong());
+    }
+
+    /**
+     * 清理空闲的限流状态
+     *
+     * <p>
+     * 空闲状态与新建状态等价，移除后不影响限流结果；使用 remove(key, value) 避免误删并发替换后的新状态
+     * </p>
+     */
+    void sweep() {
+        long now = clock.getAsLong();
+        int before = states.size();
+        states.forEach((key, state) -> {
+            if (state.isIdle(now)) {
+                states.remove(key, state);
+            }
+        });
+        log.debug("限流状态清理完成: before={}, after={}", before, states.size());
+    }
+
+    /**
+     * 获取当前活跃的限流 Key 数量
+     *
+     * @return 限流 Key 数量
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * 关闭后台清理线程
+     */
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import com.mlinyun.usercenter.annotation.RateLimit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流规则
+ *
+ * <p>
+ * 描述一个限流 Key 使用的算法、时间窗口和窗口内允许的最大请求次数
+ * </p>
+ *
+ * @param algorithm 限流算法
+ * @param maxCount 时间窗口内允许的最大请求次数
+ * @param windowNanos 时间窗口（纳秒）
+ */
+public record RateLimitRule(RateLimit.Algorithm algorithm, int maxCount, long windowNanos) {
+
+    /**
+     * 根据限流注解构建限流规则
+     *
+     * @param rateLimit 限流注解
+     * @return 限流规则
+     */
+    public static RateLimitRule of(RateLimit rateLimit) {
+        return new RateLimitRule(rateLimit.algorithm(), rateLimit.maxCount(),
+            TimeUnit.SECONDS.toNanos(rateLimit.seconds()));
+    }
+
+    /**
+     * 为该规则创建新的限流状态
+     *
+     * @return 限流状态
+     */
+    RateLimitState newState() {
+        return switch (algorithm) {
+            case TOKEN_BUCKET -> new TokenBucketState(maxCount, windowNanos);
+            case SLIDING_WINDOW -> new SlidingWindowState(maxCount, windowNanos);
+        };
+    }
+
+}
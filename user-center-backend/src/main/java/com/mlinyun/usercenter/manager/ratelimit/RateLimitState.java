@@ -0,0 +1,28 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+/**
+ * 单个限流 Key 的状态
+ *
+ * <p>
+ * 实现类必须是线程安全且无锁的，每次判断为常数时间，并且不产生额外的对象分配
+ * </p>
+ */
+interface RateLimitState {
+
+    /**
+     * 尝试获取一次访问许可
+     *
+     * @param nowNanos 当前时间（单调时钟，纳秒）
+     * @return true-允许访问，false-触发限流
+     */
+    boolean tryAcquire(long nowNanos);
+
+    /**
+     * 判断状态是否已经空闲（不再影响后续的限流判断），空闲状态可以被后台清理
+     *
+     * @param nowNanos 当前时间（单调时钟，纳秒）
+     * @return true-已空闲，false-仍在使用
+     */
+    boolean isIdle(long nowNanos);
+
+}
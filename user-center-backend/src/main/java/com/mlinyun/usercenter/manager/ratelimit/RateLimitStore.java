@@ -0,0 +1,22 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+/**
+ * 限流存储 SPI
+ *
+ * <p>
+ * 负责保存限流计数并给出是否放行的判断。默认使用 {@link LocalRateLimitStore}（单机内存）， 多实例部署时可切换为共享存储 {@link RedisRateLimitStore}
+ * 或本地预租配额的 {@link LeasingRateLimitStore}，使 {@code @RateLimit(maxCount = ...)} 在整个集群范围内生效
+ * </p>
+ */
+public interface RateLimitStore {
+
+    /**
+     * 尝试获取一次访问许可
+     *
+     * @param limitKey 限流 Key
+     * @param rule 限流规则
+     * @return true-允许访问，false-触发限流
+     */
+    boolean tryAcquire(String limitKey, RateLimitRule rule);
+
+}
@@ -0,0 +1,170 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import com.mlinyun.usercenter.manager.redis.RespClient;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 共享存储限流（Redis 协议）
+ *
+ * <p>
+ * 所有实例共用同一份计数，使 {@code @RateLimit(maxCount = ...)} 在集群范围内生效。 算法为滑动窗口计数：按墙上时间划分固定窗口，用上一个窗口的计数乘以剩余权重加上当前窗口的计数估算请求量；
+ * 令牌桶规则在共享存储中同样按滑动窗口近似处理。读取、判断、递增和设置过期时间在一个 Lua 脚本中原子完成，每次判断只有一次网络往返
+ * </p>
+ *
+ * <p>
+ * 共享存储不可用时降级到本地限流存储，保证限流不会因为网络故障而整体失效
+ * </p>
+ */
+@Slf4j
+public class RedisRateLimitStore implements RateLimitStore {
+
+    /**
+     * 申请配额脚本
+     *
+     * <p>
+     * KEYS[1] 当前窗口计数，KEYS[2] 上一个窗口计数；ARGV 依次为最大请求次数、申请数量、上一个窗口的剩余权重、权重精度和过期时间（毫秒）。 返回实际授予的数量，0 表示触发限流
+     * </p>
+     */
+    static final String ACQUIRE_SCRIPT = """
+        local limit = tonumber(ARGV[1])
+        local requested = tonumber(ARGV[2])
+        local weight = tonumber(ARGV[3])
+        local scale = tonumber(ARGV[4])
+        local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+        local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+        local available = math.floor((limit * scale - previous * weight) / scale) - current
+        if available <= 0 then
+            return 0
+        end
+        local granted = math.min(available, requested)
+        redis.call('INCRBY', KEYS[1], granted)
+        redis.call('PEXPIRE', KEYS[1], ARGV[5])
+        return granted
+        """;
+
+    /**
+     * 权重精度（千分比）
+     */
+    private static final long WEIGHT_SCALE = 1000L;
+
+    /**
+     * 计数保留的窗口数：当前窗口和下一个窗口中作为“上一个窗口”使用
+     */
+    private static final long RETAINED_WINDOWS = 2L;
+
+    /**
+     * 共享存储客户端
+     */
+    private final RespClient client;
+
+    /**
+     * 降级使用的本地限流存储
+     */
+    private final RateLimitStore fallback;
+
+    /**
+     * 墙上时钟（毫秒），各实例的窗口划分依赖它保持一致
+     */
+    private final LongSupplier wallClock;
+
+    /**
+     * 是否处于降级状态，仅用于避免故障期间重复打印告警日志
+     */
+    private volatile boolean degraded;
+
+    /**
+     * 构造函数
+     *
+     * @param client 共享存储客户端
+     * @param fallback 降级使用的本地限流存储
+     */
+    public RedisRateLimitStore(RespClient client, RateLimitStore fallback) {
+        this(client, fallback, System::currentTimeMillis);
+    }
+
+    /**
+     * 使用指定时钟构造（供测试使用）
+     *
+     * @param client 共享存储客户端
+     * @param fallback 降级使用的本地限流存储
+     * @param wallClock 墙上时钟（毫秒）
+     */
+    RedisRateLimitStore(RespClient client, RateLimitStore fallback, LongSupplier wallClock) {
+        this.client = client;
+        this.fallback = fallback;
+        this.wallClock = wallClock;
+    }
+
+    @Override
+    public boolean tryAcquire(String limitKey, RateLimitRule rule) {
+        try {
+            return acquire(limitKey, rule, 1) > 0;
+        } catch (IOException e) {
+            return fallback(limitKey, rule, e);
+        }
+    }
+
+    /**
+     * 从共享存储申请配额
+     *
+     * @param limitKey 限流 Key
+     * @param rule 限流规则
+     * @param requested 申请数量
+     * @return 实际授予的数量，0 表示触发限流
+     * @throws IOException 共享存储访问失败
+     */
+    long acquire(String limitKey, RateLimitRule rule, int requested) throws IOException {
+        long windowMillis = windowMillis(rule);
+        long now = wallClock.getAsLong();
+        long window = now / windowMillis;
+        long weight = (windowMillis - now % windowMillis) * WEIGHT_SCALE / windowMillis;
+        // 使用 {limitKey} 哈希标签保证两个窗口的 Key 落在同一个集群槽位，脚本才能同时访问
+        String prefix = "{" + limitKey + "}:";
+        Object reply = client.eval(ACQUIRE_SCRIPT, List.of(prefix + window, prefix + (window - 1)),
+            List.of(rule.maxCount(), requested, weight, WEIGHT_SCALE, windowMillis * RETAINED_WINDOWS));
+        long granted = RespClient.asLong(reply);
+        if (degraded) {
+            degraded = false;
+            log.info("共享限流存储已恢复");
+        }
+        return granted;
+    }
+
+    /**
+     * 计算规则所在的窗口编号，窗口编号变化时之前预租的配额失效
+     *
+     * @param rule 限流规则
+     * @return 窗口编号
+     */
+    long currentWindow(RateLimitRule rule) {
+        return wallClock.getAsLong() / windowMillis(rule);
+    }
+
+    /**
+     * 共享存储不可用时降级到本地限流存储
+     *
+     * @param limitKey 限流 Key
+     * @param rule 限流规则
+     * @param cause 失败原因
+     * @return true-允许访问，false-触发限流
+     */
+    boolean fallback(String limitKey, RateLimitRule rule, IOException cause) {
+        if (!degraded) {
+            degraded = true;
+            log.warn("共享限流存储不可用，降级为本地限流: {}", cause.getMessage());
+        }
+        return fallback.tryAcquire(limitKey, rule);
+    }
+
+    /**
+     * 时间窗口（毫秒），至少为 1
+     */
+    private static long windowMillis(RateLimitRule rule) {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(rule.windowNanos()));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 滑动窗口计数限流状态
+ *
+ * <p>
+ * 记录当前窗口和上一窗口的请求数，按上一窗口与滑动窗口重叠的比例加权估算最近一个窗口内的请求数。 窗口序号和两个计数被压缩到一个 long 中（高 32 位为窗口序号，中间 16
+ * 位为上一窗口计数，低 16 位为当前窗口计数）， 通过 CAS 无锁更新，窗口切换与计数递增是同一个原子操作
+ * </p>
+ */
+final class SlidingWindowState implements RateLimitState {
+
+    /**
+     * 单个窗口计数的最大值（16 位）
+     */
+    private static final int MAX_COUNT = 0xFFFF;
+
+    /**
+     * 计数位宽
+     */
+    private static final int COUNT_BITS = 16;
+
+    /**
+     * 窗口序号位移
+     */
+    private static final int WINDOW_SHIFT = 32;
+
+    /**
+     * 初始窗口序号，保证第一次访问时上一窗口计数为 0
+     */
+    private static final int INITIAL_WINDOW = -2;
+
+    /**
+     * 时间窗口内允许的最大请求次数
+     */
+    private final int maxCount;
+
+    /**
+     * 时间窗口（纳秒）
+     */
+    private final long windowNanos;
+
+    /**
+     * 压缩后的状态：窗口序号 | 上一窗口计数 | 当前窗口计数
+     */
+    private final AtomicLong state;
+
+    /**
+     * 构造函数
+     *
+     * @param maxCount 时间窗口内允许的最大请求次数（最大 65535）
+     * @param windowNanos 时间窗口（纳秒）
+     */
+    SlidingWindowState(int maxCount, long windowNanos) {
+        this.maxCount = Math.min(maxCount, MAX_COUNT);
+        this.windowNanos = windowNanos;
+        this.state = new AtomicLong(pack(INITIAL_WINDOW, 0, 0));
+    }
+
+    @Override
+    public boolean tryAcquire(long nowNanos) {
+        long nowWindow = nowNanos / windowNanos;
+        long elapsedInWindow = nowNanos - nowWindow * windowNanos;
+        int currentWindow = (int) nowWindow;
+        while (true) {
+            long packed = state.get();
+            int window = (int) (packed >>> WINDOW_SHIFT);
+            int previous = (int) ((packed >>> COUNT_BITS) & MAX_COUNT);
+            int current = (int) (packed & MAX_COUNT);
+            if (window != currentWindow) {
+                // 进入新窗口：紧邻的上一窗口计数保留用于加权，否则清零
+                previous = currentWindow - window == 1 ? current : 0;
+                current = 0;
+            }
+            // 估算值 = previous * (window - elapsed) / window + current + 1，两边同乘 window 避免浮点运算
+            long weighted = previous * (windowNanos - elapsedInWindow) + (current + 1L) * windowNanos;
+            if (weighted > maxCount * windowNanos) {
+                return false;
+            }
+            if (state.compareAndSet(packed, pack(currentWindow, previous, current + 1))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdle(long nowNanos) {
+        int window = (int) (state.get() >>> WINDOW_SHIFT);
+        // 当前窗口和上一窗口都已过期，计数不再参与估算
+        return (int) (nowNanos / windowNanos) - window > 1;
+    }
+
+    /**
+     * 压缩状态
+     *
+     * @param window 窗口序号
+     * @param previous 上一窗口计数
+     * @param current 当前窗口计数
+     * @return 压缩后的状态
+     */
+    private static long pack(int window, int previous, int current) {
+        return ((long) window << WINDOW_SHIFT) | ((long) previous << COUNT_BITS) | current;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 令牌桶限流状态
+ *
+ * <p>
+ * 使用 GCRA（Generic Cell Rate Algorithm）实现，与容量为 maxCount、每 window / maxCount 补充一个令牌的令牌桶等价。 整个状态只有一个“理论到达时间”（TAT），通过
+ * CAS 无锁更新，不需要定时补充令牌
+ * </p>
+ */
+final class TokenBucketState implements RateLimitState {
+
+    /**
+     * 每个令牌的补充间隔（纳秒）
+     */
+    private final long emissionIntervalNanos;
+
+    /**
+     * 时间窗口（纳秒），即桶满时可以容纳的突发时长
+     */
+    private final long windowNanos;
+
+    /**
+     * 理论到达时间（纳秒）
+     */
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * 构造函数
+     *
+     * @param maxCount 时间窗口内允许的最大请求次数（桶容量）
+     * @param windowNanos 时间窗口（纳秒）
+     */
+    TokenBucketState(int maxCount, long windowNanos) {
+        this.windowNanos = windowNanos;
+        this.emissionIntervalNanos = Math.max(1L, windowNanos / Math.max(1, maxCount));
+    }
+
+    @Override
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            // 新的理论到达时间超过当前时间一个窗口以上，说明桶中已没有令牌
+            if (newTat - nowNanos > windowNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdle(long nowNanos) {
+        // 理论到达时间已过去，说明桶已重新装满，与新建状态等价
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+
+}
@@ -0,0 +1,588 @@
+package com.mlinyun.usercenter.manager.redis;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.mlinyun.usercenter.config.RedisClientProperties;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 轻量级 Redis 协议（RESP2）客户端
+ *
+ * <p>
+ * 只实现共享存储需要的最小功能：发送命令、执行 Lua 脚本（优先 EVALSHA，脚本未缓存时回退到 EVAL）和管道批量执行。 内置一个有界连接池，获取连接超时或网络异常时抛出
+ * {@link IOException}，由调用方决定降级策略
+ * </p>
+ *
+ * <p>
+ * 连接池中的空闲连接可能已被服务端（timeout 配置）或中间网络设备断开：空闲超过 idle-timeout-millis 的连接在获取时直接关闭；
+ * 复用的空闲连接在收到任何回复之前就断开（EOF、连接重置）时，换一个新连接重试一次。命令写出后连接才断开时无法判断服务端是否已经执行，
+ * 只有套接字还没有接受任何字节，或者管道中全部是重复执行结果不变的命令（见 {@link #IDEMPOTENT_COMMANDS}）时才重试，
+ * 其他情况（如 EVAL 计数脚本）直接抛出异常，避免命令被执行两次。
+ * 建立连接失败后按指数退避，退避期间获取新连接立即失败，服务不可用时调用方不会每次都等待连接超时
+ * </p>
+ *
+ * <p>
+ * 回复类型映射：简单字符串 → {@link String}，整数 → {@link Long}，批量字符串 → {@code byte[]}，数组 → {@link List}，空值 → null
+ * </p>
+ *
+ * <p>
+ * 只支持单个 Redis 节点的明文连接，不支持 TLS、Sentinel 和 Cluster；需要这些部署方式时应改用 spring-boot-starter-data-redis
+ * </p>
+ */
+@Slf4j
+public class RespClient implements Closeable {
+
+    /**
+     * 回车换行
+     */
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    /**
+     * 读写缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 十进制基数
+     */
+    private static final int DECIMAL_RADIX = 10;
+
+    /**
+     * 重连退避的初始间隔（毫秒）
+     */
+    private static final long INITIAL_RECONNECT_BACKOFF_MILLIS = 100L;
+
+    /**
+     * 重连退避间隔翻倍的最大次数
+     */
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    /**
+     * 重复执行结果不变的命令，写出后连接断开时可以换新连接重试（SET 不能带 NX / XX / GET 等条件选项）
+     */
+    private static final Set<String> IDEMPOTENT_COMMANDS = Set.of("PING", "GET", "EXISTS", "TTL", "PTTL", "SET",
+        "DEL", "EXPIRE", "PEXPIRE");
+
+    /**
+     * SET 命令中第一个选项的位置（命令名、Key、值之后）
+     */
+    private static final int SET_OPTIONS_INDEX = 3;
+
+    /**
+     * 连接配置
+     */
+    private final RedisClientProperties properties;
+
+    /**
+     * 空闲连接
+     */
+    private final BlockingQueue<Connection> idleConnections;
+
+    /**
+     * 连接许可，限制同时使用的连接数
+     */
+    private final Semaphore permits;
+
+    /**
+     * 脚本 SHA1 缓存：key = 脚本内容
+     */
+    private final Map<String, String> scriptShaCache = new ConcurrentHashMap<>();
+
+    /**
+     * 连续建立连接失败的次数
+     */
+    private final AtomicInteger connectFailures = new AtomicInteger();
+
+    /**
+     * 重连退避结束时间（System.nanoTime），之前获取新连接立即失败
+     */
+    private volatile long reconnectAfterNanos;
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 构造函数
+     *
+     * @param properties 连接配置
+     */
+    public RespClient(RedisClientProperties properties) {
+        this.properties = properties;
+        int poolSize = Math.max(1, properties.getPoolSize());
+        this.idleConnections = new ArrayBlockingQueue<>(poolSize);
+        this.permits = new Semaphore(poolSize);
+    }
+
+    /**
+     * 执行单条命令
+     *
+     * @param args 命令及参数（String 或 byte[]，其他类型按 toString 处理）
+     * @return 服务端回复
+     * @throws IOException 网络异常、获取连接超时或服务端返回错误
+     */
+    public Object execute(Object... args) throws IOException {
+        return pipeline(List.<Object[]>of(args)).get(0);
+    }
+
+    /**
+     * 管道批量执行命令，一次网络往返发送全部命令并按顺序读取回复
+     *
+     * @param commands 命令列表
+     * @return 回复列表，与命令一一对应；单条命令的错误回复以 {@link RespErrorException} 对象的形式放在对应位置
+     * @throws IOException 网络异常或获取连接超时
+     */
+    public List<Object> pipeline(List<Object[]> commands) throws IOException {
+        List<Object> replies;
+        try {
+            replies = send(commands);
+        } catch (StaleConnectionException e) {
+            // 服务端重启或断开空闲连接时池中其他空闲连接通常也已失效，一并关闭后用新连接重试
+            log.debug("Redis 空闲连接已断开，使用新连接重试: {}", e.getMessage());
+            closeIdleConnections();
+            replies = send(commands);
+        }
+        if (commands.size() == 1 && replies.get(0) instanceof RespErrorException error) {
+            throw error;
+        }
+        return replies;
+    }
+
+    /**
+     * 使用一个连接发送命令并读取全部回复
+     *
+     * @throws StaleConnectionException 复用的空闲连接在收到任何回复之前断开，且命令没有发出或可以安全地重复执行
+     */
+    private List<Object> send(List<Object[]> commands) throws IOException {
+        Connection connection = borrow();
+        boolean healthy = false;
+        try {
+            for (Object[] command : commands) {
+                connection.write(command);
+            }
+            connection.flush();
+            List<Object> replies = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                replies.add(connection.readReplyOrError());
+            }
+            healthy = true;
+            return replies;
+        } catch (EOFException | SocketException e) {
+            if (connection.reused && !connection.received && (!connection.sent || isIdempotent(commands))) {
+                throw new StaleConnectionException(e);
+            }
+            throw e;
+        } finally {
+            release(connection, healthy);
+        }
+    }
+
+    /**
+     * 判断管道中的命令是否全部可以安全地重复执行
+     */
+    private static boolean isIdempotent(List<Object[]> commands) {
+        for (Object[] command : commands) {
+            String name = asString(command[0]).toUpperCase(Locale.ROOT);
+            if (!IDEMPOTENT_COMMANDS.contains(name)) {
+                return false;
+            }
+            for (int i = SET_OPTIONS_INDEX; "SET".equals(name) && i < command.length; i++) {
+                if (StrUtil.equalsAnyIgnoreCase(asString(command[i]), "NX", "XX", "GET")) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 执行 Lua 脚本
+     *
+     * @param script 脚本内容
+     * @param keys 脚本访问的 Key
+     * @param args 脚本参数
+     * @return 脚本返回值
+     * @throws IOException 网络异常、获取连接超时或脚本执行错误
+     */
+    public Object eval(String script, List<String> keys, List<?> args) throws IOException {
+        String sha = scriptShaCache.computeIfAbsent(script, DigestUtil::sha1Hex);
+        try {
+            return execute(buildScriptCommand("EVALSHA", sha, keys, args));
+        } catch (RespErrorException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) {
+                throw e;
+            }
+            // 脚本尚未缓存在服务端（首次执行或服务端重启），使用 EVAL 执行一次即可缓存
+            return execute(buildScriptCommand("EVAL", script, keys, args));
+        }
+    }
+
+    /**
+     * 构建脚本执行命令
+     */
+    private static Object[] buildScriptCommand(String command, String scriptOrSha, List<String> keys, List<?> args) {
+        List<Object> parts = new ArrayList<>();
+        parts.add(command);
+        parts.add(scriptOrSha);
+        parts.add(String.valueOf(keys.size()));
+        parts.addAll(keys);
+        parts.addAll(args);
+        return parts.toArray();
+    }
+
+    /**
+     * 从连接池获取连接
+     */
+    private Connection borrow() throws IOException {
+        if (closed) {
+            throw new IOException("Redis 客户端已关闭");
+        }
+        try {
+            if (!permits.tryAcquire(properties.getTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("获取 Redis 连接超时");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("获取 Redis 连接被中断");
+        }
+        long now = System.nanoTime();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleTimeoutMillis());
+        Connection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            if (now - connection.lastUsedNanos <= idleTimeoutNanos) {
+                connection.reused = true;
+                connection.sent = false;
+                connection.received = false;
+                return connection;
+            }
+            // 空闲过久的连接可能已被服务端或中间网络设备断开，直接关闭
+            connection.closeQuietly();
+        }
+        try {
+            return openConnection();
+        } catch (IOException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还连接，发生异常的连接直接关闭，避免残留未读取的回复
+     */
+    private void release(Connection connection, boolean healthy) {
+        connection.lastUsedNanos = System.nanoTime();
+        if (!healthy || closed || !idleConnections.offer(connection)) {
+            connection.closeQuietly();
+        }
+        permits.release();
+    }
+
+    /**
+     * 建立新连接并完成认证和数据库选择
+     */
+    private Connection openConnection() throws IOException {
+        if (System.nanoTime() - reconnectAfterNanos < 0) {
+            throw new IOException("Redis 连接失败，重连退避中");
+        }
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.setSoTimeout(properties.getTimeoutMillis());
+            socket.connect(new InetSocketAddress(properties.getHost(), properties.getPort()),
+                properties.getTimeoutMillis());
+            Connection connection = new Connection(socket);
+            if (StrUtil.isNotEmpty(properties.getPassword())) {
+                connection.command("AUTH", properties.getPassword());
+            }
+            if (properties.getDatabase() != 0) {
+                connection.command("SELECT", String.valueOf(properties.getDatabase()));
+            }
+            log.debug("建立 Redis 连接: {}:{}", properties.getHost(), properties.getPort());
+            connectFailures.set(0);
+            return connection;
+        } catch (IOException e) {
+            socket.close();
+            scheduleReconnect();
+            throw e;
+        }
+    }
+
+    /**
+     * 建立连接失败后计算下一次允许重连的时间，间隔从 100 毫秒开始逐次翻倍，不超过配置的最长间隔
+     */
+    private void scheduleReconnect() {
+        int failures = connectFailures.incrementAndGet();
+        long backoffMillis = Math.min(properties.getMaxReconnectBackoffMillis(),
+            INITIAL_RECONNECT_BACKOFF_MILLIS << Math.min(failures - 1, MAX_BACKOFF_SHIFT));
+        reconnectAfterNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+        log.warn("建立 Redis 连接失败，{} 毫秒内不再重连: {}:{}, failures={}", backoffMillis, properties.getHost(),
+            properties.getPort(), failures);
+    }
+
+    /**
+     * 将回复转换为字符串
+     *
+     * @param reply 回复
+     * @return 字符串，回复为空时返回 null
+     */
+    public static String asString(Object reply) {
+        if (reply instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return reply == null ? null : reply.toString();
+    }
+
+    /**
+     * 将回复转换为整数
+     *
+     * @param reply 回复
+     * @return 整数，回复为空时返回 0
+     */
+    public static long asLong(Object reply) {
+        if (reply instanceof Long value) {
+            return value;
+        }
+        String text = asString(reply);
+        return text == null ? 0L : Long.parseLong(text);
+    }
+
+    /**
+     * 关闭客户端及所有空闲连接
+     */
+    @Override
+    public void close() {
+        closed = true;
+        closeIdleConnections();
+    }
+
+    /**
+     * 关闭所有空闲连接
+     */
+    private void closeIdleConnections() {
+        Connection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            connection.closeQuietly();
+        }
+    }
+
+    /**
+     * 复用的空闲连接在收到任何回复之前断开，且命令没有发出或可以安全地重复执行，可以换新连接重试
+     */
+    private static final class StaleConnectionException extends IOException {
+
+        /**
+         * 序列化版本号
+         */
+        @Serial
+        private static final long serialVersionUID = 6170248457326520196L;
+
+        StaleConnectionException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+    }
+
+    /**
+     * 单个 TCP 连接，负责 RESP 编解码
+     */
+    private static final class Connection {
+
+        /**
+         * 套接字
+         */
+        private final Socket socket;
+
+        /**
+         * 输入流
+         */
+        private final InputStream in;
+
+        /**
+         * 输出流
+         */
+        private final OutputStream out;
+
+        /**
+         * 最后一次归还到连接池的时间（System.nanoTime）
+         */
+        private long lastUsedNanos;
+
+        /**
+         * 本次是否复用的空闲连接
+         */
+        private boolean reused;
+
+        /**
+         * 本次使用期间套接字是否接受过数据（之后断开时无法判断服务端是否已执行命令）
+         */
+        private boolean sent;
+
+        /**
+         * 本次使用期间是否收到过回复
+         */
+        private boolean received;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+            this.out = new BufferedOutputStream(new FilterOutputStream(socket.getOutputStream()) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    // 直接写入被包装的套接字输出流，写入成功后服务端可能已经收到命令
+                    out.write(b, off, len);
+                    sent = true;
+                }
+            }, BUFFER_SIZE);
+        }
+
+        /**
+         * 发送命令并读取回复
+         */
+        Object command(Object... args) throws IOException {
+            write(args);
+            flush();
+            Object reply = readReplyOrError();
+            if (reply instanceof RespErrorException error) {
+                throw error;
+            }
+            return reply;
+        }
+
+        /**
+         * 以 RESP 数组形式写入命令
+         */
+        void write(Object[] args) throws IOException {
+            out.write('*');
+            writeDecimal(args.length);
+            for (Object arg : args) {
+                byte[] bytes = arg instanceof byte[] raw ? raw : String.valueOf(arg).getBytes(StandardCharsets.UTF_8);
+                out.write('$');
+                writeDecimal(bytes.length);
+                out.write(bytes);
+                out.write(CRLF);
+            }
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * 读取一条回复，服务端错误以异常对象返回而不是抛出，保证管道中后续回复仍能被读取
+         */
+        Object readReplyOrError() throws IOException {
+            int type = in.read();
+            if (type == -1) {
+                throw new EOFException("Redis 连接已关闭");
+            }
+            received = true;
+            switch (type) {
+                case '+':
+                    return readLine();
+                case '-':
+                    return new RespErrorException(readLine());
+                case ':':
+                    return Long.parseLong(readLine());
+                case '$':
+                    return readBulk();
+                case '*':
+                    return readArray();
+                default:
+                    throw new IOException("无法识别的 Redis 回复类型: " + (char) type);
+            }
+        }
+
+        /**
+         * 读取批量字符串回复
+         */
+        private byte[] readBulk() throws IOException {
+            int length = Integer.parseInt(readLine());
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length != length || in.read() != '\r' || in.read() != '\n') {
+                throw new EOFException("Redis 批量回复不完整");
+            }
+            return bytes;
+        }
+
+        /**
+         * 读取数组回复
+         */
+        private List<Object> readArray() throws IOException {
+            int size = Integer.parseInt(readLine());
+            if (size < 0) {
+                return null;
+            }
+            List<Object> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(readReplyOrError());
+            }
+            return items;
+        }
+
+        /**
+         * 读取一行（不含 CRLF）
+         */
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b == -1) {
+                    throw new EOFException("Redis 连接已关闭");
+                }
+                line.append((char) b);
+            }
+            if (in.read() != '\n') {
+                throw new IOException("Redis 回复格式错误");
+            }
+            return line.toString();
+        }
+
+        /**
+         * 写入十进制数字和 CRLF
+         */
+        private void writeDecimal(int value) throws IOException {
+            out.write(Integer.toString(value, DECIMAL_RADIX).getBytes(StandardCharsets.US_ASCII));
+            out.write(CRLF);
+        }
+
+        void closeQuietly() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                log.debug("关闭 Redis 连接失败: {}", e.getMessage());
+            }
+        }
+
+    }
+
+}
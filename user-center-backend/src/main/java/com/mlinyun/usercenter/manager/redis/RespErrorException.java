@@ -0,0 +1,30 @@
+package com.mlinyun.usercenter.manager.redis;
+
+import java.io.IOException;
+import java.io.Serial;
+
+/**
+ * Redis 服务端错误回复异常
+ *
+ * <p>
+ * 当服务端返回 RESP 错误回复（以 "-" 开头）时抛出，例如脚本未缓存时的 NOSCRIPT 错误
+ * </p>
+ */
+public class RespErrorException extends IOException {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = -4275361197392870625L;
+
+    /**
+     * 构造函数
+     *
+     * @param message 服务端返回的错误信息
+     */
+    public RespErrorException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.mlinyun.usercenter.manager.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 单个文本字段的 n-gram 倒排索引
+ *
+ * <p>
+ * 文本按相邻两个字符切分为二元组（bigram），每个二元组对应一个按文档号升序排列的倒排表。中文昵称没有空格可供分词，
+ * 二元组可以覆盖任意长度不小于 2 的子串：查询时取查询词中倒排表最短的二元组，再对其中的文档逐个校验是否包含查询词，
+ * 结果与 {@code LIKE '%term%'} 一致（忽略大小写）。单个字符的查询直接扫描内存中的文本
+ * </p>
+ *
+ * <p>
+ * 文档号只追加不复用：文本变化时旧文档号标记为已删除并分配新文档号，倒排表因此始终有序且只需追加。
+ * 已删除的文档号多于存活文档时整体压缩一次。读写通过读写锁隔离
+ * </p>
+ */
+final class NgramIndex {
+
+    /**
+     * 文档数组的初始容量
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 倒排表的初始容量
+     */
+    private static final int POSTINGS_INITIAL_CAPACITY = 4;
+
+    /**
+     * 二元组编码时第一个字符左移的位数
+     */
+    private static final int CHAR_BITS = 16;
+
+    /**
+     * 读写锁
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 用户 ID 到文档号的映射（仅包含存活文档）
+     */
+    private final Map<Long, Integer> docOf = new HashMap<>();
+
+    /**
+     * 倒排表：key = 二元组编码
+     */
+    private Map<Integer, Postings> postings = new HashMap<>();
+
+    /**
+     * 文档号到用户 ID 的映射
+     */
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    /**
+     * 文档号到归一化文本的映射，已删除的文档为 null
+     */
+    private String[] texts = new String[INITIAL_CAPACITY];
+
+    /**
+     * 已分配的文档号数量
+     */
+    private int docCount;
+
+    /**
+     * 写入或替换用户的文本
+     *
+     * @param id 用户 ID
+     * @param text 文本，为空时等同于删除
+     */
+    void put(long id, String text) {
+        if (text == null || text.isEmpty()) {
+            remove(id);
+            return;
+        }
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            Integer doc = docOf.get(id);
+            if (doc != null) {
+                if (texts[doc].equals(normalized)) {
+                    return;
+                }
+                texts[doc] = null;
+            }
+            docOf.put(id, append(id, normalized));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除用户的文本
+     *
+     * @param id 用户 ID
+     */
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docOf.remove(id);
+            if (doc != null) {
+                texts[doc] = null;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查询文本包含搜索词的用户 ID
+     *
+     * @param term 搜索词（非空）
+     * @param maxHits 命中数量上限
+     * @return 命中的用户 ID（无序），命中数量超过上限时返回 null
+     */
+    long[] search(String term, int maxHits) {
+        String needle = normalize(term);
+        lock.readLock().lock();
+        try {
+            if (needle.length() == 1) {
+                return collect(needle, null, docCount, maxHits);
+            }
+            Postings rarest = null;
+            for (int i = 0; i + 1 < needle.length(); i++) {
+                Postings candidate = postings.get(key(needle, i));
+                if (candidate == null) {
+                    return new long[0];
+                }
+                if (rarest == null || candidate.size < rarest.size) {
+                    rarest = candidate;
+                }
+            }
+            return collect(needle, rarest.docs, rarest.size, maxHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取存活文档数量
+     *
+     * @return 文档数量
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 校验候选文档并收集命中的用户 ID
+     *
+     * @param needle 归一化后的搜索词
+     * @param candidates 候选文档号，为 null 时表示 0 到 candidateCount - 1 的全部文档
+     * @param candidateCount 候选文档数量
+     * @param maxHits 命中数量上限
+     * @return 命中的用户 ID，超过上限时返回 null
+     */
+    private long[] collect(String needle, int[] candidates, int candidateCount, int maxHits) {
+        long[] hits = new long[Math.min(candidateCount, maxHits + 1)];
+        int hitCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int doc = candidates == null ? i : candidates[i];
+            String text = texts[doc];
+            if (text != null && text.contains(needle)) {
+                if (hitCount == maxHits) {
+                    return null;
+                }
+                hits[hitCount++] = ids[doc];
+            }
+        }
+        return Arrays.copyOf(hits, hitCount);
+    }
+
+    /**
+     * 分配新文档号并写入倒排表（调用方持有写锁）
+     */
+    private int append(long id, String text) {
+        if (docCount == ids.length) {
+            ids = Arrays.copyOf(ids, docCount << 1);
+            texts = Arrays.copyOf(texts, docCount << 1);
+        }
+        int doc = docCount++;
+        ids[doc] = id;
+        texts[doc] = text;
+        for (int i = 0; i + 1 < text.length(); i++) {
+            postings.computeIfAbsent(key(text, i), ignored -> new Postings()).add(doc);
+        }
+        return doc;
+    }
+
+    /**
+     * 已删除的文档号多于存活文档时重建索引，回收文本和倒排表占用的内存（调用方持有写锁）
+     */
+    private void compactIfNeeded() {
+        int live = docOf.size();
+        if (docCount - live <= Math.max(live, INITIAL_CAPACITY)) {
+            return;
+        }
+        long[] oldIds = ids;
+        String[] oldTexts = texts;
+        int oldCount = docCount;
+        postings = new HashMap<>();
+        ids = new long[Math.max(INITIAL_CAPACITY, live)];
+        texts = new String[ids.length];
+        docCount = 0;
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (oldTexts[doc] != null) {
+                docOf.put(oldIds[doc], append(oldIds[doc], oldTexts[doc]));
+            }
+        }
+    }
+
+    /**
+     * 归一化文本（忽略大小写，与数据库的 utf8mb4_unicode_ci 排序规则对齐）
+     */
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 将文本中第 i 个位置开始的二元组编码为 int
+     */
+    private static int key(String text, int i) {
+        return text.charAt(i) << CHAR_BITS | text.charAt(i + 1);
+    }
+
+    /**
+     * 倒排表：按文档号升序排列的文档号数组
+     */
+    private static final class Postings {
+
+        /**
+         * 文档号
+         */
+        private int[] docs = new int[POSTINGS_INITIAL_CAPACITY];
+
+        /**
+         * 文档号数量
+         */
+        private int size;
+
+        /**
+         * 追加文档号，同一文本中重复出现的二元组只记录一次
+         */
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size << 1);
+            }
+            docs[size++] = doc;
+        }
+
+    }
+
+}
@@ -0,0 +1,275 @@
+package com.mlinyun.usercenter.manager.search;
+
+import cn.hutool.core.util.StrUtil;
+import com.mlinyun.usercenter.config.UserSearchProperties;
+import com.mlinyun.usercenter.mapper.UserMapper;
+import com.mlinyun.usercenter.model.entity.User;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户昵称、简介搜索索引
+ *
+ * <p>
+ * 管理员按昵称或简介搜索用户时，{@code LIKE '%term%'} 无法使用 idx_user_name，每次都要全表扫描。
+ * 这里在内存中为两个字段各维护一个 {@link NgramIndex}，搜索时先得到命中的用户 ID，再由数据库按主键回表，
+ * 同时应用其他筛选条件、排序和分页
+ * </p>
+ *
+ * <p>
+ * 启动后在后台线程按主键分批全量加载，加载完成前搜索退回 LIKE 查询。本实例的写入直接更新索引，
+ * 其他实例的写入（包括逻辑删除）通过定期按 update_time 增量同步，在一个同步周期内可见
+ * </p>
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    /**
+     * 增量同步时回看的时间（毫秒），覆盖 update_time 秒级精度以及提交晚于更新时间的事务
+     */
+    private static final long SYNC_OVERLAP_MILLIS = 5000L;
+
+    /**
+     * 昵称索引
+     */
+    private final NgramIndex nameIndex = new NgramIndex();
+
+    /**
+     * 简介索引
+     */
+    private final NgramIndex profileIndex = new NgramIndex();
+
+    /**
+     * 是否启用索引
+     */
+    private final boolean enabled;
+
+    /**
+     * 单个搜索词的候选 ID 数量上限
+     */
+    private final int maxCandidates;
+
+    /**
+     * 每批读取的记录数
+     */
+    private final int batchSize;
+
+    /**
+     * 用户数据访问层
+     */
+    private final UserMapper userMapper;
+
+    /**
+     * 后台加载和同步线程，未启用时为 null
+     */
+    private final ScheduledExecutorService syncer;
+
+    /**
+     * 全量加载是否已完成
+     */
+    private volatile boolean ready;
+
+    /**
+     * 已同步到的最大更新时间（仅由同步线程读写）
+     */
+    private Date watermark;
+
+    /**
+     * 构造函数
+     *
+     * @param properties 用户搜索索引配置
+     * @param userMapper 用户数据访问层
+     */
+    public UserSearchIndex(UserSearchProperties properties, UserMapper userMapper) {
+        this.enabled = properties.isEnabled();
+        this.maxCandidates = Math.max(1, properties.getMaxCandidates());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.userMapper = userMapper;
+        if (!enabled) {
+            this.syncer = null;
+            log.info("用户搜索索引未启用，昵称和简介按 LIKE 查询");
+            return;
+        }
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-search-index-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1L, properties.getSyncIntervalSeconds());
+        syncer.scheduleWithFixedDelay(this::refresh, 0L, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 按昵称搜索用户
+     *
+     * @param userName 昵称搜索词
+     * @return 昵称包含搜索词的用户 ID（升序），索引不可用或命中过多时返回 null，调用方应退回 LIKE 查询
+     */
+    public List<Long> searchByUserName(String userName) {
+        return search(nameIndex, userName);
+    }
+
+    /**
+     * 按简介搜索用户
+     *
+     * @param userProfile 简介搜索词
+     * @return 简介包含搜索词的用户 ID（升序），索引不可用或命中过多时返回 null，调用方应退回 LIKE 查询
+     */
+    public List<Long> searchByUserProfile(String userProfile) {
+        return search(profileIndex, userProfile);
+    }
+
+    /**
+     * 本实例新增或更新用户后同步索引
+     *
+     * @param user 写入数据库的用户实体，值为 null 的字段视为未修改
+     */
+    public void update(User user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        if (user.getUserName() != null) {
+            nameIndex.put(user.getId(), user.getUserName());
+        }
+        if (user.getUserProfile() != null) {
+            profileIndex.put(user.getId(), user.getUserProfile());
+        }
+    }
+
+    /**
+     * 本实例删除用户后同步索引
+     *
+     * @param userId 用户 ID
+     */
+    public void remove(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        nameIndex.remove(userId);
+        profileIndex.remove(userId);
+    }
+
+    /**
+     * 判断索引是否可用（已启用且全量加载完成）
+     *
+     * @return 是否可用
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 获取已建立昵称索引的用户数
+     *
+     * @return 用户数
+     */
+    public int size() {
+        return nameIndex.size();
+    }
+
+    /**
+     * 关闭后台同步线程
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+    }
+
+    /**
+     * 在索引中搜索，返回升序排列的用户 ID
+     */
+    private List<Long> search(NgramIndex index, String term) {
+        if (!isReady() || StrUtil.isEmpty(term)) {
+            return null;
+        }
+        long[] hits = index.search(term, maxCandidates);
+        if (hits == null) {
+            return null;
+        }
+        Arrays.sort(hits);
+        return Arrays.stream(hits).boxed().toList();
+    }
+
+    /**
+     * 后台任务：首次执行全量加载，之后增量同步。失败时记录日志，下一个周期重试
+     */
+    void refresh() {
+        try {
+            if (ready) {
+                sync();
+            } else {
+                loadAll();
+            }
+        } catch (RuntimeException e) {
+            log.warn("用户搜索索引同步失败，将在下个周期重试", e);
+        }
+    }
+
+    /**
+     * 按主键分批全量加载未删除的用户，加载前记录最大更新时间，加载期间的写入由之后的增量同步补齐
+     */
+    private void loadAll() {
+        long start = System.currentTimeMillis();
+        Date maxUpdateTime = userMapper.selectMaxUpdateTime();
+        long afterId = 0L;
+        List<User> batch;
+        do {
+            batch = userMapper.selectSearchDocsAfterId(afterId, batchSize);
+            for (User user : batch) {
+                apply(user);
+                afterId = user.getId();
+            }
+        } while (batch.size() == batchSize);
+        watermark = maxUpdateTime == null ? new Date(0L) : maxUpdateTime;
+        ready = true;
+        log.info("用户搜索索引加载完成: users={}, cost={}ms", nameIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按 (update_time, id) 分批读取回看窗口之后更新过的用户（包括已逻辑删除的），重复应用是幂等的
+     */
+    private void sync() {
+        Date since = new Date(watermark.getTime() - SYNC_OVERLAP_MILLIS);
+        Date maxUpdateTime = watermark;
+        long afterId = 0L;
+        int changed = 0;
+        List<User> batch;
+        do {
+            batch = userMapper.selectSearchDocsUpdatedSince(since, afterId, batchSize);
+            for (User user : batch) {
+                if (user.getIsDelete() != null && user.getIsDelete() != 0) {
+                    remove(user.getId());
+                } else {
+                    apply(user);
+                }
+                since = user.getUpdateTime();
+                afterId = user.getId();
+                if (since.after(maxUpdateTime)) {
+                    maxUpdateTime = since;
+                }
+            }
+            changed += batch.size();
+        } while (batch.size() == batchSize);
+        watermark = maxUpdateTime;
+        log.debug("用户搜索索引增量同步完成: rows={}", changed);
+    }
+
+    /**
+     * 以数据库中的完整记录覆盖索引（值为 null 的字段从索引中移除）
+     */
+    private void apply(User user) {
+        nameIndex.put(user.getId(), user.getUserName());
+        profileIndex.put(user.getId(), user.getUserProfile());
+    }
+
+}
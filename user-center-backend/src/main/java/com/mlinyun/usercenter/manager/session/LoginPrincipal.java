@@ -0,0 +1,135 @@
+package com.mlinyun.usercenter.manager.session;
+
+import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.enums.UserRoleEnum;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * 登录主体
+ *
+ * <p>
+ * 会话中只保存登录主体而不是完整的用户实体（密码哈希、简介、时间等），完整的用户信息按 ID 从登录用户缓存获取。
+ * 共享存储和令牌中使用固定 23 字节的二进制编码：格式版本、用户 ID、角色编码、状态、令牌版本和登录时间
+ * </p>
+ *
+ * <p>
+ * 令牌版本在修改密码、重置密码和封禁时递增，登录用户的令牌版本低于用户当前的令牌版本时登录状态失效
+ * </p>
+ *
+ * @param userId 用户 ID
+ * @param userRole 用户角色
+ * @param userStatus 用户状态
+ * @param tokenVersion 令牌版本
+ * @param issuedAt 登录时间（秒级时间戳）
+ */
+public record LoginPrincipal(long userId, String userRole, int userStatus, int tokenVersion, long issuedAt)
+    implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = -3712164386437652104L;
+
+    /**
+     * 二进制编码格式版本
+     */
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * 二进制编码长度：格式版本 1 + 用户 ID 8 + 角色 1 + 状态 1 + 令牌版本 4 + 登录时间 8
+     */
+    static final int ENCODED_LENGTH = 1 + Long.BYTES + 1 + 1 + Integer.BYTES + Long.BYTES;
+
+    /**
+     * 根据登录用户创建登录主体
+     *
+     * @param user 登录用户
+     * @param issuedAt 登录时间（秒级时间戳）
+     * @return 登录主体
+     */
+    public static LoginPrincipal of(User user, long issuedAt) {
+        int status = user.getUserStatus() == null ? 0 : user.getUserStatus();
+        return new LoginPrincipal(user.getId(), user.getUserRole(), status, tokenVersionOf(user), issuedAt);
+    }
+
+    /**
+     * 获取用户当前的令牌版本
+     *
+     * @param user 用户
+     * @return 令牌版本，未设置时为 0
+     */
+    public static int tokenVersionOf(User user) {
+        return user.getTokenVersion() == null ? 0 : user.getTokenVersion();
+    }
+
+    /**
+     * 编码为二进制
+     *
+     * @return 二进制编码
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(ENCODED_LENGTH).put(FORMAT_VERSION).putLong(userId).put(roleCode())
+            .put(statusCode()).putInt(tokenVersion).putLong(issuedAt).array();
+    }
+
+    /**
+     * 从二进制解码
+     *
+     * @param bytes 二进制编码
+     * @return 登录主体，格式不正确时返回 null
+     */
+    public static LoginPrincipal fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != ENCODED_LENGTH || bytes[0] != FORMAT_VERSION) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, ENCODED_LENGTH - 1);
+        long userId = buffer.getLong();
+        String role = roleOf(buffer.get());
+        byte status = buffer.get();
+        int tokenVersion = buffer.getInt();
+        long issuedAt = buffer.getLong();
+        return role == null ? null : new LoginPrincipal(userId, role, status, tokenVersion, issuedAt);
+    }
+
+    /**
+     * 角色编码（角色枚举的序号）
+     *
+     * @return 角色编码
+     * @throws IllegalArgumentException 角色不存在时抛出
+     */
+    byte roleCode() {
+        UserRoleEnum role = UserRoleEnum.getEnumByValue(userRole);
+        if (role == null) {
+            throw new IllegalArgumentException("未知的用户角色: " + userRole);
+        }
+        return (byte) role.ordinal();
+    }
+
+    /**
+     * 状态编码
+     *
+     * @return 状态编码
+     * @throws IllegalArgumentException 状态超出一个字节的范围时抛出
+     */
+    byte statusCode() {
+        if (userStatus < Byte.MIN_VALUE || userStatus > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("用户状态超出范围: " + userStatus);
+        }
+        return (byte) userStatus;
+    }
+
+    /**
+     * 根据角色编码获取角色值
+     *
+     * @param code 角色编码
+     * @return 角色值，编码不存在时返回 null
+     */
+    static String roleOf(byte code) {
+        UserRoleEnum[] roles = UserRoleEnum.values();
+        return code >= 0 && code < roles.length ? roles[code].getValue() : null;
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.mlinyun.usercenter.manager.session;
+
+import com.mlinyun.usercenter.config.LoginSessionProperties;
+import com.mlinyun.usercenter.constant.UserConstant;
+import com.mlinyun.usercenter.model.entity.User;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 登录会话管理器
+ *
+ * <p>
+ * 统一管理登录状态的写入、读取和清除。servlet 模式下登录主体保存在 Servlet 容器会话中；local 和 redis 模式下不创建容器会话，
+ * 登录时生成随机会话 ID 写入 HttpOnly Cookie，登录主体保存在 {@link SessionStore} 中
+ * </p>
+ *
+ * <p>
+ * token 模式下服务端不保存任何会话：登录时签发短期访问令牌和长期刷新令牌，访问令牌通过 Cookie 或 {@code Authorization: Bearer}
+ * 请求头携带，刷新令牌只从 HttpOnly Cookie 读取，校验签名即可得到登录主体。令牌无法单独作废，注销、修改密码或封禁时由调用方
+ * 递增用户的令牌版本使旧令牌失效
+ * </p>
+ */
+@Slf4j
+public class LoginSessionManager {
+
+    /**
+     * Authorization 请求头中令牌的前缀
+     */
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * 登录会话配置
+     */
+    private final LoginSessionProperties properties;
+
+    /**
+     * 会话存储，servlet 和 token 模式下为 null
+     */
+    private final SessionStore store;
+
+    /**
+     * 令牌编解码器，仅 token 模式下不为 null
+     */
+    private final LoginTokenCodec tokenCodec;
+
+    /**
+     * 构造函数
+     *
+     * @param properties 登录会话配置
+     * @param store 会话存储，为 null 时使用 Servlet 容器会话
+     */
+    public LoginSessionManager(LoginSessionProperties properties, SessionStore store) {
+        this(properties, store, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param properties 登录会话配置
+     * @param store 会话存储
+     * @param tokenCodec 令牌编解码器，不为 null 时使用无状态令牌
+     */
+    public LoginSessionManager(LoginSessionProperties properties, SessionStore store, LoginTokenCodec tokenCodec) {
+        this.properties = properties;
+        this.store = store;
+        this.tokenCodec = tokenCodec;
+    }
+
+    /**
+     * 是否为无状态令牌模式（只有该模式需要刷新令牌）
+     *
+     * @return 是否为无状态令牌模式
+     */
+    public boolean isStateless() {
+        return tokenCodec != null;
+    }
+
+    /**
+     * 获取会话存储
+     *
+     * @return 会话存储，servlet 和 token 模式下为 null
+     */
+    public SessionStore getStore() {
+        return store;
+    }
+
+    /**
+     * 记录登录状态
+     *
+     * @param request HttpServletRequest 对象
+     * @param user 登录用户
+     */
+    public void login(HttpServletRequest request, User user) {
+        LoginPrincipal principal = LoginPrincipal.of(user,
+            TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        if (tokenCodec != null) {
+            long accessTtl = properties.getAccessTokenTtlSeconds();
+            long refreshTtl = properties.getRefreshTokenTtlSeconds();
+            writeCookie(request, properties.getAccessTokenCookieName(),
+                tokenCodec.issue(LoginTokenCodec.Type.ACCESS, principal, accessTtl), Duration.ofSeconds(accessTtl));
+            writeCookie(request, properties.getRefreshTokenCookieName(),
+                tokenCodec.issue(LoginTokenCodec.Type.REFRESH, principal, refreshTtl), Duration.ofSeconds(refreshTtl));
+            return;
+        }
+        if (store == null) {
+            request.getSession().setAttribute(UserConstant.USER_LOGIN_STATE, principal);
+            return;
+        }
+        // 登录后更换会话 ID，防止会话固定攻击
+        String oldSessionId = readCookie(request, properties.getCookieName());
+        if (oldSessionId != null) {
+            store.remove(oldSessionId);
+        }
+        String sessionId = SessionIds.generate();
+        store.save(sessionId, principal);
+        writeCookie(request, properties.getCookieName(), sessionId,
+            Duration.ofSeconds(properties.getIdleTimeoutSeconds()));
+    }
+
+    /**
+     * 获取登录主体
+     *
+     * @param request HttpServletRequest 对象
+     * @return 登录主体，未登录或会话已过期时返回 null
+     */
+    public LoginPrincipal getPrincipal(HttpServletRequest request) {
+        if (tokenCodec != null) {
+            return tokenCodec.verify(readAccessToken(request), LoginTokenCodec.Type.ACCESS);
+        }
+        if (store == null) {
+            HttpSession session = request.getSession(false);
+            // 升级前会话中保存的是完整用户实体，视为未登录，用户重新登录即可
+            return session != null && session.getAttribute(UserConstant.USER_LOGIN_STATE)
+                instanceof LoginPrincipal principal ? principal : null;
+        }
+        String sessionId = readCookie(request, properties.getCookieName());
+        return sessionId == null ? null : store.find(sessionId);
+    }
+
+    /**
+     * 获取刷新令牌中的登录主体（仅 token 模式）
+     *
+     * <p>
+     * 刷新令牌只证明用户曾经登录，调用方需要按 ID 查询用户，确认令牌版本和用户状态后再重新签发令牌
+     * </p>
+     *
+     * @param request HttpServletRequest 对象
+     * @return 登录主体，非 token 模式、未携带刷新令牌或令牌无效时返回 null
+     */
+    public LoginPrincipal getRefreshPrincipal(HttpServletRequest request) {
+        if (tokenCodec == null) {
+            return null;
+        }
+        // 刷新令牌只从 HttpOnly Cookie 读取，不接受携带访问令牌的 Authorization 请求头
+        return tokenCodec.verify(readCookie(request, properties.getRefreshTokenCookieName()),
+            LoginTokenCodec.Type.REFRESH);
+    }
+
+    /**
+     * 清除登录状态
+     *
+     * @param request HttpServletRequest 对象
+     * @return 是否清除了登录状态，未登录时返回 false
+     */
+    public boolean logout(HttpServletRequest request) {
+        if (tokenCodec != null) {
+            if (getPrincipal(request) == null && getRefreshPrincipal(request) == null) {
+                return false;
+            }
+            writeCookie(request, properties.getAccessTokenCookieName(), "", Duration.ZERO);
+            writeCookie(request, properties.getRefreshTokenCookieName(), "", Duration.ZERO);
+            return true;
+        }
+        if (store == null) {
+            HttpSession session = request.getSession(false);
+            if (session == null || session.getAttribute(UserConstant.USER_LOGIN_STATE) == null) {
+                return false;
+            }
+            session.removeAttribute(UserConstant.USER_LOGIN_STATE);
+            return true;
+        }
+        String sessionId = readCookie(request, properties.getCookieName());
+        if (sessionId == null || store.find(sessionId) == null) {
+            return false;
+        }
+        store.remove(sessionId);
+        writeCookie(request, properties.getCookieName(), "", Duration.ZERO);
+        return true;
+    }
+
+    /**
+     * 关闭会话存储
+     */
+    public void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * 读取访问令牌，Authorization 请求头优先于 Cookie
+     */
+    private String readAccessToken(HttpServletRequest request) {
+        String token = readBearerToken(request);
+        return token != null ? token : readCookie(request, properties.getAccessTokenCookieName());
+    }
+
+    /**
+     * 读取 Authorization 请求头中的令牌
+     */
+    private static String readBearerToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.startsWith(BEARER_PREFIX)
+            ? authorization.substring(BEARER_PREFIX.length()) : null;
+    }
+
+    /**
+     * 读取请求中的 Cookie
+     */
+    private static String readCookie(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 写入 HttpOnly Cookie，有效期为 0 时删除 Cookie
+     */
+    private void writeCookie(HttpServletRequest request, String name, String value, Duration maxAge) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        HttpServletResponse response = attributes instanceof ServletRequestAttributes servletAttributes
+            ? servletAttributes.getResponse() : null;
+        if (response == null) {
+            log.warn("当前线程没有关联的响应，无法写入会话 Cookie");
+            return;
+        }
+        String contextPath = request.getContextPath();
+        ResponseCookie cookie = ResponseCookie.from(name, value)
+            .httpOnly(true)
+            .secure(properties.isCookieSecure())
+            .sameSite("Lax")
+            .path(StringUtils.hasText(contextPath) ? contextPath : "/")
+            .maxAge(maxAge)
+            .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.mlinyun.usercenter.manager.session;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 登录令牌编解码器
+ *
+ * <p>
+ * 令牌格式为 {@code Base64URL(载荷).Base64URL(HMAC-SHA256(载荷))}，载荷为令牌类型、登录主体的二进制编码和过期时间，共 32 字节。
+ * 校验只需要一次 HMAC 计算，不访问任何存储，多个实例使用相同的密钥即可互相校验令牌
+ * </p>
+ */
+public class LoginTokenCodec {
+
+    /**
+     * 签名算法
+     */
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * 密钥的最小字节数
+     */
+    public static final int MIN_SECRET_BYTES = 32;
+
+    /**
+     * 载荷长度：令牌类型 1 + 登录主体 + 过期时间 8
+     */
+    private static final int PAYLOAD_LENGTH = 1 + LoginPrincipal.ENCODED_LENGTH + Long.BYTES;
+
+    /**
+     * 签名长度
+     */
+    private static final int SIGNATURE_LENGTH = 32;
+
+    /**
+     * 载荷和签名之间的分隔符
+     */
+    private static final char SEPARATOR = '.';
+
+    /**
+     * 已初始化密钥的 MAC 原型，每次签名时克隆，避免重复解析密钥
+     */
+    private final Mac prototype;
+
+    /**
+     * 时钟（秒级时间戳）
+     */
+    private final LongSupplier clock;
+
+    /**
+     * 构造函数
+     *
+     * @param secret 签名密钥，至少 32 字节
+     */
+    public LoginTokenCodec(byte[] secret) {
+        this(secret, () -> TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+    }
+
+    /**
+     * 构造函数（可指定时钟，供测试使用）
+     *
+     * @param secret 签名密钥，至少 32 字节
+     * @param clock 时钟（秒级时间戳）
+     */
+    LoginTokenCodec(byte[] secret, LongSupplier clock) {
+        if (secret == null || secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("令牌签名密钥至少需要 " + MIN_SECRET_BYTES + " 字节");
+        }
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(secret, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化令牌签名算法失败", e);
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * 签发令牌
+     *
+     * @param type 令牌类型
+     * @param principal 登录主体
+     * @param ttlSeconds 有效期（秒）
+     * @return 令牌
+     */
+    public String issue(Type type, LoginPrincipal principal, long ttlSeconds) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+            .put((byte) type.ordinal())
+            .put(principal.toBytes())
+            .putLong(clock.getAsLong() + ttlSeconds)
+            .array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + SEPARATOR + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * 校验令牌
+     *
+     * @param token 令牌
+     * @param type 期望的令牌类型
+     * @return 登录主体，签名不正确、类型不符或已过期时返回 null
+     */
+    public LoginPrincipal verify(String token, Type type) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(0, separator));
+            signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (payload.length != PAYLOAD_LENGTH || signature.length != SIGNATURE_LENGTH
+            || !MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        if (buffer.get() != type.ordinal()) {
+            return null;
+        }
+        byte[] principal = new byte[LoginPrincipal.ENCODED_LENGTH];
+        buffer.get(principal);
+        long expiresAt = buffer.getLong();
+        return expiresAt > clock.getAsLong() ? LoginPrincipal.fromBytes(principal) : null;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            return ((Mac) prototype.clone()).doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("签名算法不支持克隆", e);
+        }
+    }
+
+    /**
+     * 令牌类型
+     */
+    public enum Type {
+
+        /**
+         * 访问令牌：有效期短，每次请求携带
+         */
+        ACCESS,
+
+        /**
+         * 刷新令牌：有效期长，只用于换取新的访问令牌
+         */
+        REFRESH
+
+    }
+
+}
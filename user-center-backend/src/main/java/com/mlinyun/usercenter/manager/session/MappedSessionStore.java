@@ -0,0 +1,599 @@
+package com.mlinyun.usercenter.manager.session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 本地会话存储（堆外内存 / 内存映射文件）
+ *
+ * <p>
+ * 会话保存在一张定长的开放寻址哈希表中，每个槽位 48 字节（会话 ID、用户 ID、登录时间、最后访问时间、状态、角色和令牌版本），
+ * 整张表位于堆外，不增加 GC 负担。指定文件时表通过内存映射写入文件，应用重启后会话仍然有效；未指定文件时使用堆外直接内存
+ * </p>
+ *
+ * <p>
+ * 读取时发现过期的会话会被立即删除；后台清理线程每次只从上次停下的位置继续检查固定数量的槽位（时钟指针），
+ * 单次清理的耗时与会话总数无关。最后访问时间最多每分钟写入一次，过期判断的精度为一分钟。读取在读锁下进行，插入、删除和清理在写锁下进行
+ * </p>
+ *
+ * <p>
+ * 会话数达到容量的 3/4 时不拒绝登录：从时钟指针处取样若干个会话，淘汰其中最久未访问的一个（近似 LRU），淘汰耗时与会话总数无关
+ * </p>
+ */
+@Slf4j
+public class MappedSessionStore implements SessionStore {
+
+    /**
+     * 文件头魔数
+     */
+    private static final long MAGIC = 0x5553455353494F4EL;
+
+    /**
+     * 文件头长度
+     */
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * 文件头中容量的偏移量
+     */
+    private static final int HEADER_CAPACITY = 8;
+
+    /**
+     * 文件头中槽位长度的偏移量
+     */
+    private static final int HEADER_SLOT_SIZE = 12;
+
+    /**
+     * 槽位长度
+     */
+    private static final int SLOT_SIZE = 48;
+
+    /**
+     * 槽位中会话 ID 低 64 位的偏移量（高 64 位位于槽位起始位置，两者都为 0 表示空槽位）
+     */
+    private static final int KEY_LOW = 8;
+
+    /**
+     * 槽位中用户 ID 的偏移量
+     */
+    private static final int USER_ID = 16;
+
+    /**
+     * 槽位中登录时间的偏移量
+     */
+    private static final int ISSUED_AT = 24;
+
+    /**
+     * 槽位中最后访问时间（相对 {@link #CLOCK_BASE_SECONDS} 的秒数）的偏移量
+     */
+    private static final int LAST_ACCESS = 32;
+
+    /**
+     * 槽位中用户状态的偏移量
+     */
+    private static final int STATUS = 36;
+
+    /**
+     * 槽位中角色编码的偏移量
+     */
+    private static final int ROLE = 37;
+
+    /**
+     * 槽位中令牌版本的偏移量
+     */
+    private static final int TOKEN_VERSION = 40;
+
+    /**
+     * 最小容量
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * 最大容量（映射区域不能超过 2GB）
+     */
+    private static final int MAX_CAPACITY = 1 << 25;
+
+    /**
+     * 最大装载比例的分母：会话数不超过容量的 3/4，保证探测序列较短且总能找到空槽位
+     */
+    private static final int LOAD_FACTOR_DIVISOR = 4;
+
+    /**
+     * 存储已满时每次淘汰取样的会话数
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 64;
+
+    /**
+     * 最后访问时间的写入间隔（秒）
+     */
+    private static final int TOUCH_INTERVAL_SECONDS = 60;
+
+    /**
+     * 最后访问时间的基准时间：2025-01-01T00:00:00Z，以 int 保存可使用约 68 年
+     */
+    private static final long CLOCK_BASE_SECONDS = 1_735_689_600L;
+
+    /**
+     * 哈希表
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 映射文件的通道，使用堆外直接内存时为 null
+     */
+    private final FileChannel channel;
+
+    /**
+     * 槽位数（2 的幂）
+     */
+    private final int capacity;
+
+    /**
+     * 最多保存的会话数
+     */
+    private final int maxSize;
+
+    /**
+     * 空闲超时时间（秒）
+     */
+    private final long idleTimeoutSeconds;
+
+    /**
+     * 时钟（秒级时间戳）
+     */
+    private final LongSupplier clock;
+
+    /**
+     * 读写锁
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 后台清理线程
+     */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * 过期清理的会话数
+     */
+    private final LongAdder expiredCount = new LongAdder();
+
+    /**
+     * 存储已满时淘汰的会话数
+     */
+    private final LongAdder evictedCount = new LongAdder();
+
+    /**
+     * 当前会话数（写锁下修改）
+     */
+    private volatile int size;
+
+    /**
+     * 清理时钟指针（写锁下修改）
+     */
+    private int sweepHand;
+
+    /**
+     * 构造函数
+     *
+     * @param file 映射文件，为 null 时使用堆外直接内存（重启后会话失效）
+     * @param capacity 期望的槽位数，向上取整为 2 的幂
+     * @param idleTimeoutSeconds 空闲超时时间（秒）
+     * @throws IOException 映射文件失败时抛出
+     */
+    public MappedSessionStore(Path file, int capacity, long idleTimeoutSeconds) throws IOException {
+        this(file, capacity, idleTimeoutSeconds, () -> TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+    }
+
+    /**
+     * 构造函数（可指定时钟，供测试使用）
+     *
+     * @param file 映射文件，为 null 时使用堆外直接内存
+     * @param capacity 期望的槽位数
+     * @param idleTimeoutSeconds 空闲超时时间（秒）
+     * @param clock 时钟（秒级时间戳）
+     * @throws IOException 映射文件失败时抛出
+     */
+    MappedSessionStore(Path file, int capacity, long idleTimeoutSeconds, LongSupplier clock) throws IOException {
+        int bounded = Math.min(MAX_CAPACITY, Math.max(MIN_CAPACITY, capacity));
+        this.capacity = Integer.highestOneBit(bounded) == bounded ? bounded : Integer.highestOneBit(bounded) << 1;
+        this.maxSize = this.capacity - this.capacity / LOAD_FACTOR_DIVISOR;
+        this.idleTimeoutSeconds = Math.max(1L, idleTimeoutSeconds);
+        this.clock = clock;
+        int length = HEADER_SIZE + this.capacity * SLOT_SIZE;
+        if (file == null) {
+            this.channel = null;
+            this.buffer = ByteBuffer.allocateDirect(length);
+            writeHeader();
+        } else {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            boolean reusable = channel.size() == length;
+            if (!reusable) {
+                channel.truncate(0);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            if (reusable && headerMatches()) {
+                this.size = countOccupied();
+            } else {
+                clearSlots();
+                writeHeader();
+            }
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("本地会话存储初始化完成: file={}, capacity={}, sessions={}", file, this.capacity, size);
+    }
+
+    /**
+     * 启动后台清理
+     *
+     * @param intervalSeconds 清理周期（秒）
+     * @param batchSize 每次检查的槽位数
+     * @return 当前实例
+     */
+    public MappedSessionStore startSweeper(long intervalSeconds, int batchSize) {
+        long interval = Math.max(1L, intervalSeconds);
+        int batch = Math.max(1, batchSize);
+        sweeper.scheduleWithFixedDelay(() -> sweep(batch), interval, interval, TimeUnit.SECONDS);
+        return this;
+    }
+
+    @Override
+    public void save(String sessionId, LoginPrincipal principal) {
+        byte[] id = SessionIds.decode(sessionId);
+        if (id == null) {
+            throw new IllegalArgumentException("会话 ID 格式不正确");
+        }
+        ByteBuffer key = ByteBuffer.wrap(id);
+        long high = key.getLong();
+        long low = key.getLong();
+        byte role = principal.roleCode();
+        byte status = principal.statusCode();
+        int now = now();
+        lock.writeLock().lock();
+        try {
+            int offset = probe(high, low, now);
+            if (isEmpty(offset) && size >= maxSize) {
+                // 淘汰后后续槽位可能前移，重新探测
+                evictOldest();
+                offset = probe(high, low, now);
+            }
+            if (isEmpty(offset)) {
+                size++;
+            }
+            buffer.putLong(offset, high);
+            buffer.putLong(offset + KEY_LOW, low);
+            buffer.putLong(offset + USER_ID, principal.userId());
+            buffer.putLong(offset + ISSUED_AT, principal.issuedAt());
+            buffer.putInt(offset + LAST_ACCESS, now);
+            buffer.put(offset + STATUS, status);
+            buffer.put(offset + ROLE, role);
+            buffer.putInt(offset + TOKEN_VERSION, principal.tokenVersion());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public LoginPrincipal find(String sessionId) {
+        byte[] id = SessionIds.decode(sessionId);
+        if (id == null) {
+            return null;
+        }
+        ByteBuffer key = ByteBuffer.wrap(id);
+        long high = key.getLong();
+        long low = key.getLong();
+        int now = now();
+        lock.readLock().lock();
+        try {
+            int slot = locate(high, low);
+            if (slot < 0) {
+                return null;
+            }
+            int offset = offsetOf(slot);
+            if (!isExpired(offset, now)) {
+                // 多个读线程可能同时写入相同的值，int 写入是原子的，不影响正确性
+                if (now - buffer.getInt(offset + LAST_ACCESS) >= TOUCH_INTERVAL_SECONDS) {
+                    buffer.putInt(offset + LAST_ACCESS, now);
+                }
+                return readPrincipal(offset);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        remove(high, low);
+        return null;
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        byte[] id = SessionIds.decode(sessionId);
+        if (id == null) {
+            return;
+        }
+        ByteBuffer key = ByteBuffer.wrap(id);
+        remove(key.getLong(), key.getLong());
+    }
+
+    /**
+     * 删除会话
+     */
+    private void remove(long high, long low) {
+        lock.writeLock().lock();
+        try {
+            int slot = locate(high, low);
+            if (slot >= 0) {
+                deleteAt(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从时钟指针处继续检查固定数量的槽位，删除其中过期的会话
+     *
+     * @param batchSize 检查的槽位数
+     * @return 删除的会话数
+     */
+    int sweep(int batchSize) {
+        int now = now();
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                int offset = offsetOf(sweepHand);
+                if (!isEmpty(offset) && isExpired(offset, now)) {
+                    // 删除后后续槽位可能前移到当前位置，指针不前进，下一轮重新检查当前位置
+                    deleteAt(sweepHand);
+                    removed++;
+                } else {
+                    sweepHand = (sweepHand + 1) & (capacity - 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        expiredCount.add(removed);
+        return removed;
+    }
+
+    /**
+     * 探测保存会话的槽位：空槽位、已过期的槽位（直接复用）或相同会话 ID 所在的槽位
+     *
+     * @return 槽位偏移量
+     */
+    private int probe(long high, long low, int now) {
+        int slot = home(high, low);
+        int offset = offsetOf(slot);
+        while (!isEmpty(offset) && !isExpired(offset, now) && !matches(offset, high, low)) {
+            slot = (slot + 1) & (capacity - 1);
+            offset = offsetOf(slot);
+        }
+        return offset;
+    }
+
+    /**
+     * 从时钟指针处取样 {@link #EVICTION_SAMPLE_SIZE} 个会话，删除其中最后访问时间最早的一个，时钟指针移到取样范围之后
+     */
+    private void evictOldest() {
+        int mask = capacity - 1;
+        int oldestSlot = -1;
+        int oldestAccess = Integer.MAX_VALUE;
+        int sampled = 0;
+        int slot = sweepHand;
+        for (int i = 0; i < capacity && sampled < EVICTION_SAMPLE_SIZE; i++) {
+            int offset = offsetOf(slot);
+            if (!isEmpty(offset)) {
+                sampled++;
+                int lastAccess = buffer.getInt(offset + LAST_ACCESS);
+                if (lastAccess < oldestAccess) {
+                    oldestAccess = lastAccess;
+                    oldestSlot = slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        sweepHand = slot;
+        if (oldestSlot >= 0) {
+            deleteAt(oldestSlot);
+            evictedCount.increment();
+        }
+    }
+
+    /**
+     * 读取槽位中的登录主体
+     *
+     * @return 登录主体，角色编码不存在时返回 null
+     */
+    private LoginPrincipal readPrincipal(int offset) {
+        String role = LoginPrincipal.roleOf(buffer.get(offset + ROLE));
+        return role == null ? null : new LoginPrincipal(buffer.getLong(offset + USER_ID), role,
+            buffer.get(offset + STATUS), buffer.getInt(offset + TOKEN_VERSION), buffer.getLong(offset + ISSUED_AT));
+    }
+
+    /**
+     * 查找会话所在的槽位
+     *
+     * @return 槽位下标，不存在时返回 -1
+     */
+    private int locate(long high, long low) {
+        int slot = home(high, low);
+        int offset = offsetOf(slot);
+        while (!isEmpty(offset)) {
+            if (matches(offset, high, low)) {
+                return slot;
+            }
+            slot = (slot + 1) & (capacity - 1);
+            offset = offsetOf(slot);
+        }
+        return -1;
+    }
+
+    /**
+     * 删除槽位并把后续槽位中可以前移的会话前移（反向移位删除），不留下墓碑
+     */
+    private void deleteAt(int slot) {
+        int mask = capacity - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            int offset = offsetOf(next);
+            if (isEmpty(offset)) {
+                break;
+            }
+            int home = home(buffer.getLong(offset), buffer.getLong(offset + KEY_LOW));
+            // 起始位置在 (hole, next] 区间内的会话不能移到 hole 之前
+            boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!stays) {
+                copySlot(offset, offsetOf(hole));
+                hole = next;
+            }
+        }
+        clearSlot(offsetOf(hole));
+        size--;
+    }
+
+    private void copySlot(int from, int to) {
+        for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+            buffer.putLong(to + i, buffer.getLong(from + i));
+        }
+    }
+
+    private void clearSlot(int offset) {
+        for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+            buffer.putLong(offset + i, 0L);
+        }
+    }
+
+    private void clearSlots() {
+        for (int slot = 0; slot < capacity; slot++) {
+            clearSlot(offsetOf(slot));
+        }
+    }
+
+    private int countOccupied() {
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!isEmpty(offsetOf(slot))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void writeHeader() {
+        buffer.putLong(0, MAGIC);
+        buffer.putInt(HEADER_CAPACITY, capacity);
+        buffer.putInt(HEADER_SLOT_SIZE, SLOT_SIZE);
+    }
+
+    private boolean headerMatches() {
+        return buffer.getLong(0) == MAGIC && buffer.getInt(HEADER_CAPACITY) == capacity
+            && buffer.getInt(HEADER_SLOT_SIZE) == SLOT_SIZE;
+    }
+
+    private int home(long high, long low) {
+        // 会话 ID 是随机数，直接取低位即可均匀分布
+        return (int) (low ^ high) & (capacity - 1);
+    }
+
+    private static int offsetOf(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private boolean isEmpty(int offset) {
+        return buffer.getLong(offset) == 0L && buffer.getLong(offset + KEY_LOW) == 0L;
+    }
+
+    private boolean matches(int offset, long high, long low) {
+        return buffer.getLong(offset) == high && buffer.getLong(offset + KEY_LOW) == low;
+    }
+
+    private boolean isExpired(int offset, int now) {
+        return now - buffer.getInt(offset + LAST_ACCESS) > idleTimeoutSeconds;
+    }
+
+    private int now() {
+        return (int) (clock.getAsLong() - CLOCK_BASE_SECONDS);
+    }
+
+    /**
+     * 停止后台清理，把映射区域写回文件并关闭
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            if (buffer instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("关闭会话文件失败: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 获取当前会话数（包括尚未清理的过期会话）
+     *
+     * @return 会话数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取槽位数
+     *
+     * @return 槽位数
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取后台清理删除的过期会话数
+     *
+     * @return 过期会话数
+     */
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    /**
+     * 获取存储已满时淘汰的会话数
+     *
+     * @return 淘汰的会话数
+     */
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+}
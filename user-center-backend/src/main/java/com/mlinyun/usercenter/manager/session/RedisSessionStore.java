@@ -0,0 +1,114 @@
+package com.mlinyun.usercenter.manager.session;
+
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.redis.RespClient;
+import com.mlinyun.usercenter.manager.redis.RespErrorException;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 共享会话存储（Redis 协议）
+ *
+ * <p>
+ * 会话值为登录主体的 23 字节二进制编码（Base64 后 32 字节），过期时间交给共享存储维护，不需要本地清理。
+ * 读取时在同一次管道往返中执行 GET 和 PEXPIRE，延长会话的空闲有效期
+ * </p>
+ *
+ * <p>
+ * 与限流不同，会话无法降级到本地：共享存储不可用时抛出系统繁忙异常，由全局异常处理器返回给前端
+ * </p>
+ */
+@Slf4j
+public class RedisSessionStore implements SessionStore {
+
+    /**
+     * 共享存储客户端
+     */
+    private final RespClient client;
+
+    /**
+     * Key 前缀
+     */
+    private final String keyPrefix;
+
+    /**
+     * 空闲超时时间（毫秒）
+     */
+    private final long idleTimeoutMillis;
+
+    /**
+     * 构造函数
+     *
+     * @param client 共享存储客户端
+     * @param keyPrefix Key 前缀
+     * @param idleTimeoutSeconds 空闲超时时间（秒）
+     */
+    public RedisSessionStore(RespClient client, String keyPrefix, long idleTimeoutSeconds) {
+        this.client = client;
+        this.keyPrefix = keyPrefix;
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1L, idleTimeoutSeconds));
+    }
+
+    @Override
+    public void save(String sessionId, LoginPrincipal principal) {
+        String value = Base64.getEncoder().encodeToString(principal.toBytes());
+        try {
+            client.execute("SET", keyOf(sessionId), value, "PX", idleTimeoutMillis);
+        } catch (IOException e) {
+            throw unavailable(e);
+        }
+    }
+
+    @Override
+    public LoginPrincipal find(String sessionId) {
+        if (SessionIds.decode(sessionId) == null) {
+            return null;
+        }
+        String key = keyOf(sessionId);
+        List<Object> replies;
+        try {
+            replies = client.pipeline(List.of(new Object[]{"GET", key},
+                new Object[]{"PEXPIRE", key, idleTimeoutMillis}));
+        } catch (IOException e) {
+            throw unavailable(e);
+        }
+        Object value = replies.get(0);
+        if (value instanceof RespErrorException error) {
+            throw unavailable(error);
+        }
+        if (!(value instanceof byte[] bytes)) {
+            return null;
+        }
+        try {
+            return LoginPrincipal.fromBytes(Base64.getDecoder().decode(bytes));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        if (SessionIds.decode(sessionId) == null) {
+            return;
+        }
+        try {
+            client.execute("DEL", keyOf(sessionId));
+        } catch (IOException e) {
+            throw unavailable(e);
+        }
+    }
+
+    private String keyOf(String sessionId) {
+        return keyPrefix + sessionId;
+    }
+
+    private static BusinessException unavailable(IOException e) {
+        log.warn("共享会话存储不可用: {}", e.getMessage());
+        return new BusinessException(ResultCodeEnum.SYSTEM_BUSY_ERROR);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.mlinyun.usercenter.manager.session;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 会话 ID 工具类
+ *
+ * <p>
+ * 会话 ID 为 128 位安全随机数的 URL 安全 Base64 编码（22 个字符，无填充），可以直接作为 Cookie 值
+ * </p>
+ */
+public final class SessionIds {
+
+    /**
+     * 会话 ID 的字节数
+     */
+    public static final int ID_BYTES = 16;
+
+    /**
+     * 会话 ID 的字符数
+     */
+    private static final int ID_CHARS = 22;
+
+    /**
+     * 安全随机数生成器（线程安全）
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private SessionIds() {
+        // 私有构造函数，防止实例化
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 生成新的会话 ID
+     *
+     * @return 会话 ID
+     */
+    public static String generate() {
+        byte[] bytes = new byte[ID_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 解码会话 ID
+     *
+     * @param sessionId 会话 ID
+     * @return 会话 ID 的字节，格式不正确时返回 null
+     */
+    public static byte[] decode(String sessionId) {
+        if (sessionId == null || sessionId.length() != ID_CHARS) {
+            return null;
+        }
+        try {
+            return Base64.getUrlDecoder().decode(sessionId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.mlinyun.usercenter.manager.session;
+
+import java.io.Closeable;
+
+/**
+ * 会话存储 SPI
+ *
+ * <p>
+ * 以会话 ID 为键保存登录主体，会话在空闲超过超时时间后失效，每次读取都会延长有效期。 可选本地的 {@link MappedSessionStore}（堆外内存或内存映射文件，重启后会话仍然有效）
+ * 或共享存储 {@link RedisSessionStore}（多实例共享会话，不需要粘性会话）
+ * </p>
+ */
+public interface SessionStore extends Closeable {
+
+    /**
+     * 保存会话
+     *
+     * @param sessionId 会话 ID
+     * @param principal 登录主体
+     */
+    void save(String sessionId, LoginPrincipal principal);
+
+    /**
+     * 读取会话并延长有效期
+     *
+     * @param sessionId 会话 ID
+     * @return 登录主体，会话不存在或已过期时返回 null
+     */
+    LoginPrincipal find(String sessionId);
+
+    /**
+     * 删除会话
+     *
+     * @param sessionId 会话 ID
+     */
+    void remove(String sessionId);
+
+    /**
+     * 关闭存储，释放后台线程和文件等资源
+     */
+    @Override
+    default void close() {
+    }
+
+}
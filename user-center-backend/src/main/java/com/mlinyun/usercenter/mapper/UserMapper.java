@@ -1,7 +1,13 @@
 package com.mlinyun.usercenter.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.mlinyun.usercenter.model.entity.User;
+import java.util.Date;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 /**
  * 用户数据访问层接口
@@ -11,4 +17,50 @@ import com.mlinyun.usercenter.model.entity.User;
  */
 public interface UserMapper extends BaseMapper<User> {
 
+    /**
+     * 从 InnoDB 统计信息中读取用户表的估算行数（包含已逻辑删除的记录），不扫描数据
+     *
+     * @return 估算行数，数据库不支持时返回 null
+     */
+    Long selectEstimatedRowCount();
+
+    /**
+     * 查询用户表（包含已逻辑删除的记录）中最大的更新时间
+     *
+     * @return 最大更新时间，表为空时返回 null
+     */
+    Date selectMaxUpdateTime();
+
+    /**
+     * 按主键顺序分批查询未删除用户的搜索字段（ID、昵称、简介）
+     *
+     * @param afterId 上一批最后一条记录的 ID
+     * @param limit 每批记录数
+     * @return 用户列表
+     */
+    List<User> selectSearchDocsAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * 按 (update_time, id) 顺序分批查询更新时间不早于指定时间的用户搜索字段，包含已逻辑删除的记录
+     *
+     * @param since 上一批最后一条记录的更新时间（首批为起始时间）
+     * @param afterId 上一批最后一条记录的 ID（首批为 0）
+     * @param limit 每批记录数
+     * @return 用户列表
+     */
+    List<User> selectSearchDocsUpdatedSince(@Param("since") Date since, @Param("afterId") long afterId,
+        @Param("limit") int limit);
+
+    /**
+     * 以流式结果集逐行查询用户导出字段，不在内存中缓存结果
+     *
+     * <p>
+     * 自定义 SQL 不会自动追加逻辑删除条件，调用方需要在查询条件中排除已删除的用户
+     * </p>
+     *
+     * @param queryWrapper 查询条件（包括排序）
+     * @param resultHandler 逐行处理结果的回调
+     */
+    void streamExportUsers(@Param(Constants.WRAPPER) Wrapper<User> queryWrapper, ResultHandler<User> resultHandler);
+
 }
@@ -0,0 +1,36 @@
+package com.mlinyun.usercenter.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 管理员批量添加用户请求体
+ *
+ * <p>
+ * 用于管理员批量添加用户的请求参数，每个用户单独校验，校验失败的用户不影响其他用户的添加
+ * </p>
+ */
+@Data
+@Schema(description = "管理员批量添加用户请求体")
+public class AdminBatchAddUserRequest implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = -3318742659412078117L;
+
+    /**
+     * 待添加的用户列表
+     */
+    @Schema(description = "待添加的用户列表（最多 1000 个）", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "用户列表不能为空")
+    @Size(max = 1000, message = "单次最多添加 1000 个用户")
+    private List<AdminAddUserRequest> users;
+
+}
@@ -0,0 +1,49 @@
+package com.mlinyun.usercenter.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 管理员批量封禁或解封用户请求体
+ *
+ * <p>
+ * 用于管理员批量封禁或解封用户的请求参数
+ * </p>
+ */
+@Data
+@Schema(description = "管理员批量封禁或解封用户请求体")
+public class AdminBatchBanOrUnbanUserRequest implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = -8829165376730463871L;
+
+    /**
+     * 用户 ID 列表
+     */
+    @Schema(description = "用户 ID 列表（最多 1000 个）", example = "[1899878538809757698]",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "用户 ID 列表不能为空")
+    @Size(max = 1000, message = "单次最多操作 1000 个用户")
+    private List<Long> ids;
+
+    /**
+     * 状态（0正常 1封禁）
+     */
+    @Schema(description = "状态（0正常 1封禁）", example = "1", allowableValues = {"0", "1"})
+    @NotNull(message = "用户状态不能为空")
+    @Min(value = 0, message = "用户状态只能为0或1")
+    @Max(value = 1, message = "用户状态只能为0或1")
+    private Integer userStatus;
+
+}
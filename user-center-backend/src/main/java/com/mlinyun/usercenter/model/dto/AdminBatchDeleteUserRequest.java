@@ -0,0 +1,37 @@
+package com.mlinyun.usercenter.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 管理员批量删除用户请求体
+ *
+ * <p>
+ * 用于管理员批量删除用户的请求参数
+ * </p>
+ */
+@Data
+@Schema(description = "管理员批量删除用户请求体")
+public class AdminBatchDeleteUserRequest implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = 5560127394071855913L;
+
+    /**
+     * 用户 ID 列表
+     */
+    @Schema(description = "用户 ID 列表（最多 1000 个）", example = "[1899878538809757698]",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "用户 ID 列表不能为空")
+    @Size(max = 1000, message = "单次最多操作 1000 个用户")
+    private List<Long> ids;
+
+}
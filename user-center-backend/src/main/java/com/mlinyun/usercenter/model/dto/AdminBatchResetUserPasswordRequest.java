@@ -0,0 +1,46 @@
+package com.mlinyun.usercenter.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 管理员批量重置用户密码请求体
+ *
+ * <p>
+ * 用于管理员批量重置用户密码的请求参数，每个用户的密码单独加盐哈希
+ * </p>
+ */
+@Data
+@Schema(description = "管理员批量重置用户密码请求体")
+public class AdminBatchResetUserPasswordRequest implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = 2417930858461720736L;
+
+    /**
+     * 用户 ID 列表
+     */
+    @Schema(description = "用户 ID 列表（最多 1000 个）", example = "[1899878538809757698]",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "用户 ID 列表不能为空")
+    @Size(max = 1000, message = "单次最多操作 1000 个用户")
+    private List<Long> ids;
+
+    /**
+     * 新的密码
+     */
+    @Schema(description = "新的密码", example = "Password..4321", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "新密码不能为空")
+    @Size(min = 8, max = 20, message = "新密码长度必须在8-20位之间")
+    private String newPassword;
+
+}
@@ -0,0 +1,39 @@
+package com.mlinyun.usercenter.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 管理员导出用户请求体
+ *
+ * <p>
+ * 复用管理员查询用户的筛选和排序条件，导出全部匹配的用户（忽略分页参数和游标）
+ * </p>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "管理员导出用户请求体")
+public class AdminExportUserRequest extends AdminQueryUserRequest implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2837465091827364519L;
+
+    /**
+     * 导出格式
+     */
+    @Schema(description = "导出格式：csv / ndjson", example = "csv", defaultValue = "csv",
+        allowableValues = {"csv", "ndjson"})
+    @Pattern(regexp = "^(?:csv|ndjson)$", message = "导出格式必须是 'csv' 或 'ndjson'")
+    private String format = "csv";
+
+    /**
+     * 是否 gzip 压缩
+     */
+    @Schema(description = "是否以 gzip 压缩导出文件", example = "false", defaultValue = "false")
+    private boolean gzip;
+
+}
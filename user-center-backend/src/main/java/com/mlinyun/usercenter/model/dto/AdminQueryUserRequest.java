@@ -117,4 +117,18 @@ public class AdminQueryUserRequest extends PageRequest implements Serializable {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
     private Date createTimeEnd;
 
+    /**
+     * 游标（仅用于游标分页，取上一页返回的 nextCursor，查询第一页时为空）
+     */
+    @Schema(description = "游标（取上一页返回的 nextCursor，查询第一页时为空）")
+    @Size(max = 512, message = "游标长度不能超过512个字符")
+    private String cursor;
+
+    /**
+     * 是否允许返回估算总数（仅在没有筛选条件时生效，用于超大表的首页展示；估算值包含已逻辑删除的用户）
+     */
+    @Schema(description = "是否允许返回估算总数（仅在没有筛选条件时生效，估算值包含已逻辑删除的用户）", example = "false",
+        defaultValue = "false")
+    private boolean estimateTotal;
+
 }
@@ -98,6 +98,12 @@ public class User implements Serializable {
     @Schema(description = "状态（0正常 1封禁）", example = "0", defaultValue = "0", allowableValues = {"0", "1"})
     private Integer userStatus;
 
+    /**
+     * 令牌版本（修改密码、重置密码、封禁和 token 模式注销时递增）
+     */
+    @Schema(description = "令牌版本", example = "0", defaultValue = "0")
+    private Integer tokenVersion;
+
     /**
      * 星球编号
      */
@@ -0,0 +1,57 @@
+package com.mlinyun.usercenter.model.enums;
+
+import cn.hutool.core.util.ObjectUtil;
+import lombok.Getter;
+
+/**
+ * 用户导入导出格式枚举类
+ *
+ * <p>
+ * 用于定义管理员导出和导入用户时支持的文件格式，包括 CSV 和 NDJSON（每行一个 JSON 对象）
+ * </p>
+ */
+@Getter
+public enum UserExportFormatEnum {
+
+    CSV("csv", "text/csv;charset=UTF-8", ".csv"), NDJSON("ndjson", "application/x-ndjson;charset=UTF-8", ".ndjson");
+
+    /**
+     * 格式值
+     */
+    private final String value;
+
+    /**
+     * 响应内容类型
+     */
+    private final String contentType;
+
+    /**
+     * 文件扩展名
+     */
+    private final String extension;
+
+    UserExportFormatEnum(String value, String contentType, String extension) {
+        this.value = value;
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * 根据格式值获取对应的枚举
+     *
+     * @param value 格式值
+     * @return 对应的枚举，如果没有匹配的枚举则返回 null
+     */
+    public static UserExportFormatEnum getEnumByValue(String value) {
+        if (ObjectUtil.isEmpty(value)) {
+            return null;
+        }
+        for (UserExportFormatEnum formatEnum : UserExportFormatEnum.values()) {
+            if (formatEnum.value.equals(value)) {
+                return formatEnum;
+            }
+        }
+        return null;
+    }
+
+}
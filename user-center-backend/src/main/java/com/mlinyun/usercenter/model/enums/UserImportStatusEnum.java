@@ -0,0 +1,61 @@
+package com.mlinyun.usercenter.model.enums;
+
+import cn.hutool.core.util.ObjectUtil;
+import lombok.Getter;
+
+/**
+ * 用户导入任务状态枚举类
+ *
+ * <p>
+ * 用于定义用户批量导入任务的执行状态，包括等待中、执行中、已完成和已失败
+ * </p>
+ */
+@Getter
+public enum UserImportStatusEnum {
+
+    PENDING("等待中", "pending"), RUNNING("执行中", "running"), SUCCEEDED("已完成", "succeeded"),
+    FAILED("已失败", "failed");
+
+    /**
+     * 状态名称
+     */
+    private final String text;
+
+    /**
+     * 状态值
+     */
+    private final String value;
+
+    UserImportStatusEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    /**
+     * 根据状态值获取对应的枚举
+     *
+     * @param value 状态值
+     * @return 对应的枚举，如果没有匹配的枚举则返回 null
+     */
+    public static UserImportStatusEnum getEnumByValue(String value) {
+        if (ObjectUtil.isEmpty(value)) {
+            return null;
+        }
+        for (UserImportStatusEnum statusEnum : UserImportStatusEnum.values()) {
+            if (statusEnum.value.equals(value)) {
+                return statusEnum;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断任务是否已结束
+     *
+     * @return 是否已结束
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.mlinyun.usercenter.model.vo;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量操作结果视图
+ *
+ * <p>
+ * 批量操作中每一项单独成功或失败，items 与请求中的列表按下标一一对应
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "批量操作结果视图")
+public class BatchResultVO implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = 6103885412409547372L;
+
+    /**
+     * 成功数量
+     */
+    @Schema(description = "成功数量", example = "998")
+    private int successCount;
+
+    /**
+     * 失败数量
+     */
+    @Schema(description = "失败数量", example = "2")
+    private int failureCount;
+
+    /**
+     * 每一项的结果
+     */
+    @Schema(description = "每一项的结果，与请求中的列表按下标一一对应")
+    private List<Item> items;
+
+    /**
+     * 单项结果
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "批量操作单项结果")
+    public static class Item implements Serializable {
+
+        /**
+         * 序列化版本号
+         */
+        @Serial
+        private static final long serialVersionUID = -1526493370864012583L;
+
+        /**
+         * 在请求列表中的下标
+         */
+        @Schema(description = "在请求列表中的下标", example = "0")
+        private int index;
+
+        /**
+         * 用户 ID（批量添加时为新用户的 ID，失败时为 null）
+         */
+        @Schema(description = "用户 ID", example = "1899878538809757698")
+        @JsonSerialize(using = ToStringSerializer.class)
+        private Long id;
+
+        /**
+         * 是否成功
+         */
+        @Schema(description = "是否成功", example = "true")
+        private boolean success;
+
+        /**
+         * 失败原因，成功时为 null
+         */
+        @Schema(description = "失败原因，成功时为 null", example = "用户不存在")
+        private String message;
+
+    }
+
+}
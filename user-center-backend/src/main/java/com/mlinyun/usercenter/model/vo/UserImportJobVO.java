@@ -0,0 +1,145 @@
+package com.mlinyun.usercenter.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户导入任务视图
+ *
+ * <p>
+ * 导入任务在后台逐批执行，通过任务 ID 查询进度和失败行的错误报告
+ * </p>
+ */
+@Data
+@Schema(description = "用户导入任务视图")
+public class UserImportJobVO implements Serializable {
+
+    /**
+     * 序列化版本号
+     */
+    @Serial
+    private static final long serialVersionUID = -4410981772013569217L;
+
+    /**
+     * 任务 ID
+     */
+    @Schema(description = "任务 ID", example = "5f0c1c1e2b6a4c0e9d7f3a8b1c2d3e4f")
+    private String jobId;
+
+    /**
+     * 上传的文件名
+     */
+    @Schema(description = "上传的文件名", example = "users.csv")
+    private String fileName;
+
+    /**
+     * 任务状态
+     */
+    @Schema(description = "任务状态：pending / running / succeeded / failed", example = "running")
+    private String status;
+
+    /**
+     * 文件大小（字节）
+     */
+    @Schema(description = "文件大小（字节）", example = "10485760")
+    private long fileSize;
+
+    /**
+     * 已读取的字节数，与文件大小之比即为导入进度
+     */
+    @Schema(description = "已读取的字节数，与 fileSize 之比即为导入进度", example = "5242880")
+    private long bytesRead;
+
+    /**
+     * 已处理的行数
+     */
+    @Schema(description = "已处理的数据行数", example = "12000")
+    private long processedRows;
+
+    /**
+     * 导入成功的行数
+     */
+    @Schema(description = "导入成功的行数", example = "11990")
+    private long successCount;
+
+    /**
+     * 导入失败的行数
+     */
+    @Schema(description = "导入失败的行数", example = "10")
+    private long failureCount;
+
+    /**
+     * 失败行的错误报告
+     */
+    @Schema(description = "失败行的错误报告（按行号升序，最多保留 import.user.max-errors 条）")
+    private List<RowError> errors;
+
+    /**
+     * 错误报告是否因数量超出上限而被截断
+     */
+    @Schema(description = "错误报告是否被截断", example = "false")
+    private boolean errorsTruncated;
+
+    /**
+     * 任务失败的原因（仅状态为 failed 时有值）
+     */
+    @Schema(description = "任务失败的原因", example = "文件读取失败")
+    private String message;
+
+    /**
+     * 创建时间
+     */
+    @Schema(description = "创建时间", example = "2025-04-01 12:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private Date createTime;
+
+    /**
+     * 结束时间
+     */
+    @Schema(description = "结束时间", example = "2025-04-01 12:03:00")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private Date finishTime;
+
+    /**
+     * 失败行
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "用户导入失败行")
+    public static class RowError implements Serializable {
+
+        /**
+         * 序列化版本号
+         */
+        @Serial
+        private static final long serialVersionUID = 2290367314575839107L;
+
+        /**
+         * 行号（NDJSON 为文件行号，CSV 为不含表头的记录序号，均从 1 开始）
+         */
+        @Schema(description = "行号（NDJSON 为文件行号，CSV 为不含表头的记录序号，均从 1 开始）", example = "42")
+        private long row;
+
+        /**
+         * 登录账号（无法解析时为 null）
+         */
+        @Schema(description = "登录账号", example = "lingyun")
+        private String userAccount;
+
+        /**
+         * 失败原因
+         */
+        @Schema(description = "失败原因", example = "登录账号或星球编号已存在")
+        private String message;
+
+    }
+
+}
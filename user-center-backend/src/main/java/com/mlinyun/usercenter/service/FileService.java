@@ -1,6 +1,7 @@
 package com.mlinyun.usercenter.service;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -17,4 +18,13 @@ public interface FileService {
      */
     String uploadAvatar(MultipartFile file, HttpServletRequest request);
 
+    /**
+     * 读取上传目录中的文件，直接写入响应（支持 ETag 协商缓存和 Range 请求）
+     *
+     * @param filePath 相对上传目录的文件路径
+     * @param request HttpServletRequest 对象
+     * @param response HttpServletResponse 对象
+     */
+    void serveFile(String filePath, HttpServletRequest request, HttpServletResponse response);
+
 }
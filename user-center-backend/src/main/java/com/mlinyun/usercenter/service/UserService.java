@@ -1,9 +1,15 @@
 package com.mlinyun.usercenter.service;
 
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.mlinyun.usercenter.common.CursorPage;
+import com.mlinyun.usercenter.common.PageResult;
 import com.mlinyun.usercenter.model.dto.AdminAddUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminBanOrUnbanUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchAddUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchBanOrUnbanUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchDeleteUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchResetUserPasswordRequest;
+import com.mlinyun.usercenter.model.dto.AdminExportUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminGetOrDeleteUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminQueryUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminResetUserPasswordRequest;
@@ -13,9 +19,14 @@ import com.mlinyun.usercenter.model.dto.UserRegisterRequest;
 import com.mlinyun.usercenter.model.dto.UserUpdateInfoRequest;
 import com.mlinyun.usercenter.model.dto.UserUpdatePasswordRequest;
 import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.enums.UserExportFormatEnum;
+import com.mlinyun.usercenter.model.vo.BatchResultVO;
+import com.mlinyun.usercenter.model.vo.UserImportJobVO;
 import com.mlinyun.usercenter.model.vo.UserLoginVO;
 import com.mlinyun.usercenter.model.vo.UserVO;
 import jakarta.servlet.http.HttpServletRequest;
+import java.io.InputStream;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * 用户服务接口
@@ -59,6 +70,14 @@ public interface UserService extends IService<User> {
      */
     UserLoginVO getLoginUserInfo(HttpServletRequest request);
 
+    /**
+     * 刷新登录状态（token 模式下用刷新令牌换取新的令牌）
+     *
+     * @param request HttpServletRequest 对象
+     * @return 脱敏后的用户信息
+     */
+    UserLoginVO refreshLogin(HttpServletRequest request);
+
     /**
      * 用户注销
      *
@@ -123,7 +142,19 @@ public interface UserService extends IService<User> {
      * @param adminQueryUserRequest 管理员查询用户请求体
      * @return 分页的用户信息列表
      */
-    Page<UserVO> adminGetUserInfoByPage(AdminQueryUserRequest adminQueryUserRequest);
+    PageResult<UserVO> adminGetUserInfoByPage(AdminQueryUserRequest adminQueryUserRequest);
+
+    /**
+     * 管理员游标分页获取用户信息
+     *
+     * <p>
+     * 通过上一页返回的游标定位下一页，不使用 offset，翻页深度不影响查询耗时；不统计总数
+     * </p>
+     *
+     * @param adminQueryUserRequest 管理员查询用户请求体（cursor 为空时查询第一页）
+     * @return 游标分页的用户信息列表
+     */
+    CursorPage<UserVO> adminGetUserInfoByCursor(AdminQueryUserRequest adminQueryUserRequest);
 
     /**
      * 管理员重置用户密码
@@ -141,4 +172,63 @@ public interface UserService extends IService<User> {
      */
     boolean adminBanOrUnbanUser(AdminBanOrUnbanUserRequest adminBanOrUnbanUserRequest);
 
+    /**
+     * 管理员批量添加用户
+     *
+     * @param adminBatchAddUserRequest 管理员批量添加用户请求体
+     * @return 每个用户的添加结果
+     */
+    BatchResultVO adminBatchAddUser(AdminBatchAddUserRequest adminBatchAddUserRequest);
+
+    /**
+     * 管理员批量删除用户
+     *
+     * @param adminBatchDeleteUserRequest 管理员批量删除用户请求体
+     * @return 每个用户的删除结果
+     */
+    BatchResultVO adminBatchDeleteUser(AdminBatchDeleteUserRequest adminBatchDeleteUserRequest);
+
+    /**
+     * 管理员批量封禁或解封用户
+     *
+     * @param adminBatchBanOrUnbanUserRequest 管理员批量封禁或解封用户请求体
+     * @return 每个用户的操作结果
+     */
+    BatchResultVO adminBatchBanOrUnbanUser(AdminBatchBanOrUnbanUserRequest adminBatchBanOrUnbanUserRequest);
+
+    /**
+     * 管理员批量重置用户密码
+     *
+     * @param adminBatchResetUserPasswordRequest 管理员批量重置用户密码请求体
+     * @return 每个用户的重置结果
+     */
+    BatchResultVO adminBatchResetUserPassword(AdminBatchResetUserPasswordRequest adminBatchResetUserPasswordRequest);
+
+    /**
+     * 管理员导出用户
+     *
+     * @param adminExportUserRequest 管理员导出用户请求体
+     * @param format 导出格式
+     * @return 写出导出文件的回调，调用方设置响应头后执行
+     */
+    StreamingResponseBody adminExportUsers(AdminExportUserRequest adminExportUserRequest, UserExportFormatEnum format);
+
+    /**
+     * 管理员导入用户
+     *
+     * @param inputStream 导入文件内容（请求体）
+     * @param fileName 文件名，可为空
+     * @param format 导入格式
+     * @return 已提交的导入任务
+     */
+    UserImportJobVO adminImportUsers(InputStream inputStream, String fileName, UserExportFormatEnum format);
+
+    /**
+     * 管理员查询导入任务进度
+     *
+     * @param jobId 导入任务 id
+     * @return 导入任务进度和错误报告
+     */
+    UserImportJobVO adminGetImportJob(String jobId);
+
 }
@@ -0,0 +1,242 @@
+package com.mlinyun.usercenter.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mlinyun.usercenter.model.enums.UserExportFormatEnum;
+import com.mlinyun.usercenter.model.vo.UserVO;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * 用户导出写出器
+ *
+ * <p>
+ * 逐行将 {@link UserVO} 写入输出流，内部只有固定大小的缓冲区，内存占用与导出的行数无关。
+ * 写出失败（通常是客户端断开连接）时抛出 {@link UncheckedIOException}，以便在 MyBatis 的 ResultHandler 中使用
+ * </p>
+ */
+abstract class AbstractUserExportWriter implements Closeable {
+
+    /**
+     * 字符缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * 底层字符输出流
+     */
+    protected final Writer writer;
+
+    /**
+     * 构造函数
+     *
+     * @param outputStream 输出流
+     */
+    protected AbstractUserExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * 创建指定格式的写出器
+     *
+     * @param format 导出格式
+     * @param outputStream 输出流
+     * @param objectMapper JSON 序列化器（NDJSON 格式使用，与接口返回的 JSON 格式一致）
+     * @return 写出器
+     * @throws IOException 写出文件头失败时抛出
+     */
+    static AbstractUserExportWriter create(UserExportFormatEnum format, OutputStream outputStream,
+        ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(outputStream);
+            case NDJSON -> new Ndjson(outputStream, objectMapper);
+        };
+    }
+
+    /**
+     * 写出一行
+     *
+     * @param userVO 用户视图对象
+     */
+    void write(UserVO userVO) {
+        try {
+            this.writeRow(userVO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 写出一行
+     *
+     * @param userVO 用户视图对象
+     * @throws IOException 写出失败时抛出
+     */
+    protected abstract void writeRow(UserVO userVO) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * CSV 格式（RFC 4180）
+     *
+     * <p>
+     * 以 UTF-8 BOM 开头，使 Excel 能正确识别中文。以 {@code = + - @} 等字符开头的文本值前加单引号，
+     * 防止在电子表格中被当作公式执行（CSV 注入）
+     * </p>
+     */
+    static final class Csv extends AbstractUserExportWriter {
+
+        /**
+         * 表头，与 {@link UserVO} 的 JSON 字段名一致
+         */
+        private static final String HEADER = "id,userAccount,userName,userAvatar,userProfile,userRole,userGender,"
+            + "userPhone,userEmail,userStatus,planetCode,createTime\r\n";
+
+        /**
+         * 创建时间格式，与 {@link UserVO#getCreateTime()} 的 JSON 格式一致
+         */
+        private static final DateTimeFormatter DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.of("GMT+8"));
+
+        /**
+         * 电子表格中会触发公式解析的首字符
+         */
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        /**
+         * 构造函数
+         *
+         * @param outputStream 输出流
+         * @throws IOException 写出表头失败时抛出
+         */
+        Csv(OutputStream outputStream) throws IOException {
+            super(outputStream);
+            // UTF-8 BOM
+            writer.write('\uFEFF');
+            writer.write(HEADER);
+        }
+
+        @Override
+        protected void writeRow(UserVO userVO) throws IOException {
+            writeField(userVO.getId(), false);
+            writeField(userVO.getUserAccount(), true);
+            writeField(userVO.getUserName(), true);
+            writeField(userVO.getUserAvatar(), true);
+            writeField(userVO.getUserProfile(), true);
+            writeField(userVO.getUserRole(), true);
+            writeField(userVO.getUserGender(), true);
+            writeField(userVO.getUserPhone(), true);
+            writeField(userVO.getUserEmail(), true);
+            writeField(userVO.getUserStatus(), true);
+            writeField(userVO.getPlanetCode(), true);
+            Date createTime = userVO.getCreateTime();
+            writeField(createTime == null ? null : DATE_TIME_FORMATTER.format(createTime.toInstant()), true);
+            writer.write("\r\n");
+        }
+
+        /**
+         * 写出一个字段，必要时加引号并转义
+         *
+         * @param value 字段值，null 写出为空字段
+         * @param separated 是否在字段前写出逗号
+         * @throws IOException 写出失败时抛出
+         */
+        private void writeField(Object value, boolean separated) throws IOException {
+            if (separated) {
+                writer.write(',');
+            }
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (!needsQuoting(text)) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        /**
+         * 判断字段是否需要加引号
+         */
+        private static boolean needsQuoting(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * NDJSON 格式（每行一个 JSON 对象）
+     *
+     * <p>
+     * 所有行共用一个 JsonGenerator，关闭每行写出后的自动 flush，由缓冲区满时统一写出
+     * </p>
+     */
+    static final class Ndjson extends AbstractUserExportWriter {
+
+        /**
+         * JSON 生成器
+         */
+        private final JsonGenerator generator;
+
+        /**
+         * 用户视图对象序列化器
+         */
+        private final ObjectWriter objectWriter;
+
+        /**
+         * 构造函数
+         *
+         * @param outputStream 输出流
+         * @param objectMapper JSON 序列化器
+         * @throws IOException 创建 JSON 生成器失败时抛出
+         */
+        Ndjson(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            super(outputStream);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // 行与行之间由换行分隔，不使用默认的空格分隔符
+            this.generator.setRootValueSeparator(null);
+            this.objectWriter =
+                objectMapper.writerFor(UserVO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        protected void writeRow(UserVO userVO) throws IOException {
+            objectWriter.writeValue(generator, userVO);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+            super.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,481 @@
+package com.mlinyun.usercenter.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.exception.ThrowUtils;
+import com.mlinyun.usercenter.model.dto.AdminAddUserRequest;
+import com.mlinyun.usercenter.model.enums.UserExportFormatEnum;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 用户导入读取器
+ *
+ * <p>
+ * 逐行解析上传的 CSV 或 NDJSON 文件，每次只在内存中保留一行。文件级的错误（表头不合法、缺少结束引号）抛出
+ * {@link BusinessException} 中止导入；单行的格式错误记录在返回的行中，不影响后续行
+ * </p>
+ *
+ * <p>
+ * 列名（JSON 字段名）与 {@link AdminAddUserRequest} 的字段一致，{@code userPassword} 可以是明文密码或 BCrypt 哈希，
+ * 不需要 {@code checkPassword}
+ * </p>
+ */
+abstract class AbstractUserImportReader implements Closeable {
+
+    /**
+     * 字符缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * UTF-8 BOM
+     */
+    private static final char BOM = '\uFEFF';
+
+    /**
+     * 文件结束
+     */
+    private static final int EOF = -1;
+
+    /**
+     * 底层字符输入流
+     */
+    protected final BufferedReader reader;
+
+    /**
+     * 统计已读取字节数的输入流
+     */
+    private final CountingInputStream input;
+
+    /**
+     * 构造函数
+     *
+     * @param inputStream 输入流
+     */
+    protected AbstractUserImportReader(InputStream inputStream) {
+        this.input = new CountingInputStream(inputStream);
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * 打开指定格式的读取器，CSV 格式同时读取并校验表头
+     *
+     * @param format 文件格式
+     * @param inputStream 输入流
+     * @param objectMapper JSON 反序列化器（NDJSON 格式使用）
+     * @return 读取器
+     * @throws IOException 读取失败时抛出
+     */
+    static AbstractUserImportReader open(UserExportFormatEnum format, InputStream inputStream,
+        ObjectMapper objectMapper) throws IOException {
+        AbstractUserImportReader importReader = switch (format) {
+            case CSV -> new Csv(inputStream);
+            case NDJSON -> new Ndjson(inputStream, objectMapper);
+        };
+        try {
+            importReader.skipBom();
+            importReader.readHeader();
+            return importReader;
+        } catch (IOException | RuntimeException e) {
+            importReader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取下一行数据
+     *
+     * @return 下一行，文件结束时返回 null
+     * @throws IOException 读取失败时抛出
+     */
+    abstract Row next() throws IOException;
+
+    /**
+     * 读取表头（没有表头的格式不做任何处理）
+     *
+     * @throws IOException 读取失败时抛出
+     */
+    protected void readHeader() throws IOException {
+    }
+
+    /**
+     * 获取已从文件中读取的字节数（包含缓冲区中尚未解析的部分）
+     *
+     * @return 字节数
+     */
+    long getBytesRead() {
+        return input.count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 跳过文件开头的 UTF-8 BOM
+     */
+    private void skipBom() throws IOException {
+        reader.mark(1);
+        if (reader.read() != BOM) {
+            reader.reset();
+        }
+    }
+
+    /**
+     * 一行数据
+     *
+     * @param row 行号（NDJSON 为文件行号，CSV 为不含表头的记录序号，均从 1 开始）
+     * @param user 解析出的用户，格式错误时为 null
+     * @param error 格式错误的原因，解析成功时为 null
+     */
+    record Row(long row, AdminAddUserRequest user, String error) {
+
+    }
+
+    /**
+     * CSV 格式（RFC 4180）：第一行为表头，字段可用双引号包裹，引号内可以包含逗号、换行和转义的双引号（{@code ""}）
+     *
+     * <p>
+     * 导出时为防止公式注入在 {@code = + - @} 等字符前添加的单引号在导入时去掉，导出的文件补充密码列后可以直接导入
+     * </p>
+     */
+    static final class Csv extends AbstractUserImportReader {
+
+        /**
+         * 单个字段的最大长度，超出时视为文件格式错误（例如缺少结束引号），避免把整个文件读入一个字段
+         */
+        private static final int MAX_FIELD_LENGTH = 4096;
+
+        /**
+         * 导出时添加单引号的首字符
+         */
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        /**
+         * 必需的列
+         */
+        private static final Set<String> REQUIRED_COLUMNS = Set.of("userAccount", "userPassword", "planetCode");
+
+        /**
+         * 支持的列及其写入方式
+         */
+        private static final Map<String, BiConsumer<AdminAddUserRequest, String>> COLUMNS =
+            Map.of("userAccount", AdminAddUserRequest::setUserAccount, "userPassword",
+                AdminAddUserRequest::setUserPassword, "planetCode", AdminAddUserRequest::setPlanetCode, "userName",
+                AdminAddUserRequest::setUserName, "userAvatar", AdminAddUserRequest::setUserAvatar, "userProfile",
+                AdminAddUserRequest::setUserProfile, "userRole", AdminAddUserRequest::setUserRole, "userGender",
+                Csv::setUserGender, "userPhone", AdminAddUserRequest::setUserPhone, "userEmail",
+                AdminAddUserRequest::setUserEmail);
+
+        /**
+         * 表头中每一列的写入方式
+         */
+        private final List<BiConsumer<AdminAddUserRequest, String>> setters = new ArrayList<>();
+
+        /**
+         * 当前记录的字段（复用）
+         */
+        private final List<String> fields = new ArrayList<>();
+
+        /**
+         * 当前字段（复用）
+         */
+        private final StringBuilder field = new StringBuilder();
+
+        /**
+         * 已读取的记录数
+         */
+        private long rowCount;
+
+        /**
+         * 构造函数
+         *
+         * @param inputStream 输入流
+         */
+        Csv(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        protected void readHeader() throws IOException {
+            ThrowUtils.throwIf(!readRecord(), ResultCodeEnum.PARAM_ERROR, "CSV 文件缺少表头");
+            Set<String> names = new HashSet<>();
+            for (String column : fields) {
+                String name = column.trim();
+                BiConsumer<AdminAddUserRequest, String> setter = COLUMNS.get(name);
+                ThrowUtils.throwIf(setter == null, ResultCodeEnum.PARAM_ERROR, "CSV 表头包含不支持的列：" + name);
+                ThrowUtils.throwIf(!names.add(name), ResultCodeEnum.PARAM_ERROR, "CSV 表头包含重复的列：" + name);
+                setters.add(setter);
+            }
+            for (String required : REQUIRED_COLUMNS) {
+                ThrowUtils.throwIf(!names.contains(required), ResultCodeEnum.PARAM_ERROR, "CSV 表头缺少列：" + required);
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (readRecord()) {
+                // 跳过空行
+                if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                    continue;
+                }
+                rowCount++;
+                if (fields.size() > setters.size()) {
+                    return new Row(rowCount, null, "列数多于表头");
+                }
+                AdminAddUserRequest user = new AdminAddUserRequest();
+                try {
+                    for (int i = 0; i < fields.size(); i++) {
+                        String value = unescapeFormula(fields.get(i));
+                        if (!value.isEmpty()) {
+                            setters.get(i).accept(user, value);
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    return new Row(rowCount, null, e.getMessage());
+                }
+                return new Row(rowCount, user, null);
+            }
+            return null;
+        }
+
+        /**
+         * 读取一条记录到 {@link #fields}
+         *
+         * @return 是否读取到记录，文件结束时返回 false
+         */
+        private boolean readRecord() throws IOException {
+            fields.clear();
+            field.setLength(0);
+            int c = reader.read();
+            if (c == EOF) {
+                return false;
+            }
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == EOF) {
+                        throw new BusinessException(ResultCodeEnum.PARAM_ERROR,
+                            "CSV 第 " + (rowCount + 1) + " 条记录缺少结束引号");
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == EOF) {
+                    break;
+                } else if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                } else {
+                    append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return true;
+        }
+
+        /**
+         * 向当前字段追加字符
+         */
+        private void append(char c) {
+            if (field.length() >= MAX_FIELD_LENGTH) {
+                throw new BusinessException(ResultCodeEnum.PARAM_ERROR,
+                    "CSV 第 " + (rowCount + 1) + " 条记录的字段超过 " + MAX_FIELD_LENGTH + " 个字符");
+            }
+            field.append(c);
+        }
+
+        /**
+         * 去掉导出时为防止公式注入添加的单引号
+         */
+        private static String unescapeFormula(String value) {
+            if (value.length() > 1 && value.charAt(0) == '\'' && FORMULA_PREFIXES.indexOf(value.charAt(1)) >= 0) {
+                return value.substring(1);
+            }
+            return value;
+        }
+
+        /**
+         * 写入性别
+         */
+        private static void setUserGender(AdminAddUserRequest user, String value) {
+            try {
+                user.setUserGender(Integer.valueOf(value.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("性别只能为0、1或2", e);
+            }
+        }
+
+    }
+
+    /**
+     * NDJSON 格式：每行一个 JSON 对象，字段名与 {@link AdminAddUserRequest} 一致，不允许未知字段
+     *
+     * <p>
+     * 超过最大长度的行记录为单行错误，超出部分读取后直接丢弃，不会把没有换行符的文件整个读入内存
+     * </p>
+     */
+    static final class Ndjson extends AbstractUserImportReader {
+
+        /**
+         * 单行的最大长度（字符数），所有字段都取最大长度的一行也远小于该值
+         */
+        private static final int MAX_LINE_LENGTH = 16384;
+
+        /**
+         * 用户请求反序列化器
+         */
+        private final ObjectReader objectReader;
+
+        /**
+         * 当前行（复用）
+         */
+        private final StringBuilder line = new StringBuilder();
+
+        /**
+         * 当前行是否超过最大长度
+         */
+        private boolean overlong;
+
+        /**
+         * 已读取的行数
+         */
+        private long lineCount;
+
+        /**
+         * 构造函数
+         *
+         * @param inputStream 输入流
+         * @param objectMapper JSON 反序列化器
+         */
+        Ndjson(InputStream inputStream, ObjectMapper objectMapper) {
+            super(inputStream);
+            this.objectReader = objectMapper.readerFor(AdminAddUserRequest.class);
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (readLine()) {
+                lineCount++;
+                if (overlong) {
+                    return new Row(lineCount, null, "行长度超过 " + MAX_LINE_LENGTH + " 个字符");
+                }
+                String text = line.toString();
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    AdminAddUserRequest user = objectReader.readValue(text);
+                    return user == null ? new Row(lineCount, null, "用户信息不能为空") : new Row(lineCount, user, null);
+                } catch (JsonProcessingException e) {
+                    return new Row(lineCount, null, "JSON 格式不正确：" + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 读取一行到 {@link #line}（换行符与 {@link BufferedReader#readLine()} 相同），超过最大长度的部分丢弃
+         *
+         * @return 是否读取到行，文件结束时返回 false
+         */
+        private boolean readLine() throws IOException {
+            line.setLength(0);
+            overlong = false;
+            int c = reader.read();
+            if (c == EOF) {
+                return false;
+            }
+            while (c != EOF && c != '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                }
+                if (line.length() < MAX_LINE_LENGTH) {
+                    line.append((char) c);
+                } else {
+                    overlong = true;
+                }
+                c = reader.read();
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * 统计已读取字节数的输入流（只由导入线程读取，进度查询允许读到稍旧的值）
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        /**
+         * 已读取的字节数
+         */
+        private volatile long count;
+
+        /**
+         * 构造函数
+         *
+         * @param in 输入流
+         */
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+    }
+
+}
@@ -2,31 +2,52 @@ package com.mlinyun.usercenter.service.impl;
 
 import cn.hutool.core.io.FileUtil;
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
 import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.AvatarProcessProperties;
+import com.mlinyun.usercenter.config.FileServeProperties;
 import com.mlinyun.usercenter.config.FileUploadProperties;
 import com.mlinyun.usercenter.constant.ByteConstant;
+import com.mlinyun.usercenter.exception.BusinessException;
 import com.mlinyun.usercenter.exception.ThrowUtils;
+import com.mlinyun.usercenter.manager.AvatarStorage;
+import com.mlinyun.usercenter.manager.FileChannelCache;
 import com.mlinyun.usercenter.model.entity.User;
 import com.mlinyun.usercenter.service.FileService;
 import com.mlinyun.usercenter.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -41,9 +62,34 @@ import org.springframework.web.multipart.MultipartFile;
 public class FileServiceImpl implements FileService {
 
     /**
-     * 截取 UUID 的长度
+     * 按内容哈希命名的文件名（原图或缩略图），内容不会变化
      */
-    private static final int UUID_SHORT_LENGTH = 8;
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^[0-9a-f]{64}(_[0-9]+)?\\.[a-z]+$");
+
+    /**
+     * Tomcat 是否支持 sendfile 的请求属性
+     */
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+
+    /**
+     * Tomcat sendfile 文件名请求属性
+     */
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+    /**
+     * Tomcat sendfile 起始位置请求属性
+     */
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+
+    /**
+     * Tomcat sendfile 结束位置（不含）请求属性
+     */
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * 魔数校验读取的文件头长度（不小于最长的魔数）
+     */
+    private static final int MAGIC_HEADER_LENGTH = 8;
 
     /**
      * 已支持图片格式的魔数信息，用于进行文件头校验，防止伪造文件
@@ -66,6 +112,36 @@ public class FileServiceImpl implements FileService {
     @Resource
     private UserService userService;
 
+    /**
+     * 头像配置
+     */
+    @Resource
+    private AvatarProcessProperties avatarProcessProperties;
+
+    /**
+     * 头像存储
+     */
+    @Resource
+    private AvatarStorage avatarStorage;
+
+    /**
+     * 文件访问配置
+     */
+    @Resource
+    private FileServeProperties fileServeProperties;
+
+    /**
+     * 打开文件缓存
+     */
+    @Resource
+    private FileChannelCache fileChannelCache;
+
+    /**
+     * 指标注册表
+     */
+    @Resource
+    private MeterRegistry meterRegistry;
+
     /**
      * 上传头像
      *
@@ -108,73 +184,216 @@ public class FileServiceImpl implements FileService {
         ThrowUtils.throwIf(!Arrays.asList("jpg", "jpeg", "png", "gif").contains(lowerExtension),
             ResultCodeEnum.PARAM_ERROR, "文件扩展名不合法，仅支持 jpg、jpeg、png、gif");
 
-        // 7. 读取文件字节并进行内容校验，防止伪造的图片文件
-        byte[] fileBytes = readAllBytes(file);
-        validateImageContent(fileBytes, lowerExtension);
-
-        // 生成唯一文件名（使用更安全的UUID + 时间戳方式）
-        String dateTimeStr = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uuidStr = UUID.randomUUID().toString().replace("-", "").substring(0, UUID_SHORT_LENGTH);
-        String uniqueFileName = dateTimeStr + "_" + uuidStr + "." + lowerExtension;
-
-        // 8. 构建文件保存路径
-        String uploadDir = fileUploadProperties.getUploadDir(); // 获取上传目录
-        if (uploadDir == null || uploadDir.trim().isEmpty()) {
-            uploadDir = "./uploads";
-        }
-        String avatarDir = fileUploadProperties.getAvatarDir(); // 获取头像子目录
-        String userIdDir = String.valueOf(userId); // 使用用户 ID 作为子目录
-        // 构建完整的文件保存路径
-        Path uploadPath = Paths.get(uploadDir, avatarDir, userIdDir).toAbsolutePath().normalize();
-        log.info("文件保存路径: {}", uploadPath);
+        // 7. 只读取文件头进行内容校验（魔数和宽高），防止伪造的图片文件，完整解码交给后台处理
+        validateImageHeader(file, lowerExtension);
 
-        // 9. 保存文件到服务器
+        // 8. 按内容哈希保存到服务器：从上传临时文件流式复制并计算 SHA-256，相同内容只保存一份，不经过堆内存
+        // 9. 提交后台处理（完整解码、去除元数据、生成各尺寸缩略图），队列已满时删除文件并返回系统繁忙
+        String avatarUrl;
         try {
-            // 确保目录存在
-            Files.createDirectories(uploadPath);
-            // 保存文件
-            Path targetPath = uploadPath.resolve(uniqueFileName);
-            log.info("用户 [{}] 保存文件到路径: {}", userId, targetPath);
-            Files.write(targetPath, fileBytes);
-            log.info("用户 [{}] 文件上传成功: {}", userId, uniqueFileName);
-        } catch (Exception e) {
+            long startedAt = System.nanoTime();
+            avatarUrl = avatarStorage.store(file, lowerExtension);
+            recordUpload(fileSize, System.nanoTime() - startedAt);
+            log.info("用户 [{}] 文件上传成功: {}", userId, avatarUrl);
+        } catch (IOException e) {
             log.error("用户 [{}] 文件上传失败: {}", userId, e.getMessage(), e);
             throw new RuntimeException("文件上传失败: " + e.getMessage());
         }
 
         // 10. 返回文件访问 URL
-        return fileUploadProperties.getAccessPrefix() + "/" + avatarDir + "/" + userIdDir + "/" + uniqueFileName;
+        return avatarUrl;
     }
 
     /**
-     * 读取文件所有字节
+     * 记录上传指标：字节数、保存耗时和单次上传的写入速度（字节/秒）
+     *
+     * @param bytes 文件字节数
+     * @param elapsedNanos 保存耗时（纳秒）
      */
-    private byte[] readAllBytes(MultipartFile file) {
+    private void recordUpload(long bytes, long elapsedNanos) {
+        DistributionSummary.builder("usercenter.upload.bytes").baseUnit("bytes").tag("type", "avatar")
+            .register(meterRegistry).record(bytes);
+        meterRegistry.timer("usercenter.upload.duration", "type", "avatar").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            DistributionSummary.builder("usercenter.upload.throughput").baseUnit("bytes.per.second")
+                .tag("type", "avatar").register(meterRegistry)
+                .record((double) bytes * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        }
+    }
+
+    /**
+     * 读取上传目录中的文件
+     *
+     * <p>
+     * 文件内容从文件通道直接传输到响应，不经过堆内存：容器支持时交给 Tomcat sendfile，否则使用 {@link FileChannel#transferTo}。
+     * 按内容哈希命名的文件以文件名作为强 ETag 并允许浏览器长期缓存；隐藏文件（待处理文件、临时文件）和上传目录之外的路径一律返回 404
+     * </p>
+     *
+     * @param filePath 相对上传目录的文件路径
+     * @param request HttpServletRequest 对象
+     * @param response HttpServletResponse 对象
+     */
+    @Override
+    public void serveFile(String filePath, HttpServletRequest request, HttpServletResponse response) {
+        // 1. 解析文件路径
+        Path path = this.resolveServablePath(filePath);
+        if (path == null) {
+            this.writeNotFound(response);
+            return;
+        }
+        String fileName = path.getFileName().toString();
+        boolean immutable = CONTENT_ADDRESSED_NAME.matcher(fileName).matches();
+
+        // 2. 打开文件（内容不会变化的文件使用缓存的文件通道）
+        FileChannelCache.Handle handle;
         try {
-            return file.getBytes();
+            handle = fileChannelCache.open(path, immutable);
+        } catch (IOException e) {
+            this.writeNotFound(response);
+            return;
+        }
+
+        try (handle) {
+            // 3. 协商缓存：If-None-Match 命中时返回 304
+            long length = handle.size();
+            String eTag = immutable ? "\"" + FileUtil.mainName(fileName) + "\""
+                : "\"" + Long.toHexString(handle.lastModified()) + "-" + Long.toHexString(length) + "\"";
+            CacheControl cacheControl = immutable ? CacheControl
+                .maxAge(fileServeProperties.getMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic().immutable()
+                : CacheControl.noCache();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+                return;
+            }
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader("X-Content-Type-Options", "nosniff");
+            response.setContentType(
+                MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+            // 4. Range 请求只支持单个区间，多个区间时返回完整文件；If-Range 与 ETag 不一致时同样返回完整文件
+            long start = 0;
+            long end = length - 1;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (StrUtil.isNotBlank(range) && (ifRange == null || ifRange.equals(eTag))) {
+                try {
+                    List<HttpRange> ranges = HttpRange.parseRanges(range);
+                    if (ranges.size() == 1) {
+                        start = ranges.getFirst().getRangeStart(length);
+                        end = ranges.getFirst().getRangeEnd(length);
+                        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                    }
+                } catch (IllegalArgumentException e) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+            }
+            long count = end - start + 1;
+            response.setContentLengthLong(count);
+            if (count <= 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+                return;
+            }
+
+            // 5. 传输文件内容
+            if (fileServeProperties.isSendfileEnabled()
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTR, path.toString());
+                request.setAttribute(SENDFILE_START_ATTR, start);
+                request.setAttribute(SENDFILE_END_ATTR, end + 1);
+                return;
+            }
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            FileChannel channel = handle.channel();
+            long position = start;
+            while (count > 0) {
+                long transferred = channel.transferTo(position, count, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                count -= transferred;
+            }
         } catch (IOException e) {
-            log.error("读取上传文件失败: {}", e.getMessage(), e);
-            throw new RuntimeException("读取上传文件失败，请稍后重试");
+            // 通常是客户端中途断开连接
+            log.debug("文件传输中断: {}, {}", path, e.getMessage());
         }
     }
 
     /**
-     * 校验图片是否合法
+     * 解析可读取的文件路径：必须位于上传目录内，且路径中的任何一级都不能以点开头（隐藏文件、待处理文件和 .. 均被拒绝）
+     *
+     * @return 文件的绝对路径，不允许读取时返回 null
      */
-    private void validateImageContent(byte[] fileBytes, String lowerExtension) {
-        ThrowUtils.throwIf(fileBytes.length == 0, ResultCodeEnum.PARAM_ERROR, "文件内容为空");
+    private Path resolveServablePath(String filePath) {
+        if (StrUtil.isBlank(filePath)) {
+            return null;
+        }
+        String uploadDir = fileUploadProperties.getUploadDir();
+        if (uploadDir == null || uploadDir.trim().isEmpty()) {
+            uploadDir = "./uploads";
+        }
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path relative;
+        try {
+            relative = Paths.get(StrUtil.removePrefix(filePath, "/"));
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        if (relative.isAbsolute() || relative.getNameCount() == 0) {
+            return null;
+        }
+        for (Path segment : relative) {
+            if (segment.toString().isEmpty() || segment.toString().startsWith(".")) {
+                return null;
+            }
+        }
+        Path resolved = root.resolve(relative).normalize();
+        return resolved.startsWith(root) && !resolved.equals(root) ? resolved : null;
+    }
+
+    /**
+     * 返回 404，头像在后台处理完成前也会返回 404，因此禁止缓存该响应
+     */
+    private void writeNotFound(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+    }
 
-        // 校验魔数，确认文件头是否与声明的扩展名匹配
-        ThrowUtils.throwIf(!matchesMagicNumber(fileBytes, lowerExtension), ResultCodeEnum.PARAM_ERROR,
-            "文件内容与扩展名不匹配或不是合法的图片文件");
+    /**
+     * 校验图片文件头
+     *
+     * <p>
+     * 通过上传文件的输入流只读取魔数和图片头中的宽高，不解码像素数据；宽高超过上限的图片直接拒绝，避免后台解码时耗尽内存
+     * </p>
+     */
+    private void validateImageHeader(MultipartFile file, String lowerExtension) {
+        try (InputStream inputStream = file.getInputStream();
+            ImageInputStream imageInputStream = new MemoryCacheImageInputStream(inputStream)) {
+            // 校验魔数，确认文件头是否与声明的扩展名匹配
+            byte[] header = new byte[MAGIC_HEADER_LENGTH];
+            imageInputStream.readFully(header);
+            ThrowUtils.throwIf(!matchesMagicNumber(header, lowerExtension),
+                ResultCodeEnum.PARAM_ERROR, "文件内容与扩展名不匹配或不是合法的图片文件");
+            imageInputStream.seek(0);
 
-        // 使用 ImageIO 进一步校验图片是否可被解析
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(fileBytes)) {
-            BufferedImage image = ImageIO.read(inputStream);
-            ThrowUtils.throwIf(ObjectUtil.isEmpty(image), ResultCodeEnum.PARAM_ERROR, "图片内容解析失败，可能已损坏");
+            // 读取图片头中的宽高
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            ThrowUtils.throwIf(!readers.hasNext(), ResultCodeEnum.PARAM_ERROR, "图片内容解析失败，可能已损坏");
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int maxDimension = avatarProcessProperties.getMaxDimension();
+                ThrowUtils.throwIf(reader.getWidth(0) > maxDimension || reader.getHeight(0) > maxDimension,
+                    ResultCodeEnum.PARAM_ERROR, "图片宽高不能超过 " + maxDimension + " 像素");
+            } finally {
+                reader.dispose();
+            }
         } catch (IOException e) {
-            log.error("校验图片内容失败: {}", e.getMessage(), e);
-            throw new RuntimeException("图片内容校验失败，请稍后重试");
+            log.warn("校验图片文件头失败: {}", e.getMessage());
+            throw new BusinessException(ResultCodeEnum.PARAM_ERROR, "图片内容解析失败，可能已损坏");
         }
     }
 
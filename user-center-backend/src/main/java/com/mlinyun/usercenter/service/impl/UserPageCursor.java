@@ -0,0 +1,184 @@
+package com.mlinyun.usercenter.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.constant.UserConstant;
+import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.exception.ThrowUtils;
+import com.mlinyun.usercenter.model.entity.User;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * 用户列表游标分页的游标
+ *
+ * <p>
+ * 记录上一页最后一条记录的排序键和 ID，下一页以 {@code (排序键, id)} 之后的位置作为起点，
+ * 生成 {@code sortKey < ? OR (sortKey = ? AND id < ?)} 形式的条件代替 offset，MySQL 可以直接从索引定位而不必扫描并丢弃前面的记录。
+ * 二级索引的叶子节点本身按 {@code (索引列, 主键)} 有序，因此 idx_create_time 同时满足条件定位和排序。
+ * </p>
+ *
+ * <p>
+ * 游标编码为 {@code 排序字段:排序方向:id:排序键} 的 URL 安全 Base64，对客户端不透明。
+ * 只有非空的列可以作为游标排序字段，可为空的列在 MySQL 中排序时 NULL 的位置无法用比较条件表达
+ * </p>
+ *
+ * @param sortField 排序字段（数据库列名）
+ * @param asc 是否升序
+ * @param id 上一页最后一条记录的 ID
+ * @param sortKey 上一页最后一条记录的排序键（创建时间为毫秒时间戳）
+ */
+record UserPageCursor(String sortField, boolean asc, long id, String sortKey) {
+
+    /**
+     * 支持游标分页的排序字段
+     */
+    private static final Set<String> SUPPORTED_SORT_FIELDS = Set.of(UserConstant.USER_TABLE_FIELD_ID,
+        UserConstant.USER_TABLE_FIELD_USER_ACCOUNT, UserConstant.USER_TABLE_FIELD_CREATE_TIME);
+
+    /**
+     * 游标各部分的分隔符
+     */
+    private static final String SEPARATOR = ":";
+
+    /**
+     * 游标的组成部分个数
+     */
+    private static final int PART_COUNT = 4;
+
+    /**
+     * 排序方向在游标中的位置
+     */
+    private static final int ORDER_PART = 1;
+
+    /**
+     * ID 在游标中的位置
+     */
+    private static final int ID_PART = 2;
+
+    /**
+     * 排序键在游标中的位置（放在最后，排序键中包含分隔符也不影响解析）
+     */
+    private static final int SORT_KEY_PART = 3;
+
+    /**
+     * 升序标记
+     */
+    private static final String ASC = "a";
+
+    /**
+     * 降序标记
+     */
+    private static final String DESC = "d";
+
+    /**
+     * 判断排序字段是否支持游标分页
+     *
+     * @param sortField 排序字段
+     * @return 是否支持
+     */
+    static boolean isSupported(String sortField) {
+        return SUPPORTED_SORT_FIELDS.contains(sortField);
+    }
+
+    /**
+     * 以一页的最后一条记录生成下一页的游标
+     *
+     * @param sortField 排序字段
+     * @param asc 是否升序
+     * @param last 当前页最后一条记录
+     * @return 游标
+     */
+    static UserPageCursor after(String sortField, boolean asc, User last) {
+        String sortKey = switch (sortField) {
+            case UserConstant.USER_TABLE_FIELD_USER_ACCOUNT -> last.getUserAccount();
+            case UserConstant.USER_TABLE_FIELD_CREATE_TIME -> String.valueOf(last.getCreateTime().getTime());
+            default -> String.valueOf(last.getId());
+        };
+        return new UserPageCursor(sortField, asc, last.getId(), sortKey);
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param token 游标字符串
+     * @return 游标
+     * @throws BusinessException 如果游标格式不正确
+     */
+    static UserPageCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                .split(SEPARATOR, PART_COUNT);
+            boolean valid = parts.length == PART_COUNT && isSupported(parts[0])
+                && (ASC.equals(parts[ORDER_PART]) || DESC.equals(parts[ORDER_PART]));
+            ThrowUtils.throwIf(!valid, ResultCodeEnum.PARAM_ERROR, "游标不合法");
+            UserPageCursor cursor = new UserPageCursor(parts[0], ASC.equals(parts[ORDER_PART]),
+                Long.parseLong(parts[ID_PART]), parts[SORT_KEY_PART]);
+            // 提前校验排序键的类型，避免拼接查询条件时才失败
+            cursor.sortValue();
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            // Base64 或数字格式不正确
+            throw new BusinessException(ResultCodeEnum.PARAM_ERROR, "游标不合法");
+        }
+    }
+
+    /**
+     * 编码游标
+     *
+     * @return 游标字符串
+     */
+    String encode() {
+        String raw = sortField + SEPARATOR + (asc ? ASC : DESC) + SEPARATOR + id + SEPARATOR + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 判断游标是否由相同的排序条件生成
+     *
+     * @param expectedSortField 排序字段
+     * @param expectedAsc 是否升序
+     * @return 是否一致
+     */
+    boolean matches(String expectedSortField, boolean expectedAsc) {
+        return sortField.equals(expectedSortField) && asc == expectedAsc;
+    }
+
+    /**
+     * 追加“位于游标之后”的查询条件
+     *
+     * @param queryWrapper 查询包装器
+     */
+    void applyTo(QueryWrapper<User> queryWrapper) {
+        if (UserConstant.USER_TABLE_FIELD_ID.equals(sortField)) {
+            if (asc) {
+                queryWrapper.gt(UserConstant.USER_TABLE_FIELD_ID, id);
+            } else {
+                queryWrapper.lt(UserConstant.USER_TABLE_FIELD_ID, id);
+            }
+            return;
+        }
+        Object value = sortValue();
+        if (asc) {
+            queryWrapper.and(wrapper -> wrapper.gt(sortField, value).or(
+                equal -> equal.eq(sortField, value).gt(UserConstant.USER_TABLE_FIELD_ID, id)));
+        } else {
+            queryWrapper.and(wrapper -> wrapper.lt(sortField, value).or(
+                equal -> equal.eq(sortField, value).lt(UserConstant.USER_TABLE_FIELD_ID, id)));
+        }
+    }
+
+    /**
+     * 按排序字段的类型还原排序键
+     */
+    private Object sortValue() {
+        return switch (sortField) {
+            case UserConstant.USER_TABLE_FIELD_CREATE_TIME -> new Date(Long.parseLong(sortKey));
+            case UserConstant.USER_TABLE_FIELD_ID -> Long.parseLong(sortKey);
+            default -> sortKey;
+        };
+    }
+
+}
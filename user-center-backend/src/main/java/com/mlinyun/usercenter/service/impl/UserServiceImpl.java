@@ -1,18 +1,41 @@
 package com.mlinyun.usercenter.service.impl;
 
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mlinyun.usercenter.common.CursorPage;
+import com.mlinyun.usercenter.common.PageResult;
 import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.UserImportProperties;
 import com.mlinyun.usercenter.constant.SortOrderConstant;
 import com.mlinyun.usercenter.constant.UserConstant;
 import com.mlinyun.usercenter.exception.BusinessException;
 import com.mlinyun.usercenter.exception.ThrowUtils;
+import com.mlinyun.usercenter.manager.AvatarStorage;
+import com.mlinyun.usercenter.manager.LoginUserCache;
+import com.mlinyun.usercenter.manager.PasswordHashExecutor;
+import com.mlinyun.usercenter.manager.RequestLoginUserHolder;
+import com.mlinyun.usercenter.manager.UserCountCache;
+import com.mlinyun.usercenter.manager.UserImportJob;
+import com.mlinyun.usercenter.manager.UserImportJobManager;
+import com.mlinyun.usercenter.manager.password.BreachedPasswordChecker;
+import com.mlinyun.usercenter.manager.search.UserSearchIndex;
+import com.mlinyun.usercenter.manager.session.LoginPrincipal;
+import com.mlinyun.usercenter.manager.session.LoginSessionManager;
 import com.mlinyun.usercenter.mapper.UserMapper;
 import com.mlinyun.usercenter.model.dto.AdminAddUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminBanOrUnbanUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchAddUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchBanOrUnbanUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchDeleteUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchResetUserPasswordRequest;
+import com.mlinyun.usercenter.model.dto.AdminExportUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminGetOrDeleteUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminQueryUserRequest;
 import com.mlinyun.usercenter.model.dto.AdminResetUserPasswordRequest;
@@ -22,23 +45,45 @@ import com.mlinyun.usercenter.model.dto.UserRegisterRequest;
 import com.mlinyun.usercenter.model.dto.UserUpdateInfoRequest;
 import com.mlinyun.usercenter.model.dto.UserUpdatePasswordRequest;
 import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.enums.UserExportFormatEnum;
 import com.mlinyun.usercenter.model.enums.UserRoleEnum;
+import com.mlinyun.usercenter.model.vo.BatchResultVO;
+import com.mlinyun.usercenter.model.vo.UserImportJobVO;
 import com.mlinyun.usercenter.model.vo.UserLoginVO;
 import com.mlinyun.usercenter.model.vo.UserVO;
 import com.mlinyun.usercenter.service.UserService;
+import com.mlinyun.usercenter.utils.BeanMapper;
+import com.mlinyun.usercenter.utils.CharClassUtil;
 import com.mlinyun.usercenter.utils.PasswordUtil;
+import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
-import java.beans.PropertyDescriptor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * 用户服务实现类
@@ -50,6 +95,136 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    /**
+     * 用户实体转脱敏用户视图
+     */
+    private static final BeanMapper<User, UserVO> USER_VO_MAPPER = BeanMapper.of(User.class, UserVO.class, UserVO::new);
+
+    /**
+     * 用户实体转登录用户视图
+     */
+    private static final BeanMapper<User, UserLoginVO> USER_LOGIN_VO_MAPPER =
+        BeanMapper.of(User.class, UserLoginVO.class, UserLoginVO::new);
+
+    /**
+     * 普通用户更新信息请求转用户实体
+     */
+    private static final BeanMapper<UserUpdateInfoRequest, User> USER_UPDATE_INFO_MAPPER =
+        BeanMapper.of(UserUpdateInfoRequest.class, User.class, User::new);
+
+    /**
+     * 管理员添加用户请求转用户实体
+     */
+    private static final BeanMapper<AdminAddUserRequest, User> ADMIN_ADD_USER_MAPPER =
+        BeanMapper.of(AdminAddUserRequest.class, User.class, User::new);
+
+    /**
+     * 管理员更新用户信息请求转用户实体
+     */
+    private static final BeanMapper<AdminUpdateUserInfoRequest, User> ADMIN_UPDATE_USER_INFO_MAPPER =
+        BeanMapper.of(AdminUpdateUserInfoRequest.class, User.class, User::new);
+
+    /**
+     * 请求体中的密码字段，导入已加密的密码时跳过这些字段的约束
+     */
+    private static final Set<String> PASSWORD_PROPERTIES = Set.of("userPassword", "checkPassword");
+
+    /**
+     * 导出文件 gzip 压缩的缓冲区大小
+     */
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 8192;
+
+    /**
+     * 导入文件转存的缓冲区大小
+     */
+    private static final int IMPORT_COPY_BUFFER_SIZE = 65536;
+
+    /**
+     * 递增令牌版本的 SQL 片段（修改密码、重置密码、封禁或解封后使已登录的会话和令牌失效）
+     */
+    private static final String TOKEN_VERSION_INCREMENT =
+        UserConstant.USER_TABLE_FIELD_TOKEN_VERSION + " = " + UserConstant.USER_TABLE_FIELD_TOKEN_VERSION + " + 1";
+
+    /**
+     * 管理员查询用户时允许的排序字段（白名单，防止 SQL 注入）
+     */
+    private static final Set<String> VALID_SORT_FIELDS = Set.of(UserConstant.USER_TABLE_FIELD_ID,
+        UserConstant.USER_TABLE_FIELD_USER_ACCOUNT, UserConstant.USER_TABLE_FIELD_USER_NAME,
+        UserConstant.USER_TABLE_FIELD_USER_PHONE, UserConstant.USER_TABLE_FIELD_USER_EMAIL,
+        UserConstant.USER_TABLE_FIELD_PLANET_CODE, UserConstant.USER_TABLE_FIELD_CREATE_TIME);
+
+    /**
+     * 登录用户缓存
+     */
+    @Resource
+    private LoginUserCache loginUserCache;
+
+    /**
+     * 密码哈希执行器
+     */
+    @Resource
+    private PasswordHashExecutor passwordHashExecutor;
+
+    /**
+     * 泄露密码检测器
+     */
+    @Resource
+    private BreachedPasswordChecker breachedPasswordChecker;
+
+    /**
+     * 用户总数缓存
+     */
+    @Resource
+    private UserCountCache userCountCache;
+
+    /**
+     * 用户昵称、简介搜索索引
+     */
+    @Resource
+    private UserSearchIndex userSearchIndex;
+
+    /**
+     * 参数校验器（批量添加时逐条校验请求体上的约束注解）
+     */
+    @Resource
+    private Validator validator;
+
+    /**
+     * JSON 序列化器（NDJSON 导出使用，与接口返回的 JSON 格式一致）
+     */
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /**
+     * 用户导入任务管理器
+     */
+    @Resource
+    private UserImportJobManager userImportJobManager;
+
+    /**
+     * 用户导入配置
+     */
+    @Resource
+    private UserImportProperties userImportProperties;
+
+    /**
+     * 头像存储（更换头像后清理不再被引用的旧头像）
+     */
+    @Resource
+    private AvatarStorage avatarStorage;
+
+    /**
+     * 登录会话管理器
+     */
+    @Resource
+    private LoginSessionManager loginSessionManager;
+
+    /**
+     * 编程式事务（耗时的密码加密在事务外完成，事务只包住数据库更新）
+     */
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
     /**
      * 用户注册服务
      *
@@ -74,12 +249,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         this.validateUniqueFields(userAccount, planetCode);
 
         // 4. 加密密码（使用 BCrypt，自动生成盐值）
-        String encryptedPassword = PasswordUtil.encrypt(checkPassword);
+        String encryptedPassword = passwordHashExecutor.encrypt(checkPassword);
 
         // 5. 插入用户数据到数据库
         User user = buildNewUser(userAccount, encryptedPassword, planetCode);
         boolean saveResult = this.save(user);
         ThrowUtils.throwIf(!saveResult, ResultCodeEnum.SERVER_ERROR, "用户注册失败，数据库插入异常");
+        userCountCache.invalidateAll();
+        userSearchIndex.update(user);
 
         // 6. 返回新注册用户的 ID
         return user.getId();
@@ -116,6 +293,33 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw new BusinessException(ResultCodeEnum.PARAM_ERROR, "必填参数不能为空");
         }
 
+        // 1. 校验账号长度和格式
+        this.validateUserAccount(userAccount);
+
+        // 2. 校验登录密码和校验密码长度（范围 8-20 位）
+        ThrowUtils.throwIf(!(PasswordUtil.isValidBasic(userPassword) && PasswordUtil.isValidBasic(checkPassword)),
+            ResultCodeEnum.PARAM_ERROR, "登录密码长度不合法（范围 " + UserConstant.USER_PASSWORD_LENGTH_MIN_LIMIT + "-"
+                + UserConstant.USER_PASSWORD_LENGTH_MAX_LIMIT + " 位）");
+
+        // 3. 校验密码强度（必须包含字母和数字）
+        ThrowUtils.throwIf(!PasswordUtil.isValidStrong(userPassword), ResultCodeEnum.PARAM_ERROR,
+            "登录密码强度不够，必须包含大写字母、小写字母、数字和特殊字符");
+        ThrowUtils.throwIf(breachedPasswordChecker.isBreached(userPassword), ResultCodeEnum.PARAM_ERROR,
+            "该密码已出现在公开泄露的密码库中，请更换密码");
+
+        // 4. 校验登录密码和校验密码是否一致
+        ThrowUtils.throwIf(!userPassword.equals(checkPassword), ResultCodeEnum.PARAM_ERROR, "登录密码和校验密码不一致");
+
+        // 5. 校验星球编号长度
+        this.validatePlanetCode(planetCode);
+    }
+
+    /**
+     * 校验登录账号长度和格式
+     *
+     * @param userAccount 登陆账号（非空）
+     */
+    private void validateUserAccount(String userAccount) {
         // 1. 校验账号长度
         if (userAccount.length() < UserConstant.USER_ACCOUNT_LENGTH_MIN_LIMIT
             || userAccount.length() > UserConstant.USER_ACCOUNT_LENGTH_MAX_LIMIT) {
@@ -125,24 +329,18 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
 
         // 2. 校验账号格式（只允许字母、数字和下划线）
-        String validPattern = "^\\w+$"; // 只允许字母、数字和下划线 \w 等同于 [a-zA-Z0-9_]
-        if (!userAccount.matches(validPattern)) {
+        // 查表逐字符校验，等价于 userAccount.matches("^\\w+$")，\w 等同于 [a-zA-Z0-9_]
+        if (!CharClassUtil.isWordChars(userAccount)) {
             throw new BusinessException(ResultCodeEnum.PARAM_ERROR, "登录账号只能包含字母、数字和下划线");
         }
+    }
 
-        // 3. 校验登录密码和校验密码长度（范围 8-20 位）
-        ThrowUtils.throwIf(!(PasswordUtil.isValidBasic(userPassword) && PasswordUtil.isValidBasic(checkPassword)),
-            ResultCodeEnum.PARAM_ERROR, "登录密码长度不合法（范围 " + UserConstant.USER_PASSWORD_LENGTH_MIN_LIMIT + "-"
-                + UserConstant.USER_PASSWORD_LENGTH_MAX_LIMIT + " 位）");
-
-        // 4. 校验密码强度（必须包含字母和数字）
-        ThrowUtils.throwIf(!PasswordUtil.isValidStrong(userPassword), ResultCodeEnum.PARAM_ERROR,
-            "登录密码强度不够，必须包含大写字母、小写字母、数字和特殊字符");
-
-        // 5. 校验登录密码和校验密码是否一致
-        ThrowUtils.throwIf(!userPassword.equals(checkPassword), ResultCodeEnum.PARAM_ERROR, "登录密码和校验密码不一致");
-
-        // 6 校验星球编号长度不超过 6 位
+    /**
+     * 校验星球编号长度不超过 6 位
+     *
+     * @param planetCode 星球编号（非空）
+     */
+    private void validatePlanetCode(String planetCode) {
         if (planetCode.length() > UserConstant.USER_PLANET_CODE_LENGTH) {
             throw new BusinessException(ResultCodeEnum.PARAM_ERROR,
                 "星球编号长度不能超过 " + UserConstant.USER_PLANET_CODE_LENGTH + " 位");
@@ -213,7 +411,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         ThrowUtils.throwIf(ObjectUtil.isEmpty(loginUser), ResultCodeEnum.PARAM_ERROR, "用户不存在或密码错误");
 
         // 4. 校验密码
-        boolean isPasswordMatch = PasswordUtil.verify(userPassword, loginUser.getUserPassword());
+        boolean isPasswordMatch = passwordHashExecutor.verify(userPassword, loginUser.getUserPassword());
         ThrowUtils.throwIf(!isPasswordMatch, ResultCodeEnum.PARAM_ERROR, "用户不存在或密码错误");
 
         // 5. 查看用户是否被禁用
@@ -221,13 +419,46 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         Integer userStatus = loginUser.getUserStatus();
         // 非零则为禁用状态
         ThrowUtils.throwIf(userStatus != null && userStatus != 0, ResultCodeEnum.FORBIDDEN_ERROR, "用户已被禁用");
-        // 6. 记录用户登录状态
-        request.getSession().setAttribute(UserConstant.USER_LOGIN_STATE, loginUser);
 
-        // 7. 返回用户信息（脱敏）
+        // 6. 密码哈希过时（非默认算法或成本参数低于当前配置）时在后台升级，不影响本次登录耗时
+        this.upgradePasswordHashIfNeeded(loginUser, userPassword);
+
+        // 7. 记录用户登录状态（会话中只保存登录主体）
+        loginSessionManager.login(request, loginUser);
+
+        // 8. 返回用户信息（脱敏）
         return this.getUserLoginVO(loginUser);
     }
 
+    /**
+     * 惰性升级密码哈希
+     *
+     * <p>
+     * 仅在密码校验通过后调用。哈希在哈希线程池中计算，写回在 {@link PasswordHashExecutor} 的写回线程中执行；
+     * 写回时以旧哈希作为条件，如果期间用户修改了密码则放弃本次升级
+     * </p>
+     *
+     * @param loginUser 登录用户
+     * @param rawPassword 已校验通过的原始密码
+     */
+    private void upgradePasswordHashIfNeeded(User loginUser, String rawPassword) {
+        String oldHash = loginUser.getUserPassword();
+        if (!passwordHashExecutor.shouldRehashOnLogin(oldHash)) {
+            return;
+        }
+        Long userId = loginUser.getId();
+        passwordHashExecutor.rehashAsync(rawPassword, newHash -> {
+            UpdateWrapper<User> updateWrapper = new UpdateWrapper<>();
+            updateWrapper.eq(UserConstant.USER_TABLE_FIELD_ID, userId)
+                .eq(UserConstant.USER_TABLE_FIELD_USER_PASSWORD, oldHash)
+                .set(UserConstant.USER_TABLE_FIELD_USER_PASSWORD, newHash);
+            if (this.update(updateWrapper)) {
+                loginUserCache.invalidate(userId);
+                log.debug("用户密码哈希已升级: userId=" + userId);
+            }
+        });
+    }
+
     /**
      * 验证登录请求基本参数
      *
@@ -263,8 +494,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
 
         // 2. 校验账号格式（只允许字母、数字和下划线）
-        String validPattern = "^\\w+$"; // 只允许字母、数字和下划线 \w 等同于 [a-zA-Z0-9_]
-        if (!userAccount.matches(validPattern)) {
+        // 查表逐字符校验，等价于 userAccount.matches("^\\w+$")，\w 等同于 [a-zA-Z0-9_]
+        if (!CharClassUtil.isWordChars(userAccount)) {
             throw new BusinessException(ResultCodeEnum.PARAM_ERROR, "登录账号只能包含字母、数字和下划线");
         }
 
@@ -284,32 +515,68 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user == null) {
             return null;
         }
-        UserLoginVO userLoginVO = new UserLoginVO();
-        BeanUtils.copyProperties(user, userLoginVO);
-        return userLoginVO;
+        return USER_LOGIN_VO_MAPPER.map(user);
     }
 
     /**
      * 获取登录用户信息（后端使用）
      *
+     * <p>
+     * 同一请求内只解析一次，后续调用（鉴权切面、限流切面、控制器、服务）直接复用请求属性中的用户实例。
+     * 登录主体的令牌版本低于用户当前的令牌版本时（登录后修改过密码或被封禁）视为未登录
+     * </p>
+     *
      * @param request HttpServletRequest 对象
      * @return 登录用户信息
      */
     @Override
     public User getLoginUser(HttpServletRequest request) {
+        // 当前请求已解析过登录用户则直接复用
+        User resolvedUser = RequestLoginUserHolder.get(request);
+        if (resolvedUser != null) {
+            return resolvedUser;
+        }
         // 判断登录状态
-        Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-        if (ObjectUtil.isEmpty(currentUser) || ObjectUtil.isEmpty(currentUser.getId())) {
+        LoginPrincipal principal = loginSessionManager.getPrincipal(request);
+        if (principal == null) {
             throw new BusinessException(ResultCodeEnum.NOT_LOGIN_ERROR);
         }
-        // 从数据库中查询用户信息（追求性能的话可以注释，直接返回上述结果）
-        Long userId = currentUser.getId();
-        currentUser = this.getById(userId);
-        ThrowUtils.throwIf(currentUser == null, ResultCodeEnum.NOT_LOGIN_ERROR);
+        // 优先从本地缓存获取最新用户信息，未命中时再按主键查询数据库
+        RequestLoginUserHolder.recordLookup(request);
+        User currentUser = loginUserCache.get(principal.userId(), this::getById);
+        ThrowUtils.throwIf(currentUser == null
+            || LoginPrincipal.tokenVersionOf(currentUser) > principal.tokenVersion(), ResultCodeEnum.NOT_LOGIN_ERROR);
+        RequestLoginUserHolder.set(request, currentUser);
         return currentUser;
     }
 
+    /**
+     * 刷新登录状态
+     *
+     * <p>
+     * token 模式下用刷新令牌换取新的访问令牌和刷新令牌：按 ID 查询数据库（不使用缓存），令牌版本已变化或用户已被禁用时拒绝刷新。
+     * 其他模式下会话本身按空闲时间续期，直接返回当前登录用户
+     * </p>
+     *
+     * @param request HttpServletRequest 对象
+     * @return 脱敏后的用户信息
+     */
+    @Override
+    public UserLoginVO refreshLogin(HttpServletRequest request) {
+        if (!loginSessionManager.isStateless()) {
+            return this.getLoginUserInfo(request);
+        }
+        LoginPrincipal principal = loginSessionManager.getRefreshPrincipal(request);
+        ThrowUtils.throwIf(principal == null, ResultCodeEnum.NOT_LOGIN_ERROR);
+        User user = this.getById(principal.userId());
+        ThrowUtils.throwIf(user == null || LoginPrincipal.tokenVersionOf(user) != principal.tokenVersion(),
+            ResultCodeEnum.NOT_LOGIN_ERROR);
+        Integer userStatus = user.getUserStatus();
+        ThrowUtils.throwIf(userStatus != null && userStatus != 0, ResultCodeEnum.FORBIDDEN_ERROR, "用户已被禁用");
+        loginSessionManager.login(request, user);
+        return this.getUserLoginVO(user);
+    }
+
     /**
      * 获取登录用户信息（前端调用）
      *
@@ -332,14 +599,17 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public boolean userLogout(HttpServletRequest request) {
-        // 判断登录状态
-        Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
-        if (ObjectUtil.isEmpty(userObj)) {
+        // token 模式下令牌无法单独作废，递增令牌版本使该用户已签发的访问令牌和刷新令牌全部失效
+        if (loginSessionManager.isStateless()) {
+            LoginPrincipal principal = loginSessionManager.getPrincipal(request);
+            this.revokeTokens(principal != null ? principal : loginSessionManager.getRefreshPrincipal(request));
+        }
+        // 清除登录状态，未登录时提示操作失败
+        if (!loginSessionManager.logout(request)) {
             throw new BusinessException(ResultCodeEnum.OPERATION_ERROR, "操作失败，用户未登录");
         }
         try {
-            // 清除登录状态
-            request.getSession().removeAttribute(UserConstant.USER_LOGIN_STATE);
+            RequestLoginUserHolder.clear(request);
             return true;
         } catch (Exception e) {
             // 处理异常
@@ -348,6 +618,28 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
     }
 
+    /**
+     * 递增用户的令牌版本（token 模式注销）
+     *
+     * <p>
+     * 只在令牌版本仍与令牌中的一致时递增：修改密码后的注销、重复注销或使用已失效的令牌注销都不会再次递增
+     * </p>
+     *
+     * @param principal 令牌中的登录主体，为 null 时不处理
+     */
+    private void revokeTokens(LoginPrincipal principal) {
+        if (principal == null) {
+            return;
+        }
+        UpdateWrapper<User> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.setSql(TOKEN_VERSION_INCREMENT)
+            .eq(UserConstant.USER_TABLE_FIELD_ID, principal.userId())
+            .eq(UserConstant.USER_TABLE_FIELD_TOKEN_VERSION, principal.tokenVersion());
+        if (this.update(updateWrapper)) {
+            loginUserCache.invalidate(principal.userId());
+        }
+    }
+
     /**
      * 普通用户更新用户信息
      *
@@ -368,15 +660,17 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         ThrowUtils.throwIf(!userId.equals(userUpdateInfoRequest.getId()), ResultCodeEnum.NO_AUTH_ERROR, "无权限更新他人信息");
 
         // 4. 构建更新实体
-        User updateUser = new User();
-        // DTO 中某些可选字段为 null，直接拷贝会把数据库实体中的原值覆盖为 null
-        // 可先收集 source 中为 null 的属性名，然后传给 copyProperties 的忽略参数
-        String[] ignore = getNullPropertyNames(userUpdateInfoRequest);
-        BeanUtils.copyProperties(userUpdateInfoRequest, updateUser, ignore);
+        // DTO 中某些可选字段为 null，直接拷贝会把数据库实体中的原值覆盖为 null，因此只拷贝非 null 字段
+        User updateUser = USER_UPDATE_INFO_MAPPER.copyNonNull(userUpdateInfoRequest, new User());
 
         // 5. 执行更新
         boolean updateResult = this.updateById(updateUser);
         ThrowUtils.throwIf(!updateResult, ResultCodeEnum.SERVER_ERROR, "用户信息更新失败，数据库更新异常");
+        loginUserCache.invalidate(userId);
+        userCountCache.invalidateAll();
+        userSearchIndex.update(updateUser);
+        RequestLoginUserHolder.clear(request);
+        this.releaseAvatarIfChanged(loginUser.getUserAvatar(), updateUser.getUserAvatar());
 
         // 6. 返回更新结果
         return true;
@@ -408,7 +702,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             "必填参数不能为空");
 
         // 4. 校验旧密码
-        boolean isPasswordMatch = PasswordUtil.verify(rawPassword, loginUser.getUserPassword());
+        boolean isPasswordMatch = passwordHashExecutor.verify(rawPassword, loginUser.getUserPassword());
         ThrowUtils.throwIf(!isPasswordMatch, ResultCodeEnum.PARAM_ERROR, "原始密码错误");
 
         // 5. 校验新密码长度与强度
@@ -416,20 +710,22 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             + UserConstant.USER_PASSWORD_LENGTH_MIN_LIMIT + "-" + UserConstant.USER_PASSWORD_LENGTH_MAX_LIMIT + " 位）");
         ThrowUtils.throwIf(!PasswordUtil.isValidStrong(newPassword), ResultCodeEnum.PARAM_ERROR,
             "登录密码强度不够，必须包含大写字母、小写字母、数字和特殊字符");
+        ThrowUtils.throwIf(breachedPasswordChecker.isBreached(newPassword), ResultCodeEnum.PARAM_ERROR,
+            "该密码已出现在公开泄露的密码库中，请更换密码");
 
         // 6. 校验新密码和校验密码是否一致，且不能与原始密码相同
         ThrowUtils.throwIf(!newPassword.equals(checkPassword), ResultCodeEnum.PARAM_ERROR, "新密码和校验密码不一致");
         ThrowUtils.throwIf(rawPassword.equals(newPassword), ResultCodeEnum.PARAM_ERROR, "新密码不能与原始密码相同");
 
         // 7. 加密新密码
-        String encryptedNewPassword = PasswordUtil.encrypt(newPassword);
+        String encryptedNewPassword = passwordHashExecutor.encrypt(newPassword);
 
-        // 8. 执行更新
+        // 8. 执行更新，同时递增令牌版本使其他设备上的登录状态失效
         User updateUser = new User();
-        updateUser.setId(userId);
         updateUser.setUserPassword(encryptedNewPassword);
-        boolean updateResult = this.updateById(updateUser);
+        boolean updateResult = this.update(updateUser, this.tokenVersionIncrement(List.of(userId)));
         ThrowUtils.throwIf(!updateResult, ResultCodeEnum.SERVER_ERROR, "用户密码更新失败，数据库更新异常");
+        loginUserCache.invalidate(userId);
 
         // 9. 密码更新后应主动使已有会话失效（强制重新登录）
         this.userLogout(request);
@@ -460,15 +756,34 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         this.validateUniqueFields(userAccount, planetCode);
 
         // 加密密码（使用 BCrypt，自动生成盐值）
-        String encryptedPassword = PasswordUtil.encrypt(checkPassword);
+        String encryptedPassword = passwordHashExecutor.encrypt(checkPassword);
 
         // 构建用户实体
-        User user = new User();
-        BeanUtils.copyProperties(adminAddUserRequest, user);
+        User user = this.buildAdminAddUser(adminAddUserRequest, encryptedPassword);
+
+        // 插入用户数据到数据库
+        boolean saveResult = this.save(user);
+        ThrowUtils.throwIf(!saveResult, ResultCodeEnum.SERVER_ERROR, "用户添加失败，数据库插入异常");
+        userCountCache.invalidateAll();
+        userSearchIndex.update(user);
+
+        // 返回新添加用户的 ID
+        return user.getId();
+    }
+
+    /**
+     * 根据管理员添加用户请求构建用户实体，未设置的字段使用默认值
+     *
+     * @param adminAddUserRequest 管理员添加用户请求体
+     * @param encryptedPassword 加密后的密码
+     * @return 新用户实体
+     */
+    private User buildAdminAddUser(AdminAddUserRequest adminAddUserRequest, String encryptedPassword) {
+        User user = ADMIN_ADD_USER_MAPPER.map(adminAddUserRequest);
         user.setUserPassword(encryptedPassword);
         // 如果用户昵称未设置，则使用登录账号作为默认昵称
         if (user.getUserName() == null) {
-            user.setUserName(userAccount);
+            user.setUserName(adminAddUserRequest.getUserAccount());
         }
         // 如果用户角色未设置，则设置默认用户角色为普通用户
         if (user.getUserRole() == null) {
@@ -482,13 +797,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user.getUserProfile() == null) {
             user.setUserProfile(UserConstant.USER_PROFILE_DEFAULT);
         }
-
-        // 插入用户数据到数据库
-        boolean saveResult = this.save(user);
-        ThrowUtils.throwIf(!saveResult, ResultCodeEnum.SERVER_ERROR, "用户添加失败，数据库插入异常");
-
-        // 返回新添加用户的 ID
-        return user.getId();
+        return user;
     }
 
     /**
@@ -522,6 +831,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         // 删除用户
         boolean deleteResult = this.removeById(userId);
         ThrowUtils.throwIf(!deleteResult, ResultCodeEnum.SERVER_ERROR, "用户删除失败，数据库删除异常");
+        loginUserCache.invalidate(userId);
+        userCountCache.invalidateAll();
+        userSearchIndex.remove(userId);
         return true;
     }
 
@@ -537,34 +849,35 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         Long userId = adminUpdateUserInfoRequest.getId();
         ThrowUtils.throwIf(userId == null || userId <= 0, ResultCodeEnum.PARAM_ERROR, "用户 ID 不合法");
         // 构建更新实体
-        User user = new User();
-        String[] ignore = getNullPropertyNames(adminUpdateUserInfoRequest);
-        BeanUtils.copyProperties(adminUpdateUserInfoRequest, user, ignore);
+        User user = ADMIN_UPDATE_USER_INFO_MAPPER.copyNonNull(adminUpdateUserInfoRequest, new User());
+        // 更换头像时记录旧头像，更新成功后清理
+        User oldUser = user.getUserAvatar() == null ? null : this.getById(userId);
         // 执行更新
         boolean updateResult = this.updateById(user);
         ThrowUtils.throwIf(!updateResult, ResultCodeEnum.SERVER_ERROR, "用户信息更新失败，数据库更新异常");
+        loginUserCache.invalidate(userId);
+        userCountCache.invalidateAll();
+        userSearchIndex.update(user);
+        if (oldUser != null) {
+            this.releaseAvatarIfChanged(oldUser.getUserAvatar(), user.getUserAvatar());
+        }
         return true;
     }
 
     /**
-     * 获取对象中值为 null 的属性名称数组
+     * 头像已更换时释放旧头像，旧头像文件在没有任何用户引用后由后台清理
+     *
+     * <p>
+     * 删除用户是逻辑删除，不主动释放头像；引用计数只统计未删除的用户
+     * </p>
      *
-     * @param source 源对象
-     * @return 值为 null 的属性名称数组
+     * @param oldAvatar 更新前的头像
+     * @param newAvatar 更新后的头像，为 null 表示未更新头像
      */
-    private String[] getNullPropertyNames(Object source) {
-        final BeanWrapper src = new BeanWrapperImpl(source);
-        java.beans.PropertyDescriptor[] pds = src.getPropertyDescriptors();
-
-        Set<String> emptyNames = new HashSet<>();
-        for (PropertyDescriptor pd : pds) {
-            Object srcValue = src.getPropertyValue(pd.getName());
-            if (srcValue == null) {
-                emptyNames.add(pd.getName());
-            }
+    private void releaseAvatarIfChanged(String oldAvatar, String newAvatar) {
+        if (newAvatar != null && StrUtil.isNotBlank(oldAvatar) && !oldAvatar.equals(newAvatar)) {
+            avatarStorage.release(oldAvatar);
         }
-        String[] result = new String[emptyNames.size()];
-        return emptyNames.toArray(result);
     }
 
     /**
@@ -574,19 +887,124 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      * @return 分页的用户信息列表
      */
     @Override
-    public Page<UserVO> adminGetUserInfoByPage(AdminQueryUserRequest adminQueryUserRequest) {
+    public PageResult<UserVO> adminGetUserInfoByPage(AdminQueryUserRequest adminQueryUserRequest) {
         ThrowUtils.throwIf(ObjectUtil.isEmpty(adminQueryUserRequest), ResultCodeEnum.PARAM_ERROR, "用户查询请求不能为空");
         int current = adminQueryUserRequest.getCurrent();
         int pageSize = adminQueryUserRequest.getPageSize();
+
+        // 1. 统计总数：估算值来自 InnoDB 统计信息，包含已逻辑删除的记录且无法应用任何筛选条件，
+        // 只在允许估算且没有任何筛选条件时使用，其余情况按筛选条件缓存精确总数
+        QueryWrapper<User> filterWrapper = this.buildUserFilterWrapper(adminQueryUserRequest);
+        Long estimatedTotal = adminQueryUserRequest.isEstimateTotal() && filterWrapper.isEmptyOfWhere()
+            ? userCountCache.getEstimatedTotal(baseMapper::selectEstimatedRowCount) : null;
+        boolean totalExact = estimatedTotal == null;
+        long total = totalExact ? userCountCache.getTotal(filterWrapper, () -> this.count(filterWrapper))
+            : estimatedTotal;
+        PageResult<UserVO> userVOPage = new PageResult<>(current, pageSize, total, totalExact);
+
+        // 2. 精确总数已表明当前页没有数据时不再查询
+        if (totalExact && (long) (current - 1) * pageSize >= total) {
+            userVOPage.setRecords(new ArrayList<>());
+            return userVOPage;
+        }
+
+        // 3. 查询当前页，总数已单独获取，不再由分页插件执行 count 查询
         Page<User> userPage =
-            this.page(new Page<>(current, pageSize), this.buildUserQueryWrapper(adminQueryUserRequest));
+            this.page(new Page<>(current, pageSize, false), this.buildUserQueryWrapper(adminQueryUserRequest));
         // 将 User 实体转换为 UserVO 视图对象
-        Page<UserVO> userVOPage = new Page<>(userPage.getCurrent(), userPage.getSize(), userPage.getTotal());
-        List<UserVO> userVOList = this.getUserVOList(userPage.getRecords());
-        userVOPage.setRecords(userVOList);
+        userVOPage.setRecords(this.getUserVOList(userPage.getRecords()));
         return userVOPage;
     }
 
+    /**
+     * 管理员游标分页获取用户信息
+     *
+     * @param adminQueryUserRequest 管理员查询用户请求体
+     * @return 游标分页的用户信息列表
+     */
+    @Override
+    public CursorPage<UserVO> adminGetUserInfoByCursor(AdminQueryUserRequest adminQueryUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminQueryUserRequest), ResultCodeEnum.PARAM_ERROR, "用户查询请求不能为空");
+
+        // 1. 确定排序条件（未指定排序字段时按创建时间降序，与 offset 分页一致）
+        String sortField = adminQueryUserRequest.getSortField();
+        String sortOrder = adminQueryUserRequest.getSortOrder();
+        boolean isAsc = StrUtil.isNotBlank(sortField) && SortOrderConstant.ASC.equals(sortOrder);
+        if (StrUtil.isBlank(sortField)) {
+            sortField = UserConstant.USER_TABLE_FIELD_CREATE_TIME;
+        }
+        ThrowUtils.throwIf(!UserPageCursor.isSupported(sortField), ResultCodeEnum.PARAM_ERROR,
+            "游标分页仅支持按 ID、登录账号或创建时间排序");
+
+        // 2. 复用筛选条件，以游标之后的位置作为起点，代替 offset
+        QueryWrapper<User> queryWrapper = this.buildUserFilterWrapper(adminQueryUserRequest);
+        String cursorToken = adminQueryUserRequest.getCursor();
+        if (StrUtil.isNotBlank(cursorToken)) {
+            UserPageCursor cursor = UserPageCursor.decode(cursorToken);
+            ThrowUtils.throwIf(!cursor.matches(sortField, isAsc), ResultCodeEnum.PARAM_ERROR, "游标与排序条件不一致");
+            cursor.applyTo(queryWrapper);
+        }
+        // 以 ID 作为第二排序键，保证排序键相同的记录顺序稳定
+        queryWrapper.orderBy(true, isAsc, sortField);
+        if (!UserConstant.USER_TABLE_FIELD_ID.equals(sortField)) {
+            queryWrapper.orderBy(true, isAsc, UserConstant.USER_TABLE_FIELD_ID);
+        }
+
+        // 3. 多取一条判断是否还有下一页，不执行 count 查询
+        int pageSize = adminQueryUserRequest.getPageSize();
+        List<User> userList = this.page(new Page<>(1, pageSize + 1L, false), queryWrapper).getRecords();
+        boolean hasMore = userList.size() > pageSize;
+        if (hasMore) {
+            userList = userList.subList(0, pageSize);
+        }
+        String nextCursor =
+            hasMore ? UserPageCursor.after(sortField, isAsc, userList.get(pageSize - 1)).encode() : null;
+        return new CursorPage<>(this.getUserVOList(userList), nextCursor, hasMore);
+    }
+
+    /**
+     * 管理员导出用户
+     *
+     * <p>
+     * 复用分页查询的筛选和排序条件，通过 MySQL 流式结果集逐行读取，转换为 {@link UserVO} 后直接写入输出流，
+     * 内存占用与导出的行数无关。查询条件在返回前构建完成，参数错误仍以普通的错误响应返回
+     * </p>
+     *
+     * @param adminExportUserRequest 管理员导出用户请求体
+     * @param format 导出格式
+     * @return 写出导出文件的回调，调用方设置响应头后执行
+     */
+    @Override
+    public StreamingResponseBody adminExportUsers(AdminExportUserRequest adminExportUserRequest,
+        UserExportFormatEnum format) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminExportUserRequest), ResultCodeEnum.PARAM_ERROR, "用户导出请求不能为空");
+        ThrowUtils.throwIf(format == null, ResultCodeEnum.PARAM_ERROR, "不支持的导出格式");
+
+        // 1. 构建查询条件，自定义 SQL 不会自动追加逻辑删除条件
+        QueryWrapper<User> queryWrapper = this.buildUserQueryWrapper(adminExportUserRequest);
+        queryWrapper.eq(UserConstant.USER_TABLE_FIELD_IS_DELETED, 0);
+        boolean gzip = adminExportUserRequest.isGzip();
+
+        // 2. 逐行写出，写出失败（客户端断开）时停止读取
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, EXPORT_GZIP_BUFFER_SIZE) : outputStream;
+            UncheckedIOException[] failure = new UncheckedIOException[1];
+            try (AbstractUserExportWriter writer = AbstractUserExportWriter.create(format, target, objectMapper)) {
+                baseMapper.streamExportUsers(queryWrapper, context -> {
+                    try {
+                        writer.write(USER_VO_MAPPER.map(context.getResultObject()));
+                    } catch (UncheckedIOException e) {
+                        failure[0] = e;
+                        context.stop();
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0].getCause();
+                }
+            }
+        };
+    }
+
     /**
      * 将用户实体列表转换为用户视图对象列表
      *
@@ -607,6 +1025,34 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      * @return 用户查询包装器
      */
     private QueryWrapper<User> buildUserQueryWrapper(AdminQueryUserRequest adminQueryUserRequest) {
+        // 1. 构建筛选条件
+        QueryWrapper<User> queryWrapper = this.buildUserFilterWrapper(adminQueryUserRequest);
+
+        // 2. 排序处理（防止 SQL 注入）
+        String sortField = adminQueryUserRequest.getSortField(); // 排序字段
+        String sortOrder = adminQueryUserRequest.getSortOrder(); // 排序方式
+        if (StrUtil.isNotBlank(sortField)) {
+            // 白名单校验
+            ThrowUtils.throwIf(!VALID_SORT_FIELDS.contains(sortField), ResultCodeEnum.PARAM_ERROR, "不支持的排序字段");
+            // 排序方式
+            boolean isAsc = SortOrderConstant.ASC.equals(sortOrder);
+            queryWrapper.orderBy(true, isAsc, sortField);
+        } else {
+            // 默认按创建时间降序排序
+            queryWrapper.orderByDesc(UserConstant.USER_TABLE_FIELD_CREATE_TIME);
+        }
+
+        // 3. 返回查询包装器
+        return queryWrapper;
+    }
+
+    /**
+     * 构建用户查询的筛选条件（不含排序）
+     *
+     * @param adminQueryUserRequest 用户查询请求体
+     * @return 用户查询包装器
+     */
+    private QueryWrapper<User> buildUserFilterWrapper(AdminQueryUserRequest adminQueryUserRequest) {
         // 1. 参数校验
         ThrowUtils.throwIf(adminQueryUserRequest == null, ResultCodeEnum.PARAM_ERROR, "用户查询请求不能为空");
 
@@ -637,35 +1083,48 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             .eq(ObjectUtil.isNotEmpty(userStatus), UserConstant.USER_TABLE_FIELD_USER_STATUS, userStatus)
             .eq(StrUtil.isNotBlank(planetCode), UserConstant.USER_TABLE_FIELD_PLANET_CODE, planetCode);
 
-        // 模糊查询
-        queryWrapper.like(StrUtil.isNotBlank(userName), UserConstant.USER_TABLE_FIELD_USER_NAME, userName)
-            .like(StrUtil.isNotBlank(userProfile), UserConstant.USER_TABLE_FIELD_USER_PROFILE, userProfile);
+        // 模糊查询：优先通过搜索索引得到命中的用户 ID 并按主键回表，索引不可用时退回 LIKE
+        this.applyTextSearch(queryWrapper, UserConstant.USER_TABLE_FIELD_USER_NAME, userName,
+            userSearchIndex::searchByUserName);
+        this.applyTextSearch(queryWrapper, UserConstant.USER_TABLE_FIELD_USER_PROFILE, userProfile,
+            userSearchIndex::searchByUserProfile);
 
         // 时间范围查询
         queryWrapper
             .ge(ObjectUtil.isNotEmpty(createTimeStart), UserConstant.USER_TABLE_FIELD_CREATE_TIME, createTimeStart)
             .le(ObjectUtil.isNotEmpty(createTimeEnd), UserConstant.USER_TABLE_FIELD_CREATE_TIME, createTimeEnd);
 
-        // 4. 排序处理（防止 SQL 注入）
-        String sortField = adminQueryUserRequest.getSortField(); // 排序字段
-        String sortOrder = adminQueryUserRequest.getSortOrder(); // 排序方式
-        if (StrUtil.isNotBlank(sortField)) {
-            // 白名单校验
-            Set<String> validSortFields = Set.of(UserConstant.USER_TABLE_FIELD_ID,
-                UserConstant.USER_TABLE_FIELD_USER_ACCOUNT, UserConstant.USER_TABLE_FIELD_USER_NAME,
-                UserConstant.USER_TABLE_FIELD_USER_PHONE, UserConstant.USER_TABLE_FIELD_USER_EMAIL,
-                UserConstant.USER_TABLE_FIELD_PLANET_CODE, UserConstant.USER_TABLE_FIELD_CREATE_TIME);
-            ThrowUtils.throwIf(!validSortFields.contains(sortField), ResultCodeEnum.PARAM_ERROR, "不支持的排序字段");
-            // 排序方式
-            boolean isAsc = SortOrderConstant.ASC.equals(sortOrder);
-            queryWrapper.orderBy(true, isAsc, sortField);
+        // 4. 返回查询包装器
+        return queryWrapper;
+    }
+
+    /**
+     * 追加昵称或简介的模糊查询条件
+     *
+     * <p>
+     * 搜索索引命中时以 {@code id IN (...)} 代替 {@code LIKE '%term%'}，由主键索引回表；
+     * 索引未就绪或搜索词过于宽泛（命中过多）时返回 null，此时退回 LIKE，宽泛的搜索词在扫描少量行后即可填满一页
+     * </p>
+     *
+     * @param queryWrapper 查询包装器
+     * @param column 字段名
+     * @param term 搜索词
+     * @param search 索引搜索函数
+     */
+    private void applyTextSearch(QueryWrapper<User> queryWrapper, String column, String term,
+        Function<String, List<Long>> search) {
+        if (StrUtil.isBlank(term)) {
+            return;
+        }
+        List<Long> matchedIds = search.apply(term);
+        if (matchedIds == null) {
+            queryWrapper.like(column, term);
+        } else if (matchedIds.isEmpty()) {
+            // 没有命中时追加恒假条件，总数和分页查询都不会返回数据
+            queryWrapper.apply("1 = 0");
         } else {
-            // 默认按创建时间降序排序
-            queryWrapper.orderByDesc(UserConstant.USER_TABLE_FIELD_CREATE_TIME);
+            queryWrapper.in(UserConstant.USER_TABLE_FIELD_ID, matchedIds);
         }
-
-        // 5. 返回查询包装器
-        return queryWrapper;
     }
 
     /**
@@ -678,9 +1137,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user == null) {
             return null;
         }
-        UserVO userVO = new UserVO();
-        BeanUtils.copyProperties(user, userVO);
-        return userVO;
+        return USER_VO_MAPPER.map(user);
     }
 
     /**
@@ -703,14 +1160,16 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         // 检验密码强度
         ThrowUtils.throwIf(!PasswordUtil.isValidStrong(newPassword), ResultCodeEnum.PARAM_ERROR,
             "重置密码强度不够，必须包含大写字母、小写字母、数字和特殊字符");
+        ThrowUtils.throwIf(breachedPasswordChecker.isBreached(newPassword), ResultCodeEnum.PARAM_ERROR,
+            "该密码已出现在公开泄露的密码库中，请更换密码");
         // 加密密码
-        String encryptedPassword = PasswordUtil.encrypt(newPassword);
+        String encryptedPassword = passwordHashExecutor.encrypt(newPassword);
 
         User updateUser = new User();
-        updateUser.setId(userId);
         updateUser.setUserPassword(encryptedPassword);
-        boolean updateResult = this.updateById(updateUser);
+        boolean updateResult = this.update(updateUser, this.tokenVersionIncrement(List.of(userId)));
         ThrowUtils.throwIf(!updateResult, ResultCodeEnum.SERVER_ERROR, "重置密码失败，数据库更新异常");
+        loginUserCache.invalidate(userId);
 
         return true;
     }
@@ -742,15 +1201,584 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw new BusinessException(ResultCodeEnum.PARAM_ERROR, "用户已处于" + statusDesc + "状态，无需重复操作");
         }
 
-        // 4. 执行封禁或解封操作
+        // 4. 执行封禁或解封操作，同时递增令牌版本使已登录的会话和令牌失效
         User updateUser = new User();
-        updateUser.setId(userId);
         updateUser.setUserStatus(userStatus);
-        boolean updateResult = this.updateById(updateUser);
+        boolean updateResult = this.update(updateUser, this.tokenVersionIncrement(List.of(userId)));
         ThrowUtils.throwIf(!updateResult, ResultCodeEnum.SERVER_ERROR, "用户封禁或解封失败，数据库更新异常");
+        loginUserCache.invalidate(userId);
+        userCountCache.invalidateAll();
 
         // 5. 返回操作结果
         return true;
     }
 
+    /**
+     * 管理员批量添加用户
+     *
+     * <p>
+     * 逐条校验参数后，以一次查询校验本批次全部登录账号和星球编号的唯一性；密码在所有哈希线程上并行加密，
+     * 最后通过 JDBC 批处理插入（连接参数 rewriteBatchedStatements=true 时由驱动改写为多行 INSERT）。
+     * 哈希耗时较长，不放在事务中执行，避免长时间占用数据库连接
+     * </p>
+     *
+     * @param adminBatchAddUserRequest 管理员批量添加用户请求体
+     * @return 每个用户的添加结果
+     */
+    @Override
+    public BatchResultVO adminBatchAddUser(AdminBatchAddUserRequest adminBatchAddUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchAddUserRequest), ResultCodeEnum.PARAM_ERROR, "批量添加用户请求不能为空");
+        List<AdminAddUserRequest> items = adminBatchAddUserRequest.getUsers();
+        this.validateBatchSize(items);
+        String[] errors = new String[items.size()];
+
+        // 1. 逐条校验参数，一次查询校验登录账号与星球编号唯一性
+        this.validateAddItems(items, errors, new HashSet<>(), new HashSet<>(), false);
+
+        // 2. 并行加密密码并构建用户实体
+        List<Integer> accepted = IntStream.range(0, items.size()).filter(i -> errors[i] == null).boxed().toList();
+        List<String> encryptedPasswords =
+            passwordHashExecutor.encryptAll(accepted.stream().map(i -> items.get(i).getCheckPassword()).toList());
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            users.add(this.buildAdminAddUser(items.get(accepted.get(k)), encryptedPasswords.get(k)));
+        }
+
+        // 3. JDBC 批处理插入，主键（雪花算法）在插入前生成并回填到实体
+        Long[] userIds = new Long[items.size()];
+        if (!users.isEmpty()) {
+            try {
+                // saveBatch 为内部调用，@Transactional 不生效，由事务模板保证整批提交或回滚
+                transactionTemplate.executeWithoutResult(status -> {
+                    boolean saveResult = this.saveBatch(users);
+                    ThrowUtils.throwIf(!saveResult, ResultCodeEnum.SERVER_ERROR, "批量添加用户失败，数据库插入异常");
+                });
+            } catch (DuplicateKeyException e) {
+                // 校验之后有其他请求写入了相同的登录账号或星球编号，整批回滚
+                throw new BusinessException(ResultCodeEnum.PARAM_ERROR, "登录账号或星球编号已被其他请求占用，请重试");
+            }
+            userCountCache.invalidateAll();
+            for (int k = 0; k < users.size(); k++) {
+                userIds[accepted.get(k)] = users.get(k).getId();
+                userSearchIndex.update(users.get(k));
+            }
+        }
+        return this.buildBatchResult(userIds, errors);
+    }
+
+    /**
+     * 逐条校验待添加的用户，并以一次查询校验登录账号与星球编号唯一性
+     *
+     * @param items 待添加的用户
+     * @param errors 每一项的失败原因（已有原因的项跳过，校验不通过的项写入原因）
+     * @param seenAccounts 之前已通过校验的登录账号，本次通过校验的账号会加入其中
+     * @param seenPlanetCodes 之前已通过校验的星球编号，本次通过校验的星球编号会加入其中
+     * @param allowHashedPassword 是否允许密码为 BCrypt 哈希（导入时使用，此时不校验密码规则）
+     */
+    private void validateAddItems(List<AdminAddUserRequest> items, String[] errors, Set<String> seenAccounts,
+        Set<String> seenPlanetCodes, boolean allowHashedPassword) {
+        // 1. 逐条校验参数，登录账号和星球编号不能与之前通过校验的项重复
+        Set<String> userAccounts = new HashSet<>();
+        Set<String> planetCodes = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            AdminAddUserRequest item = items.get(i);
+            errors[i] = this.validateBatchAddItem(item, allowHashedPassword);
+            if (errors[i] != null) {
+                continue;
+            }
+            if (seenAccounts.contains(item.getUserAccount()) || seenPlanetCodes.contains(item.getPlanetCode())) {
+                errors[i] = "登录账号或星球编号在本批次中重复";
+            } else {
+                seenAccounts.add(item.getUserAccount());
+                seenPlanetCodes.add(item.getPlanetCode());
+                userAccounts.add(item.getUserAccount());
+                planetCodes.add(item.getPlanetCode());
+            }
+        }
+
+        // 2. 一次查询校验登录账号与星球编号唯一性
+        if (userAccounts.isEmpty()) {
+            return;
+        }
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(UserConstant.USER_TABLE_FIELD_USER_ACCOUNT, UserConstant.USER_TABLE_FIELD_PLANET_CODE)
+            .and(wrapper -> wrapper.in(UserConstant.USER_TABLE_FIELD_USER_ACCOUNT, userAccounts).or()
+                .in(UserConstant.USER_TABLE_FIELD_PLANET_CODE, planetCodes));
+        Set<String> existingAccounts = new HashSet<>();
+        Set<String> existingPlanetCodes = new HashSet<>();
+        for (User existing : this.list(queryWrapper)) {
+            existingAccounts.add(existing.getUserAccount());
+            existingPlanetCodes.add(existing.getPlanetCode());
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] == null && (existingAccounts.contains(items.get(i).getUserAccount())
+                || existingPlanetCodes.contains(items.get(i).getPlanetCode()))) {
+                errors[i] = "登录账号或星球编号已存在";
+            }
+        }
+    }
+
+    /**
+     * 校验批量添加中的单个用户
+     *
+     * @param item 管理员添加用户请求体
+     * @param allowHashedPassword 是否允许密码为 BCrypt 哈希，是哈希时跳过密码相关的校验
+     * @return 失败原因，校验通过时返回 null
+     */
+    private String validateBatchAddItem(AdminAddUserRequest item, boolean allowHashedPassword) {
+        if (item == null) {
+            return "用户信息不能为空";
+        }
+        boolean hashedPassword = allowHashedPassword && PasswordUtil.isBCryptHash(item.getUserPassword());
+        if (hashedPassword && !passwordHashExecutor.isAcceptableHash(item.getUserPassword())) {
+            return "密码哈希的工作因子过高（最大 " + passwordHashExecutor.getMaxStrength() + "）";
+        }
+        for (ConstraintViolation<AdminAddUserRequest> violation : validator.validate(item)) {
+            if (!hashedPassword || !PASSWORD_PROPERTIES.contains(violation.getPropertyPath().toString())) {
+                return violation.getMessage();
+            }
+        }
+        try {
+            if (hashedPassword) {
+                this.validateUserAccount(item.getUserAccount());
+                this.validatePlanetCode(item.getPlanetCode());
+            } else {
+                this.validateRegisterParams(item.getUserAccount(), item.getUserPassword(), item.getCheckPassword(),
+                    item.getPlanetCode());
+            }
+            return null;
+        } catch (BusinessException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * 管理员从文件导入用户
+     *
+     * <p>
+     * 请求体先转存为临时文件（超过 import.user.max-file-size 时停止读取并返回错误）并校验表头，
+     * 然后提交到后台逐批导入，立即返回任务 ID 供查询进度和错误报告
+     * </p>
+     *
+     * @param inputStream 导入文件内容（请求体）
+     * @param fileName 文件名，可为空
+     * @param format 文件格式
+     * @return 导入任务
+     */
+    @Override
+    public UserImportJobVO adminImportUsers(InputStream inputStream, String fileName, UserExportFormatEnum format) {
+        ThrowUtils.throwIf(inputStream == null, ResultCodeEnum.PARAM_ERROR, "导入文件不能为空");
+        ThrowUtils.throwIf(format == null, ResultCodeEnum.PARAM_ERROR, "不支持的导入格式");
+
+        // 1. 请求体转存为导入任务自己的临时文件，边写边检查大小
+        Path path = null;
+        AbstractUserImportReader reader = null;
+        boolean submitted = false;
+        try {
+            path = Files.createTempFile("user-import-", format.getExtension());
+            long fileSize = this.copyImportFile(inputStream, path);
+            ThrowUtils.throwIf(fileSize == 0, ResultCodeEnum.PARAM_ERROR, "导入文件不能为空");
+            // 2. 在请求线程中打开文件并校验表头，文件格式错误时直接返回错误
+            reader = AbstractUserImportReader.open(format, Files.newInputStream(path), objectMapper);
+            AbstractUserImportReader importReader = reader;
+            Path importPath = path;
+            // 3. 提交到后台执行，之后临时文件由导入任务关闭和删除
+            String jobFileName = StrUtil.isNotBlank(fileName) ? fileName : "users" + format.getExtension();
+            UserImportJob job = userImportJobManager.submit(jobFileName, fileSize,
+                importJob -> this.runImport(importJob, importReader, importPath));
+            submitted = true;
+            return job.toVO();
+        } catch (IOException e) {
+            throw new BusinessException(ResultCodeEnum.OPERATION_ERROR, "导入文件读取失败");
+        } finally {
+            if (!submitted) {
+                IoUtil.close(reader);
+                if (path != null) {
+                    FileUtil.del(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * 把导入文件写入临时文件，超过大小上限时停止读取
+     *
+     * @param inputStream 导入文件内容
+     * @param target 临时文件
+     * @return 文件大小（字节）
+     * @throws IOException 读写失败时抛出
+     */
+    private long copyImportFile(InputStream inputStream, Path target) throws IOException {
+        long maxBytes = userImportProperties.getMaxFileSize().toBytes();
+        byte[] buffer = new byte[IMPORT_COPY_BUFFER_SIZE];
+        long total = 0;
+        try (OutputStream outputStream = Files.newOutputStream(target)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                total += read;
+                ThrowUtils.throwIf(total > maxBytes, ResultCodeEnum.PARAM_ERROR,
+                    "导入文件不能超过 " + userImportProperties.getMaxFileSize().toMegabytes() + "MB");
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 管理员查询导入任务的进度和错误报告
+     *
+     * @param jobId 任务 ID
+     * @return 导入任务
+     */
+    @Override
+    public UserImportJobVO adminGetImportJob(String jobId) {
+        ThrowUtils.throwIf(StrUtil.isBlank(jobId), ResultCodeEnum.PARAM_ERROR, "任务 ID 不能为空");
+        UserImportJob job = userImportJobManager.get(jobId);
+        ThrowUtils.throwIf(job == null, ResultCodeEnum.NOT_FOUND_ERROR, "导入任务不存在或已过期");
+        return job.toVO();
+    }
+
+    /**
+     * 执行导入任务：逐批读取、校验、哈希并插入，每批结束后更新进度
+     *
+     * <p>
+     * 登录账号和星球编号在整个文件范围内去重，内存中只保留这两个集合和当前批次。
+     * 某一批失败时之前的批次已经提交，任务标记为失败并保留进度
+     * </p>
+     *
+     * @param job 导入任务
+     * @param reader 已打开的文件读取器
+     * @param path 临时文件
+     */
+    private void runImport(UserImportJob job, AbstractUserImportReader reader, Path path) {
+        job.setBytesRead(reader::getBytesRead);
+        int chunkSize = Math.max(1, userImportProperties.getChunkSize());
+        Set<String> seenAccounts = new HashSet<>();
+        Set<String> seenPlanetCodes = new HashSet<>();
+        List<AbstractUserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        try (reader) {
+            AbstractUserImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    this.importChunk(job, chunk, seenAccounts, seenPlanetCodes);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                this.importChunk(job, chunk, seenAccounts, seenPlanetCodes);
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ResultCodeEnum.OPERATION_ERROR, "导入文件读取失败");
+        } finally {
+            FileUtil.del(path);
+        }
+    }
+
+    /**
+     * 导入一批用户
+     *
+     * @param job 导入任务
+     * @param chunk 本批数据行
+     * @param seenAccounts 之前的批次中已通过校验的登录账号
+     * @param seenPlanetCodes 之前的批次中已通过校验的星球编号
+     */
+    private void importChunk(UserImportJob job, List<AbstractUserImportReader.Row> chunk, Set<String> seenAccounts,
+        Set<String> seenPlanetCodes) {
+        ThrowUtils.throwIf(Thread.currentThread().isInterrupted(), ResultCodeEnum.SYSTEM_BUSY_ERROR,
+            "服务正在关闭，导入中止");
+
+        // 1. 校验参数和唯一性，导入文件不需要校验密码列，明文密码与自身比较
+        List<AdminAddUserRequest> items = new ArrayList<>(chunk.size());
+        String[] errors = new String[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            AdminAddUserRequest item = chunk.get(i).user();
+            errors[i] = chunk.get(i).error();
+            if (item != null && item.getCheckPassword() == null) {
+                item.setCheckPassword(item.getUserPassword());
+            }
+            items.add(item);
+        }
+        this.validateAddItems(items, errors, seenAccounts, seenPlanetCodes, true);
+
+        // 2. 明文密码在所有哈希线程上并行加密，已是 BCrypt 哈希的密码原样保存
+        List<Integer> accepted = IntStream.range(0, items.size()).filter(i -> errors[i] == null).boxed().toList();
+        List<String> rawPasswords = accepted.stream().map(i -> items.get(i).getUserPassword())
+            .filter(password -> !PasswordUtil.isBCryptHash(password)).toList();
+        Iterator<String> encryptedPasswords = passwordHashExecutor.encryptAll(rawPasswords).iterator();
+        List<User> users = new ArrayList<>(accepted.size());
+        for (Integer i : accepted) {
+            String password = items.get(i).getUserPassword();
+            users.add(this.buildAdminAddUser(items.get(i),
+                PasswordUtil.isBCryptHash(password) ? password : encryptedPasswords.next()));
+        }
+
+        // 3. 批量插入
+        this.saveImportedUsers(users, accepted, errors);
+
+        // 4. 更新进度、缓存和搜索索引
+        List<UserImportJobVO.RowError> rowErrors = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors[i] != null) {
+                String userAccount = items.get(i) == null ? null : items.get(i).getUserAccount();
+                rowErrors.add(new UserImportJobVO.RowError(chunk.get(i).row(), userAccount, errors[i]));
+            }
+        }
+        int successCount = chunk.size() - rowErrors.size();
+        if (successCount > 0) {
+            userCountCache.invalidateAll();
+            for (int k = 0; k < users.size(); k++) {
+                if (errors[accepted.get(k)] == null) {
+                    userSearchIndex.update(users.get(k));
+                }
+            }
+        }
+        job.recordChunk(chunk.size(), successCount, rowErrors);
+    }
+
+    /**
+     * 批量插入导入的用户
+     *
+     * <p>
+     * 整批通过 JDBC 批处理插入（连接参数 rewriteBatchedStatements=true 时由驱动改写为多行 INSERT）。
+     * 校验之后有其他请求写入了相同的登录账号或星球编号时整批回滚，改为逐行插入以定位冲突的行
+     * </p>
+     *
+     * @param users 待插入的用户
+     * @param accepted 每个用户在本批数据行中的下标
+     * @param errors 每一行的失败原因（插入冲突的行写入原因）
+     */
+    private void saveImportedUsers(List<User> users, List<Integer> accepted, String[] errors) {
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            // saveBatch 为内部调用，@Transactional 不生效，由事务模板保证冲突时整批回滚，之后再逐行插入
+            transactionTemplate.executeWithoutResult(status -> {
+                boolean saveResult = this.saveBatch(users, users.size());
+                ThrowUtils.throwIf(!saveResult, ResultCodeEnum.SERVER_ERROR, "批量导入用户失败，数据库插入异常");
+            });
+        } catch (DuplicateKeyException e) {
+            for (int k = 0; k < users.size(); k++) {
+                try {
+                    this.save(users.get(k));
+                } catch (DuplicateKeyException duplicate) {
+                    errors[accepted.get(k)] = "登录账号或星球编号已存在";
+                }
+            }
+        }
+    }
+
+    /**
+     * 管理员批量删除用户（逻辑删除）
+     *
+     * @param adminBatchDeleteUserRequest 管理员批量删除用户请求体
+     * @return 每个用户的删除结果
+     */
+    @Override
+    public BatchResultVO adminBatchDeleteUser(AdminBatchDeleteUserRequest adminBatchDeleteUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchDeleteUserRequest), ResultCodeEnum.PARAM_ERROR,
+            "批量删除用户请求不能为空");
+        List<Long> ids = adminBatchDeleteUserRequest.getIds();
+        this.validateBatchSize(ids);
+
+        // 1. 一次查询校验全部用户是否存在
+        Map<Long, User> existingUsers = this.listUsersByIds(ids, UserConstant.USER_TABLE_FIELD_ID);
+        String[] errors = new String[ids.size()];
+        Set<Long> targetIds = this.validateBatchIds(ids, existingUsers.keySet(), errors);
+
+        // 2. 一条 UPDATE ... WHERE id IN (...) 逻辑删除全部用户
+        if (!targetIds.isEmpty()) {
+            boolean deleteResult = this.removeByIds(targetIds);
+            ThrowUtils.throwIf(!deleteResult, ResultCodeEnum.SERVER_ERROR, "批量删除用户失败，数据库删除异常");
+            targetIds.forEach(loginUserCache::invalidate);
+            targetIds.forEach(userSearchIndex::remove);
+            userCountCache.invalidateAll();
+        }
+        return this.buildBatchResult(ids.toArray(new Long[0]), errors);
+    }
+
+    /**
+     * 管理员批量封禁或解封用户
+     *
+     * @param adminBatchBanOrUnbanUserRequest 管理员批量封禁或解封用户请求体
+     * @return 每个用户的操作结果
+     */
+    @Override
+    public BatchResultVO adminBatchBanOrUnbanUser(AdminBatchBanOrUnbanUserRequest adminBatchBanOrUnbanUserRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchBanOrUnbanUserRequest), ResultCodeEnum.PARAM_ERROR,
+            "批量封禁或解封请求不能为空");
+        List<Long> ids = adminBatchBanOrUnbanUserRequest.getIds();
+        Integer userStatus = adminBatchBanOrUnbanUserRequest.getUserStatus();
+        this.validateBatchSize(ids);
+        ThrowUtils.throwIf(userStatus == null, ResultCodeEnum.PARAM_ERROR, "用户状态不能为空");
+        ThrowUtils.throwIf(userStatus != 0 && userStatus != 1, ResultCodeEnum.PARAM_ERROR, "用户状态不合法");
+
+        // 1. 一次查询全部用户的当前状态，逐项校验
+        Map<Long, User> existingUsers =
+            this.listUsersByIds(ids, UserConstant.USER_TABLE_FIELD_ID, UserConstant.USER_TABLE_FIELD_USER_STATUS);
+        String[] errors = new String[ids.size()];
+        Set<Long> targetIds = this.validateBatchIds(ids, existingUsers.keySet(), errors);
+        String statusDesc = (userStatus == 0) ? "解封" : "封禁";
+        for (int i = 0; i < ids.size(); i++) {
+            if (errors[i] == null && userStatus.equals(existingUsers.get(ids.get(i)).getUserStatus())) {
+                errors[i] = "用户已处于" + statusDesc + "状态，无需重复操作";
+                targetIds.remove(ids.get(i));
+            }
+        }
+
+        // 2. 一条 UPDATE ... WHERE id IN (...) 更新全部用户，同时递增令牌版本
+        if (!targetIds.isEmpty()) {
+            UpdateWrapper<User> updateWrapper = this.tokenVersionIncrement(targetIds);
+            updateWrapper.set(UserConstant.USER_TABLE_FIELD_USER_STATUS, userStatus);
+            boolean updateResult = this.update(updateWrapper);
+            ThrowUtils.throwIf(!updateResult, ResultCodeEnum.SERVER_ERROR, "批量封禁或解封失败，数据库更新异常");
+            targetIds.forEach(loginUserCache::invalidate);
+            userCountCache.invalidateAll();
+        }
+        return this.buildBatchResult(ids.toArray(new Long[0]), errors);
+    }
+
+    /**
+     * 管理员批量重置用户密码
+     *
+     * <p>
+     * 每个用户的密码单独加盐，在所有哈希线程上并行计算；各行的哈希不同，无法合并为一条 UPDATE，改用 JDBC 批处理按主键更新
+     * </p>
+     *
+     * @param adminBatchResetUserPasswordRequest 管理员批量重置用户密码请求体
+     * @return 每个用户的重置结果
+     */
+    @Override
+    public BatchResultVO adminBatchResetUserPassword(
+        AdminBatchResetUserPasswordRequest adminBatchResetUserPasswordRequest) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(adminBatchResetUserPasswordRequest), ResultCodeEnum.PARAM_ERROR,
+            "批量重置密码请求不能为空");
+        List<Long> ids = adminBatchResetUserPasswordRequest.getIds();
+        String newPassword = adminBatchResetUserPasswordRequest.getNewPassword();
+        this.validateBatchSize(ids);
+        ThrowUtils.throwIf(!PasswordUtil.isValidStrong(newPassword), ResultCodeEnum.PARAM_ERROR,
+            "重置密码强度不够，必须包含大写字母、小写字母、数字和特殊字符");
+        ThrowUtils.throwIf(breachedPasswordChecker.isBreached(newPassword), ResultCodeEnum.PARAM_ERROR,
+            "该密码已出现在公开泄露的密码库中，请更换密码");
+
+        // 1. 一次查询校验全部用户是否存在
+        Map<Long, User> existingUsers = this.listUsersByIds(ids, UserConstant.USER_TABLE_FIELD_ID);
+        String[] errors = new String[ids.size()];
+        List<Long> targetIds = new ArrayList<>(this.validateBatchIds(ids, existingUsers.keySet(), errors));
+
+        // 2. 并行加密后在同一事务中批量更新密码并递增令牌版本，两者要么都生效要么都回滚，
+        // 保证密码被重置的用户已有的会话和令牌一定失效
+        if (!targetIds.isEmpty()) {
+            List<String> encryptedPasswords =
+                passwordHashExecutor.encryptAll(Collections.nCopies(targetIds.size(), newPassword));
+            List<User> updateUsers = new ArrayList<>(targetIds.size());
+            for (int k = 0; k < targetIds.size(); k++) {
+                User updateUser = new User();
+                updateUser.setId(targetIds.get(k));
+                updateUser.setUserPassword(encryptedPasswords.get(k));
+                updateUsers.add(updateUser);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                boolean updateResult = this.updateBatchById(updateUsers);
+                ThrowUtils.throwIf(!updateResult, ResultCodeEnum.SERVER_ERROR, "批量重置密码失败，数据库更新异常");
+                // 各行密码不同，令牌版本单独用一条 UPDATE ... WHERE id IN (...) 递增
+                boolean versionResult = this.update(this.tokenVersionIncrement(targetIds));
+                ThrowUtils.throwIf(!versionResult, ResultCodeEnum.SERVER_ERROR, "批量重置密码失败，令牌版本更新异常");
+            });
+            targetIds.forEach(loginUserCache::invalidate);
+        }
+        return this.buildBatchResult(ids.toArray(new Long[0]), errors);
+    }
+
+    /**
+     * 构建按 ID 更新并递增令牌版本的条件
+     *
+     * @param userIds 用户 ID
+     * @return 更新条件
+     */
+    private UpdateWrapper<User> tokenVersionIncrement(Collection<Long> userIds) {
+        UpdateWrapper<User> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.setSql(TOKEN_VERSION_INCREMENT).in(UserConstant.USER_TABLE_FIELD_ID, userIds);
+        return updateWrapper;
+    }
+
+    /**
+     * 校验批量操作的用户数量
+     *
+     * @param items 批量操作列表
+     */
+    private void validateBatchSize(Collection<?> items) {
+        ThrowUtils.throwIf(ObjectUtil.isEmpty(items), ResultCodeEnum.PARAM_ERROR, "批量操作列表不能为空");
+        ThrowUtils.throwIf(items.size() > UserConstant.USER_BATCH_SIZE_MAX_LIMIT, ResultCodeEnum.PARAM_ERROR,
+            "单次最多操作 " + UserConstant.USER_BATCH_SIZE_MAX_LIMIT + " 个用户");
+    }
+
+    /**
+     * 一次查询按 ID 获取多个未删除的用户
+     *
+     * @param ids 用户 ID 列表（忽略 null 和非正数）
+     * @param columns 查询的字段
+     * @return 用户 ID 到用户实体的映射
+     */
+    private Map<Long, User> listUsersByIds(List<Long> ids, String... columns) {
+        List<Long> validIds = ids.stream().filter(id -> id != null && id > 0).distinct().toList();
+        Map<Long, User> users = new HashMap<>();
+        if (validIds.isEmpty()) {
+            return users;
+        }
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(columns).in(UserConstant.USER_TABLE_FIELD_ID, validIds);
+        for (User user : this.list(queryWrapper)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+
+    /**
+     * 逐项校验批量操作的用户 ID
+     *
+     * @param ids 请求中的用户 ID 列表
+     * @param existingIds 数据库中存在的用户 ID
+     * @param errors 每一项的失败原因（校验不通过的项写入原因）
+     * @return 通过校验的用户 ID（去重，保持请求中的顺序）
+     */
+    private Set<Long> validateBatchIds(List<Long> ids, Set<Long> existingIds, String[] errors) {
+        Set<Long> targetIds = new LinkedHashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long userId = ids.get(i);
+            if (userId == null || userId <= 0) {
+                errors[i] = "用户 ID 不合法";
+            } else if (!existingIds.contains(userId)) {
+                errors[i] = "用户不存在";
+            } else if (!targetIds.add(userId)) {
+                errors[i] = "用户 ID 在本批次中重复";
+            }
+        }
+        return targetIds;
+    }
+
+    /**
+     * 汇总批量操作结果
+     *
+     * @param userIds 每一项对应的用户 ID
+     * @param errors 每一项的失败原因，null 表示成功
+     * @return 批量操作结果
+     */
+    private BatchResultVO buildBatchResult(Long[] userIds, String[] errors) {
+        List<BatchResultVO.Item> items = new ArrayList<>(errors.length);
+        int successCount = 0;
+        for (int i = 0; i < errors.length; i++) {
+            boolean success = errors[i] == null;
+            if (success) {
+                successCount++;
+            }
+            items.add(new BatchResultVO.Item(i, userIds[i], success, errors[i]));
+        }
+        return new BatchResultVO(successCount, errors.length - successCount, items);
+    }
+
 }
@@ -0,0 +1,217 @@
+package com.mlinyun.usercenter.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * 基于 Aho-Corasick 自动机的多关键词匹配器
+ *
+ * <p>
+ * 构建时将所有关键词编译为一张确定性状态转移表，匹配时对文本只做一次遍历，每个字符一次查表，
+ * 耗时与关键词数量无关。关键词只能包含 ASCII 字符，匹配时忽略 ASCII 大小写；
+ * 非 ASCII 字符不会出现在任何关键词中，遇到时直接回到初始状态
+ * </p>
+ *
+ * <p>
+ * 实例不可变，可在多线程间共享
+ * </p>
+ */
+public final class AhoCorasickMatcher {
+
+    /**
+     * ASCII 字符数
+     */
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * 大小写字母的差值
+     */
+    private static final int CASE_OFFSET = 'a' - 'A';
+
+    /**
+     * 不在关键词字母表中的字符
+     */
+    private static final int NO_SYMBOL = -1;
+
+    /**
+     * 尚未建立的转移
+     */
+    private static final int NO_STATE = -1;
+
+    /**
+     * 无输出
+     */
+    private static final int NO_OUTPUT = -1;
+
+    /**
+     * 关键词（已转为小写）
+     */
+    private final String[] keywords;
+
+    /**
+     * ASCII 字符到字母表下标的映射
+     */
+    private final int[] symbols;
+
+    /**
+     * 字母表大小
+     */
+    private final int symbolCount;
+
+    /**
+     * 状态转移表：transitions[state * symbolCount + symbol]
+     */
+    private final int[] transitions;
+
+    /**
+     * 每个状态命中的关键词下标（包括沿失败链继承的），无命中时为 {@link #NO_OUTPUT}
+     */
+    private final int[] outputs;
+
+    /**
+     * 构建匹配器
+     *
+     * @param keywords 关键词，不能为空且只能包含 ASCII 字符
+     * @throws IllegalArgumentException 如果关键词为空或包含非 ASCII 字符
+     */
+    public AhoCorasickMatcher(String... keywords) {
+        this.keywords = new String[keywords.length];
+        this.symbols = new int[ASCII_SIZE];
+        Arrays.fill(symbols, NO_SYMBOL);
+        int count = 0;
+        for (int i = 0; i < keywords.length; i++) {
+            String keyword = keywords[i];
+            if (keyword == null || keyword.isEmpty()) {
+                throw new IllegalArgumentException("关键词不能为空");
+            }
+            StringBuilder folded = new StringBuilder(keyword.length());
+            for (int j = 0; j < keyword.length(); j++) {
+                char c = keyword.charAt(j);
+                if (c >= ASCII_SIZE) {
+                    throw new IllegalArgumentException("关键词只能包含 ASCII 字符: " + keyword);
+                }
+                char lower = toLowerAscii(c);
+                if (symbols[lower] == NO_SYMBOL) {
+                    symbols[lower] = count++;
+                }
+                folded.append(lower);
+            }
+            this.keywords[i] = folded.toString();
+        }
+        this.symbolCount = count;
+
+        List<int[]> rows = new ArrayList<>();
+        List<Integer> outputList = new ArrayList<>();
+        rows.add(newRow());
+        outputList.add(NO_OUTPUT);
+        for (int i = 0; i < this.keywords.length; i++) {
+            int state = 0;
+            for (int j = 0; j < this.keywords[i].length(); j++) {
+                int symbol = symbols[this.keywords[i].charAt(j)];
+                if (rows.get(state)[symbol] == NO_STATE) {
+                    rows.get(state)[symbol] = rows.size();
+                    rows.add(newRow());
+                    outputList.add(NO_OUTPUT);
+                }
+                state = rows.get(state)[symbol];
+            }
+            if (outputList.get(state) == NO_OUTPUT) {
+                outputList.set(state, i);
+            }
+        }
+
+        this.transitions = new int[rows.size() * symbolCount];
+        this.outputs = new int[rows.size()];
+        for (int s = 0; s < rows.size(); s++) {
+            outputs[s] = outputList.get(s);
+        }
+        buildTransitions(rows);
+    }
+
+    /**
+     * 广度优先计算失败链，并将缺失的转移补全为确定性转移
+     */
+    private void buildTransitions(List<int[]> rows) {
+        int[] fail = new int[rows.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int next = rows.get(0)[symbol];
+            if (next == NO_STATE) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = next;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (outputs[state] == NO_OUTPUT) {
+                outputs[state] = outputs[fail[state]];
+            }
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int next = rows.get(state)[symbol];
+                int fallback = transitions[fail[state] * symbolCount + symbol];
+                if (next == NO_STATE) {
+                    transitions[state * symbolCount + symbol] = fallback;
+                } else {
+                    fail[next] = fallback;
+                    transitions[state * symbolCount + symbol] = next;
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * 查找文本中最先出现（结束位置最靠前）的关键词
+     *
+     * @param text 待匹配的文本
+     * @return 命中的关键词（小写），未命中时返回 null
+     */
+    public String find(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int symbol = c < ASCII_SIZE ? symbols[toLowerAscii(c)] : NO_SYMBOL;
+            if (symbol == NO_SYMBOL) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * symbolCount + symbol];
+            if (outputs[state] != NO_OUTPUT) {
+                return keywords[outputs[state]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断文本是否包含任一关键词
+     *
+     * @param text 待匹配的文本
+     * @return true-包含
+     */
+    public boolean containsAny(CharSequence text) {
+        return find(text) != null;
+    }
+
+    /**
+     * 新建一行空的转移
+     */
+    private int[] newRow() {
+        int[] row = new int[symbolCount];
+        Arrays.fill(row, NO_STATE);
+        return row;
+    }
+
+    /**
+     * ASCII 大写字母转小写，其余字符不变
+     */
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + CASE_OFFSET) : c;
+    }
+
+}
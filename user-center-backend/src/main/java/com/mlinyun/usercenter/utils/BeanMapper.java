@@ -0,0 +1,181 @@
+package com.mlinyun.usercenter.utils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 预编译的属性拷贝器
+ *
+ * <p>
+ * 与 {@link BeanUtils#copyProperties(Object, Object)} 的属性匹配规则相同：源对象可读、目标对象可写、名称相同且类型兼容的属性才会拷贝。
+ * 区别在于属性匹配只在创建时执行一次，每个 getter/setter 通过 {@link LambdaMetafactory} 编译为普通的函数对象，
+ * 拷贝时不再查找属性描述符，也不经过反射调用，除目标对象外不产生额外的对象
+ * </p>
+ *
+ * <p>
+ * {@link #copyNonNull(Object, Object)} 跳过源对象中值为 null 的属性，用于部分更新，替代“先收集 null 属性名再忽略”的做法。
+ * 实例不可变，应作为静态常量创建并在多线程间共享
+ * </p>
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ */
+public final class BeanMapper<S, T> {
+
+    /**
+     * 目标对象工厂
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * 源对象属性的 getter，与 {@link #setters} 一一对应
+     */
+    private final Function<Object, Object>[] getters;
+
+    /**
+     * 目标对象属性的 setter
+     */
+    private final BiConsumer<Object, Object>[] setters;
+
+    /**
+     * 拷贝的属性名称
+     */
+    private final List<String> propertyNames;
+
+    @SuppressWarnings("unchecked")
+    private BeanMapper(Supplier<T> factory, List<Function<Object, Object>> getters,
+        List<BiConsumer<Object, Object>> setters, List<String> propertyNames) {
+        this.factory = factory;
+        this.getters = getters.toArray(new Function[0]);
+        this.setters = setters.toArray(new BiConsumer[0]);
+        this.propertyNames = List.copyOf(propertyNames);
+    }
+
+    /**
+     * 创建拷贝器
+     *
+     * @param sourceType 源类型
+     * @param targetType 目标类型
+     * @param factory 目标对象工厂，如 {@code UserVO::new}
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     * @return 拷贝器
+     * @throws IllegalStateException 如果无法为某个属性编译访问器
+     */
+    public static <S, T> BeanMapper<S, T> of(Class<S> sourceType, Class<T> targetType, Supplier<T> factory) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<Function<Object, Object>> getters = new ArrayList<>();
+        List<BiConsumer<Object, Object>> setters = new ArrayList<>();
+        List<String> propertyNames = new ArrayList<>();
+        for (PropertyDescriptor targetProperty : BeanUtils.getPropertyDescriptors(targetType)) {
+            Method writeMethod = targetProperty.getWriteMethod();
+            PropertyDescriptor sourceProperty = BeanUtils.getPropertyDescriptor(sourceType, targetProperty.getName());
+            Method readMethod = sourceProperty == null ? null : sourceProperty.getReadMethod();
+            if (writeMethod == null || readMethod == null
+                || !ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType())) {
+                continue;
+            }
+            getters.add(compileGetter(lookup, readMethod));
+            setters.add(compileSetter(lookup, writeMethod));
+            propertyNames.add(targetProperty.getName());
+        }
+        return new BeanMapper<>(factory, getters, setters, propertyNames);
+    }
+
+    /**
+     * 创建目标对象并拷贝全部属性
+     *
+     * @param source 源对象
+     * @return 目标对象，源对象为 null 时返回 null
+     */
+    public T map(S source) {
+        if (source == null) {
+            return null;
+        }
+        return copy(source, factory.get());
+    }
+
+    /**
+     * 拷贝全部属性（包括值为 null 的属性）
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     * @return 目标对象
+     */
+    public T copy(S source, T target) {
+        for (int i = 0; i < getters.length; i++) {
+            setters[i].accept(target, getters[i].apply(source));
+        }
+        return target;
+    }
+
+    /**
+     * 只拷贝值不为 null 的属性，目标对象中对应的原值保持不变
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     * @return 目标对象
+     */
+    public T copyNonNull(S source, T target) {
+        for (int i = 0; i < getters.length; i++) {
+            Object value = getters[i].apply(source);
+            if (value != null) {
+                setters[i].accept(target, value);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 获取拷贝的属性名称
+     *
+     * @return 属性名称（不可修改）
+     */
+    public List<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * 将 getter 编译为 {@link Function}
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileGetter(MethodHandles.Lookup lookup, Method readMethod) {
+        try {
+            MethodHandle handle = lookup.unreflect(readMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class), handle, handle.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("无法编译属性读取方法: " + readMethod, e);
+        }
+    }
+
+    /**
+     * 将 setter 编译为 {@link BiConsumer}
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> compileSetter(MethodHandles.Lookup lookup, Method writeMethod) {
+        try {
+            MethodHandle handle = lookup.unreflect(writeMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class), handle,
+                handle.type().wrap().changeReturnType(void.class));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("无法编译属性写入方法: " + writeMethod, e);
+        }
+    }
+
+}
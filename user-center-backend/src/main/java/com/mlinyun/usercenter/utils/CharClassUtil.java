@@ -0,0 +1,149 @@
+package com.mlinyun.usercenter.utils;
+
+/**
+ * 字符类别工具类
+ *
+ * <p>
+ * 通过预先构建的 ASCII 字符类别表，在单次遍历中完成账号格式和密码字符类别的校验，不使用正则表达式，也不产生中间字符串。
+ * 类别定义与原正则保持一致：{@code \w} 为 {@code [A-Za-z0-9_]}，特殊字符为 {@code ~`!@#$%^&*()-_=+[{]}\|;:'",<.>/?}
+ * </p>
+ */
+public final class CharClassUtil {
+
+    /**
+     * 类别：小写字母
+     */
+    public static final int LOWER = 1;
+
+    /**
+     * 类别：大写字母
+     */
+    public static final int UPPER = 1 << 1;
+
+    /**
+     * 类别：数字
+     */
+    public static final int DIGIT = 1 << 2;
+
+    /**
+     * 类别：特殊字符
+     */
+    public static final int SPECIAL = 1 << 3;
+
+    /**
+     * 类别：不在上述类别中的其他字符（包括所有非 ASCII 字符）
+     */
+    public static final int OTHER = 1 << 4;
+
+    /**
+     * 所有类别位
+     */
+    private static final int CLASS_BITS = LOWER | UPPER | DIGIT | SPECIAL | OTHER;
+
+    /**
+     * 单词字符标记位（{@code \w}），与类别位存放在同一张表中
+     */
+    private static final int WORD = 1 << 5;
+
+    /**
+     * ASCII 字符数
+     */
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * 特殊字符集，与 {@link PasswordUtil} 的密码规则一致
+     */
+    private static final String SPECIAL_CHARS = "~`!@#$%^&*()-_=+[{]}\\|;:'\",<.>/?";
+
+    /**
+     * ASCII 字符类别表
+     */
+    private static final byte[] ASCII_TABLE = new byte[ASCII_SIZE];
+
+    static {
+        for (int c = 0; c < ASCII_SIZE; c++) {
+            ASCII_TABLE[c] = (byte) OTHER;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            ASCII_TABLE[c] = (byte) (LOWER | WORD);
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            ASCII_TABLE[c] = (byte) (UPPER | WORD);
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ASCII_TABLE[c] = (byte) (DIGIT | WORD);
+        }
+        for (int i = 0; i < SPECIAL_CHARS.length(); i++) {
+            ASCII_TABLE[SPECIAL_CHARS.charAt(i)] = (byte) SPECIAL;
+        }
+        ASCII_TABLE['_'] |= (byte) WORD;
+    }
+
+    private CharClassUtil() {
+        // 私有构造函数，防止实例化
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 获取单个字符的类别
+     *
+     * @param c 字符
+     * @return 类别位，取值为 {@link #LOWER}、{@link #UPPER}、{@link #DIGIT}、{@link #SPECIAL} 或 {@link #OTHER}
+     */
+    public static int classOf(char c) {
+        return c < ASCII_SIZE ? ASCII_TABLE[c] & CLASS_BITS : OTHER;
+    }
+
+    /**
+     * 判断字符是否为单词字符（{@code [A-Za-z0-9_]}）
+     *
+     * @param c 字符
+     * @return true-是单词字符
+     */
+    public static boolean isWordChar(char c) {
+        return c < ASCII_SIZE && (ASCII_TABLE[c] & WORD) != 0;
+    }
+
+    /**
+     * 判断字符串是否非空且只包含单词字符，等价于 {@code text.matches("^\\w+$")}
+     *
+     * @param text 待校验的字符串
+     * @return true-格式合法
+     */
+    public static boolean isWordChars(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!isWordChar(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 统计字符串中出现过的字符类别
+     *
+     * @param text 待统计的字符串
+     * @return 各字符类别位的按位或
+     */
+    public static int classMask(CharSequence text) {
+        int mask = 0;
+        for (int i = 0; i < text.length(); i++) {
+            mask |= classOf(text.charAt(i));
+        }
+        return mask;
+    }
+
+    /**
+     * 判断字符是否为正则表达式中 {@code .} 不能匹配的行终止符
+     *
+     * @param c 字符
+     * @return true-是行终止符
+     */
+    public static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+}
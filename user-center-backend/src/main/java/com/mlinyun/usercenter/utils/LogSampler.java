@@ -0,0 +1,118 @@
+package com.mlinyun.usercenter.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 重复日志采样器
+ *
+ * <p>
+ * 按 Key 聚合重复的日志：每个 Key 在一个采样周期内只记录第一次，其余次数只计数，下一次记录时一并输出被跳过的次数。
+ * 用于被恶意请求刷接口时的业务异常和限流日志，避免大量相同的日志拖慢拒绝路径
+ * </p>
+ *
+ * <p>
+ * Key 的数量超过上限时清空全部计数重新开始（只会多记录几条日志），防止以 IP 等作为 Key 时内存无限增长。实例线程安全
+ * </p>
+ */
+public final class LogSampler {
+
+    /**
+     * 本次不需要记录
+     */
+    public static final long SKIP = -1L;
+
+    /**
+     * 采样周期（纳秒）
+     */
+    private final long periodNanos;
+
+    /**
+     * Key 数量上限
+     */
+    private final int maxKeys;
+
+    /**
+     * 时钟（纳秒）
+     */
+    private final LongSupplier clock;
+
+    /**
+     * 各 Key 的采样状态
+     */
+    private final ConcurrentHashMap<Object, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param period 采样周期
+     * @param maxKeys Key 数量上限
+     */
+    public LogSampler(Duration period, int maxKeys) {
+        this(period, maxKeys, System::nanoTime);
+    }
+
+    /**
+     * 构造函数（可指定时钟，供测试使用）
+     *
+     * @param period 采样周期
+     * @param maxKeys Key 数量上限
+     * @param clock 时钟（纳秒）
+     */
+    LogSampler(Duration period, int maxKeys, LongSupplier clock) {
+        this.periodNanos = period.toNanos();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * 判断本次是否需要记录日志
+     *
+     * @param key 聚合 Key，相同 Key 的日志视为重复
+     * @return 需要记录时返回上次记录之后被跳过的次数，不需要记录时返回 {@link #SKIP}
+     */
+    public long sample(Object key) {
+        long now = clock.getAsLong();
+        Window window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxKeys) {
+                windows.clear();
+            }
+            window = windows.putIfAbsent(key, new Window(now));
+            if (window == null) {
+                return 0L;
+            }
+        }
+        long start = window.start.get();
+        if (now - start >= periodNanos && window.start.compareAndSet(start, now)) {
+            return window.skipped.sumThenReset();
+        }
+        window.skipped.increment();
+        return SKIP;
+    }
+
+    /**
+     * 单个 Key 的采样状态
+     */
+    private static final class Window {
+
+        /**
+         * 当前周期的开始时间（纳秒）
+         */
+        private final AtomicLong start;
+
+        /**
+         * 当前周期内跳过的次数
+         */
+        private final LongAdder skipped = new LongAdder();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+
+    }
+
+}
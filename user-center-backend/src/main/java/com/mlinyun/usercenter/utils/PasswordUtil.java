@@ -107,25 +107,45 @@ public final class PasswordUtil {
     private static final String SPECIAL_CHARS = "~`!@#$%^&*()-_=+[{]}\\|;:'\",<.>/?";
 
     /**
-     * 密码中等强度正则： 要求：至少包含字母和数字，可选特殊字符
+     * 强密码必须包含的字符类别：小写字母、大写字母、数字和特殊字符
      */
-    private static final Pattern PATTERN_MEDIUM =
-        Pattern.compile("^(?=.*[A-Za-z])(?=.*\\d)[A-Za-z\\d~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?]{"
-            + PASSWORD_MIN_LENGTH + "," + PASSWORD_MAX_LENGTH + "}$");
+    private static final int STRONG_CLASSES =
+        CharClassUtil.LOWER | CharClassUtil.UPPER | CharClassUtil.DIGIT | CharClassUtil.SPECIAL;
 
     /**
-     * 密码最强强度正则： 要求：必须包含至少一个小写字母，必须包含至少一个大写字母，必须包含至少一个数字，必须包含至少一个特殊字符
+     * 判定为连续重复字符的最小重复次数（如 aaa、111）
      */
-    private static final Pattern PATTERN_STRONG =
-        Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?])"
-            + "[A-Za-z\\d~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?]{" + PASSWORD_MIN_LENGTH + "," + PASSWORD_MAX_LENGTH
-            + "}$");
+    private static final int REPEATED_CHAR_RUN = 3;
+
+    /**
+     * 常见弱密码匹配器（Aho-Corasick 自动机，忽略大小写，单次遍历完成所有弱密码的子串匹配）
+     */
+    private static final AhoCorasickMatcher WEAK_PASSWORD_MATCHER =
+        new AhoCorasickMatcher("123456", "123456789", "111111", "000000", "password", "12345678", "qwerty", "abc123",
+            "admin", "admin123", "root", "123123", "654321", "666666", "888888", "qwerty123", "1qaz2wsx", "asdfgh",
+            "zxcvbn");
 
     /**
      * 安全随机数生成器（线程安全）
      */
     private static final SecureRandom RANDOM = new SecureRandom();
 
+    /**
+     * BCrypt 哈希格式：版本（$2a$、$2b$、$2y$）、两位工作因子（04-31）、22 位盐值和 31 位哈希
+     */
+    private static final Pattern BCRYPT_HASH_PATTERN =
+        Pattern.compile("^\\$2[aby]\\$(?:0[4-9]|[12]\\d|3[01])\\$[./A-Za-z0-9]{53}$");
+
+    /**
+     * BCrypt 哈希中工作因子的起始位置（$2a$ 之后）
+     */
+    private static final int BCRYPT_STRENGTH_OFFSET = 4;
+
+    /**
+     * BCrypt 哈希中工作因子的位数
+     */
+    private static final int BCRYPT_STRENGTH_DIGITS = 2;
+
     /**
      * 私有构造函数，防止实例化
      */
@@ -212,6 +232,31 @@ public final class PasswordUtil {
         }
     }
 
+    /**
+     * 判断字符串是否为 BCrypt 哈希
+     *
+     * <p>
+     * 只校验格式，不做哈希计算，用于导入用户时识别已加密的密码
+     * </p>
+     *
+     * @param value 待判断的字符串
+     * @return true-是 BCrypt 哈希，false-不是
+     */
+    public static boolean isBCryptHash(String value) {
+        return value != null && BCRYPT_HASH_PATTERN.matcher(value).matches();
+    }
+
+    /**
+     * 获取 BCrypt 哈希的工作因子
+     *
+     * @param hashedPassword BCrypt 哈希（已通过 {@link #isBCryptHash(String)} 校验）
+     * @return 工作因子
+     */
+    public static int getBCryptStrength(String hashedPassword) {
+        return Integer.parseInt(
+            hashedPassword.substring(BCRYPT_STRENGTH_OFFSET, BCRYPT_STRENGTH_OFFSET + BCRYPT_STRENGTH_DIGITS));
+    }
+
     /**
      * 校验密码强度（基础级别）
      *
@@ -244,10 +289,12 @@ public final class PasswordUtil {
      * @return true-符合要求，false-不符合要求
      */
     public static boolean isValidMedium(String password) {
-        if (CharSequenceUtil.isBlank(password)) {
+        if (!isValidBasic(password)) {
             return false;
         }
-        return PATTERN_MEDIUM.matcher(password).matches();
+        int mask = CharClassUtil.classMask(password);
+        return (mask & CharClassUtil.OTHER) == 0 && (mask & (CharClassUtil.LOWER | CharClassUtil.UPPER)) != 0
+            && (mask & CharClassUtil.DIGIT) != 0;
     }
 
     /**
@@ -267,10 +314,10 @@ public final class PasswordUtil {
      * @return true-符合要求，false-不符合要求
      */
     public static boolean isValidStrong(String password) {
-        if (CharSequenceUtil.isBlank(password)) {
+        if (!isValidBasic(password)) {
             return false;
         }
-        return PATTERN_STRONG.matcher(password).matches();
+        return CharClassUtil.classMask(password) == STRONG_CLASSES;
     }
 
     /**
@@ -292,21 +339,15 @@ public final class PasswordUtil {
             return true;
         }
 
-        // 常见弱密码列表
-        String[] weakPasswords =
-            {"123456", "123456789", "111111", "000000", "password", "12345678", "qwerty", "abc123", "admin", "admin123",
-                "root", "123123", "654321", "666666", "888888", "qwerty123", "1qaz2wsx", "asdfgh", "zxcvbn"};
-
-        String lowerPassword = password.toLowerCase();
-        for (String weak : weakPasswords) {
-            if (lowerPassword.contains(weak)) {
-                log.warn("检测到弱密码特征: {}", weak);
-                return true;
-            }
+        // 常见弱密码（忽略大小写的子串匹配）
+        String weak = WEAK_PASSWORD_MATCHER.find(password);
+        if (weak != null) {
+            log.warn("检测到弱密码特征: {}", weak);
+            return true;
         }
 
         // 检查连续字符（如 aaa, 111）
-        if (password.matches(".*(\\w)\\1{2,}.*")) {
+        if (hasRepeatedWordChars(password)) {
             log.warn("检测到连续重复字符");
             return true;
         }
@@ -314,6 +355,34 @@ public final class PasswordUtil {
         return false;
     }
 
+    /**
+     * 检查是否存在连续重复 3 次及以上的单词字符
+     *
+     * <p>
+     * 与原正则 {@code .*(\w)\1{2,}.*} 语义一致：{@code .} 不匹配行终止符，因此密码中含有行终止符时不视为重复
+     * </p>
+     *
+     * @param password 待检查的密码
+     * @return true-存在连续重复字符
+     */
+    private static boolean hasRepeatedWordChars(String password) {
+        boolean found = false;
+        int run = 0;
+        char previous = 0;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (CharClassUtil.isLineTerminator(c)) {
+                return false;
+            }
+            run = i > 0 && c == previous ? run + 1 : 1;
+            previous = c;
+            if (run >= REPEATED_CHAR_RUN && CharClassUtil.isWordChar(c)) {
+                found = true;
+            }
+        }
+        return found;
+    }
+
     /**
      * 生成随机强密码
      *
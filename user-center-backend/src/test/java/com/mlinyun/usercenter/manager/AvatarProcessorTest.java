@@ -0,0 +1,215 @@
+package com.mlinyun.usercenter.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mlinyun.usercenter.config.AvatarProcessProperties;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 头像处理器单元测试
+ */
+@DisplayName("AvatarProcessor 头像处理器测试")
+class AvatarProcessorTest {
+
+    private static final int ORIGINAL_WIDTH = 1200;
+
+    private static final int ORIGINAL_HEIGHT = 800;
+
+    private static final int LARGEST_VARIANT_SIZE = 256;
+
+    private static final int SMALL_SIZE = 128;
+
+    private static final long WAIT_SECONDS = 5L;
+
+    private final AvatarProcessor processor = new AvatarProcessor(new AvatarProcessProperties());
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    private Path writePending(String format, int type) throws IOException {
+        BufferedImage image = new BufferedImage(ORIGINAL_WIDTH, ORIGINAL_HEIGHT, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(0, 0, ORIGINAL_WIDTH, ORIGINAL_HEIGHT);
+        graphics.dispose();
+        Path pending = tempDir.resolve(".avatar." + format + ".pending");
+        ImageIO.write(image, format, pending.toFile());
+        return pending;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 构建 GIF 扩展块：引导符、标签、可选的应用标识子块、一个数据子块和块结束符
+     */
+    private static byte[] gifBlock(int label, String identifier, byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0x21);
+        out.write(label);
+        if (identifier != null) {
+            out.write(identifier.length());
+            out.writeBytes(bytes(identifier));
+        }
+        out.write(data.length);
+        out.writeBytes(data);
+        out.write(0);
+        return out.toByteArray();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("重新编码原图并按比例生成各尺寸缩略图，删除待处理文件")
+    void testProcessGeneratesVariants() throws IOException {
+        Path pending = writePending("jpg", BufferedImage.TYPE_INT_RGB);
+        Path original = tempDir.resolve("avatar.jpg");
+
+        processor.process(pending, original);
+
+        assertThat(pending).doesNotExist();
+        assertThat(ImageIO.read(original.toFile()).getWidth()).isEqualTo(ORIGINAL_WIDTH);
+        assertThat(AvatarProcessor.variantOf(original, LARGEST_VARIANT_SIZE).getFileName())
+            .hasToString("avatar_256.jpg");
+        for (int size : processor.getVariantSizes()) {
+            BufferedImage variant = ImageIO.read(AvatarProcessor.variantOf(original, size).toFile());
+            assertThat(variant.getWidth()).isEqualTo(size);
+            assertThat(variant.getHeight()).isEqualTo(Math.round((float) size * ORIGINAL_HEIGHT / ORIGINAL_WIDTH));
+        }
+        assertThat(processor.getCompletedCount()).isEqualTo(1);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.filter(path -> path.toString().endsWith(".tmp"))).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("透明 PNG 缩略图保留透明通道")
+    void testPngKeepsAlpha() throws IOException {
+        Path pending = writePending("png", BufferedImage.TYPE_INT_ARGB);
+        Path original = tempDir.resolve("avatar.png");
+
+        processor.process(pending, original);
+
+        BufferedImage variant = ImageIO.read(AvatarProcessor.variantOf(original, LARGEST_VARIANT_SIZE).toFile());
+        assertThat(variant.getColorModel().hasAlpha()).isTrue();
+        assertThat(variant.getRGB(0, 0) >>> Integer.SIZE - Byte.SIZE).isZero();
+    }
+
+    @Test
+    @DisplayName("GIF 原图去除注释和 XMP 等元数据块，保留帧数据和循环播放扩展，只生成静态缩略图")
+    void testGifMetadataIsStripped() throws IOException {
+        Path pending = writePending("gif", BufferedImage.TYPE_INT_RGB);
+        byte[] encoded = Files.readAllBytes(pending);
+        // 在结束符之前插入注释扩展、XMP 应用扩展和循环播放扩展，结束符之后追加附加数据
+        byte[] body = Arrays.copyOf(encoded, encoded.length - 1);
+        byte[] loop = gifBlock(0xFF, "NETSCAPE2.0", new byte[]{1, 0, 0});
+        Files.write(pending, concat(body, gifBlock(0xFE, null, bytes("secret comment")),
+            gifBlock(0xFF, "XMP DataXMP", bytes("<x:xmpmeta/>")), loop, new byte[]{0x3B}, bytes("appended")));
+        Path original = tempDir.resolve("avatar.gif");
+
+        processor.process(pending, original);
+
+        assertThat(pending).doesNotExist();
+        assertThat(Files.readAllBytes(original)).isEqualTo(concat(body, loop, new byte[]{0x3B}));
+        assertThat(ImageIO.read(original.toFile()).getWidth()).isEqualTo(ORIGINAL_WIDTH);
+        assertThat(AvatarProcessor.variantOf(original, LARGEST_VARIANT_SIZE)).exists();
+    }
+
+    @Test
+    @DisplayName("无法解码的文件被删除并计入失败数")
+    void testUndecodableFileIsDeleted() throws IOException {
+        Path pending = tempDir.resolve(".broken.png.pending");
+        Files.writeString(pending, "not an image", StandardCharsets.UTF_8);
+        Path original = tempDir.resolve("broken.png");
+
+        processor.process(pending, original);
+
+        assertThat(pending).doesNotExist();
+        assertThat(original).doesNotExist();
+        assertThat(AvatarProcessor.variantOf(original, LARGEST_VARIANT_SIZE)).doesNotExist();
+        assertThat(processor.getFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("写出失败时删除待处理文件，相同内容再次上传时可以重新处理")
+    void testFailedProcessDeletesPending() throws IOException {
+        Path pending = writePending("jpg", BufferedImage.TYPE_INT_RGB);
+        Path original = tempDir.resolve("missing").resolve("avatar.jpg");
+
+        processor.process(pending, original);
+
+        assertThat(pending).doesNotExist();
+        assertThat(processor.getFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("停止时删除排队中未处理的待处理文件")
+    void testShutdownDeletesQueuedPending() throws IOException, InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AvatarProcessProperties properties = new AvatarProcessProperties();
+        properties.setThreads(1);
+        AvatarProcessor blocked = new AvatarProcessor(properties);
+        blocked.tryExecute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(started.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        Path pending = writePending("jpg", BufferedImage.TYPE_INT_RGB);
+        Path original = tempDir.resolve("avatar.jpg");
+        blocked.submit(pending, original);
+
+        blocked.shutdown();
+        release.countDown();
+
+        assertThat(pending).doesNotExist();
+        assertThat(original).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("小于缩略图尺寸的图片不放大")
+    void testScaleDoesNotEnlarge() {
+        BufferedImage small = new BufferedImage(SMALL_SIZE, SMALL_SIZE, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage scaled = AvatarProcessor.scale(small, LARGEST_VARIANT_SIZE);
+
+        assertThat(scaled.getWidth()).isEqualTo(SMALL_SIZE);
+    }
+
+}
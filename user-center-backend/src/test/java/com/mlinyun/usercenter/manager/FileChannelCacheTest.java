@@ -0,0 +1,101 @@
+package com.mlinyun.usercenter.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mlinyun.usercenter.config.FileServeProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 打开文件缓存单元测试
+ */
+@DisplayName("FileChannelCache 打开文件缓存测试")
+class FileChannelCacheTest {
+
+    private static final String CONTENT = "avatar";
+
+    private FileChannelCache cache;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        FileServeProperties properties = new FileServeProperties();
+        properties.setOpenFileCacheSize(1);
+        cache = new FileChannelCache(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.invalidateAll();
+    }
+
+    private Path writeFile(String fileName) throws IOException {
+        return Files.writeString(tempDir.resolve(fileName), CONTENT, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("命中缓存时复用文件通道，关闭句柄不关闭缓存的通道")
+    void testCachedChannelIsReused() throws IOException {
+        Path file = writeFile("a.png");
+
+        FileChannelCache.Handle first = cache.open(file, true);
+        first.close();
+        FileChannelCache.Handle second = cache.open(file, true);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.channel().isOpen()).isTrue();
+        assertThat(second.size()).isEqualTo(CONTENT.length());
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        second.close();
+    }
+
+    @Test
+    @DisplayName("被淘汰的通道在使用者关闭句柄后才关闭")
+    void testEvictedChannelClosedAfterRelease() throws IOException {
+        FileChannelCache.Handle inUse = cache.open(writeFile("a.png"), true);
+
+        cache.open(writeFile("b.png"), true).close();
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(inUse.channel().isOpen()).isTrue();
+        inUse.close();
+        assertThat(inUse.channel().isOpen()).isFalse();
+    }
+
+    @Test
+    @DisplayName("失效后重新打开文件，不可缓存的文件关闭句柄即关闭通道")
+    void testInvalidateAndUncacheable() throws IOException {
+        Path file = writeFile("a.png");
+        FileChannelCache.Handle cached = cache.open(file, true);
+        cached.close();
+
+        cache.invalidate(file);
+        FileChannelCache.Handle uncached = cache.open(file, false);
+        uncached.close();
+
+        assertThat(cached.channel().isOpen()).isFalse();
+        assertThat(uncached.channel().isOpen()).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("目录和不存在的文件不能打开")
+    void testDirectoryIsRejected() {
+        assertThatThrownBy(() -> cache.open(tempDir, true)).isInstanceOf(NoSuchFileException.class);
+        assertThatThrownBy(() -> cache.open(tempDir.resolve("missing.png"), true))
+            .isInstanceOf(NoSuchFileException.class);
+    }
+
+}
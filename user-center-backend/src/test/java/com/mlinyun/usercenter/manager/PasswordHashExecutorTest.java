@@ -0,0 +1,195 @@
+package com.mlinyun.usercenter.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.PasswordHashProperties;
+import com.mlinyun.usercenter.exception.BusinessException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 密码哈希执行器单元测试
+ */
+@DisplayName("PasswordHashExecutor 密码哈希执行器测试")
+class PasswordHashExecutorTest {
+
+    /**
+     * 测试使用的最低工作因子（加快测试速度）
+     */
+    private static final int TEST_STRENGTH = 4;
+
+    /**
+     * 校准下限
+     */
+    private static final int MIN_STRENGTH = 10;
+
+    /**
+     * 校准上限
+     */
+    private static final int MAX_STRENGTH = 14;
+
+    /**
+     * 模拟的工作因子 10 单次哈希耗时（毫秒）
+     */
+    private static final long BASE_MILLIS = 60L;
+
+    /**
+     * 校准目标耗时（毫秒）
+     */
+    private static final long TARGET_MILLIS = 250L;
+
+    /**
+     * 等待任务进入队列的超时时间（秒）
+     */
+    private static final long AWAIT_SECONDS = 5L;
+
+    /**
+     * 目标耗时内可达到的最大工作因子：10 → 60ms，11 → 120ms，12 → 240ms，13 → 480ms
+     */
+    private static final int EXPECTED_CALIBRATED_STRENGTH = 12;
+
+    /**
+     * 一次加密加两次校验的哈希次数
+     */
+    private static final int EXPECTED_HASH_COUNT = 3;
+
+    /**
+     * 占满执行器所需的调用数：一个占住唯一的哈希线程，一个占满队列
+     */
+    private static final int SATURATING_CALLS = 2;
+
+    /**
+     * 批量加密的密码个数（多于哈希线程数与队列长度之和）
+     */
+    private static final int BATCH_SIZE = 5;
+
+    /**
+     * BCrypt 哈希中盐值和哈希的总长度
+     */
+    private static final int BCRYPT_SALT_AND_HASH_LENGTH = 53;
+
+    /**
+     * 模拟耗时：工作因子每加 1 耗时翻倍
+     */
+    private static long simulatedNanos(int cost) {
+        return TimeUnit.MILLISECONDS.toNanos(BASE_MILLIS) << (cost - MIN_STRENGTH);
+    }
+
+    @Test
+    @DisplayName("校准：选择不超过目标耗时的最大工作因子")
+    void testCalibrate() {
+        int strength = PasswordHashExecutor.calibrate(MIN_STRENGTH, MAX_STRENGTH,
+            TimeUnit.MILLISECONDS.toNanos(TARGET_MILLIS), PasswordHashExecutorTest::simulatedNanos);
+        assertEquals(EXPECTED_CALIBRATED_STRENGTH, strength);
+    }
+
+    @Test
+    @DisplayName("校准：本机过慢时不低于下限，且不超过上限")
+    void testCalibrateBounds() {
+        assertEquals(MIN_STRENGTH, PasswordHashExecutor.calibrate(MIN_STRENGTH, MAX_STRENGTH, 1L,
+            PasswordHashExecutorTest::simulatedNanos));
+        assertEquals(MAX_STRENGTH, PasswordHashExecutor.calibrate(MIN_STRENGTH, MAX_STRENGTH,
+            TimeUnit.DAYS.toNanos(1), PasswordHashExecutorTest::simulatedNanos));
+    }
+
+    @Test
+    @DisplayName("在专用线程池中加密和校验密码，并记录指标")
+    void testEncryptAndVerify() {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setStrength(TEST_STRENGTH);
+        PasswordHashExecutor executor = new PasswordHashExecutor(properties);
+        try {
+            String hashed = executor.encrypt("Test@123456");
+            assertTrue(hashed.startsWith("$2a$04$"), "应使用配置的工作因子");
+            assertTrue(executor.verify("Test@123456", hashed));
+            assertFalse(executor.verify("Wrong@123456", hashed));
+            assertEquals(EXPECTED_HASH_COUNT, executor.getCompletedCount());
+            assertTrue(executor.getHashNanos() > 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("工作因子超过上限的 BCrypt 哈希不能原样保存")
+    void testAcceptableHash() {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setStrength(TEST_STRENGTH);
+        properties.setMaxStrength(MAX_STRENGTH);
+        PasswordHashExecutor executor = new PasswordHashExecutor(properties);
+        try {
+            String hashed = "$2a$04$" + "a".repeat(BCRYPT_SALT_AND_HASH_LENGTH);
+            assertEquals(MAX_STRENGTH, executor.getMaxStrength());
+            assertTrue(executor.isAcceptableHash(hashed));
+            assertTrue(executor.isAcceptableHash(hashed.replace("$04$", "$14$")));
+            assertFalse(executor.isAcceptableHash(hashed.replace("$04$", "$15$")));
+            assertFalse(executor.isAcceptableHash(hashed.replace("$04$", "$31$")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("批量加密时在飞任务不超过线程数，不会因批量大于队列长度而被拒绝")
+    void testEncryptAll() {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setStrength(TEST_STRENGTH);
+        properties.setThreads(SATURATING_CALLS);
+        properties.setQueueCapacity(1);
+        PasswordHashExecutor executor = new PasswordHashExecutor(properties);
+        try {
+            List<String> rawPasswords = IntStream.range(0, BATCH_SIZE).mapToObj(i -> "Test@12345" + i).toList();
+            List<String> hashed = executor.encryptAll(rawPasswords);
+            assertEquals(BATCH_SIZE, hashed.size());
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                assertTrue(executor.verify(rawPasswords.get(i), hashed.get(i)), "结果应与输入顺序一致");
+            }
+            assertEquals(0, executor.getRejectedCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("队列已满时立即以系统繁忙拒绝，而不是阻塞调用线程")
+    void testBackPressure() throws InterruptedException {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setStrength(TEST_STRENGTH);
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        PasswordHashExecutor executor = new PasswordHashExecutor(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(SATURATING_CALLS);
+        try {
+            for (int i = 0; i < SATURATING_CALLS; i++) {
+                callers.submit(() -> executor.submit(() -> release.await(AWAIT_SECONDS, TimeUnit.SECONDS)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(AWAIT_SECONDS);
+            while (executor.getQueueDepth() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1, executor.getQueueDepth());
+
+            BusinessException exception =
+                assertThrows(BusinessException.class, () -> executor.encrypt("Test@123456"));
+            assertEquals(ResultCodeEnum.SYSTEM_BUSY_ERROR.getCode(), exception.getCode());
+            assertEquals(1, executor.getRejectedCount());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(AWAIT_SECONDS, TimeUnit.SECONDS));
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.mlinyun.usercenter.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.mlinyun.usercenter.config.UserCountCacheProperties;
+import com.mlinyun.usercenter.constant.UserConstant;
+import com.mlinyun.usercenter.model.entity.User;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 用户总数缓存单元测试
+ */
+@DisplayName("UserCountCache 用户总数缓存测试")
+class UserCountCacheTest {
+
+    private static final long TOTAL = 42L;
+
+    private static final long ESTIMATED_TOTAL = 1_000_000L;
+
+    /**
+     * 同一筛选条件统计两次（缓存失效或未启用）
+     */
+    private static final int LOADED_TWICE = 2;
+
+    private final UserCountCache cache = new UserCountCache(new UserCountCacheProperties());
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private static QueryWrapper<User> filter(String userRole, Integer userStatus) {
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq(userRole != null, UserConstant.USER_TABLE_FIELD_USER_ROLE, userRole)
+            .eq(userStatus != null, UserConstant.USER_TABLE_FIELD_USER_STATUS, userStatus);
+        return queryWrapper;
+    }
+
+    private long load() {
+        loadCount.incrementAndGet();
+        return TOTAL;
+    }
+
+    @Test
+    @DisplayName("相同筛选条件只统计一次")
+    void testSameFilterHitsCache() {
+        assertThat(cache.getTotal(filter("admin", 0), this::load)).isEqualTo(TOTAL);
+        assertThat(cache.getTotal(filter("admin", 0), this::load)).isEqualTo(TOTAL);
+
+        assertThat(loadCount).hasValue(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("参数值或条件不同的筛选条件分别缓存")
+    void testDifferentFiltersAreSeparate() {
+        List<QueryWrapper<User>> filters =
+            List.of(filter("admin", 0), filter("user", 0), filter("admin", null), filter(null, null));
+        filters.forEach(queryWrapper -> cache.getTotal(queryWrapper, this::load));
+
+        assertThat(loadCount).hasValue(filters.size());
+        assertThat(cache.size()).isEqualTo(filters.size());
+    }
+
+    @Test
+    @DisplayName("写入用户表后重新统计")
+    void testInvalidateAll() {
+        cache.getTotal(filter("admin", 0), this::load);
+        cache.getEstimatedTotal(() -> ESTIMATED_TOTAL);
+        cache.invalidateAll();
+        cache.getTotal(filter("admin", 0), this::load);
+
+        assertThat(loadCount).hasValue(LOADED_TWICE);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("数据库不支持估算时不缓存估算结果")
+    void testEstimatedTotal() {
+        assertThat(cache.getEstimatedTotal(() -> null)).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getEstimatedTotal(() -> ESTIMATED_TOTAL)).isEqualTo(ESTIMATED_TOTAL);
+        assertThat(cache.getEstimatedTotal(() -> null)).isEqualTo(ESTIMATED_TOTAL);
+    }
+
+    @Test
+    @DisplayName("关闭缓存时每次都重新统计")
+    void testDisabled() {
+        UserCountCacheProperties properties = new UserCountCacheProperties();
+        properties.setEnabled(false);
+        UserCountCache disabled = new UserCountCache(properties);
+        disabled.getTotal(filter("admin", 0), this::load);
+        disabled.getTotal(filter("admin", 0), this::load);
+
+        assertThat(loadCount).hasValue(LOADED_TWICE);
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.mlinyun.usercenter.manager.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 限制并发连接数的数据源单元测试
+ */
+@DisplayName("ConnectionLimitingDataSource 数据库连接并发保护测试")
+class ConnectionLimitingDataSourceTest {
+
+    private static final int MAX_CONCURRENT = 2;
+
+    private static final long ACQUIRE_TIMEOUT_MILLIS = 50L;
+
+    private static final long WAIT_SECONDS = 5L;
+
+    private final DataSource target = mock(DataSource.class);
+
+    private final ConnectionLimitingDataSource dataSource =
+        new ConnectionLimitingDataSource(target, MAX_CONCURRENT, ACQUIRE_TIMEOUT_MILLIS);
+
+    @Test
+    @DisplayName("许可用完时等待超时，关闭连接后归还许可，重复关闭只归还一次")
+    void testPermitsAreReleasedOnClose() throws SQLException {
+        Connection first = mock(Connection.class);
+        when(target.getConnection()).thenReturn(first, mock(Connection.class), mock(Connection.class));
+
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+        assertThat(dataSource.getActiveCount()).isEqualTo(MAX_CONCURRENT);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        connection.close();
+        connection.close();
+        verify(first, times(MAX_CONCURRENT)).close();
+        assertThat(dataSource.getActiveCount()).isEqualTo(1);
+        dataSource.getConnection();
+        assertThat(dataSource.getActiveCount()).isEqualTo(MAX_CONCURRENT);
+    }
+
+    @Test
+    @DisplayName("连接池获取连接失败时归还许可")
+    void testPermitReleasedWhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+        assertThat(dataSource.getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("等待中的线程在连接归还后获得连接，其余方法透传到原连接")
+    void testWaiterGetsReleasedPermit() throws Exception {
+        Connection first = mock(Connection.class);
+        when(first.getAutoCommit()).thenReturn(true);
+        when(target.getConnection()).thenReturn(first, mock(Connection.class), mock(Connection.class));
+        ConnectionLimitingDataSource slowDataSource =
+            new ConnectionLimitingDataSource(target, 1, TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+
+        Connection connection = slowDataSource.getConnection();
+        assertThat(connection.getAutoCommit()).isTrue();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return slowDataSource.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            while (slowDataSource.getWaitingCount() == 0) {
+                Thread.onSpinWait();
+            }
+            connection.close();
+            assertThat(waiter.get(WAIT_SECONDS, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
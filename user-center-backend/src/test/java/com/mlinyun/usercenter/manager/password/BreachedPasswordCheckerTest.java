@@ -0,0 +1,132 @@
+package com.mlinyun.usercenter.manager.password;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cn.hutool.crypto.SecureUtil;
+import com.mlinyun.usercenter.config.BreachedPasswordProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 泄露密码检测器单元测试
+ */
+@DisplayName("BreachedPasswordChecker 泄露密码检测器测试")
+class BreachedPasswordCheckerTest {
+
+    /**
+     * 语料中的密码
+     */
+    private static final List<String> BREACHED = List.of("P@ssw0rd!", "Summer2024!", "Qwerty@123", "密码Abc@123");
+
+    /**
+     * 不在语料中的密码
+     */
+    private static final List<String> NOT_BREACHED = List.of("Zx9#mQ2$vL7!", "kT4&wP8*rN1^", "Hq7!bV3@xC5#");
+
+    /**
+     * 填充语料的记录数
+     */
+    private static final int FILLER_COUNT = 5000;
+
+    /**
+     * 工具读取的单行最大字节数
+     */
+    private static final int MAX_LINE_BYTES = 1024;
+
+    /**
+     * 测试使用的误判率
+     */
+    private static final double FALSE_POSITIVE_RATE = 1e-6;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("明文语料：语料中的密码命中，其他密码不命中")
+    void testPlainCorpus() throws IOException {
+        List<String> lines = new ArrayList<>(BREACHED);
+        for (int i = 0; i < FILLER_COUNT; i++) {
+            lines.add("filler-" + i);
+        }
+        // 混入空行和 Windows 换行符
+        lines.add("");
+        lines.set(0, lines.get(0) + "\r");
+        BreachedPasswordChecker checker = buildChecker(lines, false, BREACHED.size() + FILLER_COUNT);
+
+        assertTrue(checker.isEnabled());
+        BREACHED.forEach(password -> assertTrue(checker.isBreached(password), password));
+        NOT_BREACHED.forEach(password -> assertFalse(checker.isBreached(password), password));
+        assertEquals(BREACHED.size(), checker.getHitCount());
+    }
+
+    @Test
+    @DisplayName("明文语料：超长的行被跳过，不写入截断后的前缀")
+    void testPlainCorpusSkipsOverlongLines() throws IOException {
+        List<String> lines = new ArrayList<>(BREACHED);
+        String overlong = "x".repeat(MAX_LINE_BYTES + 1);
+        lines.add(1, overlong);
+        lines.add(overlong);
+        BreachedPasswordChecker checker = buildChecker(lines, false, BREACHED.size());
+
+        BREACHED.forEach(password -> assertTrue(checker.isBreached(password), password));
+        assertFalse(checker.isBreached("x".repeat(MAX_LINE_BYTES)));
+    }
+
+    @Test
+    @DisplayName("SHA-1 语料：忽略标题行和出现次数，按密码的 SHA-1 查询")
+    void testSha1Corpus() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("SHA1:COUNT");
+        for (String password : BREACHED) {
+            lines.add(SecureUtil.sha1(password).toUpperCase() + ":" + password.length());
+        }
+        BreachedPasswordChecker checker = buildChecker(lines, true, BREACHED.size());
+
+        BREACHED.forEach(password -> assertTrue(checker.isBreached(password), password));
+        NOT_BREACHED.forEach(password -> assertFalse(checker.isBreached(password), password));
+    }
+
+    @Test
+    @DisplayName("未开启检测时不拦截任何密码")
+    void testDisabled() {
+        BreachedPasswordChecker checker = new BreachedPasswordChecker(new BreachedPasswordProperties());
+
+        assertFalse(checker.isEnabled());
+        BREACHED.forEach(password -> assertFalse(checker.isBreached(password)));
+    }
+
+    @Test
+    @DisplayName("过滤器文件格式不正确时启动失败")
+    void testInvalidFilterFile() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("invalid.bin"), "not a filter");
+        BreachedPasswordProperties properties = new BreachedPasswordProperties();
+        properties.setEnabled(true);
+        properties.setFilterPath(file.toString());
+
+        assertThrows(IllegalStateException.class, () -> new BreachedPasswordChecker(properties));
+    }
+
+    private BreachedPasswordChecker buildChecker(List<String> lines, boolean sha1, long expectedEntries)
+        throws IOException {
+        Path corpus = Files.write(tempDir.resolve("corpus.txt"), lines, StandardCharsets.UTF_8);
+        Path output = tempDir.resolve("filter.bin");
+        long entries = BreachedPasswordFilterTool.build(corpus, output, sha1, FALSE_POSITIVE_RATE, 0);
+        assertEquals(expectedEntries, entries);
+
+        BreachedPasswordProperties properties = new BreachedPasswordProperties();
+        properties.setEnabled(true);
+        properties.setFilterPath(output.toString());
+        return new BreachedPasswordChecker(properties);
+    }
+
+}
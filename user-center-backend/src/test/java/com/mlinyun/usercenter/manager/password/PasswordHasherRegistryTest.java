@@ -0,0 +1,91 @@
+package com.mlinyun.usercenter.manager.password;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 密码哈希算法注册表单元测试
+ */
+@DisplayName("PasswordHasherRegistry 密码哈希算法注册表测试")
+class PasswordHasherRegistryTest {
+
+    /**
+     * 测试密码
+     */
+    private static final String PASSWORD = "Test@123456";
+
+    /**
+     * 错误密码
+     */
+    private static final String WRONG_PASSWORD = "Wrong@123456";
+
+    /**
+     * 测试使用的低成本参数（加快测试速度）
+     */
+    private static final int BCRYPT_STRENGTH = 4;
+
+    private static final int PBKDF2_ITERATIONS = 1000;
+
+    private static final int ARGON2_MEMORY_KIB = 64;
+
+    private static final int ARGON2_ITERATIONS = 1;
+
+    private final PasswordHasher bcrypt = new BCryptPasswordHasher(BCRYPT_STRENGTH);
+
+    private final PasswordHasher pbkdf2 = new Pbkdf2PasswordHasher(PBKDF2_ITERATIONS);
+
+    private final PasswordHasher argon2id = new Argon2idPasswordHasher(ARGON2_MEMORY_KIB, ARGON2_ITERATIONS, 1);
+
+    private PasswordHasherRegistry registry(PasswordHasher defaultHasher) {
+        return new PasswordHasherRegistry(defaultHasher, List.of(bcrypt, pbkdf2, argon2id));
+    }
+
+    @Test
+    @DisplayName("每种算法都能生成并校验自身格式的哈希")
+    void testRoundTrip() {
+        for (PasswordHasher hasher : List.of(bcrypt, pbkdf2, argon2id)) {
+            PasswordHasherRegistry registry = registry(hasher);
+            String hashed = registry.hash(PASSWORD);
+            assertTrue(hasher.supports(hashed), hasher.id() + " 应生成自身前缀的哈希");
+            assertTrue(registry.verify(PASSWORD, hashed), hasher.id() + " 正确密码应校验通过");
+            assertFalse(registry.verify(WRONG_PASSWORD, hashed), hasher.id() + " 错误密码应校验失败");
+            assertFalse(registry.needsRehash(hashed), hasher.id() + " 默认算法生成的哈希无需升级");
+        }
+    }
+
+    @Test
+    @DisplayName("切换默认算法后，历史算法的哈希仍可校验且需要升级")
+    void testVerifyLegacyAlgorithm() {
+        String legacy = registry(bcrypt).hash(PASSWORD);
+        PasswordHasherRegistry registry = registry(argon2id);
+        assertTrue(registry.verify(PASSWORD, legacy));
+        assertTrue(registry.needsRehash(legacy));
+    }
+
+    @Test
+    @DisplayName("成本参数低于当前配置时需要升级")
+    void testNeedsRehashOnLowerCost() {
+        String weak = new Pbkdf2PasswordHasher(PBKDF2_ITERATIONS).hash(PASSWORD);
+        PasswordHasher stronger = new Pbkdf2PasswordHasher(PBKDF2_ITERATIONS + 1);
+        PasswordHasherRegistry registry = new PasswordHasherRegistry(stronger, List.of(bcrypt, stronger));
+        assertTrue(registry.verify(PASSWORD, weak), "迭代次数存储在哈希中，旧哈希仍可校验");
+        assertTrue(registry.needsRehash(weak));
+    }
+
+    @Test
+    @DisplayName("无法识别或损坏的哈希校验失败而不抛出异常")
+    void testUnknownFormat() {
+        PasswordHasherRegistry registry = registry(bcrypt);
+        assertFalse(registry.verify(PASSWORD, "plain-text"));
+        assertFalse(registry.needsRehash("plain-text"));
+        assertFalse(registry.verify(PASSWORD, "$pbkdf2-sha256$i=x$broken"));
+        assertFalse(registry.verify(PASSWORD, "$argon2id$v=19$m=64$broken"));
+        assertThrows(IllegalArgumentException.class, () -> registry.hash(" "));
+    }
+
+}
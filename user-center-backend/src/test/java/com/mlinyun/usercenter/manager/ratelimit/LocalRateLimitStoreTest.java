@@ -0,0 +1,159 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mlinyun.usercenter.annotation.RateLimit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 本地限流引擎单元测试
+ */
+@DisplayName("LocalRateLimitStore 本地限流引擎测试")
+class LocalRateLimitStoreTest {
+
+    /**
+     * 时间窗口内允许的最大请求次数
+     */
+    private static final int MAX_COUNT = 5;
+
+    /**
+     * 时间窗口（纳秒）：60 秒
+     */
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    /**
+     * 半个时间窗口（纳秒）
+     */
+    private static final long HALF_WINDOW_NANOS = WINDOW_NANOS / 2;
+
+    /**
+     * 并发线程数
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * 每个线程的请求次数
+     */
+    private static final int ATTEMPTS_PER_THREAD = 1000;
+
+    /**
+     * 手动控制的时钟
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    private LocalRateLimitStore rateLimitStore;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitStore = new LocalRateLimitStore(clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimitStore.shutdown();
+    }
+
+    private RateLimitRule rule(RateLimit.Algorithm algorithm) {
+        return new RateLimitRule(algorithm, MAX_COUNT, WINDOW_NANOS);
+    }
+
+    @Test
+    @DisplayName("令牌桶：允许突发 maxCount 次，之后按间隔补充令牌")
+    void testTokenBucket() {
+        RateLimitRule rule = rule(RateLimit.Algorithm.TOKEN_BUCKET);
+        for (int i = 0; i < MAX_COUNT; i++) {
+            assertTrue(rateLimitStore.tryAcquire("key", rule), "突发请求应被允许");
+        }
+        assertFalse(rateLimitStore.tryAcquire("key", rule), "令牌耗尽后应被限流");
+
+        // 经过一个补充间隔后恢复一个令牌
+        clock.addAndGet(WINDOW_NANOS / MAX_COUNT);
+        assertTrue(rateLimitStore.tryAcquire("key", rule), "补充令牌后应被允许");
+        assertFalse(rateLimitStore.tryAcquire("key", rule), "只补充了一个令牌");
+    }
+
+    @Test
+    @DisplayName("滑动窗口：上一窗口的请求按重叠比例计入当前窗口")
+    void testSlidingWindow() {
+        RateLimitRule rule = rule(RateLimit.Algorithm.SLIDING_WINDOW);
+        for (int i = 0; i < MAX_COUNT; i++) {
+            assertTrue(rateLimitStore.tryAcquire("key", rule), "窗口内请求应被允许");
+        }
+        assertFalse(rateLimitStore.tryAcquire("key", rule), "超过窗口上限应被限流");
+
+        // 进入下一窗口的起点，上一窗口权重接近 1，仍应被限流
+        clock.set(WINDOW_NANOS);
+        assertFalse(rateLimitStore.tryAcquire("key", rule), "窗口边界不应出现突刺");
+
+        // 下一窗口过半，上一窗口权重为 0.5，估算值 2.5 + 1 <= 5
+        clock.set(WINDOW_NANOS + HALF_WINDOW_NANOS);
+        assertTrue(rateLimitStore.tryAcquire("key", rule), "上一窗口权重衰减后应被允许");
+    }
+
+    @Test
+    @DisplayName("不同 Key 之间互不影响")
+    void testKeysAreIndependent() {
+        RateLimitRule rule = rule(RateLimit.Algorithm.SLIDING_WINDOW);
+        for (int i = 0; i < MAX_COUNT; i++) {
+            rateLimitStore.tryAcquire("a", rule);
+        }
+        assertFalse(rateLimitStore.tryAcquire("a", rule));
+        assertTrue(rateLimitStore.tryAcquire("b", rule));
+    }
+
+    @Test
+    @DisplayName("后台清理只移除空闲的限流状态")
+    void testSweepRemovesIdleStates() {
+        RateLimitRule rule = rule(RateLimit.Algorithm.TOKEN_BUCKET);
+        rateLimitStore.tryAcquire("key", rule);
+        rateLimitStore.sweep();
+        assertEquals(1, rateLimitStore.size(), "未空闲的状态不应被清理");
+
+        clock.addAndGet(WINDOW_NANOS);
+        rateLimitStore.sweep();
+        assertEquals(0, rateLimitStore.size(), "空闲的状态应被清理");
+    }
+
+    @Test
+    @DisplayName("并发访问时允许的请求数恰好等于上限")
+    void testConcurrentAcquire() throws Exception {
+        for (RateLimit.Algorithm algorithm : RateLimit.Algorithm.values()) {
+            RateLimitRule rule = rule(algorithm);
+            String key = "concurrent:" + algorithm;
+            AtomicInteger allowed = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                            if (rateLimitStore.tryAcquire(key, rule)) {
+                                allowed.incrementAndGet();
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(MAX_COUNT, allowed.get(), algorithm + " 并发下允许的请求数不正确");
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.mlinyun.usercenter.manager.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mlinyun.usercenter.annotation.RateLimit;
+import com.mlinyun.usercenter.config.RedisClientProperties;
+import com.mlinyun.usercenter.manager.redis.FakeRespServer;
+import com.mlinyun.usercenter.manager.redis.RespClient;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 共享存储限流与混合限流单元测试
+ *
+ * <p>
+ * 使用进程内的 {@link FakeRespServer} 代替真实的 Redis，两个存储实例共享同一个服务端，模拟多实例部署
+ * </p>
+ */
+@DisplayName("RedisRateLimitStore 共享存储限流测试")
+class RedisRateLimitStoreTest {
+
+    /**
+     * 时间窗口内允许的最大请求次数
+     */
+    private static final int MAX_COUNT = 10;
+
+    /**
+     * 时间窗口（毫秒）：60 秒
+     */
+    private static final long WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    /**
+     * 半个时间窗口（毫秒）
+     */
+    private static final long HALF_WINDOW_MILLIS = WINDOW_MILLIS / 2;
+
+    /**
+     * 半个窗口后恢复的配额
+     */
+    private static final int HALF_MAX_COUNT = MAX_COUNT / 2;
+
+    /**
+     * 每个实例的请求次数
+     */
+    private static final int ATTEMPTS_PER_NODE = 100;
+
+    /**
+     * 混合模式单次预租的最大配额
+     */
+    private static final int LEASE_SIZE = 10;
+
+    /**
+     * 混合模式预计实例数
+     */
+    private static final int EXPECTED_NODES = 2;
+
+    /**
+     * 首次执行脚本的命令数：EVALSHA 返回 NOSCRIPT 后回退到 EVAL
+     */
+    private static final int FIRST_EVAL_COMMANDS = 2;
+
+    /**
+     * 限流规则
+     */
+    private static final RateLimitRule RULE = new RateLimitRule(RateLimit.Algorithm.SLIDING_WINDOW, MAX_COUNT,
+        TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS));
+
+    /**
+     * 手动控制的墙上时钟，从某个窗口的起点开始
+     */
+    private final AtomicLong wallClock = new AtomicLong(WINDOW_MILLIS * MAX_COUNT);
+
+    private final List<RespClient> clients = new ArrayList<>();
+
+    private final List<LocalRateLimitStore> localStores = new ArrayList<>();
+
+    private FakeRespServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeRespServer();
+        server.registerScript(RedisRateLimitStore.ACQUIRE_SCRIPT, RedisRateLimitStoreTest::acquireScript);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        clients.forEach(RespClient::close);
+        localStores.forEach(LocalRateLimitStore::shutdown);
+        server.close();
+    }
+
+    /**
+     * 申请配额脚本的 Java 等价实现
+     */
+    private static Object acquireScript(Map<String, String> data, List<String> keys, List<String> args) {
+        Iterator<String> arg = args.iterator();
+        long limit = Long.parseLong(arg.next());
+        long requested = Long.parseLong(arg.next());
+        long weight = Long.parseLong(arg.next());
+        long scale = Long.parseLong(arg.next());
+        long current = Long.parseLong(data.getOrDefault(keys.get(0), "0"));
+        long previous = Long.parseLong(data.getOrDefault(keys.get(1), "0"));
+        long available = Math.floorDiv(limit * scale - previous * weight, scale) - current;
+        if (available <= 0) {
+            return 0L;
+        }
+        long granted = Math.min(available, requested);
+        data.put(keys.get(0), String.valueOf(current + granted));
+        return granted;
+    }
+
+    /**
+     * 创建一个连接到模拟服务端的存储实例（模拟一个应用实例）
+     */
+    private RedisRateLimitStore newNode() {
+        RedisClientProperties properties = new RedisClientProperties();
+        properties.setPort(server.getPort());
+        RespClient client = new RespClient(properties);
+        clients.add(client);
+        LocalRateLimitStore localStore = new LocalRateLimitStore(System::nanoTime);
+        localStores.add(localStore);
+        return new RedisRateLimitStore(client, localStore, wallClock::get);
+    }
+
+    private static int countAllowed(RateLimitStore first, RateLimitStore second) {
+        int allowed = 0;
+        for (int i = 0; i < ATTEMPTS_PER_NODE; i++) {
+            allowed += first.tryAcquire("key", RULE) ? 1 : 0;
+            allowed += second.tryAcquire("key", RULE) ? 1 : 0;
+        }
+        return allowed;
+    }
+
+    @Test
+    @DisplayName("多实例共享计数：集群总放行次数等于 maxCount")
+    void testSharedLimitAcrossNodes() {
+        assertEquals(MAX_COUNT, countAllowed(newNode(), newNode()), "两个实例合计只能放行 maxCount 次");
+    }
+
+    @Test
+    @DisplayName("每次判断只有一次网络往返，脚本只在首次执行时完整发送")
+    void testSingleRoundTrip() {
+        RedisRateLimitStore node = newNode();
+        assertTrue(node.tryAcquire("key", RULE));
+        assertEquals(FIRST_EVAL_COMMANDS, server.getCommandCount());
+        assertTrue(node.tryAcquire("key", RULE));
+        assertEquals(FIRST_EVAL_COMMANDS + 1, server.getCommandCount(), "脚本缓存后每次判断只发送一条 EVALSHA");
+    }
+
+    @Test
+    @DisplayName("滑动窗口：上一个窗口的计数按剩余时间比例计入")
+    void testSlidingWindow() {
+        RedisRateLimitStore node = newNode();
+        for (int i = 0; i < MAX_COUNT; i++) {
+            assertTrue(node.tryAcquire("key", RULE));
+        }
+        assertFalse(node.tryAcquire("key", RULE));
+
+        // 刚进入下一个窗口时上一个窗口的计数全部计入，仍被限流
+        wallClock.addAndGet(WINDOW_MILLIS);
+        assertFalse(node.tryAcquire("key", RULE), "窗口切换不应立即释放全部配额");
+
+        // 经过半个窗口后上一个窗口只计入一半
+        wallClock.addAndGet(HALF_WINDOW_MILLIS);
+        int allowed = 0;
+        for (int i = 0; i < MAX_COUNT; i++) {
+            allowed += node.tryAcquire("key", RULE) ? 1 : 0;
+        }
+        assertEquals(HALF_MAX_COUNT, allowed, "半个窗口后应恢复一半配额");
+    }
+
+    @Test
+    @DisplayName("混合模式：本地消费预租配额，集群总放行次数不超过 maxCount")
+    void testLeasing() {
+        LeasingRateLimitStore first = new LeasingRateLimitStore(newNode(), LEASE_SIZE, EXPECTED_NODES);
+        LeasingRateLimitStore second = new LeasingRateLimitStore(newNode(), LEASE_SIZE, EXPECTED_NODES);
+        try {
+            for (int i = 0; i < MAX_COUNT / EXPECTED_NODES; i++) {
+                assertTrue(first.tryAcquire("key", RULE));
+                assertTrue(second.tryAcquire("key", RULE));
+            }
+            // 每个实例只续租一次，其余请求都在本地消费预租配额
+            assertEquals(1, first.getRefillCount());
+            assertEquals(1, second.getRefillCount());
+            assertEquals(0, countAllowed(first, second), "预租不应导致超额放行");
+        } finally {
+            first.shutdown();
+            second.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("共享存储不可用时降级为本地限流")
+    void testFallbackToLocal() {
+        RedisRateLimitStore node = newNode();
+        server.setUnavailable(true);
+        for (int i = 0; i < MAX_COUNT; i++) {
+            assertTrue(node.tryAcquire("key", RULE), "降级后按本地限流放行");
+        }
+        assertFalse(node.tryAcquire("key", RULE), "降级后仍然限流");
+    }
+
+}
@@ -0,0 +1,318 @@
+package com.mlinyun.usercenter.manager.redis;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内的 Redis 协议（RESP2）模拟服务端，供单元测试使用
+ *
+ * <p>
+ * 支持 PING、AUTH、SELECT、GET、SET、INCRBY、PEXPIRE、DEL、EVAL 和 EVALSHA。 Lua 脚本不会被真正解释执行，而是由测试按脚本内容注册等价的 Java 实现；
+ * EVALSHA 在脚本通过 EVAL 执行过之前返回 NOSCRIPT，与真实服务端一致。所有命令串行执行，等价于 Redis 的单线程模型
+ * </p>
+ */
+public class FakeRespServer implements Closeable {
+
+    /**
+     * EVAL / EVALSHA 命令中第一个 Key 的位置（命令名、脚本、Key 数量之后）
+     */
+    private static final int FIRST_KEY_INDEX = 3;
+
+    /**
+     * 命令第二个参数的位置
+     */
+    private static final int SECOND_ARG_INDEX = 2;
+
+    /**
+     * 脚本的 Java 实现
+     */
+    @FunctionalInterface
+    public interface ScriptHandler {
+
+        /**
+         * 执行脚本
+         *
+         * @param data 键值数据
+         * @param keys 脚本访问的 Key
+         * @param args 脚本参数
+         * @return 脚本返回值（Long、String 或 null）
+         */
+        Object run(Map<String, String> data, List<String> keys, List<String> args);
+
+    }
+
+    /**
+     * 键值数据
+     */
+    private final Map<String, String> data = new ConcurrentHashMap<>();
+
+    /**
+     * 已注册的脚本：key = SHA1
+     */
+    private final Map<String, ScriptHandler> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * 已通过 EVAL 加载的脚本 SHA1
+     */
+    private final Map<String, Boolean> loadedScripts = new ConcurrentHashMap<>();
+
+    /**
+     * 已处理的命令数
+     */
+    private final AtomicLong commandCount = new AtomicLong();
+
+    /**
+     * 已接受的客户端连接
+     */
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 服务端套接字
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * 是否模拟服务不可用（拒绝处理命令并断开连接）
+     */
+    private volatile boolean unavailable;
+
+    /**
+     * 是否模拟回复丢失（执行命令后不回复并断开连接）
+     */
+    private volatile boolean dropReplies;
+
+    /**
+     * 在随机端口启动服务端
+     *
+     * @throws IOException 端口绑定失败
+     */
+    public FakeRespServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "fake-resp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * 注册脚本的 Java 实现
+     *
+     * @param script 脚本内容
+     * @param handler Java 实现
+     */
+    public void registerScript(String script, ScriptHandler handler) {
+        handlers.put(DigestUtil.sha1Hex(script), handler);
+    }
+
+    /**
+     * 获取监听端口
+     *
+     * @return 端口
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 获取已处理的命令数
+     *
+     * @return 命令数
+     */
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+
+    /**
+     * 获取键值数据
+     *
+     * @return 键值数据
+     */
+    public Map<String, String> getData() {
+        return data;
+    }
+
+    /**
+     * 设置是否模拟服务不可用
+     *
+     * @param unavailable 是否不可用
+     */
+    public void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    /**
+     * 设置是否模拟回复丢失
+     *
+     * @param dropReplies 是否在执行命令后不回复并断开连接
+     */
+    public void setDropReplies(boolean dropReplies) {
+        this.dropReplies = dropReplies;
+    }
+
+    /**
+     * 断开所有已建立的客户端连接（模拟服务端重启或超时断开空闲连接）
+     *
+     * @throws IOException 关闭连接失败
+     */
+    public void closeConnections() throws IOException {
+        for (Socket socket : connections) {
+            socket.close();
+        }
+        connections.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                Thread worker = new Thread(() -> serve(socket), "fake-resp-worker");
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                List<String> command = readCommand(in);
+                // 关闭套接字时正阻塞在读取上的线程仍可能读到数据，已断开的连接不再执行命令
+                if (unavailable || socket.isClosed()) {
+                    return;
+                }
+                Object reply = dispatch(command);
+                if (dropReplies) {
+                    return;
+                }
+                writeReply(out, reply);
+                // 管道中的命令全部读完后再统一刷新
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // 客户端断开连接
+        }
+    }
+
+    private synchronized Object dispatch(List<String> command) {
+        commandCount.incrementAndGet();
+        String name = command.get(0).toUpperCase();
+        return switch (name) {
+            case "PING" -> "PONG";
+            case "AUTH", "SELECT", "PEXPIRE" -> "OK";
+            case "GET" -> data.get(command.get(1));
+            case "SET" -> {
+                data.put(command.get(1), command.get(SECOND_ARG_INDEX));
+                yield "OK";
+            }
+            case "DEL" -> data.remove(command.get(1)) == null ? 0L : 1L;
+            case "INCRBY" -> {
+                long value = Long.parseLong(data.getOrDefault(command.get(1), "0")) + Long.parseLong(command.get(SECOND_ARG_INDEX));
+                data.put(command.get(1), String.valueOf(value));
+                yield value;
+            }
+            case "EVAL" -> {
+                String sha = DigestUtil.sha1Hex(command.get(1));
+                loadedScripts.put(sha, Boolean.TRUE);
+                yield runScript(sha, command);
+            }
+            case "EVALSHA" -> loadedScripts.containsKey(command.get(1)) ? runScript(command.get(1), command)
+                : new ErrorReply("NOSCRIPT No matching script. Please use EVAL.");
+            default -> new ErrorReply("ERR unknown command '" + name + "'");
+        };
+    }
+
+    private Object runScript(String sha, List<String> command) {
+        ScriptHandler handler = handlers.get(sha);
+        if (handler == null) {
+            return new ErrorReply("ERR script not registered in fake server");
+        }
+        int keyCount = Integer.parseInt(command.get(SECOND_ARG_INDEX));
+        List<String> keys = command.subList(FIRST_KEY_INDEX, FIRST_KEY_INDEX + keyCount);
+        List<String> args = command.subList(FIRST_KEY_INDEX + keyCount, command.size());
+        return handler.run(data, keys, args);
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header.charAt(0) != '*') {
+            throw new IOException("只支持数组形式的命令");
+        }
+        int size = Integer.parseInt(header.substring(1));
+        List<String> command = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] bytes = in.readNBytes(length);
+            readLine(in);
+            command.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            line.append((char) b);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void writeReply(OutputStream out, Object reply) throws IOException {
+        String text;
+        if (reply == null) {
+            text = "$-1\r\n";
+        } else if (reply instanceof Long value) {
+            text = ":" + value + "\r\n";
+        } else if (reply instanceof ErrorReply error) {
+            text = "-" + error.message() + "\r\n";
+        } else if ("OK".equals(reply) || "PONG".equals(reply)) {
+            text = "+" + reply + "\r\n";
+        } else {
+            byte[] bytes = reply.toString().getBytes(StandardCharsets.UTF_8);
+            out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            text = "\r\n";
+        }
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 错误回复
+     *
+     * @param message 错误信息
+     */
+    private record ErrorReply(String message) {
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.mlinyun.usercenter.manager.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mlinyun.usercenter.config.RedisClientProperties;
+import java.io.IOException;
+import java.net.ConnectException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Redis 协议客户端单元测试
+ *
+ * <p>
+ * 使用进程内的 {@link FakeRespServer} 代替真实的 Redis
+ * </p>
+ */
+@DisplayName("RespClient Redis 协议客户端测试")
+class RespClientTest {
+
+    private FakeRespServer server;
+
+    private RedisClientProperties properties;
+
+    private RespClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeRespServer();
+        properties = new RedisClientProperties();
+        properties.setPort(server.getPort());
+        client = new RespClient(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("空闲连接被服务端断开后换新连接重试一次，命令只执行一次")
+    void testRetryOnStaleIdleConnection() throws IOException {
+        client.execute("SET", "key", "value");
+        server.closeConnections();
+
+        assertEquals("value", RespClient.asString(client.execute("GET", "key")));
+        assertEquals(2L, server.getCommandCount());
+    }
+
+    @Test
+    @DisplayName("命令已发出后连接断开时，不幂等的命令不重试，避免重复执行")
+    void testNoRetryForNonIdempotentCommandAfterSend() throws IOException {
+        client.execute("PING");
+        server.setDropReplies(true);
+
+        assertThrows(IOException.class, () -> client.execute("INCRBY", "counter", "1"));
+        assertEquals("1", server.getData().get("counter"));
+        assertEquals(2L, server.getCommandCount());
+    }
+
+    @Test
+    @DisplayName("命令已发出后连接断开时，幂等的命令换新连接重试")
+    void testRetryIdempotentCommandAfterSend() throws IOException {
+        client.execute("PING");
+        server.setDropReplies(true);
+
+        assertThrows(IOException.class, () -> client.execute("SET", "key", "value"));
+        assertEquals(3L, server.getCommandCount(), "复用连接失败后用新连接重试一次");
+    }
+
+    @Test
+    @DisplayName("服务不可用时重试后仍然失败，异常交给调用方")
+    void testUnavailableAfterRetry() throws IOException {
+        client.execute("PING");
+        server.setUnavailable(true);
+
+        assertThrows(IOException.class, () -> client.execute("GET", "key"));
+    }
+
+    @Test
+    @DisplayName("建立连接失败后进入退避，期间不再尝试连接")
+    void testReconnectBackoff() throws IOException {
+        server.close();
+        RespClient unreachable = new RespClient(properties);
+
+        assertThrows(ConnectException.class, () -> unreachable.execute("PING"));
+        IOException backoff = assertThrows(IOException.class, () -> unreachable.execute("PING"));
+        assertEquals(IOException.class, backoff.getClass(), "退避期间直接失败，不再建立 TCP 连接");
+        unreachable.close();
+    }
+
+}
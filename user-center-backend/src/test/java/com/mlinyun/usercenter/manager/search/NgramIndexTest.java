@@ -0,0 +1,119 @@
+package com.mlinyun.usercenter.manager.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * n-gram 倒排索引单元测试
+ */
+@DisplayName("NgramIndex n-gram 倒排索引测试")
+class NgramIndexTest {
+
+    private static final int MAX_HITS = 1000;
+
+    private static final long SEED = 20251017L;
+
+    private static final int USER_COUNT = 3000;
+
+    private static final int ROUNDS = 20000;
+
+    private static final int MAX_TEXT_LENGTH = 8;
+
+    private static final long USER_ID = 1899878538809757698L;
+
+    /**
+     * 随机文本使用的字符（字符集较小，使二元组大量重复）
+     */
+    private static final String ALPHABET = "凌云张王李小明aB_1";
+
+    private final NgramIndex index = new NgramIndex();
+
+    private static String randomText(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(MAX_TEXT_LENGTH) + 1;
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    private static long[] sorted(long[] ids) {
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    @DisplayName("子串匹配，忽略大小写，重复的二元组不产生重复结果")
+    void testSubstringMatch() {
+        index.put(USER_ID, "凌云凌云Admin");
+
+        assertThat(index.search("凌云", MAX_HITS)).containsExactly(USER_ID);
+        assertThat(index.search("云凌", MAX_HITS)).containsExactly(USER_ID);
+        assertThat(index.search("ADMIN", MAX_HITS)).containsExactly(USER_ID);
+        assertThat(index.search("云", MAX_HITS)).containsExactly(USER_ID);
+        assertThat(index.search("凌云A", MAX_HITS)).containsExactly(USER_ID);
+        assertThat(index.search("凌云云", MAX_HITS)).isEmpty();
+        assertThat(index.search("管理员", MAX_HITS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("更新后只能按新文本搜索到，删除后搜索不到")
+    void testUpdateAndRemove() {
+        index.put(USER_ID, "凌云");
+        index.put(USER_ID, "小明");
+
+        assertThat(index.search("凌云", MAX_HITS)).isEmpty();
+        assertThat(index.search("小明", MAX_HITS)).containsExactly(USER_ID);
+
+        index.put(USER_ID, null);
+        assertThat(index.search("小明", MAX_HITS)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("命中数量超过上限时返回 null")
+    void testTooManyHits() {
+        index.put(USER_ID, "凌云");
+        index.put(USER_ID + 1, "凌云");
+
+        assertThat(index.search("凌云", 1)).isNull();
+        assertThat(index.search("凌", 1)).isNull();
+        assertThat(index.search("凌云", MAX_HITS)).hasSize(index.size());
+    }
+
+    @Test
+    @DisplayName("随机写入、更新、删除（触发压缩）后结果与逐条 contains 一致")
+    void testMatchesBruteForce() {
+        Random random = new Random(SEED);
+        Map<Long, String> expected = new HashMap<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            long id = random.nextInt(USER_COUNT);
+            if (random.nextInt(MAX_TEXT_LENGTH) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                String text = randomText(random);
+                index.put(id, text);
+                expected.put(id, text.toLowerCase());
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        for (int query = 0; query < USER_COUNT; query++) {
+            String term = randomText(random).toLowerCase();
+            long[] want = expected.entrySet().stream().filter(entry -> entry.getValue().contains(term))
+                .mapToLong(Map.Entry::getKey).sorted().toArray();
+            long[] got = index.search(term, USER_COUNT);
+            assertThat(got).isNotNull();
+            assertThat(sorted(got)).as(term).containsExactly(want);
+        }
+    }
+
+}
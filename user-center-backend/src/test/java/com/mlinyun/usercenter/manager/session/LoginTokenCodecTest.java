@@ -0,0 +1,61 @@
+package com.mlinyun.usercenter.manager.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 登录令牌编解码器单元测试
+ */
+@DisplayName("LoginTokenCodec 登录令牌测试")
+class LoginTokenCodecTest {
+
+    /**
+     * 访问令牌有效期（秒）
+     */
+    private static final long TTL_SECONDS = 900L;
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final LoginPrincipal PRINCIPAL = new LoginPrincipal(1899878538809757698L, "admin", 0, 3,
+        1_800_000_000L);
+
+    /**
+     * 手动控制的时钟（秒）
+     */
+    private final AtomicLong clock = new AtomicLong(PRINCIPAL.issuedAt());
+
+    private final LoginTokenCodec codec = new LoginTokenCodec(SECRET, clock::get);
+
+    @Test
+    @DisplayName("签发的令牌可以校验，过期后失效")
+    void testIssueAndExpire() {
+        String token = codec.issue(LoginTokenCodec.Type.ACCESS, PRINCIPAL, TTL_SECONDS);
+
+        assertEquals(PRINCIPAL, codec.verify(token, LoginTokenCodec.Type.ACCESS));
+        clock.addAndGet(TTL_SECONDS);
+        assertNull(codec.verify(token, LoginTokenCodec.Type.ACCESS));
+    }
+
+    @Test
+    @DisplayName("类型不符、篡改或其他密钥签发的令牌无法通过校验")
+    void testRejectsInvalidTokens() {
+        String token = codec.issue(LoginTokenCodec.Type.REFRESH, PRINCIPAL, TTL_SECONDS);
+        byte[] otherSecret = Arrays.copyOf(SECRET, SECRET.length);
+        otherSecret[0]++;
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+
+        assertNull(codec.verify(token, LoginTokenCodec.Type.ACCESS), "刷新令牌不能作为访问令牌使用");
+        assertNull(codec.verify(tampered, LoginTokenCodec.Type.REFRESH));
+        assertNull(codec.verify("not-a-token", LoginTokenCodec.Type.REFRESH));
+        assertNull(new LoginTokenCodec(otherSecret, clock::get).verify(token, LoginTokenCodec.Type.REFRESH));
+        assertThrows(IllegalArgumentException.class, () -> new LoginTokenCodec(new byte[1]));
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.mlinyun.usercenter.manager.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 本地会话存储单元测试
+ */
+@DisplayName("MappedSessionStore 本地会话存储测试")
+class MappedSessionStoreTest {
+
+    /**
+     * 槽位数
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * 最多保存的会话数（容量的 3/4）
+     */
+    private static final int MAX_SESSIONS = 12;
+
+    /**
+     * 空闲超时时间（秒）
+     */
+    private static final long IDLE_TIMEOUT_SECONDS = 600L;
+
+    /**
+     * 手动控制的时钟（秒）
+     */
+    private final AtomicLong clock = new AtomicLong(1_800_000_000L);
+
+    private final List<MappedSessionStore> stores = new ArrayList<>();
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(MappedSessionStore::close);
+    }
+
+    private MappedSessionStore open(Path file) throws IOException {
+        MappedSessionStore store = new MappedSessionStore(file, CAPACITY, IDLE_TIMEOUT_SECONDS, clock::get);
+        stores.add(store);
+        return store;
+    }
+
+    private static LoginPrincipal principal(long userId) {
+        return new LoginPrincipal(userId, "user", 0, 1, userId);
+    }
+
+    @Test
+    @DisplayName("保存后可以读取，删除后读取不到")
+    void testSaveFindRemove() throws IOException {
+        MappedSessionStore store = open(null);
+        String sessionId = SessionIds.generate();
+        LoginPrincipal principal = new LoginPrincipal(1L, "admin", 1, Integer.MAX_VALUE, clock.get());
+
+        store.save(sessionId, principal);
+
+        assertEquals(principal, store.find(sessionId));
+        assertNull(store.find(SessionIds.generate()));
+        assertNull(store.find("not-a-session-id"));
+        store.remove(sessionId);
+        assertNull(store.find(sessionId));
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    @DisplayName("空闲超时后会话失效，期间访问会延长有效期")
+    void testIdleExpiry() throws IOException {
+        MappedSessionStore store = open(null);
+        String active = SessionIds.generate();
+        String idle = SessionIds.generate();
+        store.save(active, principal(1L));
+        store.save(idle, principal(2L));
+
+        clock.addAndGet(IDLE_TIMEOUT_SECONDS);
+        assertEquals(principal(1L), store.find(active));
+        clock.addAndGet(IDLE_TIMEOUT_SECONDS);
+
+        assertEquals(principal(1L), store.find(active), "访问过的会话从最后访问时间开始计算超时");
+        assertNull(store.find(idle), "未访问的会话已过期");
+        assertEquals(1, store.getSize(), "读取到的过期会话被立即删除");
+    }
+
+    @Test
+    @DisplayName("删除和清理后探测序列保持完整，所有剩余会话仍然可以读取")
+    void testRemovalKeepsProbeChains() throws IOException {
+        MappedSessionStore store = open(null);
+        List<String> sessionIds = new ArrayList<>();
+        for (int i = 0; i < MAX_SESSIONS; i++) {
+            String sessionId = SessionIds.generate();
+            sessionIds.add(sessionId);
+            store.save(sessionId, principal(i));
+        }
+
+        // 删除一半会话，剩余会话必须仍然可以找到
+        for (int i = 0; i < MAX_SESSIONS; i += 2) {
+            store.remove(sessionIds.get(i));
+        }
+        for (int i = 1; i < MAX_SESSIONS; i += 2) {
+            assertEquals(principal(i), store.find(sessionIds.get(i)));
+        }
+
+        // 过期后分批清理：每批只检查部分槽位，多批之后全部清理完
+        clock.addAndGet(IDLE_TIMEOUT_SECONDS + 1);
+        int removed = 0;
+        for (int i = 0; i < CAPACITY; i++) {
+            removed += store.sweep(2);
+        }
+        assertEquals(MAX_SESSIONS / 2, removed);
+        assertEquals(0, store.getSize());
+        assertEquals(removed, store.getExpiredCount());
+    }
+
+    @Test
+    @DisplayName("达到最大装载比例时淘汰最久未访问的会话，不拒绝登录")
+    void testEvictsLeastRecentlyAccessedWhenFull() throws IOException {
+        MappedSessionStore store = open(null);
+        List<String> sessionIds = new ArrayList<>();
+        for (int i = 0; i < MAX_SESSIONS; i++) {
+            String sessionId = SessionIds.generate();
+            sessionIds.add(sessionId);
+            store.save(sessionId, principal(i));
+        }
+        // 推进超过最后访问时间的写入间隔，访问除第一个以外的会话
+        clock.addAndGet(IDLE_TIMEOUT_SECONDS / 2);
+        for (int i = 1; i < MAX_SESSIONS; i++) {
+            store.find(sessionIds.get(i));
+        }
+
+        String newSessionId = SessionIds.generate();
+        store.save(newSessionId, principal(MAX_SESSIONS));
+
+        assertEquals(MAX_SESSIONS, store.getSize());
+        assertEquals(1L, store.getEvictedCount());
+        assertNull(store.find(sessionIds.get(0)), "最久未访问的会话被淘汰");
+        assertEquals(principal(MAX_SESSIONS), store.find(newSessionId));
+        for (int i = 1; i < MAX_SESSIONS; i++) {
+            assertEquals(principal(i), store.find(sessionIds.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("内存映射文件中的会话在重新打开后仍然有效")
+    void testSessionsSurviveReopen() throws IOException {
+        Path file = tempDir.resolve("sessions.bin");
+        MappedSessionStore store = open(file);
+        String sessionId = SessionIds.generate();
+        store.save(sessionId, principal(1L));
+        store.close();
+        stores.remove(store);
+
+        MappedSessionStore reopened = open(file);
+
+        assertEquals(1, reopened.getSize());
+        assertEquals(principal(1L), reopened.find(sessionId));
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.mlinyun.usercenter.manager.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mlinyun.usercenter.config.RedisClientProperties;
+import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.redis.FakeRespServer;
+import com.mlinyun.usercenter.manager.redis.RespClient;
+import java.io.IOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 共享会话存储单元测试
+ *
+ * <p>
+ * 使用进程内的 {@link FakeRespServer} 代替真实的 Redis
+ * </p>
+ */
+@DisplayName("RedisSessionStore 共享会话存储测试")
+class RedisSessionStoreTest {
+
+    private static final String KEY_PREFIX = "login-session:";
+
+    /**
+     * 空闲超时时间（秒）
+     */
+    private static final long IDLE_TIMEOUT_SECONDS = 60L;
+
+    /**
+     * 登录主体编码 Base64 后的长度
+     */
+    private static final int ENCODED_VALUE_LENGTH = 32;
+
+    private FakeRespServer server;
+
+    private RespClient client;
+
+    private RedisSessionStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeRespServer();
+        RedisClientProperties properties = new RedisClientProperties();
+        properties.setPort(server.getPort());
+        client = new RespClient(properties);
+        store = new RedisSessionStore(client, KEY_PREFIX, IDLE_TIMEOUT_SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("保存后可以读取，值为登录主体的紧凑编码")
+    void testSaveFindRemove() {
+        String sessionId = SessionIds.generate();
+        LoginPrincipal principal = new LoginPrincipal(1L, "admin", 0, 1, 1L);
+
+        store.save(sessionId, principal);
+
+        assertEquals(principal, store.find(sessionId));
+        assertEquals(ENCODED_VALUE_LENGTH, server.getData().get(KEY_PREFIX + sessionId).length(),
+            "共享存储中只保存紧凑编码");
+        store.remove(sessionId);
+        assertNull(store.find(sessionId));
+    }
+
+    @Test
+    @DisplayName("格式不正确的会话 ID 不访问共享存储")
+    void testMalformedSessionId() {
+        assertNull(store.find("../../etc"));
+        assertEquals(0, server.getCommandCount());
+    }
+
+    @Test
+    @DisplayName("共享存储不可用时提示系统繁忙")
+    void testUnavailable() {
+        server.setUnavailable(true);
+
+        assertThrows(BusinessException.class, () -> store.find(SessionIds.generate()));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.mlinyun.usercenter.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mlinyun.usercenter.config.JacksonConfig;
+import com.mlinyun.usercenter.model.enums.UserExportFormatEnum;
+import com.mlinyun.usercenter.model.vo.UserVO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 用户导出写出器单元测试
+ */
+@DisplayName("AbstractUserExportWriter 用户导出写出器测试")
+class AbstractUserExportWriterTest {
+
+    private static final long USER_ID = 1899878538809757698L;
+
+    private static final long CREATE_TIME_MILLIS = 1_743_465_600_000L;
+
+    /**
+     * 每个测试导出的用户数
+     */
+    private static final int USER_COUNT = 2;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .modulesToInstall(new JacksonConfig().longToStringModule())
+        .build();
+
+    private static UserVO user(String userName, String userProfile) {
+        UserVO userVO = new UserVO();
+        userVO.setId(USER_ID);
+        userVO.setUserAccount("lingyun");
+        userVO.setUserName(userName);
+        userVO.setUserProfile(userProfile);
+        userVO.setUserGender(1);
+        userVO.setCreateTime(new Date(CREATE_TIME_MILLIS));
+        return userVO;
+    }
+
+    private String export(UserExportFormatEnum format, UserVO... users) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (AbstractUserExportWriter writer = AbstractUserExportWriter.create(format, outputStream, objectMapper)) {
+            for (UserVO userVO : users) {
+                writer.write(userVO);
+            }
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("CSV：BOM 和表头，逗号、引号、换行转义，公式前缀加单引号")
+    void testCsv() throws IOException {
+        String csv = export(UserExportFormatEnum.CSV, user("凌云", "a,\"b\"\nc"), user("=1+1", null));
+
+        assertThat(csv).startsWith("\uFEFFid,userAccount,userName,");
+        String[] lines = csv.substring(1).split("\r\n");
+        assertThat(lines).hasSize(USER_COUNT + 1);
+        assertThat(lines[1]).isEqualTo(USER_ID + ",lingyun,凌云,,\"a,\"\"b\"\"\nc\",,1,,,,,2025-04-01 08:00:00");
+        assertThat(lines[USER_COUNT]).isEqualTo(USER_ID + ",lingyun,'=1+1,,,,1,,,,,2025-04-01 08:00:00");
+    }
+
+    @Test
+    @DisplayName("NDJSON：每行一个 JSON 对象，格式与接口返回一致")
+    void testNdjson() throws IOException {
+        String ndjson = export(UserExportFormatEnum.NDJSON, user("凌云", "第一行\n第二行"), user("小明", null));
+
+        assertThat(ndjson).endsWith("\n");
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(USER_COUNT);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").isTextual()).isTrue();
+        assertThat(first.get("id").asText()).isEqualTo(String.valueOf(USER_ID));
+        assertThat(first.get("userProfile").asText()).isEqualTo("第一行\n第二行");
+        assertThat(first.get("createTime").asText()).isEqualTo("2025-04-01 08:00:00");
+        assertThat(objectMapper.readTree(lines[1]).get("userName").asText()).isEqualTo("小明");
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.mlinyun.usercenter.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mlinyun.usercenter.config.JacksonConfig;
+import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.model.enums.UserExportFormatEnum;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 用户导入读取器单元测试
+ */
+@DisplayName("AbstractUserImportReader 用户导入读取器测试")
+class AbstractUserImportReaderTest {
+
+    /**
+     * 每个测试导入的行数
+     */
+    private static final int ROW_COUNT = 3;
+
+    /**
+     * NDJSON 单行的最大长度（字符数）
+     */
+    private static final int MAX_LINE_LENGTH = 16384;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .modulesToInstall(new JacksonConfig().longToStringModule())
+        .build();
+
+    private AbstractUserImportReader open(UserExportFormatEnum format, String content) throws IOException {
+        return AbstractUserImportReader.open(format,
+            new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper);
+    }
+
+    private List<AbstractUserImportReader.Row> readAll(UserExportFormatEnum format, String content)
+        throws IOException {
+        List<AbstractUserImportReader.Row> rows = new ArrayList<>();
+        try (AbstractUserImportReader reader = open(format, content)) {
+            AbstractUserImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+            assertThat(reader.getBytesRead()).isEqualTo(content.getBytes(StandardCharsets.UTF_8).length);
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("CSV：BOM、引号内的逗号和换行、公式前缀单引号、空行和列顺序")
+    void testCsv() throws IOException {
+        String csv = "\uFEFFplanetCode,userAccount,userPassword,userProfile,userGender\r\n"
+            + "1001,lingyun,12345678,\"a,\"\"b\"\"\nc\",1\r\n"
+            + "\r\n"
+            + "1002,xiaoming,12345678,'=1+1\r\n"
+            + "1003,xiaohong,12345678,,男\r\n";
+
+        List<AbstractUserImportReader.Row> rows = readAll(UserExportFormatEnum.CSV, csv);
+
+        assertThat(rows).hasSize(ROW_COUNT);
+        AbstractUserImportReader.Row first = rows.get(0);
+        assertThat(first.error()).isNull();
+        assertThat(first.user().getUserAccount()).isEqualTo("lingyun");
+        assertThat(first.user().getPlanetCode()).isEqualTo("1001");
+        assertThat(first.user().getUserProfile()).isEqualTo("a,\"b\"\nc");
+        assertThat(first.user().getUserGender()).isEqualTo(1);
+        assertThat(rows.get(1).user().getUserProfile()).isEqualTo("=1+1");
+        assertThat(rows.get(1).user().getUserGender()).isNull();
+        AbstractUserImportReader.Row last = rows.get(ROW_COUNT - 1);
+        assertThat(last.row()).isEqualTo(ROW_COUNT);
+        assertThat(last.user()).isNull();
+        assertThat(last.error()).isEqualTo("性别只能为0、1或2");
+    }
+
+    @Test
+    @DisplayName("CSV：表头缺少必填列、包含未知列或记录缺少结束引号时整体失败")
+    void testCsvFileErrors() {
+        assertThatThrownBy(() -> open(UserExportFormatEnum.CSV, "userAccount,userPassword\n"))
+            .isInstanceOf(BusinessException.class).hasMessageContaining("planetCode");
+        assertThatThrownBy(() -> open(UserExportFormatEnum.CSV, "userAccount,userPassword,planetCode,id\n"))
+            .isInstanceOf(BusinessException.class).hasMessageContaining("id");
+        assertThatThrownBy(() -> readAll(UserExportFormatEnum.CSV, "userAccount,userPassword,planetCode\n\"a,b"))
+            .isInstanceOf(BusinessException.class).hasMessageContaining("结束引号");
+    }
+
+    @Test
+    @DisplayName("NDJSON：跳过空行，格式错误和未知字段记录为单行错误")
+    void testNdjson() throws IOException {
+        String ndjson = "{\"userAccount\":\"lingyun\",\"userPassword\":\"12345678\",\"planetCode\":\"1001\"}\n"
+            + "\n"
+            + "{\"userAccount\":\n"
+            + "{\"userAccount\":\"xiaoming\",\"id\":1}\n";
+
+        List<AbstractUserImportReader.Row> rows = readAll(UserExportFormatEnum.NDJSON, ndjson);
+
+        assertThat(rows).hasSize(ROW_COUNT);
+        assertThat(rows.get(0).user().getUserAccount()).isEqualTo("lingyun");
+        assertThat(rows.get(1).row()).isEqualTo(ROW_COUNT);
+        assertThat(rows.get(1).error()).startsWith("JSON 格式不正确");
+        assertThat(rows.get(ROW_COUNT - 1).error()).startsWith("JSON 格式不正确");
+    }
+
+    @Test
+    @DisplayName("NDJSON：超过最大长度的行记录为单行错误，后续行正常读取")
+    void testNdjsonOverlongLine() throws IOException {
+        String valid = "{\"userAccount\":\"lingyun\",\"userPassword\":\"12345678\",\"planetCode\":\"1001\"}";
+        String ndjson = valid + "\r\n"
+            + "{\"userProfile\":\"" + "x".repeat(MAX_LINE_LENGTH) + "\"}\n"
+            + valid + "\n";
+
+        List<AbstractUserImportReader.Row> rows = readAll(UserExportFormatEnum.NDJSON, ndjson);
+
+        assertThat(rows).hasSize(ROW_COUNT);
+        assertThat(rows.get(0).user().getUserAccount()).isEqualTo("lingyun");
+        assertThat(rows.get(1).user()).isNull();
+        assertThat(rows.get(1).error()).contains(String.valueOf(MAX_LINE_LENGTH));
+        assertThat(rows.get(ROW_COUNT - 1).row()).isEqualTo(ROW_COUNT);
+        assertThat(rows.get(ROW_COUNT - 1).user().getUserAccount()).isEqualTo("lingyun");
+    }
+
+}
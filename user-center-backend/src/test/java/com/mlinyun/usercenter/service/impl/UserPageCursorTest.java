@@ -0,0 +1,96 @@
+package com.mlinyun.usercenter.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.mlinyun.usercenter.constant.UserConstant;
+import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.model.entity.User;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 用户列表游标分页游标单元测试
+ */
+@DisplayName("UserPageCursor 游标分页游标测试")
+class UserPageCursorTest {
+
+    private static final long USER_ID = 1899878538809757698L;
+
+    private static final long CREATE_TIME_MILLIS = 1_743_465_600_000L;
+
+    private static User lastUser() {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setUserAccount("user:01");
+        user.setCreateTime(new Date(CREATE_TIME_MILLIS));
+        return user;
+    }
+
+    @Test
+    @DisplayName("编码后可以原样解析，排序键中的分隔符不影响解析")
+    void testRoundTrip() {
+        for (String sortField : new String[] {UserConstant.USER_TABLE_FIELD_ID,
+            UserConstant.USER_TABLE_FIELD_USER_ACCOUNT, UserConstant.USER_TABLE_FIELD_CREATE_TIME}) {
+            UserPageCursor cursor = UserPageCursor.after(sortField, false, lastUser());
+            assertThat(UserPageCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+        assertThat(UserPageCursor.after(UserConstant.USER_TABLE_FIELD_USER_ACCOUNT, true, lastUser()).sortKey())
+            .isEqualTo("user:01");
+    }
+
+    @Test
+    @DisplayName("降序按创建时间翻页时生成 (create_time, id) 的定位条件")
+    void testApplyDescendingCreateTime() {
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        UserPageCursor.after(UserConstant.USER_TABLE_FIELD_CREATE_TIME, false, lastUser()).applyTo(queryWrapper);
+
+        assertThat(queryWrapper.getSqlSegment()).containsSubsequence("create_time <", "OR", "create_time =", "id <");
+        assertThat(queryWrapper.getParamNameValuePairs().values()).contains(new Date(CREATE_TIME_MILLIS), USER_ID);
+    }
+
+    @Test
+    @DisplayName("按 ID 升序翻页时只需要 id > ?")
+    void testApplyAscendingId() {
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        UserPageCursor.after(UserConstant.USER_TABLE_FIELD_ID, true, lastUser()).applyTo(queryWrapper);
+
+        assertThat(queryWrapper.getSqlSegment()).contains("id >").doesNotContain("OR");
+    }
+
+    @Test
+    @DisplayName("游标只能在相同的排序条件下使用")
+    void testMatches() {
+        UserPageCursor cursor = UserPageCursor.after(UserConstant.USER_TABLE_FIELD_CREATE_TIME, false, lastUser());
+
+        assertThat(cursor.matches(UserConstant.USER_TABLE_FIELD_CREATE_TIME, false)).isTrue();
+        assertThat(cursor.matches(UserConstant.USER_TABLE_FIELD_CREATE_TIME, true)).isFalse();
+        assertThat(cursor.matches(UserConstant.USER_TABLE_FIELD_ID, false)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "user_name:d:1:abc", "create_time:x:1:1", "create_time:d:1:abc",
+        "create_time:d:abc:1", "id:d:1"})
+    @DisplayName("格式不正确或被篡改的游标被拒绝")
+    void testInvalidCursor(String raw) {
+        String token = raw.contains(" ") ? raw
+            : Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BusinessException.class, () -> UserPageCursor.decode(token));
+    }
+
+    @Test
+    @DisplayName("可为空的列不支持游标分页")
+    void testSupportedSortFields() {
+        assertThat(UserPageCursor.isSupported(UserConstant.USER_TABLE_FIELD_CREATE_TIME)).isTrue();
+        assertThat(UserPageCursor.isSupported(UserConstant.USER_TABLE_FIELD_USER_NAME)).isFalse();
+        assertThat(UserPageCursor.isSupported(UserConstant.USER_TABLE_FIELD_PLANET_CODE)).isFalse();
+    }
+
+}
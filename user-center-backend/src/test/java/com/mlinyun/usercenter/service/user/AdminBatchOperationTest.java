@@ -0,0 +1,121 @@
+package com.mlinyun.usercenter.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.mlinyun.usercenter.config.LoginSessionProperties;
+import com.mlinyun.usercenter.config.LoginUserCacheProperties;
+import com.mlinyun.usercenter.config.UserCountCacheProperties;
+import com.mlinyun.usercenter.config.UserSearchProperties;
+import com.mlinyun.usercenter.manager.LoginUserCache;
+import com.mlinyun.usercenter.manager.UserCountCache;
+import com.mlinyun.usercenter.manager.search.UserSearchIndex;
+import com.mlinyun.usercenter.model.dto.AdminBatchBanOrUnbanUserRequest;
+import com.mlinyun.usercenter.model.dto.AdminBatchDeleteUserRequest;
+import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.vo.BatchResultVO;
+import com.mlinyun.usercenter.service.impl.UserServiceImpl;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("管理员批量操作服务测试")
+class AdminBatchOperationTest {
+
+    private static final Long NORMAL_USER_ID = 1899878538809757698L;
+
+    private static final Long BANNED_USER_ID = 1899878538809757699L;
+
+    private static final Long MISSING_USER_ID = 1899878538809757700L;
+
+    private static final int BANNED_STATUS = 1;
+
+    private static final List<Long> EXISTING_USERS = List.of(NORMAL_USER_ID, BANNED_USER_ID);
+
+    /**
+     * 请求中的各项：正常用户、已封禁用户、重复 ID、不存在的用户、非法 ID
+     */
+    private static final List<Long> REQUEST_IDS =
+        Arrays.asList(NORMAL_USER_ID, BANNED_USER_ID, NORMAL_USER_ID, MISSING_USER_ID, -1L);
+
+    @Spy
+    @InjectMocks
+    private UserServiceImpl userService;
+    @Spy
+    private LoginUserCache loginUserCache = new LoginUserCache(new LoginUserCacheProperties(),
+        new LoginSessionProperties());
+    @Spy
+    private UserCountCache userCountCache = new UserCountCache(new UserCountCacheProperties());
+    @Spy
+    private UserSearchIndex userSearchIndex = new UserSearchIndex(disabledSearchProperties(), null);
+
+    private static UserSearchProperties disabledSearchProperties() {
+        UserSearchProperties properties = new UserSearchProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
+
+    private static User user(Long id, int userStatus) {
+        User user = new User();
+        user.setId(id);
+        user.setUserStatus(userStatus);
+        return user;
+    }
+
+    private void givenExistingUsers() {
+        doReturn(List.of(user(NORMAL_USER_ID, 0), user(BANNED_USER_ID, BANNED_STATUS))).when(userService)
+            .list(ArgumentMatchers.<Wrapper<User>>any());
+    }
+
+    @Test
+    @DisplayName("批量封禁：一次查询、一次更新，逐项返回结果")
+    void testBatchBan() {
+        givenExistingUsers();
+        doReturn(true).when(userService).update(ArgumentMatchers.<Wrapper<User>>any());
+        AdminBatchBanOrUnbanUserRequest request = new AdminBatchBanOrUnbanUserRequest();
+        request.setIds(REQUEST_IDS);
+        request.setUserStatus(BANNED_STATUS);
+
+        BatchResultVO result = userService.adminBatchBanOrUnbanUser(request);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(REQUEST_IDS.size() - 1, result.getFailureCount());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertEquals(Arrays.asList(null, "用户已处于封禁状态，无需重复操作", "用户 ID 在本批次中重复", "用户不存在", "用户 ID 不合法"),
+            result.getItems().stream().map(BatchResultVO.Item::getMessage).toList());
+        verify(userService).update(ArgumentMatchers.<Wrapper<User>>any());
+        verify(loginUserCache).invalidate(NORMAL_USER_ID);
+        verify(loginUserCache, never()).invalidate(BANNED_USER_ID);
+    }
+
+    @Test
+    @DisplayName("批量删除：只删除存在的用户")
+    void testBatchDelete() {
+        givenExistingUsers();
+        doReturn(true).when(userService).removeByIds(anyCollection());
+        AdminBatchDeleteUserRequest request = new AdminBatchDeleteUserRequest();
+        request.setIds(REQUEST_IDS);
+
+        BatchResultVO result = userService.adminBatchDeleteUser(request);
+
+        assertEquals(EXISTING_USERS.size(), result.getSuccessCount());
+        assertEquals(BANNED_USER_ID, result.getItems().get(1).getId());
+        assertTrue(result.getItems().get(1).isSuccess());
+        verify(userService).removeByIds(new LinkedHashSet<>(EXISTING_USERS));
+        verify(loginUserCache).invalidate(BANNED_USER_ID);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.mlinyun.usercenter.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.mlinyun.usercenter.common.PageResult;
+import com.mlinyun.usercenter.config.UserCountCacheProperties;
+import com.mlinyun.usercenter.config.UserSearchProperties;
+import com.mlinyun.usercenter.manager.UserCountCache;
+import com.mlinyun.usercenter.manager.search.UserSearchIndex;
+import com.mlinyun.usercenter.mapper.UserMapper;
+import com.mlinyun.usercenter.model.dto.AdminQueryUserRequest;
+import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.vo.UserVO;
+import com.mlinyun.usercenter.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("管理员分页查询用户总数测试")
+class AdminUserPageTest {
+
+    private static final long EXACT_TOTAL = 5L;
+
+    private static final long ESTIMATED_TOTAL = 1000L;
+
+    @Spy
+    @InjectMocks
+    private UserServiceImpl userService;
+    @Mock
+    private UserMapper mockUserMapper;
+    @Spy
+    private UserCountCache userCountCache = new UserCountCache(new UserCountCacheProperties());
+    @Spy
+    private UserSearchIndex userSearchIndex = new UserSearchIndex(disabledSearchProperties(), null);
+
+    private static UserSearchProperties disabledSearchProperties() {
+        UserSearchProperties properties = new UserSearchProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "baseMapper", mockUserMapper);
+        doReturn(new Page<User>()).when(userService)
+            .page(ArgumentMatchers.<IPage<User>>any(), ArgumentMatchers.<Wrapper<User>>any());
+    }
+
+    @Test
+    @DisplayName("没有筛选条件且允许估算时使用统计信息中的估算总数")
+    void testEstimatedTotalWithoutFilters() {
+        when(mockUserMapper.selectEstimatedRowCount()).thenReturn(ESTIMATED_TOTAL);
+        AdminQueryUserRequest request = new AdminQueryUserRequest();
+        request.setEstimateTotal(true);
+
+        PageResult<UserVO> result = userService.adminGetUserInfoByPage(request);
+
+        assertEquals(ESTIMATED_TOTAL, result.getTotal());
+        assertFalse(result.isTotalExact());
+        verify(userService, never()).count(ArgumentMatchers.<Wrapper<User>>any());
+    }
+
+    @Test
+    @DisplayName("有筛选条件时即使允许估算也返回精确总数")
+    void testExactTotalWithFilters() {
+        doReturn(EXACT_TOTAL).when(userService).count(ArgumentMatchers.<Wrapper<User>>any());
+        AdminQueryUserRequest request = new AdminQueryUserRequest();
+        request.setEstimateTotal(true);
+        request.setUserRole("user");
+
+        PageResult<UserVO> result = userService.adminGetUserInfoByPage(request);
+
+        assertEquals(EXACT_TOTAL, result.getTotal());
+        assertTrue(result.isTotalExact());
+        verify(mockUserMapper, never()).selectEstimatedRowCount();
+    }
+
+}
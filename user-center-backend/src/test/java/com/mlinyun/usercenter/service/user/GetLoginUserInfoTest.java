@@ -2,14 +2,22 @@ package com.mlinyun.usercenter.service.user;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.LoginSessionProperties;
+import com.mlinyun.usercenter.config.LoginUserCacheProperties;
 import com.mlinyun.usercenter.constant.UserConstant;
 import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.LoginUserCache;
+import com.mlinyun.usercenter.manager.RequestLoginUserHolder;
+import com.mlinyun.usercenter.manager.session.LoginPrincipal;
+import com.mlinyun.usercenter.manager.session.LoginSessionManager;
 import com.mlinyun.usercenter.mapper.UserMapper;
 import com.mlinyun.usercenter.model.entity.User;
 import com.mlinyun.usercenter.service.impl.UserServiceImpl;
@@ -24,6 +32,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +50,11 @@ class GetLoginUserInfoTest {
     private HttpServletRequest mockRequest;
     @Mock
     private HttpSession mockSession;
+    @Spy
+    private LoginUserCache loginUserCache = new LoginUserCache(new LoginUserCacheProperties(),
+        new LoginSessionProperties());
+    @Spy
+    private LoginSessionManager loginSessionManager = new LoginSessionManager(new LoginSessionProperties(), null);
 
     @BeforeEach
     void setUp() {
@@ -88,9 +102,9 @@ class GetLoginUserInfoTest {
         // 构建模拟用户
         User sessionUser = buildMockUser();
         // 模拟请求和会话
-        when(mockRequest.getSession()).thenReturn(mockSession);
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
         // 模拟获取会话中的登录用户
-        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(sessionUser);
+        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(LoginPrincipal.of(sessionUser, 0L));
         // 模拟数据库查询
         when(mockUserMapper.selectById(USER_ID)).thenReturn(sessionUser);
 
@@ -101,57 +115,122 @@ class GetLoginUserInfoTest {
         assertNotNull(result, "获取的用户信息不应为 null");
         assertEquals(USER_ID, result.getId(), "用户 ID 不匹配");
 
-        verify(mockRequest, times(1)).getSession();
+        verify(mockRequest, times(1)).getSession(false);
         verify(mockSession, times(1)).getAttribute(UserConstant.USER_LOGIN_STATE);
         verify(mockUserMapper, times(1)).selectById(USER_ID);
     }
 
+    @Test
+    @DisplayName("测试重复获取登录用户信息时命中缓存")
+    void testGetLoginUserCacheHit() {
+        // 构建模拟用户
+        User sessionUser = buildMockUser();
+        // 模拟请求和会话
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
+        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(LoginPrincipal.of(sessionUser, 0L));
+        when(mockUserMapper.selectById(USER_ID)).thenReturn(sessionUser);
+
+        // 连续调用两次，只有第一次查询数据库
+        userService.getLoginUser(mockRequest);
+        User result = userService.getLoginUser(mockRequest);
+
+        assertEquals(USER_ID, result.getId(), "用户 ID 不匹配");
+        assertEquals(1, loginUserCache.getHitCount(), "缓存命中次数不匹配");
+        assertEquals(1, loginUserCache.getMissCount(), "缓存未命中次数不匹配");
+        verify(mockUserMapper, times(1)).selectById(USER_ID);
+
+        // 失效后重新查询数据库
+        loginUserCache.invalidate(USER_ID);
+        clearInvocations(mockUserMapper);
+        userService.getLoginUser(mockRequest);
+        verify(mockUserMapper, times(1)).selectById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("测试同一请求内多次获取登录用户信息只查询一次")
+    void testGetLoginUserMemoizedPerRequest() {
+        // 构建模拟用户
+        User sessionUser = buildMockUser();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession().setAttribute(UserConstant.USER_LOGIN_STATE, LoginPrincipal.of(sessionUser, 0L));
+        when(mockUserMapper.selectById(USER_ID)).thenReturn(sessionUser);
+
+        // 模拟鉴权切面、限流切面和服务层依次获取登录用户
+        User first = userService.getLoginUser(request);
+        User second = userService.getLoginUser(request);
+        User third = userService.getLoginUser(request);
+
+        assertSame(first, second, "同一请求内应复用同一个用户实例");
+        assertSame(first, third, "同一请求内应复用同一个用户实例");
+        assertEquals(1, RequestLoginUserHolder.getLookupCount(request), "同一请求内应只查询一次登录用户");
+        assertEquals(0, loginUserCache.getHitCount(), "请求级复用不应访问缓存");
+        verify(mockUserMapper, times(1)).selectById(USER_ID);
+    }
+
     @Test
     @DisplayName("测试用户未登录获取登录用户信息")
     void testGetLoginUserNotLoggedIn() {
         // 模拟请求和会话
-        when(mockRequest.getSession()).thenReturn(mockSession);
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
         // 模拟获取会话中的登录用户为 null
         when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(null);
 
         assertBusinessException(() -> userService.getLoginUser(mockRequest), ResultCodeEnum.NOT_LOGIN_ERROR, "未登录");
 
-        verify(mockRequest, times(1)).getSession();
+        verify(mockRequest, times(1)).getSession(false);
         verify(mockSession, times(1)).getAttribute(UserConstant.USER_LOGIN_STATE);
     }
 
     @Test
-    @DisplayName("测试用户 ID 为空获取登录用户信息")
-    void testGetLoginUserIdNull() {
-        // 构建模拟用户，但 id 为 null
+    @DisplayName("测试会话中是升级前保存的完整用户实体时视为未登录")
+    void testGetLoginUserLegacySessionUser() {
+        // 构建模拟用户，旧版本直接把用户实体保存在会话中
         User sessionUser = buildMockUser();
-        sessionUser.setId(null);
         // 模拟请求和会话
-        when(mockRequest.getSession()).thenReturn(mockSession);
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
         // 模拟获取会话中的登录用户
         when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(sessionUser);
 
         assertBusinessException(() -> userService.getLoginUser(mockRequest), ResultCodeEnum.NOT_LOGIN_ERROR, "未登录");
 
-        verify(mockRequest, times(1)).getSession();
+        verify(mockRequest, times(1)).getSession(false);
         verify(mockSession, times(1)).getAttribute(UserConstant.USER_LOGIN_STATE);
     }
 
+    @Test
+    @DisplayName("测试登录后修改过密码或被封禁（令牌版本已递增）时视为未登录")
+    void testGetLoginUserTokenVersionChanged() {
+        // 构建模拟用户，登录时令牌版本为 0
+        User sessionUser = buildMockUser();
+        LoginPrincipal principal = LoginPrincipal.of(sessionUser, 0L);
+        // 登录后修改了密码，数据库中的令牌版本递增
+        User currentUser = buildMockUser();
+        currentUser.setTokenVersion(principal.tokenVersion() + 1);
+        // 模拟请求和会话
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
+        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(principal);
+        when(mockUserMapper.selectById(USER_ID)).thenReturn(currentUser);
+
+        assertBusinessException(() -> userService.getLoginUser(mockRequest), ResultCodeEnum.NOT_LOGIN_ERROR, "未登录");
+
+        verify(mockUserMapper, times(1)).selectById(USER_ID);
+    }
+
     @Test
     @DisplayName("测试数据库查询异常获取登录用户信息")
     void testGetLoginUserDatabaseError() {
         // 构建模拟用户
         User sessionUser = buildMockUser();
         // 模拟请求和会话
-        when(mockRequest.getSession()).thenReturn(mockSession);
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
         // 模拟获取会话中的登录用户
-        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(sessionUser);
+        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(LoginPrincipal.of(sessionUser, 0L));
         // 模拟数据库查询异常
         when(mockUserMapper.selectById(USER_ID)).thenThrow(new BusinessException(ResultCodeEnum.SERVER_ERROR));
 
         assertBusinessException(() -> userService.getLoginUser(mockRequest), ResultCodeEnum.SERVER_ERROR, "服务器内部错误");
 
-        verify(mockRequest, times(1)).getSession();
+        verify(mockRequest, times(1)).getSession(false);
         verify(mockSession, times(1)).getAttribute(UserConstant.USER_LOGIN_STATE);
         verify(mockUserMapper, times(1)).selectById(USER_ID);
     }
@@ -162,15 +241,15 @@ class GetLoginUserInfoTest {
         // 构建模拟用户
         User sessionUser = buildMockUser();
         // 模拟请求和会话
-        when(mockRequest.getSession()).thenReturn(mockSession);
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
         // 模拟获取会话中的登录用户
-        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(sessionUser);
+        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(LoginPrincipal.of(sessionUser, 0L));
         // 模拟数据库查询返回 null
         when(mockUserMapper.selectById(USER_ID)).thenReturn(null);
 
         assertBusinessException(() -> userService.getLoginUser(mockRequest), ResultCodeEnum.NOT_LOGIN_ERROR, "未登录");
 
-        verify(mockRequest, times(1)).getSession();
+        verify(mockRequest, times(1)).getSession(false);
         verify(mockSession, times(1)).getAttribute(UserConstant.USER_LOGIN_STATE);
         verify(mockUserMapper, times(1)).selectById(USER_ID);
     }
@@ -4,13 +4,20 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.LoginSessionProperties;
+import com.mlinyun.usercenter.config.PasswordHashProperties;
 import com.mlinyun.usercenter.constant.UserConstant;
 import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.PasswordHashExecutor;
+import com.mlinyun.usercenter.manager.session.LoginPrincipal;
+import com.mlinyun.usercenter.manager.session.LoginSessionManager;
 import com.mlinyun.usercenter.mapper.UserMapper;
 import com.mlinyun.usercenter.model.dto.UserLoginRequest;
 import com.mlinyun.usercenter.model.entity.User;
@@ -25,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -38,6 +46,10 @@ class UserLoginTest {
     private UserServiceImpl userService;
     @Mock
     private UserMapper mockUserMapper;
+    @Spy
+    private PasswordHashExecutor passwordHashExecutor = new PasswordHashExecutor(new PasswordHashProperties());
+    @Spy
+    private LoginSessionManager loginSessionManager = new LoginSessionManager(new LoginSessionProperties(), null);
     @Mock
     private HttpServletRequest mockRequest;
     @Mock
@@ -102,7 +114,10 @@ class UserLoginTest {
         assertEquals(USER_ID, resultUser.getId()); // 验证用户 ID
 
         verify(mockUserMapper).selectOne(any(QueryWrapper.class));
-        verify(mockSession).setAttribute(UserConstant.USER_LOGIN_STATE, userInDb);
+        // 会话中只保存登录主体
+        verify(mockSession).setAttribute(eq(UserConstant.USER_LOGIN_STATE),
+            argThat(principal -> principal instanceof LoginPrincipal loginPrincipal
+                && loginPrincipal.userId() == USER_ID));
     }
 
     @Test
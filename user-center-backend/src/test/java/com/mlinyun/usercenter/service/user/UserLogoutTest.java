@@ -8,8 +8,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.mlinyun.usercenter.config.LoginSessionProperties;
 import com.mlinyun.usercenter.constant.UserConstant;
 import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.session.LoginPrincipal;
+import com.mlinyun.usercenter.manager.session.LoginSessionManager;
 import com.mlinyun.usercenter.model.entity.User;
 import com.mlinyun.usercenter.service.impl.UserServiceImpl;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,6 +35,8 @@ class UserLogoutTest {
     @Spy
     @InjectMocks
     private UserServiceImpl userService;
+    @Spy
+    private LoginSessionManager loginSessionManager = new LoginSessionManager(new LoginSessionProperties(), null);
     @Mock
     private HttpServletRequest mockRequest;
     @Mock
@@ -60,9 +65,9 @@ class UserLogoutTest {
         sessionUser.setIsDelete(0);
 
         // 模拟 HttpServletRequest 和 HttpSession 的行为
-        when(mockRequest.getSession()).thenReturn(mockSession);
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
         // 模拟获取会话中的登录用户
-        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(sessionUser);
+        when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(LoginPrincipal.of(sessionUser, 0L));
         // 模拟从会话中移除登录用户
         doNothing().when(mockSession).removeAttribute(UserConstant.USER_LOGIN_STATE);
 
@@ -80,7 +85,7 @@ class UserLogoutTest {
     @DisplayName("测试用户登出时会话没有登录用户")
     void testUserLogoutWithoutLogin() {
         // 模拟 HttpServletRequest 和 HttpSession 的行为
-        when(mockRequest.getSession()).thenReturn(mockSession);
+        when(mockRequest.getSession(false)).thenReturn(mockSession);
         // 模拟会话中没有登录用户
         when(mockSession.getAttribute(UserConstant.USER_LOGIN_STATE)).thenReturn(null);
 
@@ -11,7 +11,15 @@ import static org.mockito.Mockito.when;
 import cn.hutool.core.util.RandomUtil;
 import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.mlinyun.usercenter.common.ResultCodeEnum;
+import com.mlinyun.usercenter.config.BreachedPasswordProperties;
+import com.mlinyun.usercenter.config.PasswordHashProperties;
+import com.mlinyun.usercenter.config.UserCountCacheProperties;
+import com.mlinyun.usercenter.config.UserSearchProperties;
 import com.mlinyun.usercenter.exception.BusinessException;
+import com.mlinyun.usercenter.manager.PasswordHashExecutor;
+import com.mlinyun.usercenter.manager.UserCountCache;
+import com.mlinyun.usercenter.manager.password.BreachedPasswordChecker;
+import com.mlinyun.usercenter.manager.search.UserSearchIndex;
 import com.mlinyun.usercenter.mapper.UserMapper;
 import com.mlinyun.usercenter.model.dto.UserRegisterRequest;
 import com.mlinyun.usercenter.model.entity.User;
@@ -38,6 +46,21 @@ class UserRegisterTest {
     private UserServiceImpl userService;
     @Mock
     private UserMapper mockUserMapper;
+    @Spy
+    private PasswordHashExecutor passwordHashExecutor = new PasswordHashExecutor(new PasswordHashProperties());
+    @Spy
+    private BreachedPasswordChecker breachedPasswordChecker =
+        new BreachedPasswordChecker(new BreachedPasswordProperties());
+    @Spy
+    private UserCountCache userCountCache = new UserCountCache(new UserCountCacheProperties());
+    @Spy
+    private UserSearchIndex userSearchIndex = new UserSearchIndex(disabledSearchProperties(), null);
+
+    private static UserSearchProperties disabledSearchProperties() {
+        UserSearchProperties properties = new UserSearchProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
 
     @BeforeEach
     void setUp() {
@@ -0,0 +1,49 @@
+package com.mlinyun.usercenter.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Aho-Corasick 多关键词匹配器单元测试
+ */
+@DisplayName("AhoCorasickMatcher 多关键词匹配器测试")
+class AhoCorasickMatcherTest {
+
+    @Test
+    @DisplayName("沿失败链命中重叠和嵌套的关键词")
+    void testOverlappingKeywords() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher("he", "she", "his", "hers");
+        assertThat(matcher.find("ushers")).isEqualTo("she");
+        assertThat(matcher.find("ahishers")).isEqualTo("his");
+        assertThat(matcher.find("xhxe")).isNull();
+    }
+
+    @Test
+    @DisplayName("失败后回退到最长后缀继续匹配")
+    void testFallbackToSuffix() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher("123456", "2345x");
+        assertThat(matcher.find("1234512345x")).isEqualTo("2345x");
+        assertThat(matcher.find("11234567")).isEqualTo("123456");
+    }
+
+    @Test
+    @DisplayName("忽略 ASCII 大小写，非 ASCII 字符打断匹配")
+    void testCaseInsensitiveAndNonAscii() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher("Admin", "qwerty");
+        assertThat(matcher.find("XXADMINXX")).isEqualTo("admin");
+        assertThat(matcher.containsAny("qwErTy")).isTrue();
+        assertThat(matcher.containsAny("adm中in")).isFalse();
+        assertThat(matcher.containsAny("")).isFalse();
+    }
+
+    @Test
+    @DisplayName("关键词为空或包含非 ASCII 字符时拒绝构建")
+    void testInvalidKeywords() {
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasickMatcher("ok", ""));
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasickMatcher("密码"));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.mlinyun.usercenter.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mlinyun.usercenter.model.dto.AdminUpdateUserInfoRequest;
+import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.vo.UserLoginVO;
+import com.mlinyun.usercenter.model.vo.UserVO;
+import java.util.Date;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+/**
+ * 预编译属性拷贝器单元测试
+ */
+@DisplayName("BeanMapper 预编译属性拷贝器测试")
+class BeanMapperTest {
+
+    private static final long USER_ID = 1024L;
+
+    private static User fullUser() {
+        Date now = new Date();
+        User user = new User();
+        user.setId(USER_ID);
+        user.setUserAccount("mlinyun");
+        user.setUserPassword("$2a$10$hash");
+        user.setUserName("凌云");
+        user.setUserAvatar("https://example.com/avatar.png");
+        user.setUserProfile("用户中心项目作者");
+        user.setUserRole("admin");
+        user.setUserGender(1);
+        user.setUserPhone("13800000000");
+        user.setUserEmail("mlinyun@example.com");
+        user.setUserStatus(0);
+        user.setPlanetCode("1");
+        user.setEditTime(now);
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        user.setIsDelete(0);
+        return user;
+    }
+
+    @Test
+    @DisplayName("转换结果与 BeanUtils.copyProperties 一致")
+    void testMapMatchesBeanUtils() {
+        User user = fullUser();
+
+        UserVO expectedVO = new UserVO();
+        BeanUtils.copyProperties(user, expectedVO);
+        assertThat(BeanMapper.of(User.class, UserVO.class, UserVO::new).map(user)).isEqualTo(expectedVO);
+
+        UserLoginVO expectedLoginVO = new UserLoginVO();
+        BeanUtils.copyProperties(user, expectedLoginVO);
+        assertThat(BeanMapper.of(User.class, UserLoginVO.class, UserLoginVO::new).map(user))
+            .isEqualTo(expectedLoginVO);
+    }
+
+    @Test
+    @DisplayName("只拷贝双方都存在的属性，源对象为 null 时返回 null")
+    void testPropertyNames() {
+        BeanMapper<User, UserVO> mapper = BeanMapper.of(User.class, UserVO.class, UserVO::new);
+
+        assertThat(mapper.getPropertyNames()).contains("id", "userAccount", "createTime")
+            .doesNotContain("userPassword", "isDelete", "editTime", "class");
+        assertThat(mapper.map(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("部分更新只拷贝非 null 字段，目标对象的原值保持不变")
+    void testCopyNonNull() {
+        AdminUpdateUserInfoRequest request = new AdminUpdateUserInfoRequest();
+        request.setId(USER_ID);
+        request.setUserName("新昵称");
+        User target = fullUser();
+
+        BeanMapper.of(AdminUpdateUserInfoRequest.class, User.class, User::new).copyNonNull(request, target);
+
+        User expected = fullUser();
+        expected.setUserName("新昵称");
+        assertThat(target).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("完整拷贝会把 null 字段一并覆盖")
+    void testCopyOverwritesNulls() {
+        AdminUpdateUserInfoRequest request = new AdminUpdateUserInfoRequest();
+        request.setId(USER_ID);
+        User target = fullUser();
+
+        BeanMapper.of(AdminUpdateUserInfoRequest.class, User.class, User::new).copy(request, target);
+
+        assertThat(target.getUserName()).isNull();
+        assertThat(target.getUserAccount()).isEqualTo("mlinyun");
+    }
+
+}
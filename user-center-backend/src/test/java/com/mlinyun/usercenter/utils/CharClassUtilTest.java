@@ -0,0 +1,40 @@
+package com.mlinyun.usercenter.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 字符类别工具类单元测试
+ */
+@DisplayName("CharClassUtil 字符类别工具类测试")
+class CharClassUtilTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mlinyun", "user_01", "ABC", "_", "0123456789", "", " ", "user-01", "user 01", "用户",
+        "useré", "user\n", "abK"})
+    @DisplayName("账号格式校验与 ^\\w+$ 正则一致")
+    void testIsWordCharsMatchesRegex(String userAccount) {
+        assertThat(CharClassUtil.isWordChars(userAccount)).isEqualTo(userAccount.matches("^\\w+$"));
+    }
+
+    @Test
+    @DisplayName("null 账号格式不合法")
+    void testIsWordCharsNull() {
+        assertThat(CharClassUtil.isWordChars(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("统计字符串中出现的字符类别")
+    void testClassMask() {
+        assertThat(CharClassUtil.classMask("aZ9_")).isEqualTo(
+            CharClassUtil.LOWER | CharClassUtil.UPPER | CharClassUtil.DIGIT | CharClassUtil.SPECIAL);
+        assertThat(CharClassUtil.classMask("a b")).isEqualTo(CharClassUtil.LOWER | CharClassUtil.OTHER);
+        assertThat(CharClassUtil.classMask("中")).isEqualTo(CharClassUtil.OTHER);
+        assertThat(CharClassUtil.classMask("")).isZero();
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.mlinyun.usercenter.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 重复日志采样器单元测试
+ */
+@DisplayName("LogSampler 重复日志采样器测试")
+class LogSamplerTest {
+
+    private static final Duration PERIOD = Duration.ofSeconds(10);
+
+    private static final int MAX_KEYS = 2;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LogSampler sampler = new LogSampler(PERIOD, MAX_KEYS, clock::get);
+
+    @Test
+    @DisplayName("同一周期内只记录第一次，下个周期输出跳过的次数")
+    void testSampleAggregatesRepeats() {
+        assertThat(sampler.sample("a")).isZero();
+        assertThat(sampler.sample("a")).isEqualTo(LogSampler.SKIP);
+        assertThat(sampler.sample("a")).isEqualTo(LogSampler.SKIP);
+        assertThat(sampler.sample("b")).isZero();
+
+        clock.addAndGet(PERIOD.toNanos());
+        assertThat(sampler.sample("a")).isEqualTo(2L);
+        assertThat(sampler.sample("a")).isEqualTo(LogSampler.SKIP);
+        assertThat(sampler.sample("b")).isZero();
+    }
+
+    @Test
+    @DisplayName("Key 数量达到上限时清空重新计数")
+    void testSampleResetsWhenKeysExceeded() {
+        sampler.sample("a");
+        sampler.sample("b");
+        assertThat(sampler.sample("c")).isZero();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(sampler.sample("a")).isZero();
+    }
+
+}
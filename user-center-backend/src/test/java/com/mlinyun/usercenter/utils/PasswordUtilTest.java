@@ -4,6 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import cn.hutool.core.text.CharSequenceUtil;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -67,6 +71,89 @@ class PasswordUtilTest {
      */
     private static final int STRENGTH_LEVEL_STRONG = 2;
 
+    /**
+     * 随机比对使用的固定种子（保证失败可复现）
+     */
+    private static final long RANDOM_SEED = 20_251_020L;
+
+    /**
+     * 随机比对的样本数
+     */
+    private static final int RANDOM_SAMPLES = 20_000;
+
+    /**
+     * 随机密码的最大长度（覆盖超出 20 位上限的情况）
+     */
+    private static final int RANDOM_MAX_LENGTH = 24;
+
+    /**
+     * 平均每多少个字符插入一个弱密码片段
+     */
+    private static final int WEAK_FRAGMENT_ONE_IN = 16;
+
+    /**
+     * 随机字符池：各类 ASCII 字符、空白、行终止符、非 ASCII 字符以及小写后变为 ASCII 的特殊字符（İ、K）
+     */
+    private static final String RANDOM_POOL =
+        "aAbBzZ019_~!@#$%^&*()-=+[]{}|;:'\",<.>/?" + " \t\n\r\u0085\u2028" + "中é\u0130\u212A";
+
+    /**
+     * 随机插入的弱密码片段（含大小写变化）
+     */
+    private static final String[] WEAK_FRAGMENTS = {"PassWord", "ADMIN", "qwErty", "1QAZ2wsx", "12345", "aaa", "root"};
+
+    /**
+     * 原实现：中等强度正则
+     */
+    private static final Pattern LEGACY_MEDIUM =
+        Pattern.compile("^(?=.*[A-Za-z])(?=.*\\d)[A-Za-z\\d~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?]{8,20}$");
+
+    /**
+     * 原实现：强密码正则
+     */
+    private static final Pattern LEGACY_STRONG =
+        Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?])"
+            + "[A-Za-z\\d~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?]{8,20}$");
+
+    /**
+     * 原实现：常见弱密码列表
+     */
+    private static final String[] LEGACY_WEAK_PASSWORDS =
+        {"123456", "123456789", "111111", "000000", "password", "12345678", "qwerty", "abc123", "admin", "admin123",
+            "root", "123123", "654321", "666666", "888888", "qwerty123", "1qaz2wsx", "asdfgh", "zxcvbn"};
+
+    /**
+     * 原实现：弱密码检测（toLowerCase + contains 循环 + 正则检测连续重复字符）
+     */
+    private static boolean legacyIsWeakPassword(String password) {
+        if (CharSequenceUtil.isBlank(password)) {
+            return true;
+        }
+        String lowerPassword = password.toLowerCase(Locale.ROOT);
+        for (String weak : LEGACY_WEAK_PASSWORDS) {
+            if (lowerPassword.contains(weak)) {
+                return true;
+            }
+        }
+        return password.matches(".*(\\w)\\1{2,}.*");
+    }
+
+    /**
+     * 生成随机密码，按一定概率插入弱密码片段
+     */
+    private static String randomPassword(Random random) {
+        int length = random.nextInt(RANDOM_MAX_LENGTH + 1);
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            if (random.nextInt(WEAK_FRAGMENT_ONE_IN) == 0) {
+                builder.append(WEAK_FRAGMENTS[random.nextInt(WEAK_FRAGMENTS.length)]);
+            } else {
+                builder.append(RANDOM_POOL.charAt(random.nextInt(RANDOM_POOL.length())));
+            }
+        }
+        return builder.toString();
+    }
+
     @Test
     @DisplayName("应该能够加密密码并生成60字符的BCrypt哈希值")
     void testEncryptPasswordReturnValidBcryptHash() {
@@ -127,6 +214,19 @@ class PasswordUtilTest {
         assertThat(PasswordUtil.verify("Test@123456", encrypted)).isTrue();
     }
 
+    @Test
+    @DisplayName("应该只把格式正确的BCrypt哈希识别为已加密密码")
+    void testIsBCryptHash() {
+        String encrypted = PasswordUtil.encrypt("Test@123456");
+
+        assertThat(PasswordUtil.isBCryptHash(encrypted)).isTrue();
+        assertThat(PasswordUtil.isBCryptHash(encrypted.replace("$2a$", "$2y$"))).isTrue();
+        assertThat(PasswordUtil.isBCryptHash(encrypted.substring(1))).isFalse();
+        assertThat(PasswordUtil.isBCryptHash(encrypted.replace("$10$", "$99$"))).isFalse();
+        assertThat(PasswordUtil.isBCryptHash("Test@123456")).isFalse();
+        assertThat(PasswordUtil.isBCryptHash(null)).isFalse();
+    }
+
     @Test
     @DisplayName("密码加密应该稳定工作不抛出异常")
     void testEncryptPasswordNoException() {
@@ -182,6 +282,28 @@ class PasswordUtilTest {
         assertThat(PasswordUtil.isWeakPassword(password)).isTrue();
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"Zx9#mQ2$vL7!", "MySecure@Pass2024", "abc12\n333", "ab\u2028cdddd", "İ12x"})
+    @DisplayName("不含弱密码特征的密码（含行终止符时不检测连续字符）不应被识别为弱密码")
+    void testNotWeakPasswords(String password) {
+        assertThat(PasswordUtil.isWeakPassword(password)).isFalse();
+    }
+
+    @Test
+    @DisplayName("查表校验与原正则实现的结果完全一致")
+    void testRulesMatchLegacyRegex() {
+        Random random = new Random(RANDOM_SEED);
+        for (int i = 0; i < RANDOM_SAMPLES; i++) {
+            String password = randomPassword(random);
+            assertThat(PasswordUtil.isValidMedium(password)).as("isValidMedium(%s)", password)
+                .isEqualTo(LEGACY_MEDIUM.matcher(password).matches());
+            assertThat(PasswordUtil.isValidStrong(password)).as("isValidStrong(%s)", password)
+                .isEqualTo(LEGACY_STRONG.matcher(password).matches());
+            assertThat(PasswordUtil.isWeakPassword(password)).as("isWeakPassword(%s)", password)
+                .isEqualTo(legacyIsWeakPassword(password));
+        }
+    }
+
     @Test
     @DisplayName("生成默认长度密码应该符合强度要求")
     void testGenerateDefaultLength() {
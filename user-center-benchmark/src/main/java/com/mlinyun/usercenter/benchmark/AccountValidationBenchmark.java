@@ -0,0 +1,63 @@
+package com.mlinyun.usercenter.benchmark;
+
+import com.mlinyun.usercenter.utils.CharClassUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 登录账号格式校验基准测试
+ *
+ * <p>
+ * 对比注册、登录参数校验中的账号格式校验：基线复现原实现，每次调用 {@link String#matches(String)} 都会重新编译正则表达式；
+ * 当前实现为 {@link CharClassUtil#isWordChars(CharSequence)} 查表逐字符校验
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountValidationBenchmark {
+
+    /**
+     * 原实现的账号格式正则
+     */
+    private static final String ACCOUNT_PATTERN = "^\\w+$";
+
+    /**
+     * 待校验的账号：合法账号、最长合法账号和含非法字符的账号
+     */
+    @Param({"mlinyun", "user_center_0123", "bad-account!"})
+    public String userAccount;
+
+    /**
+     * 基线：String.matches 校验账号格式
+     *
+     * @return 是否合法
+     */
+    @Benchmark
+    public boolean stringMatches() {
+        return userAccount.matches(ACCOUNT_PATTERN);
+    }
+
+    /**
+     * 查表逐字符校验账号格式（当前实现）
+     *
+     * @return 是否合法
+     */
+    @Benchmark
+    public boolean charClassTable() {
+        return CharClassUtil.isWordChars(userAccount);
+    }
+
+}
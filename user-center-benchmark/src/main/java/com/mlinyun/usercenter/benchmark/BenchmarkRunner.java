@@ -0,0 +1,75 @@
+package com.mlinyun.usercenter.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * 基准测试入口
+ *
+ * <p>
+ * 在 JMH 命令行的基础上默认以 JSON 格式输出结果到 {@code results/jmh-result-<版本号>.json}，便于按版本归档并对比回归。
+ * 命令行中显式指定 {@code -rf} 或 {@code -rff} 时以命令行为准
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * 结果格式参数
+     */
+    private static final String RESULT_FORMAT_OPTION = "-rf";
+
+    /**
+     * 结果文件参数
+     */
+    private static final String RESULT_FILE_OPTION = "-rff";
+
+    /**
+     * 结果目录
+     */
+    private static final String RESULT_DIR = "results";
+
+    /**
+     * 未知版本时的占位名称
+     */
+    private static final String UNKNOWN_VERSION = "dev";
+
+    private BenchmarkRunner() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 运行基准测试
+     *
+     * @param args JMH 命令行参数
+     * @throws IOException 创建结果目录或写入结果文件失败
+     * @throws RunnerException 基准测试运行失败
+     */
+    public static void main(String[] args) throws IOException, RunnerException {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains(RESULT_FORMAT_OPTION)) {
+            options.add(RESULT_FORMAT_OPTION);
+            options.add("json");
+        }
+        if (!options.contains(RESULT_FILE_OPTION)) {
+            options.add(RESULT_FILE_OPTION);
+            options.add(defaultResultFile());
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+
+    /**
+     * 默认结果文件路径，按被测版本命名
+     */
+    private static String defaultResultFile() throws IOException {
+        String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        Path dir = Files.createDirectories(Path.of(RESULT_DIR));
+        return dir.resolve("jmh-result-" + (version == null ? UNKNOWN_VERSION : version) + ".json").toString();
+    }
+
+}
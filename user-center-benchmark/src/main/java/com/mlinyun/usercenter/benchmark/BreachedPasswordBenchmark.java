@@ -0,0 +1,147 @@
+package com.mlinyun.usercenter.benchmark;
+
+import com.mlinyun.usercenter.config.BreachedPasswordProperties;
+import com.mlinyun.usercenter.manager.password.BreachedPasswordChecker;
+import com.mlinyun.usercenter.manager.password.BreachedPasswordFilterTool;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 泄露密码检测基准测试
+ *
+ * <p>
+ * 启动时生成指定记录数的明文或 SHA-1 语料并构建过滤器文件，测量 {@link BreachedPasswordChecker#isBreached(String)}
+ * 分别对命中和未命中的密码的查询耗时
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreachedPasswordBenchmark {
+
+    /**
+     * 语料中的密码
+     */
+    private static final String BREACHED_PASSWORD = "Breached@1";
+
+    /**
+     * 不在语料中的密码
+     */
+    private static final String SAFE_PASSWORD = "Zx9#mQ2$vL7!";
+
+    /**
+     * 语料记录数
+     */
+    @Param({"1000000"})
+    public int entries;
+
+    /**
+     * 是否为 SHA-1 语料
+     */
+    @Param({"false", "true"})
+    public boolean sha1;
+
+    /**
+     * 临时目录
+     */
+    private Path directory;
+
+    /**
+     * 泄露密码检测器
+     */
+    private BreachedPasswordChecker checker;
+
+    /**
+     * 生成语料并构建过滤器
+     *
+     * @throws Exception 读写文件失败
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("breached-password-benchmark");
+        Path corpus = directory.resolve("corpus.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(corpus, StandardCharsets.UTF_8)) {
+            writeLine(writer, BREACHED_PASSWORD);
+            for (int i = 1; i < entries; i++) {
+                writeLine(writer, "Breached@" + i + "x");
+            }
+        }
+        Path filter = directory.resolve("filter.bin");
+        BreachedPasswordFilterTool.build(corpus, filter, sha1, 0.001, entries);
+        BreachedPasswordProperties properties = new BreachedPasswordProperties();
+        properties.setEnabled(true);
+        properties.setFilterPath(filter.toString());
+        checker = new BreachedPasswordChecker(properties);
+    }
+
+    /**
+     * 删除语料和过滤器文件
+     *
+     * @throws IOException 删除失败
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("corpus.txt"));
+        Files.deleteIfExists(directory.resolve("filter.bin"));
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * 查询语料中的密码
+     *
+     * @return 是否命中
+     */
+    @Benchmark
+    public boolean breached() {
+        return checker.isBreached(BREACHED_PASSWORD);
+    }
+
+    /**
+     * 查询不在语料中的密码
+     *
+     * @return 是否命中
+     */
+    @Benchmark
+    public boolean safe() {
+        return checker.isBreached(SAFE_PASSWORD);
+    }
+
+    private void writeLine(BufferedWriter writer, String password) throws IOException {
+        writer.write(sha1 ? sha1Hex(password) : password);
+        writer.newLine();
+    }
+
+    private static String sha1Hex(String password) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                .digest(password.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().withUpperCase().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
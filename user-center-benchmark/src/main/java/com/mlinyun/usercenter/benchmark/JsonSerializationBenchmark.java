@@ -0,0 +1,158 @@
+package com.mlinyun.usercenter.benchmark;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mlinyun.usercenter.common.BaseResponse;
+import com.mlinyun.usercenter.common.PageResult;
+import com.mlinyun.usercenter.common.ResultUtils;
+import com.mlinyun.usercenter.config.JacksonConfig;
+import com.mlinyun.usercenter.model.vo.UserVO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 分页响应 JSON 序列化基准测试
+ *
+ * <p>
+ * 序列化一页 {@code BaseResponse<PageResult<UserVO>>}（默认 200 条记录），写入复用的输出流，与消息转换器写响应体的方式一致。
+ * baseline 复现改造前 JacksonConfig 中直接 new 出来的 ObjectMapper；tuned 为 Spring Boot 构建器加上 {@link JacksonConfig}
+ * 中的模块（Long 转字符串和 Blackbird）；tunedSharedPool 在此基础上改用开启虚拟线程时的共享缓冲区池。
+ * 建议配合 {@code -prof gc} 对比每页的分配量，配合 {@code -t 8} 观察多线程下缓冲区池的差异
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    /**
+     * 每页记录数
+     */
+    @Param({"200"})
+    public int rows;
+
+    private ObjectMapper baselineMapper;
+
+    private ObjectMapper tunedMapper;
+
+    private ObjectMapper sharedPoolMapper;
+
+    /**
+     * 一页用户列表的响应体
+     */
+    private BaseResponse<PageResult<UserVO>> response;
+
+    /**
+     * 构造测试数据和 ObjectMapper
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        JacksonConfig config = new JacksonConfig();
+        baselineMapper = new ObjectMapper().registerModule(config.longToStringModule());
+        tunedMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(config.longToStringModule(), config.blackbirdModule())
+            .build();
+        sharedPoolMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(config.longToStringModule(), config.blackbirdModule())
+            .build();
+        sharedPoolMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool());
+        // 与应用启动时一致，预先解析序列化器
+        JacksonConfig.responseTypes(tunedMapper.getTypeFactory()).forEach(tunedMapper::writerFor);
+        JacksonConfig.responseTypes(sharedPoolMapper.getTypeFactory()).forEach(sharedPoolMapper::writerFor);
+
+        Date now = new Date();
+        List<UserVO> records = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            UserVO userVO = new UserVO();
+            userVO.setId(1_899_878_538_809_757_698L + i);
+            userVO.setUserAccount("user" + i);
+            userVO.setUserName("用户" + i);
+            userVO.setUserAvatar("https://example.com/avatar/" + i + ".png");
+            userVO.setUserProfile("用户中心项目测试用户");
+            userVO.setUserRole("user");
+            userVO.setUserGender(i % 2);
+            userVO.setUserPhone("138" + String.format("%08d", i));
+            userVO.setUserEmail("user" + i + "@example.com");
+            userVO.setUserStatus(0);
+            userVO.setPlanetCode(String.valueOf(i));
+            userVO.setCreateTime(now);
+            records.add(userVO);
+        }
+        PageResult<UserVO> page = new PageResult<>(1, rows, rows, true);
+        page.setRecords(records);
+        response = ResultUtils.success(page);
+    }
+
+    /**
+     * 每个线程复用的输出流
+     */
+    @State(Scope.Thread)
+    public static class Output {
+
+        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    }
+
+    /**
+     * 基线：改造前的 ObjectMapper
+     *
+     * @param output 输出流
+     * @return 响应体字节数
+     * @throws IOException 序列化失败
+     */
+    @Benchmark
+    public int baseline(Output output) throws IOException {
+        return write(baselineMapper, output.stream);
+    }
+
+    /**
+     * Spring Boot 构建器 + Blackbird
+     *
+     * @param output 输出流
+     * @return 响应体字节数
+     * @throws IOException 序列化失败
+     */
+    @Benchmark
+    public int tuned(Output output) throws IOException {
+        return write(tunedMapper, output.stream);
+    }
+
+    /**
+     * Spring Boot 构建器 + Blackbird + 共享缓冲区池
+     *
+     * @param output 输出流
+     * @return 响应体字节数
+     * @throws IOException 序列化失败
+     */
+    @Benchmark
+    public int tunedSharedPool(Output output) throws IOException {
+        return write(sharedPoolMapper, output.stream);
+    }
+
+    private int write(ObjectMapper objectMapper, ByteArrayOutputStream stream) throws IOException {
+        stream.reset();
+        objectMapper.writeValue(stream, response);
+        return stream.size();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.mlinyun.usercenter.benchmark;
+
+import com.mlinyun.usercenter.utils.PasswordUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BCrypt 加密与校验基准测试
+ *
+ * <p>
+ * 覆盖 {@link PasswordUtil#encrypt(String, int)} 和 {@link PasswordUtil#verify(String, String)}，工作因子每加 1 耗时约翻倍，
+ * 用于为 {@code password.hash.strength} 的取值和哈希线程池容量提供依据
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    /**
+     * 测试密码
+     */
+    private static final String PASSWORD = "Test@123456";
+
+    /**
+     * BCrypt 工作因子：测试环境最低值、生产默认值和校准上限附近的值
+     */
+    @Param({"4", "10", "12"})
+    public int strength;
+
+    /**
+     * 预先生成的哈希，用于校验基准
+     */
+    private String hashed;
+
+    /**
+     * 生成校验使用的哈希
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        hashed = PasswordUtil.encrypt(PASSWORD, strength);
+    }
+
+    /**
+     * 加密密码（注册、修改密码路径）
+     *
+     * @return 哈希字符串
+     */
+    @Benchmark
+    public String encrypt() {
+        return PasswordUtil.encrypt(PASSWORD, strength);
+    }
+
+    /**
+     * 校验密码（登录路径）
+     *
+     * @return 是否匹配
+     */
+    @Benchmark
+    public boolean verify() {
+        return PasswordUtil.verify(PASSWORD, hashed);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.mlinyun.usercenter.benchmark;
+
+import com.mlinyun.usercenter.config.PasswordHashProperties;
+import com.mlinyun.usercenter.manager.password.PasswordHasher;
+import com.mlinyun.usercenter.manager.password.PasswordHasherRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 密码哈希算法对比基准测试
+ *
+ * <p>
+ * 使用 {@link PasswordHashProperties} 的默认成本参数构建注册表，对比 BCrypt、PBKDF2 和 Argon2id 的单次哈希耗时，
+ * 切换 {@code password.hash.algorithm} 前应先确认目标算法在部署机器上的耗时可以接受
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    /**
+     * 测试密码
+     */
+    private static final String PASSWORD = "Test@123456";
+
+    /**
+     * 默认算法
+     */
+    @Param({"BCRYPT", "PBKDF2", "ARGON2ID"})
+    public PasswordHashProperties.Algorithm algorithm;
+
+    /**
+     * 当前算法
+     */
+    private PasswordHasher hasher;
+
+    /**
+     * 预先生成的哈希，用于校验基准
+     */
+    private String hashed;
+
+    /**
+     * 按默认成本参数构建算法并生成校验使用的哈希
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setAlgorithm(algorithm);
+        hasher = PasswordHasherRegistry.create(properties, properties.getStrength()).getDefaultHasher();
+        hashed = hasher.hash(PASSWORD);
+    }
+
+    /**
+     * 使用默认算法哈希密码
+     *
+     * @return 哈希字符串
+     */
+    @Benchmark
+    public String hash() {
+        return hasher.hash(PASSWORD);
+    }
+
+    /**
+     * 使用默认算法校验密码
+     *
+     * @return 是否匹配
+     */
+    @Benchmark
+    public boolean verify() {
+        return hasher.verify(PASSWORD, hashed);
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.mlinyun.usercenter.benchmark;
+
+import com.mlinyun.usercenter.utils.PasswordUtil;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 密码强度校验基准测试
+ *
+ * <p>
+ * 覆盖注册和修改密码时调用的 {@link PasswordUtil#isValidStrong(String)}、{@link PasswordUtil#isWeakPassword(String)} 和
+ * {@link PasswordUtil#getStrengthLevel(String)}，输入分别为强密码、常见弱密码、连续重复字符和仅满足长度的密码。
+ * legacy 开头的方法复现了改为查表和 Aho-Corasick 自动机之前的正则实现，作为对比基线
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordPolicyBenchmark {
+
+    /**
+     * 原实现：强密码正则
+     */
+    private static final Pattern LEGACY_STRONG =
+        Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?])"
+            + "[A-Za-z\\d~`!@#$%^&*()\\-_=+\\[{\\]}\\\\|;:'\",<.>/?]{8,20}$");
+
+    /**
+     * 原实现：常见弱密码列表
+     */
+    private static final String[] LEGACY_WEAK_PASSWORDS =
+        {"123456", "123456789", "111111", "000000", "password", "12345678", "qwerty", "abc123", "admin", "admin123",
+            "root", "123123", "654321", "666666", "888888", "qwerty123", "1qaz2wsx", "asdfgh", "zxcvbn"};
+
+    /**
+     * 待校验的密码
+     */
+    @Param({"Zx9#mQ2$vL7!", "password123", "Aaaa@1111bcd", "abcdefgh"})
+    public String password;
+
+    /**
+     * 强密码校验
+     *
+     * @return 是否为强密码
+     */
+    @Benchmark
+    public boolean isValidStrong() {
+        return PasswordUtil.isValidStrong(password);
+    }
+
+    /**
+     * 弱密码检测
+     *
+     * @return 是否为弱密码
+     */
+    @Benchmark
+    public boolean isWeakPassword() {
+        return PasswordUtil.isWeakPassword(password);
+    }
+
+    /**
+     * 密码强度等级
+     *
+     * @return 强度等级
+     */
+    @Benchmark
+    public int getStrengthLevel() {
+        return PasswordUtil.getStrengthLevel(password);
+    }
+
+    /**
+     * 基线：正则校验强密码
+     *
+     * @return 是否为强密码
+     */
+    @Benchmark
+    public boolean legacyIsValidStrong() {
+        return LEGACY_STRONG.matcher(password).matches();
+    }
+
+    /**
+     * 基线：toLowerCase + contains 循环 + 正则检测连续重复字符
+     *
+     * @return 是否为弱密码
+     */
+    @Benchmark
+    public boolean legacyIsWeakPassword() {
+        String lowerPassword = password.toLowerCase(Locale.ROOT);
+        for (String weak : LEGACY_WEAK_PASSWORDS) {
+            if (lowerPassword.contains(weak)) {
+                return true;
+            }
+        }
+        return password.matches(".*(\\w)\\1{2,}.*");
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.mlinyun.usercenter.benchmark;
+
+import com.mlinyun.usercenter.model.dto.UserUpdateInfoRequest;
+import com.mlinyun.usercenter.model.entity.User;
+import com.mlinyun.usercenter.model.vo.UserLoginVO;
+import com.mlinyun.usercenter.model.vo.UserVO;
+import com.mlinyun.usercenter.utils.BeanMapper;
+import java.beans.PropertyDescriptor;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * 用户实体与 DTO/VO 转换基准测试
+ *
+ * <p>
+ * {@code UserServiceImpl} 改用 {@link BeanMapper} 之前的 getUserVO、getUserLoginVO 和 getNullPropertyNames 在这里按原样复现作为基线：前两者基于
+ * {@link BeanUtils#copyProperties(Object, Object)}，后者基于 {@link BeanWrapperImpl} 逐个读取属性。
+ * 分页查询时每条记录都会执行一次 getUserVO，更新用户信息时每次请求执行一次 getNullPropertyNames。
+ * mapper 开头的方法为当前基于 {@link BeanMapper} 的实现，建议配合 {@code -prof gc} 对比每次调用的分配量
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private static final BeanMapper<User, UserVO> USER_VO_MAPPER = BeanMapper.of(User.class, UserVO.class, UserVO::new);
+
+    private static final BeanMapper<User, UserLoginVO> USER_LOGIN_VO_MAPPER =
+        BeanMapper.of(User.class, UserLoginVO.class, UserLoginVO::new);
+
+    private static final BeanMapper<UserUpdateInfoRequest, User> USER_UPDATE_INFO_MAPPER =
+        BeanMapper.of(UserUpdateInfoRequest.class, User.class, User::new);
+
+    /**
+     * 字段齐全的用户实体
+     */
+    private User user;
+
+    /**
+     * 仅填写部分字段的更新请求（其余字段为 null，需要忽略）
+     */
+    private UserUpdateInfoRequest updateRequest;
+
+    /**
+     * 构造测试数据
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Date now = new Date();
+        user = new User();
+        user.setId(1L);
+        user.setUserAccount("mlinyun");
+        user.setUserPassword("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0");
+        user.setUserName("凌云");
+        user.setUserAvatar("https://example.com/avatar.png");
+        user.setUserProfile("用户中心项目作者");
+        user.setUserRole("admin");
+        user.setUserGender(1);
+        user.setUserPhone("13800000000");
+        user.setUserEmail("mlinyun@example.com");
+        user.setUserStatus(0);
+        user.setPlanetCode("1");
+        user.setEditTime(now);
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        user.setIsDelete(0);
+
+        updateRequest = new UserUpdateInfoRequest();
+        updateRequest.setId(1L);
+        updateRequest.setUserName("凌云");
+        updateRequest.setUserProfile("用户中心项目作者");
+    }
+
+    /**
+     * 基线：复现 getUserVO
+     *
+     * @return 脱敏后的用户信息
+     */
+    @Benchmark
+    public UserVO getUserVO() {
+        UserVO userVO = new UserVO();
+        BeanUtils.copyProperties(user, userVO);
+        return userVO;
+    }
+
+    /**
+     * 基线：复现 getUserLoginVO
+     *
+     * @return 登录用户信息
+     */
+    @Benchmark
+    public UserLoginVO getUserLoginVO() {
+        UserLoginVO userLoginVO = new UserLoginVO();
+        BeanUtils.copyProperties(user, userLoginVO);
+        return userLoginVO;
+    }
+
+    /**
+     * 基线：复现 getNullPropertyNames
+     *
+     * @return 值为 null 的属性名称数组
+     */
+    @Benchmark
+    public String[] getNullPropertyNames() {
+        final BeanWrapper src = new BeanWrapperImpl(updateRequest);
+        Set<String> emptyNames = new HashSet<>();
+        for (PropertyDescriptor pd : src.getPropertyDescriptors()) {
+            if (src.getPropertyValue(pd.getName()) == null) {
+                emptyNames.add(pd.getName());
+            }
+        }
+        return emptyNames.toArray(new String[0]);
+    }
+
+    /**
+     * 基线：复现普通用户更新信息时的忽略 null 拷贝
+     *
+     * @return 待更新的用户实体
+     */
+    @Benchmark
+    public User copyIgnoringNulls() {
+        User updateUser = new User();
+        BeanUtils.copyProperties(updateRequest, updateUser, getNullPropertyNames());
+        return updateUser;
+    }
+
+    /**
+     * 预编译拷贝器：getUserVO
+     *
+     * @return 脱敏后的用户信息
+     */
+    @Benchmark
+    public UserVO mapperUserVO() {
+        return USER_VO_MAPPER.map(user);
+    }
+
+    /**
+     * 预编译拷贝器：getUserLoginVO
+     *
+     * @return 登录用户信息
+     */
+    @Benchmark
+    public UserLoginVO mapperUserLoginVO() {
+        return USER_LOGIN_VO_MAPPER.map(user);
+    }
+
+    /**
+     * 预编译拷贝器：普通用户更新信息时的忽略 null 拷贝
+     *
+     * @return 待更新的用户实体
+     */
+    @Benchmark
+    public User mapperCopyNonNull() {
+        return USER_UPDATE_INFO_MAPPER.copyNonNull(updateRequest, new User());
+    }
+
+}
@@ -0,0 +1,54 @@
+import type { AvatarProps } from 'antd';
+import { Avatar } from 'antd';
+import React, { useEffect, useState } from 'react';
+
+/**
+ * 后端按内容哈希存储的头像路径结尾：/哈希前两位/SHA-256.扩展名
+ */
+const STORED_AVATAR_PATTERN = /\/[0-9a-f]{2}\/[0-9a-f]{64}\.(png|jpe?g|gif)$/;
+
+/**
+ * 获取头像的指定尺寸缩略图 URL
+ *
+ * 后端上传的头像在后台生成缩略图（默认 48、96、256），与原图同目录，文件名追加 `_尺寸`；
+ * 外部头像或空地址原样返回，缩略图尚未生成时请求会失败，调用方需回退到原图
+ */
+export const getAvatarVariantUrl = (url: string | undefined, size: number): string | undefined => {
+  if (!url || !STORED_AVATAR_PATTERN.test(url)) {
+    return url;
+  }
+  const dotIndex = url.lastIndexOf('.');
+  return `${url.slice(0, dotIndex)}_${size}${url.slice(dotIndex)}`;
+};
+
+export type UserAvatarProps = Omit<AvatarProps, 'src' | 'onError'> & {
+  src?: string;
+  /** 缩略图边长 */
+  variant: number;
+};
+
+/**
+ * 用户头像：优先加载与显示尺寸相近的缩略图，缩略图不存在（外部头像或后台尚未生成）时回退到原图
+ */
+const UserAvatar: React.FC<UserAvatarProps> = ({ src, variant, ...rest }) => {
+  const [variantFailed, setVariantFailed] = useState(false);
+
+  useEffect(() => {
+    setVariantFailed(false);
+  }, [src]);
+
+  const variantSrc = getAvatarVariantUrl(src, variant);
+
+  // 缩略图加载失败时改用原图；原图也加载失败时显示默认图标
+  const handleError = () => {
+    if (!variantFailed && variantSrc !== src) {
+      setVariantFailed(true);
+      return false;
+    }
+    return true;
+  };
+
+  return <Avatar {...rest} src={variantFailed ? src : variantSrc} onError={handleError} />;
+};
+
+export default UserAvatar;
@@ -16,8 +16,9 @@ import {
   UserOutlined,
 } from '@ant-design/icons';
 import type { MenuProps } from 'antd';
-import { Avatar, Badge, Button, Dropdown, Popconfirm, Space, Tag, Tooltip, Typography } from 'antd';
+import { Badge, Button, Dropdown, Popconfirm, Space, Tag, Tooltip, Typography } from 'antd';
 import React from 'react';
+import { UserAvatar } from '@/components';
 
 const { Text } = Typography;
 
@@ -57,8 +58,9 @@ export const getUserTableColumns = ({
     render: (_, record) => (
       <Space size={12}>
         <Badge count={record.userRole === 'admin' ? '管理员' : 0} offset={[-5, 5]} color="#1677ff">
-          <Avatar
+          <UserAvatar
             size={48}
+            variant={48}
             src={record.userAvatar}
             icon={<UserOutlined />}
             style={{
@@ -13,8 +13,9 @@ import {
   UserOutlined,
   WomanOutlined,
 } from '@ant-design/icons';
-import { Avatar, Card, Col, Drawer, Row, Space, Statistic, Tag, Timeline, Typography } from 'antd';
+import { Card, Col, Drawer, Row, Space, Statistic, Tag, Timeline, Typography } from 'antd';
 import React from 'react';
+import { UserAvatar } from '@/components';
 
 const { Text, Title, Paragraph } = Typography;
 
@@ -153,8 +154,9 @@ const ViewUserDrawer: React.FC<ViewUserDrawerProps> = ({ visible, currentUser, o
         <div style={{ position: 'relative', zIndex: 1 }}>
           <Space size={24} align="start">
             <div style={{ position: 'relative' }}>
-              <Avatar
+              <UserAvatar
                 size={100}
+                variant={96}
                 src={currentUser.userAvatar}
                 icon={<UserOutlined />}
                 style={{
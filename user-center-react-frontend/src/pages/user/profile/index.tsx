@@ -1,3 +1,4 @@
+import { UserAvatar } from '@/components';
 import { currentUser } from '@/services/ant-design-pro/user';
 import {
   MailOutlined,
@@ -8,7 +9,7 @@ import {
 } from '@ant-design/icons';
 import { PageContainer, ProDescriptions } from '@ant-design/pro-components';
 import { useModel } from '@umijs/max';
-import { Avatar, Card, Col, Row, Space, Tag, theme, Typography } from 'antd';
+import { Card, Col, Row, Space, Tag, theme, Typography } from 'antd';
 import React, { useEffect, useState } from 'react';
 
 const { Title, Text } = Typography;
@@ -117,8 +118,9 @@ const UserProfile: React.FC = () => {
             }}
           >
             {/* 用户头像 */}
-            <Avatar
+            <UserAvatar
               size={120}
+              variant={256}
               src={userInfo?.userAvatar}
               icon={<UserOutlined />}
               style={{
@@ -1,3 +1,4 @@
+import { UserAvatar } from '@/components';
 import { currentUser, updateUserInfo, updateUserPassword } from '@/services/ant-design-pro/user';
 import { uploadAvatar } from '@/services/ant-design-pro/file';
 import {
@@ -10,7 +11,6 @@ import {
 import { PageContainer, ProForm, ProFormRadio, ProFormText } from '@ant-design/pro-components';
 import { useModel } from '@umijs/max';
 import {
-  Avatar,
   Card,
   Col,
   Divider,
@@ -244,8 +244,9 @@ const UserSettings: React.FC = () => {
               body: { padding: '32px', textAlign: 'center' },
             }}
           >
-            <Avatar
+            <UserAvatar
               size={120}
+              variant={256}
               src={userInfo?.userAvatar}
               icon={<UserOutlined />}
               style={{
@@ -0,0 +1,27 @@
+/**
+ * 后端按内容哈希存储的头像路径结尾：/哈希前两位/SHA-256.扩展名
+ */
+const STORED_AVATAR_PATTERN = /\/[0-9a-f]{2}\/[0-9a-f]{64}\.(png|jpe?g|gif)$/;
+
+/**
+ * 获取头像的指定尺寸缩略图 URL。
+ *
+ * 后端上传的头像在后台生成缩略图（默认 48、96、256），与原图同目录，文件名追加 `_尺寸`。
+ * 外部头像或空地址原样返回；缩略图尚未生成时请求会失败，调用方需回退到原图。
+ *
+ * @example
+ * ```typescript
+ * getAvatarVariantUrl("/api/file/avatar/ab/ab12…ef.png", 48); // 返回 "/api/file/avatar/ab/ab12…ef_48.png"
+ * ```
+ *
+ * @param url 头像原图 URL
+ * @param size 缩略图边长
+ * @returns 缩略图 URL
+ */
+export const getAvatarVariantUrl = (url: string | undefined, size: number): string | undefined => {
+    if (!url || !STORED_AVATAR_PATTERN.test(url)) {
+        return url;
+    }
+    const dotIndex = url.lastIndexOf(".");
+    return `${url.slice(0, dotIndex)}_${size}${url.slice(dotIndex)}`;
+};